@@ -0,0 +1,53 @@
+/*
+* Copyright (c) 2023 Contributors to the Eclipse Foundation.
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*   SmartCity Jena - initial
+*/
+package org.eclipse.daanse.xmla.api;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Signals that a running command was cancelled by an XMLA Cancel request.
+ * Services check it between units of work, or register an action that aborts
+ * a blocking call, e.g. a running database statement.
+ */
+public interface CancellationToken {
+
+    /**
+     * Token of a command that cannot be cancelled.
+     */
+    CancellationToken NONE = new CancellationToken() {
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void onCancel(Runnable action) {
+            // never cancelled
+        }
+    };
+
+    boolean isCancelled();
+
+    /**
+     * Registers an action that is run once when the command is cancelled. If it
+     * is already cancelled the action is run immediately.
+     */
+    void onCancel(Runnable action);
+
+    default void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("The command was cancelled");
+        }
+    }
+}
@@ -21,4 +21,11 @@ public interface RequestMetaData {
     Optional<String> sessionId();
 
     Optional<String> url();
+
+    /**
+     * Token that signals when the command of the request is cancelled.
+     */
+    default CancellationToken cancellationToken() {
+        return CancellationToken.NONE;
+    }
 }
@@ -14,6 +14,7 @@
 package org.eclipse.daanse.xmla.api.discover;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.XmlaService;
@@ -79,6 +80,12 @@ import org.eclipse.daanse.xmla.api.execute.ExecuteService;
  * The {@link DiscoverService} gives access to all discover methods of the {@link XmlaService}. The
  * execute methods could be found in the {@link ExecuteService}.
  *
+ * Rowsets that grow with the size of the catalog also have a streaming variant. The rows of the
+ * returned {@link Stream} are written to the response while it is consumed and the stream is closed
+ * afterwards, so an implementation can produce them lazily, for example from an open database
+ * cursor released in {@link Stream#onClose(Runnable)}. By default the streaming variants stream the
+ * list of the corresponding method.
+ *
  * see {@link ExecuteService}
  */
 public interface DiscoverService {
@@ -108,6 +115,17 @@ public interface DiscoverService {
      */
     List<DbSchemaColumnsResponseRow> dbSchemaColumns(DbSchemaColumnsRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #dbSchemaColumns}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<DbSchemaColumnsResponseRow> dbSchemaColumnsStream(DbSchemaColumnsRequest request,
+            RequestMetaData metaData) {
+        return dbSchemaColumns(request, metaData).stream();
+    }
+
     /**
      * describes the properties of members and cell properties.
      *
@@ -141,6 +159,17 @@ public interface DiscoverService {
      */
     List<DbSchemaTablesResponseRow> dbSchemaTables(DbSchemaTablesRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #dbSchemaTables}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<DbSchemaTablesResponseRow> dbSchemaTablesStream(DbSchemaTablesRequest request,
+            RequestMetaData metaData) {
+        return dbSchemaTables(request, metaData).stream();
+    }
+
     /**
      *
      *
@@ -212,6 +241,17 @@ public interface DiscoverService {
      */
     List<MdSchemaCubesResponseRow> mdSchemaCubes(MdSchemaCubesRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaCubes}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaCubesResponseRow> mdSchemaCubesStream(MdSchemaCubesRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaCubes(request, metaData).stream();
+    }
+
     /**
      * describes the dimensions within a database.
      *
@@ -220,6 +260,17 @@ public interface DiscoverService {
      */
     List<MdSchemaDimensionsResponseRow> mdSchemaDimensions(MdSchemaDimensionsRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaDimensions}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaDimensionsResponseRow> mdSchemaDimensionsStream(MdSchemaDimensionsRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaDimensions(request, metaData).stream();
+    }
+
     /**
      * returns information about the functions that are currently available for use in the DAX and MDX
      * languages.
@@ -237,6 +288,17 @@ public interface DiscoverService {
      */
     List<MdSchemaHierarchiesResponseRow> mdSchemaHierarchies(MdSchemaHierarchiesRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaHierarchies}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaHierarchiesResponseRow> mdSchemaHierarchiesStream(MdSchemaHierarchiesRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaHierarchies(request, metaData).stream();
+    }
+
     /**
      * describes the KPIs within a database
      *
@@ -245,6 +307,16 @@ public interface DiscoverService {
      */
     List<MdSchemaKpisResponseRow> mdSchemaKpis(MdSchemaKpisRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaKpis}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaKpisResponseRow> mdSchemaKpisStream(MdSchemaKpisRequest request, RequestMetaData metaData) {
+        return mdSchemaKpis(request, metaData).stream();
+    }
+
     /**
      * describes each level within a particular hierarchy.
      *
@@ -253,6 +325,17 @@ public interface DiscoverService {
      */
     List<MdSchemaLevelsResponseRow> mdSchemaLevels(MdSchemaLevelsRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaLevels}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaLevelsResponseRow> mdSchemaLevelsStream(MdSchemaLevelsRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaLevels(request, metaData).stream();
+    }
+
     /**
      * enumerates the dimensions of measure groups.
      *
@@ -262,6 +345,17 @@ public interface DiscoverService {
     List<MdSchemaMeasureGroupDimensionsResponseRow> mdSchemaMeasureGroupDimensions(
             MdSchemaMeasureGroupDimensionsRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaMeasureGroupDimensions}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaMeasureGroupDimensionsResponseRow> mdSchemaMeasureGroupDimensionsStream(MdSchemaMeasureGroupDimensionsRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaMeasureGroupDimensions(request, metaData).stream();
+    }
+
     /**
      * describes the MeasureGroups within a database
      *
@@ -278,6 +372,17 @@ public interface DiscoverService {
      */
     List<MdSchemaMeasuresResponseRow> mdSchemaMeasures(MdSchemaMeasuresRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaMeasures}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaMeasuresResponseRow> mdSchemaMeasuresStream(MdSchemaMeasuresRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaMeasures(request, metaData).stream();
+    }
+
     /**
      * describes the members within a database
      *
@@ -286,6 +391,17 @@ public interface DiscoverService {
      */
     List<MdSchemaMembersResponseRow> mdSchemaMembers(MdSchemaMembersRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaMembers}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaMembersResponseRow> mdSchemaMembersStream(MdSchemaMembersRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaMembers(request, metaData).stream();
+    }
+
     /**
      * describes the properties of members and cell properties.
      *
@@ -294,6 +410,17 @@ public interface DiscoverService {
      */
     List<MdSchemaPropertiesResponseRow> mdSchemaProperties(MdSchemaPropertiesRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaProperties}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaPropertiesResponseRow> mdSchemaPropertiesStream(MdSchemaPropertiesRequest request,
+            RequestMetaData metaData) {
+        return mdSchemaProperties(request, metaData).stream();
+    }
+
     /**
      * describes any sets that are currently defined in a database, including session- scoped sets.
      *
@@ -302,6 +429,16 @@ public interface DiscoverService {
      */
     List<MdSchemaSetsResponseRow> mdSchemaSets(MdSchemaSetsRequest request, RequestMetaData metaData);
 
+    /**
+     * streaming variant of {@link #mdSchemaSets}.
+     *
+     * @param request the request
+     * @return the rows, the stream is closed after the rows are written
+     */
+    default Stream<MdSchemaSetsResponseRow> mdSchemaSetsStream(MdSchemaSetsRequest request, RequestMetaData metaData) {
+        return mdSchemaSets(request, metaData).stream();
+    }
+
     /**
      * returns a rowset with one row and one column. The single cell in the rowset contains an XML
      * document that contains the requested XML metadata.
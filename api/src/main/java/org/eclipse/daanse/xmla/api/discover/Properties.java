@@ -40,4 +40,24 @@ public interface Properties {
     Optional<String> tableFields();
 
     Optional<Boolean> advancedFlag();
+
+    /*
+     * The role and user properties are defaults, so implementations of the interface that predate them still
+     * compile, they have none.
+     */
+    default Optional<String> roles() {
+        return Optional.empty();
+    }
+
+    default Optional<String> effectiveRoles() {
+        return Optional.empty();
+    }
+
+    default Optional<String> effectiveUserName() {
+        return Optional.empty();
+    }
+
+    default Optional<String> customData() {
+        return Optional.empty();
+    }
 }
@@ -21,6 +21,8 @@ import org.eclipse.daanse.xmla.api.execute.cancel.CancelRequest;
 import org.eclipse.daanse.xmla.api.execute.cancel.CancelResponse;
 import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheRequest;
 import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheResponse;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessRequest;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessResponse;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
 
@@ -42,6 +44,39 @@ public interface ExecuteService {
     ClearCacheResponse clearCache(ClearCacheRequest clearCacheRequest, RequestMetaData metaData,
             UserRolePrincipal userPrincipal);
 
+    /*
+     * The method processes an object, e.g. a partition or dimension, on the server. Process commands are
+     * sent in a Batch, several of them in a Parallel group are processed at the same time. Services that
+     * cannot process objects do not need to implement it, they answer with an error result.
+     */
+    default ProcessResponse process(ProcessRequest processRequest, RequestMetaData metaData,
+            UserRolePrincipal userPrincipal) {
+        return ProcessResponse.error("Process is not supported by the server", ExecuteService.class.getName());
+    }
+
+    /*
+     * The method begins the transaction of a transactional Batch. The commands of the batch are called with the
+     * same request metadata until the transaction is committed or rolled back. Services without transactions do
+     * not need to implement it.
+     */
+    default void beginTransaction(RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        // no transactions
+    }
+
+    /*
+     * The method commits the transaction of a Batch after all its commands succeeded.
+     */
+    default void commitTransaction(RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        // no transactions
+    }
+
+    /*
+     * The method rolls back the transaction of a Batch after one of its commands failed.
+     */
+    default void rollbackTransaction(RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        // no transactions
+    }
+
     /*
      * The method consists of a string. This MUST be a valid string in a language that is understood by
      * the server, such as MDX, DMX, or SQL.
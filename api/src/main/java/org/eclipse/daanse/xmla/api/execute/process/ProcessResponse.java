@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.api.execute.process;
+
+import java.util.List;
+
+import org.eclipse.daanse.xmla.api.exception.ErrorType;
+import org.eclipse.daanse.xmla.api.exception.Exception;
+import org.eclipse.daanse.xmla.api.exception.MessageLocation;
+import org.eclipse.daanse.xmla.api.exception.Messages;
+import org.eclipse.daanse.xmla.api.exception.Type;
+import org.eclipse.daanse.xmla.api.xmla_empty.Emptyresult;
+
+public interface ProcessResponse {
+    Emptyresult emptyresult();
+
+    /**
+     * An empty result with an exception and the error, e.g. for a Process
+     * command the service does not support.
+     *
+     * @param description the description of the error
+     * @param source      the source of the error
+     */
+    static ProcessResponse error(String description, String source) {
+        ErrorType error = new ErrorType() {
+
+            @Override
+            public MessageLocation location() {
+                return null;
+            }
+
+            @Override
+            public String callstack() {
+                return null;
+            }
+
+            @Override
+            public Long errorCode() {
+                return 0L;
+            }
+
+            @Override
+            public String description() {
+                return description;
+            }
+
+            @Override
+            public String source() {
+                return source;
+            }
+
+            @Override
+            public String helpFile() {
+                return null;
+            }
+        };
+        Messages messages = () -> List.<Type>of(error);
+        Emptyresult emptyresult = new Emptyresult() {
+
+            @Override
+            public Exception exception() {
+                return new Exception() {
+                };
+            }
+
+            @Override
+            public Messages messages() {
+                return messages;
+            }
+        };
+        return () -> emptyresult;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.api.mddataset;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+
+/**
+ * {@link CellData} that keeps its cells in primitive arrays instead of one
+ * {@link CellType} object graph per cell. {@link #cell()} is only a view that
+ * creates the {@link CellType} objects on access, writers should use the index
+ * based accessors.
+ * <p>
+ * A cell is plain if it is fully described by its ordinal, value, value type
+ * and formatted value. Cells with errors or other cell properties are only
+ * available as {@link CellType} through {@link #cell(int)}.
+ */
+public interface ColumnarCellData extends CellData {
+
+    /**
+     * Tag name of the cell property holding the formatted value.
+     */
+    String FMT_VALUE = "FmtValue";
+
+    int cellCount();
+
+    long cellOrdinal(int index);
+
+    boolean isPlain(int index);
+
+    /**
+     * @return the type of the value, {@code null} if the cell has no value
+     */
+    ItemTypeEnum valueType(int index);
+
+    /**
+     * @return the value as written to the wire, {@code null} if the cell has no
+     *         value
+     */
+    String value(int index);
+
+    /**
+     * @return the {@link #FMT_VALUE} of a plain cell, may be {@code null}
+     */
+    String formattedValue(int index);
+
+    CellType cell(int index);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.api.mddataset;
+
+import java.util.List;
+
+/**
+ * {@link RowSet} that keeps one vector of values per column instead of one
+ * {@link RowSetRowItem} per value. The columns are described once for all rows.
+ * {@link #rowSetRows()} is only a view that creates the {@link RowSetRow}
+ * objects on access, writers should use the index based accessors.
+ * <p>
+ * Values of integer, double and boolean columns are kept as primitives. A row
+ * that has no value in a column is {@link #isNull(int, int) null} and its
+ * element is not written.
+ */
+public interface ColumnarRowSet extends RowSet {
+
+    List<RowSetColumn> columns();
+
+    int rowCount();
+
+    boolean isNull(int row, int column);
+
+    /**
+     * @return the value as written to the wire, {@code null} if the row has no
+     *         value in the column
+     */
+    String value(int row, int column);
+
+    /**
+     * @throws IllegalArgumentException if the column is not of an integer type
+     * @throws NumberFormatException    if the value is not an integer
+     */
+    long longValue(int row, int column);
+
+    /**
+     * @throws IllegalArgumentException if the column is not of an integer or
+     *                                  double type
+     * @throws NumberFormatException    if the value is not a number
+     */
+    double doubleValue(int row, int column);
+
+    /**
+     * @throws IllegalArgumentException if the column is not of boolean type
+     */
+    boolean booleanValue(int row, int column);
+
+    RowSetRow row(int row);
+}
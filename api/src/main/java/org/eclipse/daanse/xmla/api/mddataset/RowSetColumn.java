@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.api.mddataset;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+
+/**
+ * Column of a {@link ColumnarRowSet}, shared by all of its rows.
+ */
+public interface RowSetColumn {
+
+    /**
+     * @return the name of the row child element
+     */
+    String tagName();
+
+    /**
+     * @return the {@code sql:field} of the column in the rowset schema
+     */
+    String fieldName();
+
+    /**
+     * @return the type of the values, {@code null} if they are written without
+     *         type
+     */
+    ItemTypeEnum type();
+
+    /**
+     * @return {@code true} if rows may have no value in the column
+     */
+    boolean nullable();
+}
@@ -93,6 +93,13 @@ public non-sealed interface Batch extends Command {
 
     Boolean processAffectedObjects();
 
+    /**
+     * The commands and Parallel groups of the batch in document order, the order
+     * they run in. Empty if the order is not known, the lists by type hold the
+     * commands in any case.
+     */
+    List<Step> commands();
+
     public interface Parallel {
 
         List<Process> process();
@@ -100,4 +107,14 @@ public non-sealed interface Batch extends Command {
         Integer maxParallel();
     }
 
+    /**
+     * A command of the batch or a Parallel group, exactly one of both is set.
+     */
+    public interface Step {
+
+        Command command();
+
+        Parallel parallel();
+    }
+
 }
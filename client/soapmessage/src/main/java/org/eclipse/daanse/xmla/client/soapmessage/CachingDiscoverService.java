@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_CATALOGS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_COLUMNS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_PROVIDER_TYPES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_SCHEMATA;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_SOURCE_TABLES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_TABLES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DBSCHEMA_TABLES_INFO;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_CSDL_METADATA;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_DATASOURCES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_ENUMERATORS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_KEYWORDS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_LITERALS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_PROPERTIES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_SCHEMA_ROWSETS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.DISCOVER_XML_METADATA;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_ACTIONS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_CUBES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_DIMENSIONS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_FUNCTIONS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_HIERARCHIES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_KPIS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_LEVELS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_MEASUREGROUPS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_MEASUREGROUP_DIMENSIONS;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_MEASURES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_PROPERTIES;
+import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.MDSCHEMA_SETS;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.common.properties.Content;
+import org.eclipse.daanse.xmla.api.common.properties.Format;
+import org.eclipse.daanse.xmla.api.discover.DiscoverService;
+import org.eclipse.daanse.xmla.api.discover.Properties;
+import org.eclipse.daanse.xmla.api.discover.dbschema.catalogs.DbSchemaCatalogsRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.catalogs.DbSchemaCatalogsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.dbschema.columns.DbSchemaColumnsRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.columns.DbSchemaColumnsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.dbschema.providertypes.DbSchemaProviderTypesRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.providertypes.DbSchemaProviderTypesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.dbschema.schemata.DbSchemaSchemataRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.schemata.DbSchemaSchemataResponseRow;
+import org.eclipse.daanse.xmla.api.discover.dbschema.sourcetables.DbSchemaSourceTablesRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.sourcetables.DbSchemaSourceTablesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.dbschema.tables.DbSchemaTablesRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.tables.DbSchemaTablesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.dbschema.tablesinfo.DbSchemaTablesInfoRequest;
+import org.eclipse.daanse.xmla.api.discover.dbschema.tablesinfo.DbSchemaTablesInfoResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.csdlmetadata.DiscoverCsdlMetaDataRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.csdlmetadata.DiscoverCsdlMetaDataResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.datasources.DiscoverDataSourcesRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.datasources.DiscoverDataSourcesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.enumerators.DiscoverEnumeratorsRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.enumerators.DiscoverEnumeratorsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.keywords.DiscoverKeywordsRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.keywords.DiscoverKeywordsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.literals.DiscoverLiteralsRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.literals.DiscoverLiteralsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.properties.DiscoverPropertiesRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.properties.DiscoverPropertiesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.schemarowsets.DiscoverSchemaRowsetsRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.schemarowsets.DiscoverSchemaRowsetsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.discover.xmlmetadata.DiscoverXmlMetaDataRequest;
+import org.eclipse.daanse.xmla.api.discover.discover.xmlmetadata.DiscoverXmlMetaDataResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.actions.MdSchemaActionsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.actions.MdSchemaActionsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.cubes.MdSchemaCubesRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.cubes.MdSchemaCubesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.demensions.MdSchemaDimensionsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.demensions.MdSchemaDimensionsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.functions.MdSchemaFunctionsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.functions.MdSchemaFunctionsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.hierarchies.MdSchemaHierarchiesRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.hierarchies.MdSchemaHierarchiesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.kpis.MdSchemaKpisRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.kpis.MdSchemaKpisResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.levels.MdSchemaLevelsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.levels.MdSchemaLevelsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.measuregroupdimensions.MdSchemaMeasureGroupDimensionsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.measuregroupdimensions.MdSchemaMeasureGroupDimensionsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.measuregroups.MdSchemaMeasureGroupsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.measuregroups.MdSchemaMeasureGroupsResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.measures.MdSchemaMeasuresRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.measures.MdSchemaMeasuresResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.members.MdSchemaMembersRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.members.MdSchemaMembersResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.properties.MdSchemaPropertiesRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.properties.MdSchemaPropertiesResponseRow;
+import org.eclipse.daanse.xmla.api.discover.mdschema.sets.MdSchemaSetsRequest;
+import org.eclipse.daanse.xmla.api.discover.mdschema.sets.MdSchemaSetsResponseRow;
+import org.eclipse.daanse.xmla.model.record.RequestMetaDataR;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.cubes.MdSchemaCubesRequestR;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.cubes.MdSchemaCubesRestrictionsR;
+
+/**
+ * {@link DiscoverService} that caches the rows returned by another one, e.g. by
+ * a {@link DiscoverServiceImpl}, so metadata that is asked for again and again
+ * needs no round trip to the server.
+ * <p>
+ * The key holds the request type, the restrictions and the properties that
+ * select or shape the rowset. MDSCHEMA_MEMBERS is not cached, its rows depend
+ * on the data and not only on the metadata. Entries expire after the time to
+ * live, the least recently used entry is evicted when the cache is full.
+ * <p>
+ * All entries are dropped when the {@code LAST_SCHEMA_UPDATE} of a cube
+ * changes. Every MDSCHEMA_CUBES response of the delegate is compared with the
+ * updates seen before, and the cubes of every catalog that was asked for with
+ * MDSCHEMA_CUBES are requested again once per schema check interval.
+ */
+public class CachingDiscoverService implements DiscoverService {
+
+    private static final RequestMetaData SCHEMA_CHECK_META_DATA = new RequestMetaDataR(Optional.empty(),
+            Optional.empty(), Optional.empty());
+
+    private final DiscoverService delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long schemaCheckNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<CubeId, LocalDateTime> schemaUpdates = new HashMap<>();
+    private final Set<String> catalogs = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean checkingSchema = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long evictions;
+    private long invalidations;
+    private long generation;
+    private volatile long nextSchemaCheck;
+
+    /**
+     * @param maxEntries          the number of responses that are cached
+     * @param ttl                 how long a cached response is used
+     * @param schemaCheckInterval how often the schema updates of the known
+     *                            catalogs are checked, never if it is zero
+     */
+    public CachingDiscoverService(DiscoverService delegate, int maxEntries, Duration ttl,
+            Duration schemaCheckInterval) {
+        this(delegate, maxEntries, ttl, schemaCheckInterval, System::nanoTime);
+    }
+
+    CachingDiscoverService(DiscoverService delegate, int maxEntries, Duration ttl, Duration schemaCheckInterval,
+            LongSupplier nanoTime) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.schemaCheckNanos = schemaCheckInterval.toNanos();
+        this.nanoTime = nanoTime;
+        this.nextSchemaCheck = nanoTime.getAsLong() + schemaCheckNanos;
+    }
+
+    @Override
+    public List<DiscoverDataSourcesResponseRow> dataSources(DiscoverDataSourcesRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_DATASOURCES, request.properties(), request.restrictions(),
+                () -> delegate.dataSources(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaCatalogsResponseRow> dbSchemaCatalogs(DbSchemaCatalogsRequest request,
+            RequestMetaData metaData) {
+        return cached(DBSCHEMA_CATALOGS, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaCatalogs(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaColumnsResponseRow> dbSchemaColumns(DbSchemaColumnsRequest request, RequestMetaData metaData) {
+        return cached(DBSCHEMA_COLUMNS, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaColumns(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaProviderTypesResponseRow> dbSchemaProviderTypes(DbSchemaProviderTypesRequest request,
+            RequestMetaData metaData) {
+        return cached(DBSCHEMA_PROVIDER_TYPES, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaProviderTypes(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaSchemataResponseRow> dbSchemaSchemata(DbSchemaSchemataRequest request,
+            RequestMetaData metaData) {
+        return cached(DBSCHEMA_SCHEMATA, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaSchemata(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaSourceTablesResponseRow> dbSchemaSourceTables(DbSchemaSourceTablesRequest request,
+            RequestMetaData metaData) {
+        return cached(DBSCHEMA_SOURCE_TABLES, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaSourceTables(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaTablesResponseRow> dbSchemaTables(DbSchemaTablesRequest request, RequestMetaData metaData) {
+        return cached(DBSCHEMA_TABLES, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaTables(request, metaData));
+    }
+
+    @Override
+    public List<DbSchemaTablesInfoResponseRow> dbSchemaTablesInfo(DbSchemaTablesInfoRequest request,
+            RequestMetaData metaData) {
+        return cached(DBSCHEMA_TABLES_INFO, request.properties(), request.restrictions(),
+                () -> delegate.dbSchemaTablesInfo(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverEnumeratorsResponseRow> discoverEnumerators(DiscoverEnumeratorsRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_ENUMERATORS, request.properties(), request.restrictions(),
+                () -> delegate.discoverEnumerators(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverKeywordsResponseRow> discoverKeywords(DiscoverKeywordsRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_KEYWORDS, request.properties(), request.restrictions(),
+                () -> delegate.discoverKeywords(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverLiteralsResponseRow> discoverLiterals(DiscoverLiteralsRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_LITERALS, request.properties(), request.restrictions(),
+                () -> delegate.discoverLiterals(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverPropertiesResponseRow> discoverProperties(DiscoverPropertiesRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_PROPERTIES, request.properties(), request.restrictions(),
+                () -> delegate.discoverProperties(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverSchemaRowsetsResponseRow> discoverSchemaRowsets(DiscoverSchemaRowsetsRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_SCHEMA_ROWSETS, request.properties(), request.restrictions(),
+                () -> delegate.discoverSchemaRowsets(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaActionsResponseRow> mdSchemaActions(MdSchemaActionsRequest request, RequestMetaData metaData) {
+        return cached(MDSCHEMA_ACTIONS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaActions(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaCubesResponseRow> mdSchemaCubes(MdSchemaCubesRequest request, RequestMetaData metaData) {
+        rememberCatalog(request.restrictions() != null ? request.restrictions().catalogName() : null);
+        List<MdSchemaCubesResponseRow> rows = cached(MDSCHEMA_CUBES, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaCubes(request, metaData));
+        observeSchemaUpdates(rows);
+        return rows;
+    }
+
+    @Override
+    public List<MdSchemaDimensionsResponseRow> mdSchemaDimensions(MdSchemaDimensionsRequest request,
+            RequestMetaData metaData) {
+        return cached(MDSCHEMA_DIMENSIONS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaDimensions(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaFunctionsResponseRow> mdSchemaFunctions(MdSchemaFunctionsRequest request,
+            RequestMetaData metaData) {
+        return cached(MDSCHEMA_FUNCTIONS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaFunctions(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaHierarchiesResponseRow> mdSchemaHierarchies(MdSchemaHierarchiesRequest request,
+            RequestMetaData metaData) {
+        return cached(MDSCHEMA_HIERARCHIES, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaHierarchies(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaKpisResponseRow> mdSchemaKpis(MdSchemaKpisRequest request, RequestMetaData metaData) {
+        return cached(MDSCHEMA_KPIS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaKpis(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaLevelsResponseRow> mdSchemaLevels(MdSchemaLevelsRequest request, RequestMetaData metaData) {
+        return cached(MDSCHEMA_LEVELS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaLevels(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaMeasureGroupDimensionsResponseRow> mdSchemaMeasureGroupDimensions(
+            MdSchemaMeasureGroupDimensionsRequest request, RequestMetaData metaData) {
+        return cached(MDSCHEMA_MEASUREGROUP_DIMENSIONS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaMeasureGroupDimensions(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaMeasureGroupsResponseRow> mdSchemaMeasureGroups(MdSchemaMeasureGroupsRequest request,
+            RequestMetaData metaData) {
+        return cached(MDSCHEMA_MEASUREGROUPS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaMeasureGroups(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaMeasuresResponseRow> mdSchemaMeasures(MdSchemaMeasuresRequest request,
+            RequestMetaData metaData) {
+        return cached(MDSCHEMA_MEASURES, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaMeasures(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaMembersResponseRow> mdSchemaMembers(MdSchemaMembersRequest request, RequestMetaData metaData) {
+        // members depend on the data and not only on the metadata
+        return delegate.mdSchemaMembers(request, metaData);
+    }
+
+    @Override
+    public List<MdSchemaPropertiesResponseRow> mdSchemaProperties(MdSchemaPropertiesRequest request,
+            RequestMetaData metaData) {
+        return cached(MDSCHEMA_PROPERTIES, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaProperties(request, metaData));
+    }
+
+    @Override
+    public List<MdSchemaSetsResponseRow> mdSchemaSets(MdSchemaSetsRequest request, RequestMetaData metaData) {
+        return cached(MDSCHEMA_SETS, request.properties(), request.restrictions(),
+                () -> delegate.mdSchemaSets(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverXmlMetaDataResponseRow> xmlMetaData(DiscoverXmlMetaDataRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_XML_METADATA, request.properties(), request.restrictions(),
+                () -> delegate.xmlMetaData(request, metaData));
+    }
+
+    @Override
+    public List<DiscoverCsdlMetaDataResponseRow> csdlMetaData(DiscoverCsdlMetaDataRequest request,
+            RequestMetaData metaData) {
+        return cached(DISCOVER_CSDL_METADATA, request.properties(), request.restrictions(),
+                () -> delegate.csdlMetaData(request, metaData));
+    }
+
+    @Override
+    public Stream<MdSchemaMembersResponseRow> mdSchemaMembersStream(MdSchemaMembersRequest request,
+            RequestMetaData metaData) {
+        return delegate.mdSchemaMembersStream(request, metaData);
+    }
+
+    /**
+     * Requests the cubes of all catalogs that were asked for with MDSCHEMA_CUBES
+     * and drops all entries if the {@code LAST_SCHEMA_UPDATE} of a cube changed.
+     * It is called once per schema check interval by the requests.
+     */
+    public void checkSchema() {
+        nextSchemaCheck = nanoTime.getAsLong() + schemaCheckNanos;
+        for (String catalog : catalogs) {
+            MdSchemaCubesRequest request = new MdSchemaCubesRequestR(new PropertiesR(),
+                    new MdSchemaCubesRestrictionsR(catalog, Optional.empty(), Optional.empty(), Optional.empty(),
+                            Optional.empty(), Optional.empty()));
+            observeSchemaUpdates(delegate.mdSchemaCubes(request, SCHEMA_CHECK_META_DATA));
+        }
+    }
+
+    /**
+     * Drops all entries, e.g. after an Alter command was sent.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions, invalidations, entries.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> cached(String requestType, Properties properties, Object restrictions,
+            Supplier<List<T>> call) {
+        checkSchemaIfDue();
+        Key key = key(requestType, properties, restrictions);
+        long requestGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && nanoTime.getAsLong() - entry.created() <= ttlNanos) {
+                hits.increment();
+                return (List<T>) entry.rows();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            requestGeneration = generation;
+        }
+        misses.increment();
+        List<T> rows = call.get();
+        if (rows == null) {
+            // the call failed, it is tried again next time
+            return null;
+        }
+        List<T> copy = Collections.unmodifiableList(new ArrayList<>(rows));
+        put(key, requestGeneration, copy);
+        return copy;
+    }
+
+    private synchronized void put(Key key, long requestGeneration, List<?> rows) {
+        if (requestGeneration != generation) {
+            // invalidated while the request was sent, the rows may already be outdated
+            return;
+        }
+        entries.put(key, new Entry(rows, nanoTime.getAsLong()));
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private void checkSchemaIfDue() {
+        if (schemaCheckNanos <= 0 || catalogs.isEmpty() || nanoTime.getAsLong() - nextSchemaCheck < 0) {
+            return;
+        }
+        // one request checks, the others go on with the cache
+        if (checkingSchema.compareAndSet(false, true)) {
+            try {
+                checkSchema();
+            } finally {
+                checkingSchema.set(false);
+            }
+        }
+    }
+
+    private void rememberCatalog(String catalog) {
+        if (catalog != null && !catalog.isEmpty()) {
+            catalogs.add(catalog);
+        }
+    }
+
+    private void observeSchemaUpdates(List<MdSchemaCubesResponseRow> rows) {
+        if (rows == null) {
+            return;
+        }
+        boolean changed = false;
+        synchronized (this) {
+            for (MdSchemaCubesResponseRow row : rows) {
+                Optional<LocalDateTime> lastSchemaUpdate = row.lastSchemaUpdate();
+                if (lastSchemaUpdate == null || lastSchemaUpdate.isEmpty()) {
+                    continue;
+                }
+                LocalDateTime previous = schemaUpdates.put(new CubeId(row.catalogName(), row.cubeName()),
+                        lastSchemaUpdate.get());
+                changed |= previous != null && !previous.equals(lastSchemaUpdate.get());
+            }
+            if (changed) {
+                invalidateAll();
+            }
+        }
+    }
+
+    private static Key key(String requestType, Properties properties, Object restrictions) {
+        return new Key(requestType, restrictions, properties != null ? properties.catalog() : Optional.empty(),
+                properties != null ? properties.dataSourceInfo() : Optional.empty(),
+                properties != null ? properties.localeIdentifier() : Optional.empty(),
+                properties != null ? properties.content() : Optional.empty(),
+                properties != null ? properties.format() : Optional.empty(),
+                properties != null ? properties.roles() : Optional.empty(),
+                properties != null ? properties.effectiveRoles() : Optional.empty(),
+                properties != null ? properties.effectiveUserName() : Optional.empty(),
+                properties != null ? properties.customData() : Optional.empty());
+    }
+
+    /**
+     * @param hits          requests answered from the cache
+     * @param misses        requests sent to the delegate
+     * @param evictions     entries evicted because the cache was full
+     * @param invalidations times all entries were dropped
+     * @param size          the number of cached responses
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size) {
+    }
+
+    /**
+     * The rows depend on the roles and the user the server answers for, so they
+     * are part of the key.
+     */
+    private record Key(String requestType, Object restrictions, Optional<String> catalog,
+            Optional<String> dataSourceInfo, Optional<Integer> localeIdentifier, Optional<Content> content,
+            Optional<Format> format, Optional<String> roles, Optional<String> effectiveRoles,
+            Optional<String> effectiveUserName, Optional<String> customData) {
+    }
+
+    private record Entry(List<?> rows, long created) {
+    }
+
+    private record CubeId(String catalogName, Optional<String> cubeName) {
+    }
+}
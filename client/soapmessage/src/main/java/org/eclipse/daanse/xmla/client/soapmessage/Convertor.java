@@ -89,15 +89,17 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.sets.MdSchemaSetsResponseRo
 import org.eclipse.daanse.xmla.api.execute.alter.AlterResponse;
 import org.eclipse.daanse.xmla.api.execute.cancel.CancelResponse;
 import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheResponse;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessResponse;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
 import org.eclipse.daanse.xmla.api.mddataset.Axis;
 import org.eclipse.daanse.xmla.api.mddataset.AxisInfo;
 import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
-import org.eclipse.daanse.xmla.api.mddataset.CellType;
 import org.eclipse.daanse.xmla.api.mddataset.CellTypeError;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
 import org.eclipse.daanse.xmla.api.mddataset.HierarchyInfo;
 import org.eclipse.daanse.xmla.api.mddataset.MemberType;
 import org.eclipse.daanse.xmla.api.mddataset.OlapInfoCube;
+import org.eclipse.daanse.xmla.api.mddataset.RowSet;
 import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
 import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
 import org.eclipse.daanse.xmla.api.mddataset.Type;
@@ -145,17 +147,19 @@ import org.eclipse.daanse.xmla.model.record.exception.WarningTypeR;
 import org.eclipse.daanse.xmla.model.record.execute.alter.AlterResponseR;
 import org.eclipse.daanse.xmla.model.record.execute.cancel.CancelResponseR;
 import org.eclipse.daanse.xmla.model.record.execute.clearcache.ClearCacheResponseR;
+import org.eclipse.daanse.xmla.model.record.execute.process.ProcessResponseR;
 import org.eclipse.daanse.xmla.model.record.execute.statement.StatementResponseR;
 import org.eclipse.daanse.xmla.model.record.mddataset.AxesInfoR;
 import org.eclipse.daanse.xmla.model.record.mddataset.AxesR;
 import org.eclipse.daanse.xmla.model.record.mddataset.AxisInfoR;
 import org.eclipse.daanse.xmla.model.record.mddataset.AxisR;
-import org.eclipse.daanse.xmla.model.record.mddataset.CellDataR;
 import org.eclipse.daanse.xmla.model.record.mddataset.CellInfoItemR;
 import org.eclipse.daanse.xmla.model.record.mddataset.CellInfoR;
 import org.eclipse.daanse.xmla.model.record.mddataset.CellSetTypeR;
 import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeErrorR;
 import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarCellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarRowSetR;
 import org.eclipse.daanse.xmla.model.record.mddataset.CubeInfoR;
 import org.eclipse.daanse.xmla.model.record.mddataset.HierarchyInfoR;
 import org.eclipse.daanse.xmla.model.record.mddataset.MddatasetR;
@@ -163,16 +167,20 @@ import org.eclipse.daanse.xmla.model.record.mddataset.MemberTypeR;
 import org.eclipse.daanse.xmla.model.record.mddataset.MembersTypeR;
 import org.eclipse.daanse.xmla.model.record.mddataset.OlapInfoCubeR;
 import org.eclipse.daanse.xmla.model.record.mddataset.OlapInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetColumnR;
 import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
 import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowItemR;
 import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowR;
 import org.eclipse.daanse.xmla.model.record.mddataset.ValueR;
 import org.eclipse.daanse.xmla.model.record.xmla.RestrictionR;
 import org.eclipse.daanse.xmla.model.record.xmla_empty.EmptyresultR;
+import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import javax.xml.XMLConstants;
+
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -435,6 +443,8 @@ import static org.eclipse.daanse.xmla.client.soapmessage.Constants.WEIGHTEDPOPUL
 
 class Convertor {
 
+    private static final String SQL_NS = "urn:schemas-microsoft-com:xml-sql";
+
     private Convertor() {
         // constructor
     }
@@ -895,27 +905,81 @@ class Convertor {
 
         OlapInfoR olapInfo = getOlapInfo(olapInfoNl);
         AxesR axes = getAxes(axesNl);
-        CellDataR cellData = getCellData(cellDataNl);
+        ColumnarCellDataR cellData = getCellData(cellDataNl);
         ExceptionR exception = getException(exceptionNl);
         MessagesR messages = getMessages(messagesNl);
 
         MddatasetR mdDataSet = null;
-        RowSetR rowSet = null;
+        RowSet rowSet = null;
         if (olapInfo != null || axes != null || cellData != null || exception != null || messages != null) {
             mdDataSet = new MddatasetR(olapInfo, axes, cellData, exception, messages);
         }
-        rowSet = getRowSet(rowNl);
+        rowSet = getRowSet(soapBody, rowNl);
         return new StatementResponseR(mdDataSet, rowSet);
     }
 
-    private static RowSetR getRowSet(NodeList nl) {
+    /**
+     * Reads the rows into a {@link ColumnarRowSetR} with the columns of the inline
+     * rowset schema. Falls back to a {@link RowSetR} if there is no schema or a
+     * row has an element that is not a column of the schema.
+     */
+    private static RowSet getRowSet(SOAPBody soapBody, NodeList nl) {
         if (nl != null && nl.getLength() > 0) {
+            List<RowSetColumnR> columns = getRowSetColumns(soapBody);
+            if (!columns.isEmpty()) {
+                ColumnarRowSetR rowSet = getColumnarRowSet(columns, nl);
+                if (rowSet != null) {
+                    return rowSet;
+                }
+            }
             List<RowSetRow> rowSetRows = getRowSetRowList(nl);
             return new RowSetR(rowSetRows);
         }
         return null;
     }
 
+    private static List<RowSetColumnR> getRowSetColumns(SOAPBody soapBody) {
+        NodeList complexTypes = soapBody.getElementsByTagNameNS(XMLConstants.W3C_XML_SCHEMA_NS_URI, "complexType");
+        for (int i = 0; i < complexTypes.getLength(); i++) {
+            Element complexType = (Element) complexTypes.item(i);
+            if (ROW.equals(complexType.getAttribute("name"))) {
+                List<RowSetColumnR> columns = new ArrayList<>();
+                NodeList elements = complexType.getElementsByTagNameNS(XMLConstants.W3C_XML_SCHEMA_NS_URI, "element");
+                for (int j = 0; j < elements.getLength(); j++) {
+                    Element element = (Element) elements.item(j);
+                    String name = element.getAttribute("name");
+                    String field = element.getAttributeNS(SQL_NS, "field");
+                    String type = element.getAttribute("type");
+                    columns.add(new RowSetColumnR(name, field.isEmpty() ? name : field,
+                            type.isEmpty() ? null : ItemTypeEnum.fromValue(type),
+                            "0".equals(element.getAttribute("minOccurs"))));
+                }
+                return columns;
+            }
+        }
+        return List.of();
+    }
+
+    private static ColumnarRowSetR getColumnarRowSet(List<RowSetColumnR> columns, NodeList nl) {
+        ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns, nl.getLength());
+        for (int i = 0; i < nl.getLength(); i++) {
+            builder.addRow();
+            NodeList items = nl.item(i).getChildNodes();
+            for (int j = 0; j < items.getLength(); j++) {
+                Node item = items.item(j);
+                if (item.getNodeType() == Node.ELEMENT_NODE) {
+                    int column = builder.column(item.getLocalName() != null ? item.getLocalName()
+                            : item.getNodeName());
+                    if (column < 0) {
+                        return null;
+                    }
+                    builder.set(column, item.getTextContent());
+                }
+            }
+        }
+        return builder.build();
+    }
+
     private static List<RowSetRow> getRowSetRowList(NodeList nl) {
         if (nl != null && nl.getLength() > 0) {
             List<RowSetRow> list = new ArrayList<>();
@@ -967,7 +1031,16 @@ class Convertor {
         return new CancelResponseR(emptyresult);
     }
 
-    private static MessagesR getMessages(NodeList nl) {
+    static ProcessResponse convertToProcessResponse(SOAPBody soapBody) {
+        NodeList exceptionNl = soapBody.getElementsByTagName(EXCEPTION);
+        NodeList messagesNl = soapBody.getElementsByTagName(MESSAGES);
+        ExceptionR exception = getException(exceptionNl);
+        MessagesR messages = getMessages(messagesNl);
+        Emptyresult emptyresult = new EmptyresultR(exception, messages);
+        return new ProcessResponseR(emptyresult);
+    }
+
+    static MessagesR getMessages(NodeList nl) {
         if (nl != null) {
             for (int i = 0; i < nl.getLength(); i++) {
                 Node node = nl.item(i);
@@ -1139,28 +1212,79 @@ class Convertor {
         return null;
     }
 
-    private static CellDataR getCellData(NodeList nl) {
+    private static ColumnarCellDataR getCellData(NodeList nl) {
         if (nl != null) {
-            List<CellType> list = new ArrayList<>();
-            CellSetTypeR cellSetType = null;
+            ColumnarCellDataR.Builder builder = ColumnarCellDataR.builder();
             for (int i = 0; i < nl.getLength(); i++) {
-                Node node = nl.item(i);
-                if (node != null) {
+                NodeList nodeList = nl.item(i).getChildNodes();
+                for (int j = 0; j < nodeList.getLength(); j++) {
+                    Node node = nodeList.item(j);
                     if ("Cell".equals(node.getNodeName())) {
-                        NodeList nodeList = node.getChildNodes();
-                        list.add(new CellTypeR(getValue(nodeList), getCellInfoItem(nodeList),
-                                getLong(getAttribute(node.getAttributes(), "CellOrdinal"))));
+                        addCell(builder, node);
                     }
                     if ("CellSetType".equals(node.getNodeName())) {
-                        cellSetType = new CellSetTypeR(getDataList(node.getChildNodes()));
+                        builder.cellSet(new CellSetTypeR(getDataList(node.getChildNodes())));
                     }
                 }
             }
-            return new CellDataR(list, cellSetType);
+            return builder.build();
         }
         return null;
     }
 
+    private static void addCell(ColumnarCellDataR.Builder builder, Node cell) {
+        Long cellOrdinal = getLong(getAttribute(cell.getAttributes(), "CellOrdinal"));
+        long ordinal = cellOrdinal != null ? cellOrdinal : 0L;
+        NodeList nl = cell.getChildNodes();
+        Node value = null;
+        String formattedValue = null;
+        boolean plain = true;
+        for (int i = 0; i < nl.getLength(); i++) {
+            Node node = nl.item(i);
+            if (node.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            if (value == null && "Value".equals(node.getNodeName())) {
+                value = node;
+                plain &= !hasChildElements(node);
+            } else if (formattedValue == null && ColumnarCellData.FMT_VALUE.equals(node.getNodeName())
+                    && !node.hasAttributes()) {
+                formattedValue = node.getTextContent();
+            } else {
+                plain = false;
+            }
+        }
+        if (plain) {
+            // the common case, no objects are created for the cell
+            builder.addValue(ordinal, value != null ? value.getTextContent() : null,
+                    value != null ? ItemTypeEnum.fromValue(getAttribute(value.getAttributes(), "xsi:type")) : null,
+                    formattedValue);
+        } else {
+            builder.addCell(new CellTypeR(getValue(value), getCellProperties(nl), ordinal));
+        }
+    }
+
+    private static boolean hasChildElements(Node n) {
+        for (Node child = n.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<CellInfoItem> getCellProperties(NodeList nl) {
+        List<CellInfoItem> list = new ArrayList<>();
+        for (int i = 0; i < nl.getLength(); i++) {
+            Node node = nl.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE && !"Value".equals(node.getNodeName())) {
+                String type = getAttribute(node.getAttributes(), "type");
+                list.add(new CellInfoItemR(node.getNodeName(), node.getTextContent(), Optional.ofNullable(type)));
+            }
+        }
+        return list;
+    }
+
     private static List<byte[]> getDataList(NodeList nl) {
         if (nl != null) {
             List<byte[]> result = new ArrayList<>();
@@ -1175,16 +1299,10 @@ class Convertor {
         return null;
     }
 
-    private static ValueR getValue(NodeList nl) {
-        if (nl != null) {
-            for (int i = 0; i < nl.getLength(); i++) {
-                Node node = nl.item(i).getChildNodes().item(i);
-                if (node != null && "Value".equals(node.getNodeName())) {
-                    String value = node.getTextContent();
-                    ItemTypeEnum cellType = ItemTypeEnum.fromValue(getAttribute(node.getAttributes(), "xsi:type"));
-                    return new ValueR(value, cellType, getCellTypeErrorList(node.getChildNodes()));
-                }
-            }
+    private static ValueR getValue(Node node) {
+        if (node != null) {
+            ItemTypeEnum cellType = ItemTypeEnum.fromValue(getAttribute(node.getAttributes(), "xsi:type"));
+            return new ValueR(node.getTextContent(), cellType, getCellTypeErrorList(node.getChildNodes()));
         }
         return null;
     }
@@ -1205,7 +1323,7 @@ class Convertor {
         return null;
     }
 
-    private static AxesR getAxes(NodeList nl) {
+    static AxesR getAxes(NodeList nl) {
         if (nl != null) {
             List<Axis> list = new ArrayList<>();
             for (int i = 0; i < nl.getLength(); i++) {
@@ -1258,7 +1376,7 @@ class Convertor {
         return null;
     }
 
-    private static OlapInfoR getOlapInfo(Node item) {
+    static OlapInfoR getOlapInfo(Node item) {
         NodeList cn = item.getChildNodes();
         CubeInfoR cubeInfo = null;
         AxesInfoR axesInfo = null;
@@ -46,7 +46,9 @@ import static org.eclipse.daanse.xmla.client.soapmessage.DiscoverConsumers.creat
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.discover.DiscoverService;
@@ -109,6 +111,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.sets.MdSchemaSetsResponseRo
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 
@@ -489,4 +492,186 @@ public class DiscoverServiceImpl implements DiscoverService {
         }
         return List.of();
     }
+
+    /*
+     * Asynchronous variants of the calls. Errors are logged and give the same
+     * result as for the synchronous call.
+     */
+
+    public CompletableFuture<List<DbSchemaCatalogsResponseRow>> dbSchemaCatalogsAsync(DbSchemaCatalogsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaCatalogsRequestConsumer(request),
+                Convertor::convertToDbSchemaCatalogsResponseRow, "dbSchemaCatalogs");
+    }
+
+    public CompletableFuture<List<DbSchemaTablesResponseRow>> dbSchemaTablesAsync(DbSchemaTablesRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaTablesRequestConsumer(request),
+                Convertor::convertToDbSchemaTablesResponseRow, "dbSchemaTables");
+    }
+
+    public CompletableFuture<List<DiscoverEnumeratorsResponseRow>> discoverEnumeratorsAsync(
+            DiscoverEnumeratorsRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverEnumeratorsRequestConsumer(request),
+                Convertor::convertToDiscoverEnumeratorsResponseRow, "discoverEnumerators");
+    }
+
+    public CompletableFuture<List<DiscoverKeywordsResponseRow>> discoverKeywordsAsync(DiscoverKeywordsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverKeywordsRequestConsumer(request),
+                Convertor::convertToDiscoverKeywordsResponseRow, "discoverKeywords");
+    }
+
+    public CompletableFuture<List<DiscoverLiteralsResponseRow>> discoverLiteralsAsync(DiscoverLiteralsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverLiteralsRequestConsumer(request),
+                Convertor::convertToDiscoverLiteralsResponseRow, "discoverLiterals");
+    }
+
+    public CompletableFuture<List<DiscoverPropertiesResponseRow>> discoverPropertiesAsync(
+            DiscoverPropertiesRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverPropertiesRequestConsumer(request),
+                Convertor::convertToDiscoverPropertiesResponseRow, "discoverProperties");
+    }
+
+    public CompletableFuture<List<DiscoverSchemaRowsetsResponseRow>> discoverSchemaRowsetsAsync(
+            DiscoverSchemaRowsetsRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverSchemaRowsetsRequestConsumer(request),
+                Convertor::convertToDiscoverSchemaRowsetsResponseRow, "discoverSchemaRowsets");
+    }
+
+    public CompletableFuture<List<MdSchemaActionsResponseRow>> mdSchemaActionsAsync(MdSchemaActionsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaActionsRequestConsumer(request),
+                Convertor::convertToMdSchemaActionsResponseRow, "mdSchemaActions");
+    }
+
+    public CompletableFuture<List<MdSchemaCubesResponseRow>> mdSchemaCubesAsync(MdSchemaCubesRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaCubesRequestConsumer(request),
+                Convertor::convertToMdSchemaCubesResponseRow, "mdSchemaCubes");
+    }
+
+    public CompletableFuture<List<MdSchemaDimensionsResponseRow>> mdSchemaDimensionsAsync(
+            MdSchemaDimensionsRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaDimensionsRequestConsumer(request),
+                Convertor::convertToMdSchemaDimensionsResponseRow, "mdSchemaDimensions");
+    }
+
+    public CompletableFuture<List<MdSchemaFunctionsResponseRow>> mdSchemaFunctionsAsync(
+            MdSchemaFunctionsRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaFunctionsRequestConsumer(request),
+                Convertor::convertToMdSchemaFunctionsResponseRow, "mdSchemaFunctions");
+    }
+
+    public CompletableFuture<List<MdSchemaHierarchiesResponseRow>> mdSchemaHierarchiesAsync(
+            MdSchemaHierarchiesRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaHierarchiesRequestConsumer(request),
+                Convertor::convertToMdSchemaHierarchiesResponseRow, "mdSchemaHierarchies");
+    }
+
+    public CompletableFuture<List<DiscoverDataSourcesResponseRow>> dataSourcesAsync(DiscoverDataSourcesRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverDataSourcesRequestConsumer(request),
+                Convertor::convertToDiscoverDataSourcesResponseRow, "dataSources");
+    }
+
+    public CompletableFuture<List<DiscoverXmlMetaDataResponseRow>> xmlMetaDataAsync(DiscoverXmlMetaDataRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverXmlMetaDataRequestConsumer(request),
+                Convertor::convertToDiscoverXmlMetaDataResponseRow, "xmlMetaData");
+    }
+
+    public CompletableFuture<List<DiscoverCsdlMetaDataResponseRow>> csdlMetaDataAsync(
+            DiscoverCsdlMetaDataRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDiscoverCsdlMetaDataRequestConsumer(request),
+                Convertor::convertToDiscoverCsdlMetaDataResponseRow, "csdlMetaData");
+    }
+
+    public CompletableFuture<List<DbSchemaColumnsResponseRow>> dbSchemaColumnsAsync(DbSchemaColumnsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaColumnsRequestConsumer(request),
+                Convertor::convertToDbSchemaColumnsResponseRow, "dbSchemaColumns");
+    }
+
+    public CompletableFuture<List<DbSchemaProviderTypesResponseRow>> dbSchemaProviderTypesAsync(
+            DbSchemaProviderTypesRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaProviderTypesRequestConsumer(request),
+                Convertor::convertToDbSchemaProviderTypesResponseRow, "dbSchemaProviderTypes");
+    }
+
+    public CompletableFuture<List<DbSchemaSchemataResponseRow>> dbSchemaSchemataAsync(DbSchemaSchemataRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaSchemataRequestConsumer(request),
+                Convertor::convertToDbSchemaSchemataResponseRow, "dbSchemaSchemata");
+    }
+
+    public CompletableFuture<List<MdSchemaLevelsResponseRow>> mdSchemaLevelsAsync(MdSchemaLevelsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaLevelsRequestConsumer(request),
+                Convertor::convertToMdSchemaLevelsResponseRow, "mdSchemaLevels");
+    }
+
+    public CompletableFuture<List<MdSchemaMeasureGroupDimensionsResponseRow>> mdSchemaMeasureGroupDimensionsAsync(
+            MdSchemaMeasureGroupDimensionsRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaMeasureGroupDimensionsRequestConsumer(request),
+                Convertor::convertToMdSchemaMeasureGroupDimensionsResponseRow, "mdSchemaMeasureGroupDimensions");
+    }
+
+    public CompletableFuture<List<MdSchemaMeasuresResponseRow>> mdSchemaMeasuresAsync(MdSchemaMeasuresRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaMeasuresRequestConsumer(request),
+                Convertor::convertToMdSchemaMeasuresResponseRow, "mdSchemaMeasures");
+    }
+
+    public CompletableFuture<List<MdSchemaMembersResponseRow>> mdSchemaMembersAsync(MdSchemaMembersRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaMembersRequestConsumer(request),
+                Convertor::convertToMdSchemaMembersResponseRow, "mdSchemaMembers");
+    }
+
+    public CompletableFuture<List<MdSchemaPropertiesResponseRow>> mdSchemaPropertiesAsync(
+            MdSchemaPropertiesRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaPropertiesRequestConsumer(request),
+                Convertor::convertToMdSchemaPropertiesResponseRow, "mdSchemaProperties");
+    }
+
+    public CompletableFuture<List<MdSchemaSetsResponseRow>> mdSchemaSetsAsync(MdSchemaSetsRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaSetsRequestConsumer(request),
+                Convertor::convertToMdSchemaSetsResponseRow, "mdSchemaSets");
+    }
+
+    public CompletableFuture<List<MdSchemaKpisResponseRow>> mdSchemaKpisAsync(MdSchemaKpisRequest request,
+            RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaKpisRequestConsumer(request),
+                Convertor::convertToMdSchemaKpisResponseRow, "mdSchemaKpis");
+    }
+
+    public CompletableFuture<List<MdSchemaMeasureGroupsResponseRow>> mdSchemaMeasureGroupsAsync(
+            MdSchemaMeasureGroupsRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createMdSchemaMeasureGroupsRequestConsumer(request),
+                Convertor::convertToMdSchemaMeasureGroupsResponseRow, "mdSchemaMeasureGroups");
+    }
+
+    public CompletableFuture<List<DbSchemaSourceTablesResponseRow>> dbSchemaSourceTablesAsync(
+            DbSchemaSourceTablesRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaSourceTablesRequestConsumer(request),
+                Convertor::convertToDbSchemaSourceTablesResponseRow, "dbSchemaSourceTables");
+    }
+
+    public CompletableFuture<List<DbSchemaTablesInfoResponseRow>> dbSchemaTablesInfoAsync(
+            DbSchemaTablesInfoRequest request, RequestMetaData metaData) {
+        return discoverAsync(DiscoverConsumers.createDbSchemaTablesInfoRequestConsumer(request),
+                Convertor::convertToDbSchemaTablesInfoResponseRow, "dbSchemaTablesInfo");
+    }
+
+    private <T> CompletableFuture<List<T>> discoverAsync(Consumer<SOAPMessage> msg,
+            Function<SOAPBody, List<T>> convertor, String name) {
+        return soapClient.callSoapWebServiceAsync(Optional.of(SOAP_ACTION_DISCOVER), msg)
+                .thenApply(message -> SoapClient.convert(message, convertor)).exceptionally(e -> {
+                    LOGGER.error("DiscoverService {} error", name, e);
+                    return List.of();
+                });
+    }
 }
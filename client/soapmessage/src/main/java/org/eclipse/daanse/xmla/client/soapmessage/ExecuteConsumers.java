@@ -21,10 +21,12 @@ import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
 import org.eclipse.daanse.xmla.api.execute.alter.AlterRequest;
 import org.eclipse.daanse.xmla.api.execute.cancel.CancelRequest;
 import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheRequest;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessRequest;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
 import org.eclipse.daanse.xmla.api.xmla.Alter;
 import org.eclipse.daanse.xmla.api.xmla.Cancel;
 import org.eclipse.daanse.xmla.api.xmla.ClearCache;
+import org.eclipse.daanse.xmla.api.xmla.Process;
 import org.eclipse.daanse.xmla.api.xmla.Statement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +42,7 @@ import static org.eclipse.daanse.xmla.client.soapmessage.SoapUtil.addChildElemen
 import static org.eclipse.daanse.xmla.client.soapmessage.SoapUtil.addChildElementCancel;
 import static org.eclipse.daanse.xmla.client.soapmessage.SoapUtil.addChildElementClearCache;
 import static org.eclipse.daanse.xmla.client.soapmessage.SoapUtil.addChildElementParameterList;
+import static org.eclipse.daanse.xmla.client.soapmessage.SoapUtil.addChildElementProcess;
 import static org.eclipse.daanse.xmla.client.soapmessage.SoapUtil.addChildElementPropertyList;
 
 public class ExecuteConsumers {
@@ -111,6 +114,27 @@ public class ExecuteConsumers {
         };
     }
 
+    static Consumer<SOAPMessage> createProcessRequestConsumer(ProcessRequest requestApi) {
+        return message -> {
+            try {
+                Process process = requestApi.command();
+                Properties properties = requestApi.properties();
+                List<ExecuteParameter> executeParameterList = requestApi.parameters();
+
+                SOAPElement execute = message.getSOAPBody().addChildElement(EXECUTE);
+                SOAPElement commandElement = execute.addChildElement(COMMAND);
+                addChildElementProcess(commandElement, process);
+
+                SOAPElement propertyList = execute.addChildElement(PROPERTIES).addChildElement(PROPERTY_LIST);
+                addChildElementPropertyList(propertyList, properties);
+                addChildElementParameterList(execute, executeParameterList);
+
+            } catch (SOAPException e) {
+                LOGGER.error("ExecuteConsumers ProcessRequest accept error", e);
+            }
+        };
+    }
+
     static Consumer<SOAPMessage> createAlterRequestConsumer(AlterRequest requestApi) {
         return message -> {
             try {
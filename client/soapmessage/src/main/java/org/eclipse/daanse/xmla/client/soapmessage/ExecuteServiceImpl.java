@@ -13,6 +13,7 @@
  */
 package org.eclipse.daanse.xmla.client.soapmessage;
 
+import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 import org.eclipse.daanse.xmla.api.RequestMetaData;
@@ -24,18 +25,23 @@ import org.eclipse.daanse.xmla.api.execute.cancel.CancelRequest;
 import org.eclipse.daanse.xmla.api.execute.cancel.CancelResponse;
 import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheRequest;
 import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheResponse;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessRequest;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessResponse;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.eclipse.daanse.xmla.client.soapmessage.Constants.SOAP_ACTION_EXECUTE;
 import static org.eclipse.daanse.xmla.client.soapmessage.Convertor.convertToAlterResponse;
 import static org.eclipse.daanse.xmla.client.soapmessage.Convertor.convertToCancelResponse;
 import static org.eclipse.daanse.xmla.client.soapmessage.Convertor.convertToClearCacheResponse;
+import static org.eclipse.daanse.xmla.client.soapmessage.Convertor.convertToProcessResponse;
 import static org.eclipse.daanse.xmla.client.soapmessage.Convertor.convertToStatementResponse;
 
 public class ExecuteServiceImpl implements ExecuteService {
@@ -60,6 +66,24 @@ public class ExecuteServiceImpl implements ExecuteService {
         return null;
     }
 
+    /**
+     * Sends the statement and returns a reader of the response while it arrives.
+     * The axes are read before it is returned, the cells or rows when the caller
+     * steps through them, so large results are not kept in memory. The reader
+     * must be closed.
+     *
+     * @throws SoapClientException if the call fails or the server returns a fault
+     */
+    public StatementResponseReader statementReader(StatementRequest statementRequest, RequestMetaData metaData,
+            UserRolePrincipal userPrincipal) {
+        try {
+            Consumer<SOAPMessage> msg = ExecuteConsumers.createStatementRequestConsumer(statementRequest);
+            return new StatementResponseReader(soapClient.openSoapWebService(Optional.of(SOAP_ACTION_EXECUTE), msg));
+        } catch (SOAPException e) {
+            throw new SoapClientException("ExecuteService statement error", e);
+        }
+    }
+
     @Override
     public AlterResponse alter(AlterRequest alterRequest, RequestMetaData metaData, UserRolePrincipal userPrincipal) {
         try {
@@ -85,6 +109,19 @@ public class ExecuteServiceImpl implements ExecuteService {
         return null;
     }
 
+    @Override
+    public ProcessResponse process(ProcessRequest processRequest, RequestMetaData metaData,
+            UserRolePrincipal userPrincipal) {
+        try {
+            Consumer<SOAPMessage> msg = ExecuteConsumers.createProcessRequestConsumer(processRequest);
+            SOAPMessage message = soapClient.callSoapWebService(Optional.of(SOAP_ACTION_EXECUTE), msg);
+            return convertToProcessResponse(message.getSOAPBody());
+        } catch (SOAPException e) {
+            LOGGER.error("ExecuteService process error", e);
+        }
+        return null;
+    }
+
     @Override
     public CancelResponse cancel(CancelRequest cancelRequest, RequestMetaData metaData, UserRolePrincipal userPrincipal) {
         try {
@@ -96,4 +133,48 @@ public class ExecuteServiceImpl implements ExecuteService {
         }
         return null;
     }
+
+    /*
+     * Asynchronous variants of the calls. Errors are logged and give the same
+     * result as for the synchronous call.
+     */
+
+    public CompletableFuture<StatementResponse> statementAsync(StatementRequest request,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        return executeAsync(ExecuteConsumers.createStatementRequestConsumer(request),
+                Convertor::convertToStatementResponse, "statement");
+    }
+
+    public CompletableFuture<AlterResponse> alterAsync(AlterRequest request,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        return executeAsync(ExecuteConsumers.createAlterRequestConsumer(request),
+                Convertor::convertToAlterResponse, "alter");
+    }
+
+    public CompletableFuture<ClearCacheResponse> clearCacheAsync(ClearCacheRequest request,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        return executeAsync(ExecuteConsumers.createClearCacheRequestConsumer(request),
+                Convertor::convertToClearCacheResponse, "clearCache");
+    }
+
+    public CompletableFuture<ProcessResponse> processAsync(ProcessRequest request,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        return executeAsync(ExecuteConsumers.createProcessRequestConsumer(request),
+                Convertor::convertToProcessResponse, "process");
+    }
+
+    public CompletableFuture<CancelResponse> cancelAsync(CancelRequest request,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        return executeAsync(ExecuteConsumers.createCancelRequestConsumer(request),
+                Convertor::convertToCancelResponse, "cancel");
+    }
+
+    private <T> CompletableFuture<T> executeAsync(Consumer<SOAPMessage> msg, Function<SOAPBody, T> convertor,
+            String name) {
+        return soapClient.callSoapWebServiceAsync(Optional.of(SOAP_ACTION_EXECUTE), msg)
+                .thenApply(message -> SoapClient.convert(message, convertor)).exceptionally(e -> {
+                    LOGGER.error("ExecuteService {} error", name, e);
+                    return null;
+                });
+    }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.xml.soap.MimeHeader;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * Transport using {@link HttpClient}. The client keeps connections alive and
+ * reuses them for later calls, uses HTTP/2 if the server supports it and sends
+ * asynchronous calls without blocking a thread while waiting for the response.
+ * Responses are requested gzip compressed, requests are only compressed if
+ * enabled because the server has to support it.
+ */
+public class HttpClientSoapTransport implements SoapTransport {
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String GZIP = "gzip";
+    // set by the HttpClient itself
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("content-length", "connection", "host", "expect",
+            "upgrade");
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final boolean compressRequests;
+
+    private HttpClientSoapTransport(Builder builder) {
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .version(builder.version)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(builder.connectTimeout);
+        if (builder.executor != null) {
+            clientBuilder.executor(builder.executor);
+        }
+        this.httpClient = clientBuilder.build();
+        this.requestTimeout = builder.requestTimeout;
+        this.compressRequests = builder.compressRequests;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public SOAPMessage call(SOAPMessage request, String endpointUrl) throws SOAPException {
+        try {
+            return toSoapMessage(httpClient.send(toHttpRequest(request, endpointUrl),
+                    HttpResponse.BodyHandlers.ofByteArray()));
+        } catch (IOException e) {
+            throw new SOAPException("Call to " + endpointUrl + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SOAPException("Call to " + endpointUrl + " was interrupted", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<SOAPMessage> callAsync(SOAPMessage request, String endpointUrl) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request, endpointUrl);
+        } catch (SOAPException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            try {
+                return toSoapMessage(response);
+            } catch (SOAPException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns the body of the response as it is received, decompressed if the
+     * server sent it gzip compressed. A SOAP fault is sent with status 500 and
+     * left to the reader of the body.
+     */
+    @Override
+    public InputStream open(SOAPMessage request, String endpointUrl) throws SOAPException {
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(toHttpRequest(request, endpointUrl), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new SOAPException("Call to " + endpointUrl + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SOAPException("Call to " + endpointUrl + " was interrupted", e);
+        }
+        InputStream body = response.body();
+        int status = response.statusCode();
+        try {
+            if ((status < 200 || status >= 300) && status != 500) {
+                body.close();
+                throw new SOAPException("Bad response: (" + status + ") from " + response.uri());
+            }
+            return isGzip(response) ? new GZIPInputStream(body) : body;
+        } catch (IOException e) {
+            throw new SOAPException(e);
+        }
+    }
+
+    private HttpRequest toHttpRequest(SOAPMessage message, String endpointUrl) throws SOAPException {
+        if (message.saveRequired()) {
+            message.saveChanges();
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (OutputStream out = compressRequests ? new GZIPOutputStream(body) : body) {
+            message.writeTo(out);
+        } catch (IOException e) {
+            throw new SOAPException(e);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(endpointUrl))
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", GZIP)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+        Iterator<MimeHeader> headers = message.getMimeHeaders().getAllHeaders();
+        while (headers.hasNext()) {
+            MimeHeader header = headers.next();
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (compressRequests) {
+            builder.header(CONTENT_ENCODING, GZIP);
+        }
+        return builder.build();
+    }
+
+    private static SOAPMessage toSoapMessage(HttpResponse<byte[]> response) throws SOAPException {
+        int status = response.statusCode();
+        byte[] body = response.body();
+        // SOAP faults are sent with status 500
+        boolean fault = status == 500 && body.length > 0;
+        if ((status < 200 || status >= 300) && !fault) {
+            throw new SOAPException("Bad response: (" + status + ") from " + response.uri());
+        }
+        if (body.length == 0) {
+            return null;
+        }
+
+        MimeHeaders mimeHeaders = new MimeHeaders();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase(CONTENT_ENCODING)) {
+                values.forEach(value -> mimeHeaders.addHeader(name, value));
+            }
+        });
+        try (InputStream in = isGzip(response) ? new GZIPInputStream(new ByteArrayInputStream(body))
+                : new ByteArrayInputStream(body)) {
+            SOAPMessage message = SoapClient.messageFactory().createMessage(mimeHeaders, in);
+            // parse now, the stream is closed afterwards
+            message.getSOAPPart().getEnvelope();
+            return message;
+        } catch (IOException e) {
+            throw new SOAPException(e);
+        }
+    }
+
+    private static boolean isGzip(HttpResponse<?> response) {
+        return response.headers().firstValue(CONTENT_ENCODING).filter(GZIP::equalsIgnoreCase).isPresent();
+    }
+
+    public static class Builder {
+
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofMinutes(5);
+        private boolean compressRequests;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * The preferred HTTP version, HTTP/2 by default. HTTP/1.1 is used if the
+         * server does not support HTTP/2.
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * The time to wait for the response of a call, 5 minutes by default.
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Whether requests are sent gzip compressed. The server must support
+         * {@code Content-Encoding: gzip}.
+         */
+        public Builder compressRequests(boolean compressRequests) {
+            this.compressRequests = compressRequests;
+            return this;
+        }
+
+        /**
+         * The executor for asynchronous tasks of the {@link HttpClient}.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public HttpClientSoapTransport build() {
+            return new HttpClientSoapTransport(this);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import jakarta.xml.soap.SOAPConnection;
+import jakarta.xml.soap.SOAPConnectionFactory;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * Transport using the {@link SOAPConnection} of the SAAJ implementation. Every
+ * call opens its own connection and closes it when the response is read, a
+ * SOAPConnection is not thread safe, so the transport can be shared by
+ * threads.
+ */
+public class SaajSoapTransport implements SoapTransport {
+
+    private static volatile SOAPConnectionFactory connectionFactory;
+
+    @Override
+    public SOAPMessage call(SOAPMessage request, String endpointUrl) throws SOAPException {
+        try (SOAPConnection connection = connectionFactory().createConnection()) {
+            return connection.call(request, endpointUrl);
+        }
+    }
+
+    private static SOAPConnectionFactory connectionFactory() throws SOAPException {
+        SOAPConnectionFactory factory = connectionFactory;
+        if (factory == null) {
+            factory = SOAPConnectionFactory.newInstance();
+            connectionFactory = factory;
+        }
+        return factory;
+    }
+}
@@ -13,59 +13,111 @@
  */
 package org.eclipse.daanse.xmla.client.soapmessage;
 
+import java.io.InputStream;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.xml.soap.MessageFactory;
 import jakarta.xml.soap.MimeHeaders;
-import jakarta.xml.soap.SOAPConnection;
-import jakarta.xml.soap.SOAPConnectionFactory;
+import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
 
 public class SoapClient {
 
+    private static volatile MessageFactory messageFactory;
+
     public SoapClient(String soapEndpointUrl) {
+        this(soapEndpointUrl, new SaajSoapTransport());
+    }
+
+    public SoapClient(String soapEndpointUrl, SoapTransport transport) {
         this.soapEndpointUrl = soapEndpointUrl;
+        this.transport = transport;
     }
 
     private String soapEndpointUrl;
+    private final SoapTransport transport;
     public static final Logger logger = LoggerFactory.getLogger(SoapClient.class);
 
     public SOAPMessage callSoapWebService(Optional<String> oSoapAction, Consumer<SOAPMessage> consumer)
             throws SOAPException {
 
-        MessageFactory messageFactory = MessageFactory.newInstance();
-        SOAPMessage message = messageFactory.createMessage();
+        SOAPMessage message = createRequest(oSoapAction, consumer);
 
-        consumer.accept(message);
+        // Send SOAP Message to SOAP Server
+        SOAPMessage response = transport.call(message, soapEndpointUrl);
 
-        MimeHeaders headers = message.getMimeHeaders();
-        oSoapAction.ifPresent(actionName -> headers.addHeader("SOAPAction", actionName));
-        message.saveChanges();
+        // Print the SOAP Response
 
-        /* Print the request message, just for debugging purposes */
-        logger.error("Request SOAP Message:");
+        logger.debug("Response SOAP Message:");
 
-        // Create SOAP Connection
+        return response;
 
-        SOAPConnectionFactory connectionFactory = SOAPConnectionFactory.newInstance();
-        SOAPConnection connection = connectionFactory.createConnection();
+    }
 
-        // Send SOAP Message to SOAP Server
-        SOAPMessage response = connection.call(message, soapEndpointUrl);
+    /**
+     * Like {@link #callSoapWebService(Optional, Consumer)} without waiting for the
+     * response.
+     */
+    public CompletableFuture<SOAPMessage> callSoapWebServiceAsync(Optional<String> oSoapAction,
+            Consumer<SOAPMessage> consumer) {
+        try {
+            return transport.callAsync(createRequest(oSoapAction, consumer), soapEndpointUrl);
+        } catch (SOAPException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        // Print the SOAP Response
+    /**
+     * Like {@link #callSoapWebService(Optional, Consumer)}, but returns the body
+     * of the response to be read while it arrives. The caller closes the stream.
+     */
+    public InputStream openSoapWebService(Optional<String> oSoapAction, Consumer<SOAPMessage> consumer)
+            throws SOAPException {
+        return transport.open(createRequest(oSoapAction, consumer), soapEndpointUrl);
+    }
 
-        logger.debug("Response SOAP Message:");
+    private static SOAPMessage createRequest(Optional<String> oSoapAction, Consumer<SOAPMessage> consumer)
+            throws SOAPException {
+        SOAPMessage message = messageFactory().createMessage();
 
-        connection.close();
+        consumer.accept(message);
 
-        return response;
+        MimeHeaders headers = message.getMimeHeaders();
+        oSoapAction.ifPresent(actionName -> headers.addHeader("SOAPAction", actionName));
+        message.saveChanges();
+
+        /* Print the request message, just for debugging purposes */
+        logger.error("Request SOAP Message:");
+        return message;
+    }
+
+    /**
+     * Converts the body of a response in a {@link CompletableFuture} stage. A
+     * {@link SOAPException} completes the stage exceptionally.
+     */
+    static <T> T convert(SOAPMessage message, Function<SOAPBody, T> convertor) {
+        try {
+            return convertor.apply(message.getSOAPBody());
+        } catch (SOAPException e) {
+            throw new CompletionException(e);
+        }
+    }
 
+    static MessageFactory messageFactory() throws SOAPException {
+        MessageFactory factory = messageFactory;
+        if (factory == null) {
+            factory = MessageFactory.newInstance();
+            messageFactory = factory;
+        }
+        return factory;
     }
 
 }
@@ -22,6 +22,10 @@ public class SoapClientException extends RuntimeException {
         super(msg, e);
     }
 
+    public SoapClientException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+
     public SoapClientException(String msg) {
         super(msg);
     }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * Sends a SOAP request to the endpoint and returns the response.
+ */
+public interface SoapTransport {
+
+    SOAPMessage call(SOAPMessage request, String endpointUrl) throws SOAPException;
+
+    /**
+     * Sends the request without blocking the caller. A {@link SOAPException} of
+     * the call completes the future with a {@link CompletionException}.
+     */
+    default CompletableFuture<SOAPMessage> callAsync(SOAPMessage request, String endpointUrl) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(request, endpointUrl);
+            } catch (SOAPException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Sends the request and returns the body of the response to be read while it
+     * arrives, e.g. by a {@link StatementResponseReader}. The caller closes the
+     * stream. By default the response is received as message and written to a
+     * buffer.
+     */
+    default InputStream open(SOAPMessage request, String endpointUrl) throws SOAPException {
+        SOAPMessage response = call(request, endpointUrl);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (response != null) {
+            try {
+                response.writeTo(body);
+            } catch (IOException e) {
+                throw new SOAPException(e);
+            }
+        }
+        return new ByteArrayInputStream(body.toByteArray());
+    }
+}
@@ -136,6 +136,7 @@ import org.eclipse.daanse.xmla.api.xmla.ObjectExpansion;
 import org.eclipse.daanse.xmla.api.xmla.ObjectReference;
 import org.eclipse.daanse.xmla.api.xmla.Partition;
 import org.eclipse.daanse.xmla.api.xmla.Permission;
+import org.eclipse.daanse.xmla.api.xmla.Process;
 import org.eclipse.daanse.xmla.api.xmla.Perspective;
 import org.eclipse.daanse.xmla.api.xmla.PerspectiveAction;
 import org.eclipse.daanse.xmla.api.xmla.PerspectiveAttribute;
@@ -1523,6 +1524,23 @@ class SoapUtil {
         }
     }
 
+    static void addChildElementProcess(SOAPElement element, Process it) {
+        if (it != null) {
+            if (it.bindings() != null) {
+                throw new UnsupportedOperationException("Process with out-of-line Bindings doesn't supported");
+            }
+            SOAPElement chElement = addChildElement(element, "Process");
+            addChildElement(chElement, "Type", it.type());
+            addChildElementObject(chElement, it.object());
+            addChildElementDataSource(chElement, it.dataSource());
+            addChildElementDataSourceView(chElement, it.dataSourceView());
+            addChildElementErrorConfiguration(chElement, it.errorConfiguration());
+            if (it.writeBackTableCreation() != null) {
+                addChildElement(chElement, "WriteBackTableCreation", it.writeBackTableCreation().value());
+            }
+        }
+    }
+
     static void addChildElementObjectExpansion(SOAPElement element, ObjectExpansion it) {
         if (it != null) {
             addChildElement(element, "ObjectExpansion", it.value());
@@ -0,0 +1,509 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import static org.eclipse.daanse.xmla.client.soapmessage.Constants.EXCEPTION;
+import static org.eclipse.daanse.xmla.client.soapmessage.Constants.MESSAGES;
+import static org.eclipse.daanse.xmla.client.soapmessage.Constants.ROW;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.Axes;
+import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.CellTypeError;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
+import org.eclipse.daanse.xmla.api.mddataset.OlapInfo;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+import org.eclipse.daanse.xmla.model.record.exception.ExceptionR;
+import org.eclipse.daanse.xmla.model.record.exception.MessagesR;
+import org.eclipse.daanse.xmla.model.record.execute.statement.StatementResponseR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxesR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellInfoItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeErrorR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarCellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MddatasetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.OlapInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ValueR;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import jakarta.xml.soap.SOAPConstants;
+
+/**
+ * Reads the SOAP response of a Statement with StAX while it arrives, instead
+ * of building a SAAJ message and converting its DOM. {@code OlapInfo} and
+ * {@code Axes} are read when the reader is created. Cells are read one at a
+ * time with {@link #nextCell()}, rows of a tabular result with
+ * {@link #nextRow()}, so the memory needed does not grow with the size of the
+ * result. {@code Exception} and {@code Messages} follow the cells and are
+ * available after the last cell or row has been read.
+ * <p>
+ * A SOAP fault is thrown as {@link SoapClientException}, as are errors reading
+ * the stream. The reader is not thread safe and closes the stream when it is
+ * closed.
+ */
+public class StatementResponseReader implements AutoCloseable {
+
+    private static final String CELL_DATA = "CellData";
+    private static final String CELL = "Cell";
+    private static final String CELL_ORDINAL = "CellOrdinal";
+    private static final String VALUE = "Value";
+    private static final String ERROR = "Error";
+    private static final String FAULT = "Fault";
+    private static final String FAULT_STRING = "faultstring";
+    private static final String XSI_TYPE = "type";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final InputStream in;
+    private final XMLStreamReader reader;
+    private final Document document;
+
+    private OlapInfoR olapInfo;
+    private AxesR axes;
+    private ExceptionR exception;
+    private MessagesR messages;
+    private boolean mddataset;
+    private boolean inCellData;
+
+    // the element the reader stands on, null at the end of the response
+    private String pending;
+
+    private long ordinal;
+    private String value;
+    private ItemTypeEnum type;
+    private String formattedValue;
+    private List<CellTypeError> errors = List.of();
+    private List<CellInfoItem> properties = List.of();
+
+    /**
+     * Creates a reader of the response body and reads it up to the first cell or
+     * row.
+     */
+    public StatementResponseReader(InputStream in) {
+        this.in = in;
+        try {
+            this.reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            this.document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            advance();
+        } catch (XMLStreamException | ParserConfigurationException | RuntimeException e) {
+            closeQuietly(in);
+            throw e instanceof SoapClientException sce ? sce : new SoapClientException("Reading response failed", e);
+        }
+    }
+
+    /**
+     * The {@code OlapInfo} of a multidimensional result.
+     */
+    public Optional<OlapInfo> olapInfo() {
+        return Optional.ofNullable(olapInfo);
+    }
+
+    /**
+     * The {@code Axes} of a multidimensional result.
+     */
+    public Optional<Axes> axes() {
+        return Optional.ofNullable(axes);
+    }
+
+    /**
+     * Moves to the next cell. Its values are returned by {@link #ordinal()},
+     * {@link #value()}, {@link #type()}, {@link #formattedValue()},
+     * {@link #errors()} and {@link #properties()} until the next call.
+     *
+     * @return false if there are no more cells
+     */
+    public boolean nextCell() {
+        if (!CELL.equals(pending)) {
+            return false;
+        }
+        try {
+            readCell();
+            advance();
+            return true;
+        } catch (XMLStreamException e) {
+            throw new SoapClientException("Reading cell failed", e);
+        }
+    }
+
+    public long ordinal() {
+        return ordinal;
+    }
+
+    /**
+     * The value of the cell as written to the wire, null for an empty cell.
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * The {@code xsi:type} of the value, null if it has none.
+     */
+    public ItemTypeEnum type() {
+        return type;
+    }
+
+    public String formattedValue() {
+        return formattedValue;
+    }
+
+    /**
+     * The errors of the value, empty for most cells.
+     */
+    public List<CellTypeError> errors() {
+        return errors;
+    }
+
+    /**
+     * The cell properties except the value, including {@code FmtValue}.
+     */
+    public List<CellInfoItem> properties() {
+        return properties;
+    }
+
+    /**
+     * Creates a record of the current cell.
+     */
+    public CellType cell() {
+        ValueR v = value != null || type != null || !errors.isEmpty() ? new ValueR(value, type, errors) : null;
+        return new CellTypeR(v, properties, ordinal);
+    }
+
+    /**
+     * The remaining cells as records, read while iterating.
+     */
+    public Iterator<CellType> cells() {
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return CELL.equals(pending);
+            }
+
+            @Override
+            public CellType next() {
+                if (!nextCell()) {
+                    throw new NoSuchElementException();
+                }
+                return cell();
+            }
+        };
+    }
+
+    /**
+     * Reads the next row of a tabular result.
+     *
+     * @return null if there are no more rows
+     */
+    public RowSetRow nextRow() {
+        if (!ROW.equals(pending)) {
+            return null;
+        }
+        try {
+            List<RowSetRowItem> items = new ArrayList<>();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                ItemTypeEnum itemType = ItemTypeEnum
+                        .fromValue(reader.getAttributeValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, XSI_TYPE));
+                items.add(new RowSetRowItemR(name, readText(reader), Optional.ofNullable(itemType)));
+            }
+            advance();
+            return new RowSetRowR(items);
+        } catch (XMLStreamException e) {
+            throw new SoapClientException("Reading row failed", e);
+        }
+    }
+
+    /**
+     * The {@code Exception} of the result. Known once all cells or rows are read.
+     */
+    public Optional<ExceptionR> exception() {
+        return Optional.ofNullable(exception);
+    }
+
+    /**
+     * The {@code Messages} of the result. Known once all cells or rows are read.
+     */
+    public Optional<MessagesR> messages() {
+        return Optional.ofNullable(messages);
+    }
+
+    /**
+     * Reads the rest of the response into a {@link StatementResponse}. Cells are
+     * kept in a {@link ColumnarCellData}.
+     */
+    public StatementResponse readAll() {
+        ColumnarCellDataR.Builder cellData = ColumnarCellDataR.builder();
+        boolean cells = false;
+        while (nextCell()) {
+            cells = true;
+            if (errors.isEmpty() && (properties.isEmpty() || isFormattedValueOnly())) {
+                cellData.addValue(ordinal, value, type, formattedValue);
+            } else {
+                cellData.addCell(cell());
+            }
+        }
+        List<RowSetRow> rows = new ArrayList<>();
+        for (RowSetRow row = nextRow(); row != null; row = nextRow()) {
+            rows.add(row);
+        }
+        MddatasetR mdDataSet = mddataset || cells
+                ? new MddatasetR(olapInfo, axes, cells ? cellData.build() : null, exception, messages)
+                : null;
+        return new StatementResponseR(mdDataSet, rows.isEmpty() ? null : new RowSetR(rows));
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // the stream is closed anyway
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private boolean isFormattedValueOnly() {
+        return properties.size() == 1 && formattedValue != null;
+    }
+
+    /**
+     * Moves to the start of the next cell or row, reading the elements on the way.
+     */
+    private void advance() throws XMLStreamException {
+        pending = null;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                if (CELL_DATA.equals(reader.getLocalName())) {
+                    inCellData = false;
+                }
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String name = reader.getLocalName();
+            if (FAULT.equals(name) && SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE.equals(reader.getNamespaceURI())) {
+                throw new SoapClientException(faultString(readElement(reader, document)));
+            } else if ("OlapInfo".equals(name)) {
+                mddataset = true;
+                olapInfo = Convertor.getOlapInfo(readElement(reader, document));
+            } else if ("Axes".equals(name)) {
+                mddataset = true;
+                axes = Convertor.getAxes(readElement(reader, document).getChildNodes());
+            } else if (CELL_DATA.equals(name)) {
+                mddataset = true;
+                inCellData = true;
+            } else if (EXCEPTION.equals(name)) {
+                exception = new ExceptionR();
+                skipElement(reader);
+            } else if (MESSAGES.equals(name)) {
+                Element element = readElement(reader, document);
+                messages = Convertor.getMessages(new SingleNodeList(element));
+            } else if (inCellData && CELL.equals(name) || !inCellData && ROW.equals(name)) {
+                pending = name;
+                return;
+            }
+        }
+    }
+
+    private void readCell() throws XMLStreamException {
+        String ordinalAttribute = reader.getAttributeValue(null, CELL_ORDINAL);
+        ordinal = ordinalAttribute != null ? Long.parseLong(ordinalAttribute.trim()) : 0L;
+        value = null;
+        type = null;
+        formattedValue = null;
+        errors = List.of();
+        properties = List.of();
+        boolean hasValue = false;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (!hasValue && VALUE.equals(name)) {
+                hasValue = true;
+                type = ItemTypeEnum
+                        .fromValue(reader.getAttributeValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, XSI_TYPE));
+                readValue();
+            } else {
+                String propertyType = reader.getAttributeValue(null, XSI_TYPE);
+                boolean plain = reader.getAttributeCount() == 0;
+                String text = readText(reader);
+                if (formattedValue == null && plain && ColumnarCellData.FMT_VALUE.equals(name)) {
+                    formattedValue = text;
+                }
+                if (properties.isEmpty()) {
+                    properties = new ArrayList<>(2);
+                }
+                properties.add(new CellInfoItemR(name, text, Optional.ofNullable(propertyType)));
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the {@code Value} and its {@code Error} elements.
+     */
+    private void readValue() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (ERROR.equals(reader.getLocalName())) {
+                    String code = reader.getAttributeValue(null, "ErrorCode");
+                    if (errors.isEmpty()) {
+                        errors = new ArrayList<>(1);
+                    }
+                    errors.add(new CellTypeErrorR(code != null ? Long.valueOf(code.trim()) : null,
+                            reader.getAttributeValue(null, "Description")));
+                }
+                skipElement(reader);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            } else if (isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+        value = text.toString();
+    }
+
+    private static String faultString(Element fault) {
+        for (Node n = fault.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (FAULT_STRING.equals(n.getLocalName()) || FAULT_STRING.equals(n.getNodeName())) {
+                return n.getTextContent();
+            }
+        }
+        return fault.getTextContent();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Reads the text content of the current element and moves to its end.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE;
+    }
+
+    /**
+     * Reads the current element into a DOM element, so the {@link Convertor} can
+     * be used for the small parts of the response, and moves to its end.
+     */
+    private static Element readElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()),
+                qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                element.appendChild(readElement(reader, document));
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return element;
+            } else if (isText(event)) {
+                element.appendChild(document.createTextNode(reader.getText()));
+            }
+        }
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // nothing left to read
+        }
+    }
+
+    private record SingleNodeList(Node node) implements NodeList {
+
+        @Override
+        public Node item(int index) {
+            return index == 0 ? node : null;
+        }
+
+        @Override
+        public int getLength() {
+            return 1;
+        }
+    }
+}
@@ -14,8 +14,6 @@
 package org.eclipse.daanse.xmla.client.soapmessage;
 
 import org.eclipse.daanse.xmla.api.XmlaService;
-import org.eclipse.daanse.xmla.api.discover.DiscoverService;
-import org.eclipse.daanse.xmla.api.execute.ExecuteService;
 import org.eclipse.daanse.xmla.api.session.SessionService;
 
 public class XmlaServiceClientImpl implements XmlaService {
@@ -24,18 +22,25 @@ public class XmlaServiceClientImpl implements XmlaService {
     private ExecuteServiceImpl es;
 
     public XmlaServiceClientImpl(String endPointurl) {
-        SoapClient client = new SoapClient(endPointurl);
+        this(new SoapClient(endPointurl));
+    }
+
+    public XmlaServiceClientImpl(String endPointurl, SoapTransport transport) {
+        this(new SoapClient(endPointurl, transport));
+    }
+
+    private XmlaServiceClientImpl(SoapClient client) {
         ds = new DiscoverServiceImpl(client);
         es = new ExecuteServiceImpl(client);
     }
 
     @Override
-    public DiscoverService discover() {
+    public DiscoverServiceImpl discover() {
         return ds;
     }
 
     @Override
-    public ExecuteService execute() {
+    public ExecuteServiceImpl execute() {
         return es;
     }
 
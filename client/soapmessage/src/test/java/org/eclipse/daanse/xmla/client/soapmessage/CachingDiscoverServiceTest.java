@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.discover.DiscoverService;
+import org.eclipse.daanse.xmla.api.discover.mdschema.cubes.MdSchemaCubesResponseRow;
+import org.eclipse.daanse.xmla.model.record.RequestMetaDataR;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.model.record.discover.dbschema.catalogs.DbSchemaCatalogsRequestR;
+import org.eclipse.daanse.xmla.model.record.discover.dbschema.catalogs.DbSchemaCatalogsRestrictionsR;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.cubes.MdSchemaCubesRequestR;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.cubes.MdSchemaCubesRestrictionsR;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.members.MdSchemaMembersRequestR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CachingDiscoverServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration SCHEMA_CHECK_INTERVAL = Duration.ofMinutes(1);
+    private static final RequestMetaData META_DATA = new RequestMetaDataR(Optional.empty(), Optional.empty(),
+            Optional.empty());
+
+    private final AtomicLong now = new AtomicLong();
+    private final TestDelegate delegate = new TestDelegate();
+    private final CachingDiscoverService cache = new CachingDiscoverService(delegate.service(), 2, TTL,
+            SCHEMA_CHECK_INTERVAL, now::get);
+
+    @Nested
+    class Entries {
+
+        @Test
+        void sameRequest_delegateCalledOnce() {
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+
+            assertEquals(1, delegate.calls("dbSchemaCatalogs"));
+            assertEquals(new CachingDiscoverService.Stats(1, 1, 0, 0, 1), cache.stats());
+        }
+
+        @Test
+        void otherRestrictions_delegateCalled() {
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Budget"), META_DATA);
+
+            assertEquals(2, delegate.calls("dbSchemaCatalogs"));
+        }
+
+        @Test
+        void otherRolesOrUser_delegateCalled() {
+            PropertiesR admin = new PropertiesR();
+            admin.setRoles(Optional.of("admin"));
+            PropertiesR effectiveRoles = new PropertiesR();
+            effectiveRoles.setEffectiveRoles(Optional.of("admin"));
+            PropertiesR effectiveUser = new PropertiesR();
+            effectiveUser.setEffectiveUserName(Optional.of("bob"));
+            PropertiesR customData = new PropertiesR();
+            customData.setCustomData(Optional.of("tenant-1"));
+
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            for (PropertiesR properties : List.of(admin, effectiveRoles, effectiveUser, customData)) {
+                cache.dbSchemaCatalogs(new DbSchemaCatalogsRequestR(properties,
+                        new DbSchemaCatalogsRestrictionsR(Optional.of("Sales"))), META_DATA);
+            }
+
+            assertEquals(5, delegate.calls("dbSchemaCatalogs"));
+        }
+
+        @Test
+        void expired_delegateCalledAgain() {
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            now.addAndGet(TTL.toNanos() + 1);
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+
+            assertEquals(2, delegate.calls("dbSchemaCatalogs"));
+        }
+
+        @Test
+        void full_leastRecentlyUsedEvicted() {
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Budget"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Plan"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+
+            assertEquals(3, delegate.calls("dbSchemaCatalogs"));
+            assertEquals(1, cache.stats().evictions());
+            assertEquals(2, cache.stats().size());
+        }
+
+        @Test
+        void members_notCached() {
+            MdSchemaMembersRequestR request = new MdSchemaMembersRequestR(new PropertiesR(), null);
+
+            cache.mdSchemaMembers(request, META_DATA);
+            cache.mdSchemaMembers(request, META_DATA);
+
+            assertEquals(2, delegate.calls("mdSchemaMembers"));
+        }
+
+        @Test
+        void failedCall_notCached() {
+            delegate.fail = true;
+
+            assertNull(cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA));
+            assertEquals(0, cache.stats().size());
+        }
+    }
+
+    @Nested
+    class SchemaUpdates {
+
+        @Test
+        void lastSchemaUpdateChanged_invalidated() {
+            cache.mdSchemaCubes(cubes("Sales"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            delegate.lastSchemaUpdate = delegate.lastSchemaUpdate.plusHours(1);
+            now.addAndGet(SCHEMA_CHECK_INTERVAL.toNanos());
+
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+
+            assertEquals(2, delegate.calls("dbSchemaCatalogs"));
+            assertEquals(1, cache.stats().invalidations());
+        }
+
+        @Test
+        void lastSchemaUpdateUnchanged_kept() {
+            cache.mdSchemaCubes(cubes("Sales"), META_DATA);
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+            now.addAndGet(SCHEMA_CHECK_INTERVAL.toNanos());
+
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+
+            assertEquals(1, delegate.calls("dbSchemaCatalogs"));
+            assertEquals(2, delegate.calls("mdSchemaCubes"));
+            assertEquals(0, cache.stats().invalidations());
+        }
+
+        @Test
+        void beforeInterval_notChecked() {
+            cache.mdSchemaCubes(cubes("Sales"), META_DATA);
+            delegate.lastSchemaUpdate = delegate.lastSchemaUpdate.plusHours(1);
+
+            cache.dbSchemaCatalogs(catalogs("Sales"), META_DATA);
+
+            assertEquals(1, delegate.calls("mdSchemaCubes"));
+        }
+    }
+
+    private static DbSchemaCatalogsRequestR catalogs(String catalog) {
+        return new DbSchemaCatalogsRequestR(new PropertiesR(), new DbSchemaCatalogsRestrictionsR(Optional.of(catalog)));
+    }
+
+    private static MdSchemaCubesRequestR cubes(String catalog) {
+        return new MdSchemaCubesRequestR(new PropertiesR(), new MdSchemaCubesRestrictionsR(catalog, Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()));
+    }
+
+    private static class TestDelegate {
+
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private LocalDateTime lastSchemaUpdate = LocalDateTime.of(2024, 1, 1, 0, 0);
+        private boolean fail;
+
+        int calls(String method) {
+            AtomicInteger count = calls.get(method);
+            return count != null ? count.get() : 0;
+        }
+
+        DiscoverService service() {
+            return (DiscoverService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { DiscoverService.class }, (proxy, method, args) -> {
+                        calls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+                        if (fail) {
+                            return null;
+                        }
+                        if ("mdSchemaCubes".equals(method.getName())) {
+                            return List.of(cube("Sales", "Cube", lastSchemaUpdate));
+                        }
+                        return List.of();
+                    });
+        }
+
+        private static MdSchemaCubesResponseRow cube(String catalog, String cube, LocalDateTime lastSchemaUpdate) {
+            return (MdSchemaCubesResponseRow) Proxy.newProxyInstance(MdSchemaCubesResponseRow.class.getClassLoader(),
+                    new Class<?>[] { MdSchemaCubesResponseRow.class }, (proxy, method, args) -> {
+                        return switch (method.getName()) {
+                        case "catalogName" -> catalog;
+                        case "cubeName" -> Optional.of(cube);
+                        case "lastSchemaUpdate" -> Optional.of(lastSchemaUpdate);
+                        default -> Optional.empty();
+                        };
+                    });
+        }
+    }
+}
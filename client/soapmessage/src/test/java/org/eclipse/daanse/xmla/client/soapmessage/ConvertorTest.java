@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.RowSet;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarRowSetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPBody;
+
+class ConvertorTest {
+
+    private static final String ENVELOPE_START = """
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">\
+            <SOAP-ENV:Body><ExecuteResponse xmlns="urn:schemas-microsoft-com:xml-analysis"><return>\
+            <root xmlns="urn:schemas-microsoft-com:xml-analysis:rowset" \
+            xmlns:xsd="http://www.w3.org/2001/XMLSchema" xmlns:sql="urn:schemas-microsoft-com:xml-sql">""";
+    private static final String ENVELOPE_END = "</root></return></ExecuteResponse></SOAP-ENV:Body></SOAP-ENV:Envelope>";
+
+    private static final String SCHEMA = """
+            <xsd:schema targetNamespace="urn:schemas-microsoft-com:xml-analysis:rowset">\
+            <xsd:complexType name="row"><xsd:sequence>\
+            <xsd:element minOccurs="0" name="Name" sql:field="[Store].[Name]" type="xsd:string"/>\
+            <xsd:element name="Count" type="xsd:int"/>\
+            </xsd:sequence></xsd:complexType></xsd:schema>""";
+
+    private static final String ROWS = "<row><Name>a</Name><Count>1</Count></row><row><Count>2</Count></row>";
+
+    @Nested
+    class RowSetTests {
+
+        @Test
+        void convertToStatementResponse_schema_columnarRowSet() throws Exception {
+            RowSet rowSet = convert(ENVELOPE_START + SCHEMA + ROWS + ENVELOPE_END).rowSet();
+
+            ColumnarRowSetR columnar = assertInstanceOf(ColumnarRowSetR.class, rowSet);
+            assertEquals(2, columnar.rowCount());
+            assertEquals("[Store].[Name]", columnar.columns().get(0).fieldName());
+            assertEquals(ItemTypeEnum.INTEGER, columnar.columns().get(1).type());
+            assertEquals(2, columnar.longValue(1, 1));
+            assertTrue(columnar.isNull(1, 0));
+        }
+
+        @Test
+        void convertToStatementResponse_noSchema_rowSetR() throws Exception {
+            RowSet rowSet = convert(ENVELOPE_START + ROWS + ENVELOPE_END).rowSet();
+
+            assertInstanceOf(RowSetR.class, rowSet);
+            assertEquals(2, rowSet.rowSetRows().size());
+            assertEquals("a", rowSet.rowSetRows().get(0).rowSetRowItem().get(0).value());
+        }
+
+        @Test
+        void convertToStatementResponse_elementNotInSchema_rowSetR() throws Exception {
+            RowSet rowSet = convert(
+                    ENVELOPE_START + SCHEMA + ROWS + "<row><Other>x</Other></row>" + ENVELOPE_END).rowSet();
+
+            assertInstanceOf(RowSetR.class, rowSet);
+            assertEquals(3, rowSet.rowSetRows().size());
+            assertEquals("x", rowSet.rowSetRows().get(2).rowSetRowItem().get(0).value());
+        }
+    }
+
+    private static StatementResponse convert(String xml) throws Exception {
+        SOAPBody body = MessageFactory.newInstance()
+                .createMessage(null, new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))).getSOAPBody();
+        return Convertor.convertToStatementResponse(body);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+class HttpClientSoapTransportTest {
+
+    private static final String RESPONSE = """
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">\
+            <SOAP-ENV:Body><DiscoverResponse xmlns="urn:schemas-microsoft-com:xml-analysis"/></SOAP-ENV:Body>\
+            </SOAP-ENV:Envelope>""";
+
+    private HttpServer server;
+    private String url;
+    private AtomicReference<Headers> requestHeaders;
+    private AtomicReference<String> requestBody;
+    private int status;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requestHeaders = new AtomicReference<>();
+        requestBody = new AtomicReference<>();
+        status = 200;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/xmla", this::handle);
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/xmla";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void call_gzipResponse_decompressed() throws Exception {
+        HttpClientSoapTransport transport = HttpClientSoapTransport.builder().build();
+
+        SOAPMessage response = transport.call(request(), url);
+
+        assertEquals("DiscoverResponse", response.getSOAPBody().getFirstChild().getLocalName());
+        assertEquals("gzip", requestHeaders.get().getFirst("Accept-Encoding"));
+        assertEquals("urn:schemas-microsoft-com:xml-analysis:Discover", requestHeaders.get().getFirst("SOAPAction"));
+    }
+
+    @Test
+    void call_compressRequests_sendsGzip() throws Exception {
+        HttpClientSoapTransport transport = HttpClientSoapTransport.builder().compressRequests(true).build();
+
+        transport.call(request(), url);
+
+        assertEquals("gzip", requestHeaders.get().getFirst("Content-Encoding"));
+        assertTrue(requestBody.get().contains("Discover"));
+    }
+
+    @Test
+    void callAsync_response_completes() throws Exception {
+        HttpClientSoapTransport transport = HttpClientSoapTransport.builder().build();
+
+        SOAPMessage response = transport.callAsync(request(), url).get();
+
+        assertEquals("DiscoverResponse", response.getSOAPBody().getFirstChild().getLocalName());
+    }
+
+    @Test
+    void call_notFound_throws() throws Exception {
+        status = 404;
+        HttpClientSoapTransport transport = HttpClientSoapTransport.builder().build();
+
+        assertThrows(SOAPException.class, () -> transport.call(request(), url));
+    }
+
+    private static SOAPMessage request() throws SOAPException {
+        SOAPMessage message = MessageFactory.newInstance().createMessage();
+        message.getSOAPBody().addChildElement("Discover", "", "urn:schemas-microsoft-com:xml-analysis");
+        message.getMimeHeaders().addHeader("SOAPAction", "urn:schemas-microsoft-com:xml-analysis:Discover");
+        message.saveChanges();
+        return message;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestHeaders.set(exchange.getRequestHeaders());
+            boolean gzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            try (InputStream in = gzip ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+                requestBody.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (OutputStream out = new GZIPOutputStream(body)) {
+                out.write(RESPONSE.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=utf-8");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.size());
+            exchange.getResponseBody().write(body.toByteArray());
+        }
+    }
+}
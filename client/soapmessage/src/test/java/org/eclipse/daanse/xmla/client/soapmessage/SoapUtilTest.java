@@ -40,6 +40,7 @@ import org.eclipse.daanse.xmla.api.engine300_300.Relationships;
 import org.eclipse.daanse.xmla.api.engine300_300.XEvent;
 import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
 import org.eclipse.daanse.xmla.api.xmla.*;
+import org.eclipse.daanse.xmla.api.xmla.Process;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.xmlunit.assertj3.XmlAssert;
@@ -105,6 +106,17 @@ class SoapUtilTest {
         checkObjectReference(xmlAssert, "/SOAP:Envelope/SOAP:Body/ClearCache");
     }
 
+    @Test
+    void addChildElementProcessTest() throws Exception {
+        SoapUtil.addChildElementProcess(soapElement, createProcess());
+        XmlAssert xmlAssert = XMLUtil.createAssert(message);
+
+        xmlAssert.hasXPath("/SOAP:Envelope");
+        xmlAssert.valueByXPath("/SOAP:Envelope/SOAP:Body/Process/Type").isEqualTo("ProcessFull");
+        checkObjectReference(xmlAssert, "/SOAP:Envelope/SOAP:Body/Process");
+        xmlAssert.valueByXPath("/SOAP:Envelope/SOAP:Body/Process/WriteBackTableCreation").isEqualTo("UseExisting");
+    }
+
     @Test
     void addChildElementMajorObjectTest() throws Exception {
         SoapUtil.addChildElementMajorObject(soapElement, createMajorObject());
@@ -1657,6 +1669,15 @@ class SoapUtilTest {
         return objectReference;
     }
 
+    private Process createProcess() {
+        Process process = mock(Process.class);
+        ObjectReference objectReference = createObjectReference();
+        when(process.type()).thenReturn("ProcessFull");
+        when(process.object()).thenReturn(objectReference);
+        when(process.writeBackTableCreation()).thenReturn(WriteBackTableCreation.USE_EXISTING);
+        return process;
+    }
+
     private ClearCache createClearCache() {
         ClearCache clearCache = mock(ClearCache.class);
         ObjectReference objectReference = createObjectReference();
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.client.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.Axis;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class StatementResponseReaderTest {
+
+    private static final String ENVELOPE_START = """
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">\
+            <SOAP-ENV:Body><ExecuteResponse xmlns="urn:schemas-microsoft-com:xml-analysis"><return>""";
+    private static final String ENVELOPE_END = "</return></ExecuteResponse></SOAP-ENV:Body></SOAP-ENV:Envelope>";
+
+    private static final String MDDATASET = ENVELOPE_START + """
+            <root xmlns="urn:schemas-microsoft-com:xml-analysis:mddataset" \
+            xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+              <OlapInfo>
+                <CubeInfo><Cube><CubeName>Sales</CubeName></Cube></CubeInfo>
+                <AxesInfo><AxisInfo name="Axis0"><HierarchyInfo name="Measures"/></AxisInfo></AxesInfo>
+                <CellInfo><Value name="VALUE"/><FmtValue name="FORMATTED_VALUE"/></CellInfo>
+              </OlapInfo>
+              <Axes>
+                <Axis name="Axis0"/>
+                <Axis name="SlicerAxis"/>
+              </Axes>
+              <CellData>
+                <Cell CellOrdinal="0"><Value xsi:type="xsd:double">1.5</Value><FmtValue>1.50</FmtValue></Cell>
+                <Cell CellOrdinal="2"><Value xsi:type="xsd:int">7</Value></Cell>
+                <Cell CellOrdinal="3"><Value><Error ErrorCode="42" Description="broken"/></Value>\
+            <FORE_COLOR>255</FORE_COLOR></Cell>
+              </CellData>
+              <Messages><Warning WarningCode="1" Description="careful"/></Messages>
+            </root>""" + ENVELOPE_END;
+
+    private static final String ROWSET = ENVELOPE_START + """
+            <root xmlns="urn:schemas-microsoft-com:xml-analysis:rowset" \
+            xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+              <row><Name>a</Name><Count xsi:type="xsd:int">1</Count></row>
+              <row><Name>b</Name><Count xsi:type="xsd:int">2</Count></row>
+            </root>""" + ENVELOPE_END;
+
+    private static final String FAULT = """
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/"><SOAP-ENV:Body>\
+            <SOAP-ENV:Fault><faultcode>SOAP-ENV:Server</faultcode><faultstring>Query failed</faultstring>\
+            </SOAP-ENV:Fault></SOAP-ENV:Body></SOAP-ENV:Envelope>""";
+
+    @Nested
+    class Cells {
+
+        @Test
+        void create_axesReadBeforeCells() {
+            try (StatementResponseReader reader = reader(MDDATASET)) {
+                assertEquals(2, reader.axes().orElseThrow().axis().size());
+                assertEquals("Axis0", reader.axes().orElseThrow().axis().get(0).name());
+                assertEquals("Sales", reader.olapInfo().orElseThrow().cubeInfo().cube().get(0).cubeName());
+                assertTrue(reader.messages().isEmpty());
+            }
+        }
+
+        @Test
+        void nextCell_forwardOnly() {
+            try (StatementResponseReader reader = reader(MDDATASET)) {
+                assertTrue(reader.nextCell());
+                assertEquals(0, reader.ordinal());
+                assertEquals("1.5", reader.value());
+                assertEquals(ItemTypeEnum.DOUBLE, reader.type());
+                assertEquals("1.50", reader.formattedValue());
+
+                assertTrue(reader.nextCell());
+                assertEquals(2, reader.ordinal());
+                assertEquals(ItemTypeEnum.INTEGER, reader.type());
+                assertNull(reader.formattedValue());
+
+                assertTrue(reader.nextCell());
+                assertEquals(3, reader.ordinal());
+                assertEquals(Long.valueOf(42), reader.errors().get(0).errorCode());
+                assertEquals("FORE_COLOR", reader.properties().get(0).tagName());
+
+                assertFalse(reader.nextCell());
+                assertNull(reader.nextRow());
+                assertEquals(1, reader.messages().orElseThrow().warningOrError().size());
+            }
+        }
+
+        @Test
+        void cells_iterator() {
+            try (StatementResponseReader reader = reader(MDDATASET)) {
+                Iterator<CellType> cells = reader.cells();
+
+                assertEquals(0, cells.next().cellOrdinal());
+                assertEquals("7", cells.next().value().value());
+                assertEquals(3, cells.next().cellOrdinal());
+                assertFalse(cells.hasNext());
+            }
+        }
+
+        @Test
+        void readAll_columnarCellData() {
+            StatementResponse response;
+            try (StatementResponseReader reader = reader(MDDATASET)) {
+                response = reader.readAll();
+            }
+
+            ColumnarCellData cellData = (ColumnarCellData) response.mdDataSet().cellData();
+            assertEquals(3, cellData.cellCount());
+            assertEquals("1.5", cellData.value(0));
+            assertEquals("1.50", cellData.formattedValue(0));
+            assertEquals("7", cellData.value(1));
+            assertFalse(cellData.isPlain(2));
+            assertEquals("Axis0", response.mdDataSet().axes().axis().stream().map(Axis::name).findFirst().get());
+            assertNull(response.rowSet());
+        }
+    }
+
+    @Nested
+    class Rows {
+
+        @Test
+        void nextRow_readsRows() {
+            try (StatementResponseReader reader = reader(ROWSET)) {
+                assertTrue(reader.axes().isEmpty());
+                assertFalse(reader.nextCell());
+
+                RowSetRow first = reader.nextRow();
+                assertEquals("Name", first.rowSetRowItem().get(0).tagName());
+                assertEquals("a", first.rowSetRowItem().get(0).value());
+                assertEquals(ItemTypeEnum.INTEGER, first.rowSetRowItem().get(1).type().orElseThrow());
+                assertEquals("b", reader.nextRow().rowSetRowItem().get(0).value());
+                assertNull(reader.nextRow());
+            }
+        }
+
+        @Test
+        void readAll_rowSet() {
+            StatementResponse response;
+            try (StatementResponseReader reader = reader(ROWSET)) {
+                response = reader.readAll();
+            }
+
+            assertNull(response.mdDataSet());
+            assertEquals(2, response.rowSet().rowSetRows().size());
+        }
+    }
+
+    @Test
+    void create_fault_thrown() {
+        SoapClientException e = assertThrows(SoapClientException.class, () -> reader(FAULT));
+
+        assertEquals("Query failed", e.getMessage());
+    }
+
+    private static StatementResponseReader reader(String response) {
+        return new StatementResponseReader(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -14,8 +14,13 @@ package org.eclipse.daanse.xmla.model.record;
 
 import java.util.Optional;
 
+import org.eclipse.daanse.xmla.api.CancellationToken;
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 
-public record RequestMetaDataR(Optional<String> userAgent, Optional<String> sessionId, Optional<String> url) implements RequestMetaData {
+public record RequestMetaDataR(Optional<String> userAgent, Optional<String> sessionId, Optional<String> url,
+        CancellationToken cancellationToken) implements RequestMetaData {
 
+    public RequestMetaDataR(Optional<String> userAgent, Optional<String> sessionId, Optional<String> url) {
+        this(userAgent, sessionId, url, CancellationToken.NONE);
+    }
 }
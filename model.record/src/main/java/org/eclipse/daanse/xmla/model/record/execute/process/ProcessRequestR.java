@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.model.record.execute.process;
+
+import java.util.List;
+
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessRequest;
+import org.eclipse.daanse.xmla.api.xmla.Process;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+
+public record ProcessRequestR(PropertiesR properties, List<ExecuteParameter> parameters, Process command)
+        implements ProcessRequest {
+}
@@ -14,8 +14,8 @@
 package org.eclipse.daanse.xmla.model.record.execute.statement;
 
 import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.RowSet;
 import org.eclipse.daanse.xmla.model.record.mddataset.MddatasetR;
-import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
 
-public record StatementResponseR(MddatasetR mdDataSet, RowSetR rowSet) implements StatementResponse {
+public record StatementResponseR(MddatasetR mdDataSet, RowSet rowSet) implements StatementResponse {
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.model.record.mddataset;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
+import org.eclipse.daanse.xmla.api.mddataset.CellSetType;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
+import org.eclipse.daanse.xmla.api.mddataset.Value;
+
+/**
+ * {@link ColumnarCellData} backed by primitive arrays. Integer and double values
+ * are kept as {@code long} bits, formatted values as index into a table of the
+ * distinct formatted values. Values that can not be restored exactly from a
+ * primitive are kept as text, cells that are not plain as {@link CellType}.
+ * Instances are created with a {@link Builder}.
+ */
+public final class ColumnarCellDataR implements ColumnarCellData {
+
+    private static final byte KIND_EMPTY = 0;
+    private static final byte KIND_LONG = 1;
+    private static final byte KIND_DOUBLE = 2;
+    private static final byte KIND_TEXT = 3;
+    private static final byte KIND_CELL = 4;
+
+    private static final ItemTypeEnum[] TYPES = ItemTypeEnum.values();
+
+    private final int cellCount;
+    private final long[] ordinals;
+    private final byte[] kinds;
+    // ordinal of the ItemTypeEnum + 1, 0 if the cell has no value
+    private final byte[] types;
+    private final long[] values;
+    // index into formatTable, -1 if the cell has no formatted value
+    private final int[] formats;
+    private final String[] formatTable;
+    // text values and cells that are not plain, null if there are none
+    private final Object[] objects;
+    private final CellSetType cellSet;
+
+    private ColumnarCellDataR(Builder builder) {
+        this.cellCount = builder.size;
+        this.ordinals = Arrays.copyOf(builder.ordinals, builder.size);
+        this.kinds = Arrays.copyOf(builder.kinds, builder.size);
+        this.types = Arrays.copyOf(builder.types, builder.size);
+        this.values = Arrays.copyOf(builder.values, builder.size);
+        this.formats = Arrays.copyOf(builder.formats, builder.size);
+        this.formatTable = builder.formatTable.toArray(new String[0]);
+        this.objects = builder.objects != null ? Arrays.copyOf(builder.objects, builder.size) : null;
+        this.cellSet = builder.cellSet;
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedCells) {
+        return new Builder(expectedCells);
+    }
+
+    @Override
+    public List<CellType> cell() {
+        return new CellList();
+    }
+
+    @Override
+    public CellSetType cellSet() {
+        return cellSet;
+    }
+
+    @Override
+    public int cellCount() {
+        return cellCount;
+    }
+
+    @Override
+    public long cellOrdinal(int index) {
+        return ordinals[index];
+    }
+
+    @Override
+    public boolean isPlain(int index) {
+        return kinds[index] != KIND_CELL;
+    }
+
+    @Override
+    public ItemTypeEnum valueType(int index) {
+        if (kinds[index] == KIND_CELL) {
+            CellType cell = (CellType) objects[index];
+            return cell.value() != null ? cell.value().type() : null;
+        }
+        return types[index] == 0 ? null : TYPES[types[index] - 1];
+    }
+
+    @Override
+    public String value(int index) {
+        switch (kinds[index]) {
+        case KIND_LONG:
+            return Long.toString(values[index]);
+        case KIND_DOUBLE:
+            return Double.toString(Double.longBitsToDouble(values[index]));
+        case KIND_TEXT:
+            return (String) objects[index];
+        case KIND_CELL:
+            CellType cell = (CellType) objects[index];
+            return cell.value() != null ? cell.value().value() : null;
+        default:
+            return null;
+        }
+    }
+
+    @Override
+    public String formattedValue(int index) {
+        int format = formats[index];
+        return format < 0 ? null : formatTable[format];
+    }
+
+    @Override
+    public CellType cell(int index) {
+        if (kinds[index] == KIND_CELL) {
+            return (CellType) objects[index];
+        }
+        ValueR value = kinds[index] == KIND_EMPTY ? null : new ValueR(value(index), valueType(index), List.of());
+        String formattedValue = formattedValue(index);
+        List<CellInfoItem> any = formattedValue == null ? List.of()
+                : List.of(new CellInfoItemR(FMT_VALUE, formattedValue, Optional.empty()));
+        return new CellTypeR(value, any, ordinals[index]);
+    }
+
+    private class CellList extends AbstractList<CellType> implements RandomAccess {
+
+        @Override
+        public CellType get(int index) {
+            if (index < 0 || index >= cellCount) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return cell(index);
+        }
+
+        @Override
+        public int size() {
+            return cellCount;
+        }
+    }
+
+    public static final class Builder {
+
+        private int size;
+        private long[] ordinals;
+        private byte[] kinds;
+        private byte[] types;
+        private long[] values;
+        private int[] formats;
+        private Object[] objects;
+        private final List<String> formatTable = new ArrayList<>();
+        private final Map<String, Integer> formatIndexes = new HashMap<>();
+        private CellSetType cellSet;
+
+        private Builder(int expectedCells) {
+            int capacity = Math.max(expectedCells, 1);
+            ordinals = new long[capacity];
+            kinds = new byte[capacity];
+            types = new byte[capacity];
+            values = new long[capacity];
+            formats = new int[capacity];
+        }
+
+        public Builder addLong(long ordinal, long value, ItemTypeEnum type, String formattedValue) {
+            add(ordinal, KIND_LONG, type, value, formattedValue);
+            return this;
+        }
+
+        public Builder addDouble(long ordinal, double value, String formattedValue) {
+            add(ordinal, KIND_DOUBLE, ItemTypeEnum.DOUBLE, Double.doubleToRawLongBits(value), formattedValue);
+            return this;
+        }
+
+        /**
+         * Adds a cell from the value as written to the wire. Integer and double
+         * values are packed into primitives if they convert back to the same text.
+         */
+        public Builder addValue(long ordinal, String value, ItemTypeEnum type, String formattedValue) {
+            if (value == null) {
+                add(ordinal, KIND_EMPTY, null, 0L, formattedValue);
+            } else if (type == ItemTypeEnum.DOUBLE) {
+                Double d = parseDouble(value);
+                if (d != null) {
+                    add(ordinal, KIND_DOUBLE, type, Double.doubleToRawLongBits(d), formattedValue);
+                } else {
+                    addText(ordinal, value, type, formattedValue);
+                }
+            } else if (type == ItemTypeEnum.INTEGER || type == ItemTypeEnum.UNSIGNEDINT
+                    || type == ItemTypeEnum.UNSIGNEDSHOT) {
+                Long l = parseLong(value);
+                if (l != null) {
+                    add(ordinal, KIND_LONG, type, l, formattedValue);
+                } else {
+                    addText(ordinal, value, type, formattedValue);
+                }
+            } else {
+                addText(ordinal, value, type, formattedValue);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a cell. Plain cells are packed like {@link #addValue}, all others are
+         * kept as they are.
+         */
+        public Builder addCell(CellType cell) {
+            if (isPlain(cell)) {
+                String formattedValue = cell.any() == null || cell.any().isEmpty() ? null : cell.any().get(0).name();
+                if (cell.value() == null) {
+                    add(cell.cellOrdinal(), KIND_EMPTY, null, 0L, formattedValue);
+                } else {
+                    addValue(cell.cellOrdinal(), cell.value().value(), cell.value().type(), formattedValue);
+                }
+            } else {
+                int index = add(cell.cellOrdinal(), KIND_CELL, null, 0L, null);
+                object(index, cell);
+            }
+            return this;
+        }
+
+        public Builder cellSet(CellSetType cellSet) {
+            this.cellSet = cellSet;
+            return this;
+        }
+
+        public ColumnarCellDataR build() {
+            return new ColumnarCellDataR(this);
+        }
+
+        private void addText(long ordinal, String value, ItemTypeEnum type, String formattedValue) {
+            int index = add(ordinal, KIND_TEXT, type, 0L, formattedValue);
+            object(index, value);
+        }
+
+        private int add(long ordinal, byte kind, ItemTypeEnum type, long value, String formattedValue) {
+            if (size == ordinals.length) {
+                grow();
+            }
+            int index = size++;
+            ordinals[index] = ordinal;
+            kinds[index] = kind;
+            types[index] = type == null ? 0 : (byte) (type.ordinal() + 1);
+            values[index] = value;
+            formats[index] = formattedValue == null ? -1
+                    : formatIndexes.computeIfAbsent(formattedValue, k -> {
+                        formatTable.add(k);
+                        return formatTable.size() - 1;
+                    });
+            return index;
+        }
+
+        private void object(int index, Object object) {
+            if (objects == null) {
+                objects = new Object[ordinals.length];
+            }
+            objects[index] = object;
+        }
+
+        private void grow() {
+            int capacity = ordinals.length * 2;
+            ordinals = Arrays.copyOf(ordinals, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            formats = Arrays.copyOf(formats, capacity);
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, capacity);
+            }
+        }
+
+        private static boolean isPlain(CellType cell) {
+            Value value = cell.value();
+            if (value != null && (value.value() == null || value.error() != null && !value.error().isEmpty())) {
+                return false;
+            }
+            List<CellInfoItem> any = cell.any();
+            if (any == null || any.isEmpty()) {
+                return true;
+            }
+            CellInfoItem item = any.get(0);
+            return any.size() == 1 && FMT_VALUE.equals(item.tagName()) && item.name() != null
+                    && (item.type() == null || item.type().isEmpty());
+        }
+
+        private static Long parseLong(String value) {
+            try {
+                long l = Long.parseLong(value);
+                return Long.toString(l).equals(value) ? l : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Double parseDouble(String value) {
+            try {
+                double d = Double.parseDouble(value);
+                return Double.toString(d).equals(value) ? d : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
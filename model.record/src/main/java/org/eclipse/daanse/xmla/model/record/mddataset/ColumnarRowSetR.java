@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.model.record.mddataset;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarRowSet;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetColumn;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+
+/**
+ * {@link ColumnarRowSet} backed by one vector per column. Integer and boolean
+ * values are kept as {@code long}, double values as {@code long} bits and all
+ * other values as text. Values that can not be restored exactly from a
+ * primitive are kept as text as well. Instances are created with a
+ * {@link Builder}.
+ */
+public final class ColumnarRowSetR implements ColumnarRowSet {
+
+    private static final byte KIND_LONG = 0;
+    private static final byte KIND_DOUBLE = 1;
+    private static final byte KIND_BOOLEAN = 2;
+    private static final byte KIND_TEXT = 3;
+
+    private final List<RowSetColumn> columns;
+    private final int rowCount;
+    private final byte[] kinds;
+    // primitive values by column, null for text columns
+    private final long[][] values;
+    // text values by column, null for primitive columns without text values
+    private final String[][] texts;
+    private final BitSet[] present;
+
+    private ColumnarRowSetR(Builder builder) {
+        this.columns = builder.columns;
+        this.rowCount = builder.rowCount;
+        this.kinds = builder.kinds;
+        this.values = new long[kinds.length][];
+        this.texts = new String[kinds.length][];
+        this.present = new BitSet[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            values[i] = builder.values[i] != null ? Arrays.copyOf(builder.values[i], rowCount) : null;
+            texts[i] = builder.texts[i] != null ? Arrays.copyOf(builder.texts[i], rowCount) : null;
+            present[i] = (BitSet) builder.present[i].clone();
+        }
+    }
+
+    public static Builder builder(List<? extends RowSetColumn> columns) {
+        return new Builder(columns, 16);
+    }
+
+    public static Builder builder(List<? extends RowSetColumn> columns, int expectedRows) {
+        return new Builder(columns, expectedRows);
+    }
+
+    @Override
+    public List<RowSetRow> rowSetRows() {
+        return new RowList();
+    }
+
+    @Override
+    public List<RowSetColumn> columns() {
+        return columns;
+    }
+
+    @Override
+    public int rowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public boolean isNull(int row, int column) {
+        return !present[column].get(row);
+    }
+
+    @Override
+    public String value(int row, int column) {
+        if (isNull(row, column)) {
+            return null;
+        }
+        String text = text(row, column);
+        if (text != null) {
+            return text;
+        }
+        long value = values[column][row];
+        switch (kinds[column]) {
+        case KIND_LONG:
+            return Long.toString(value);
+        case KIND_DOUBLE:
+            return Double.toString(Double.longBitsToDouble(value));
+        case KIND_BOOLEAN:
+            return Boolean.toString(value != 0);
+        default:
+            return null;
+        }
+    }
+
+    @Override
+    public long longValue(int row, int column) {
+        if (kinds[column] != KIND_LONG) {
+            throw new IllegalArgumentException("Column " + column + " is not of an integer type");
+        }
+        String text = text(row, column);
+        return text != null ? Long.parseLong(text.trim()) : values[column][row];
+    }
+
+    @Override
+    public double doubleValue(int row, int column) {
+        if (kinds[column] != KIND_DOUBLE && kinds[column] != KIND_LONG) {
+            throw new IllegalArgumentException("Column " + column + " is not of an integer or double type");
+        }
+        String text = text(row, column);
+        if (text != null) {
+            return Double.parseDouble(text);
+        }
+        long value = values[column][row];
+        return kinds[column] == KIND_DOUBLE ? Double.longBitsToDouble(value) : value;
+    }
+
+    @Override
+    public boolean booleanValue(int row, int column) {
+        if (kinds[column] != KIND_BOOLEAN) {
+            throw new IllegalArgumentException("Column " + column + " is not of boolean type");
+        }
+        String text = text(row, column);
+        return text != null ? "1".equals(text.trim()) || Boolean.parseBoolean(text.trim()) : values[column][row] != 0;
+    }
+
+    @Override
+    public RowSetRow row(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        List<RowSetRowItem> items = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            if (!isNull(row, i)) {
+                RowSetColumn column = columns.get(i);
+                items.add(new RowSetRowItemR(column.tagName(), column.fieldName(), value(row, i),
+                        Optional.ofNullable(column.type())));
+            }
+        }
+        return new RowSetRowR(items);
+    }
+
+    private String text(int row, int column) {
+        String[] columnTexts = texts[column];
+        return columnTexts != null ? columnTexts[row] : null;
+    }
+
+    private static byte kind(ItemTypeEnum type) {
+        if (type == null) {
+            return KIND_TEXT;
+        }
+        switch (type) {
+        case INTEGER, UNSIGNEDINT, UNSIGNEDSHOT:
+            return KIND_LONG;
+        case DOUBLE:
+            return KIND_DOUBLE;
+        case BOOLEAN:
+            return KIND_BOOLEAN;
+        default:
+            return KIND_TEXT;
+        }
+    }
+
+    private class RowList extends AbstractList<RowSetRow> implements RandomAccess {
+
+        @Override
+        public RowSetRow get(int index) {
+            return row(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+    /**
+     * Adds rows one after the other. {@link #addRow()} starts a row without
+     * values, the setters set the values of the last row.
+     */
+    public static final class Builder {
+
+        private final List<RowSetColumn> columns;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final byte[] kinds;
+        private final long[][] values;
+        private final String[][] texts;
+        private final BitSet[] present;
+        private int capacity;
+        private int rowCount;
+
+        private Builder(List<? extends RowSetColumn> columns, int expectedRows) {
+            this.columns = List.copyOf(columns);
+            this.capacity = Math.max(expectedRows, 1);
+            this.kinds = new byte[columns.size()];
+            this.values = new long[columns.size()][];
+            this.texts = new String[columns.size()][];
+            this.present = new BitSet[columns.size()];
+            for (int i = 0; i < kinds.length; i++) {
+                RowSetColumn column = this.columns.get(i);
+                indexes.putIfAbsent(column.tagName(), i);
+                kinds[i] = kind(column.type());
+                if (kinds[i] == KIND_TEXT) {
+                    texts[i] = new String[capacity];
+                } else {
+                    values[i] = new long[capacity];
+                }
+                present[i] = new BitSet();
+            }
+        }
+
+        /**
+         * @return the index of the column with the given tag name, -1 if there is
+         *         none
+         */
+        public int column(String tagName) {
+            Integer index = indexes.get(tagName);
+            return index != null ? index : -1;
+        }
+
+        public Builder addRow() {
+            if (rowCount == capacity) {
+                grow();
+            }
+            rowCount++;
+            return this;
+        }
+
+        /**
+         * Adds a row with the values of the items.
+         *
+         * @throws IllegalArgumentException if an item has no column
+         */
+        public Builder addRow(RowSetRow row) {
+            addRow();
+            if (row.rowSetRowItem() != null) {
+                for (RowSetRowItem item : row.rowSetRowItem()) {
+                    if (item != null) {
+                        int column = column(item.tagName());
+                        if (column < 0) {
+                            throw new IllegalArgumentException("No column for " + item.tagName());
+                        }
+                        set(column, item.value());
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Sets a value as written to the wire. Values of integer, double and boolean
+         * columns are packed into primitives if they convert back to the same text.
+         */
+        public Builder set(int column, String value) {
+            int row = lastRow();
+            if (value == null) {
+                return this;
+            }
+            switch (kinds[column]) {
+            case KIND_LONG:
+                Long l = parseLong(value);
+                if (l != null) {
+                    primitive(column, row, l);
+                    return this;
+                }
+                break;
+            case KIND_DOUBLE:
+                Double d = parseDouble(value);
+                if (d != null) {
+                    primitive(column, row, Double.doubleToRawLongBits(d));
+                    return this;
+                }
+                break;
+            case KIND_BOOLEAN:
+                if ("true".equals(value) || "false".equals(value)) {
+                    primitive(column, row, "true".equals(value) ? 1L : 0L);
+                    return this;
+                }
+                break;
+            default:
+                break;
+            }
+            text(column, row, value);
+            return this;
+        }
+
+        public Builder setLong(int column, long value) {
+            requireKind(column, KIND_LONG);
+            primitive(column, lastRow(), value);
+            return this;
+        }
+
+        public Builder setDouble(int column, double value) {
+            requireKind(column, KIND_DOUBLE);
+            primitive(column, lastRow(), Double.doubleToRawLongBits(value));
+            return this;
+        }
+
+        public Builder setBoolean(int column, boolean value) {
+            requireKind(column, KIND_BOOLEAN);
+            primitive(column, lastRow(), value ? 1L : 0L);
+            return this;
+        }
+
+        public ColumnarRowSetR build() {
+            return new ColumnarRowSetR(this);
+        }
+
+        private int lastRow() {
+            if (rowCount == 0) {
+                throw new IllegalStateException("No row added");
+            }
+            return rowCount - 1;
+        }
+
+        private void requireKind(int column, byte kind) {
+            if (kinds[column] != kind) {
+                throw new IllegalArgumentException("Column " + column + " is of type " + columns.get(column).type());
+            }
+        }
+
+        private void primitive(int column, int row, long value) {
+            values[column][row] = value;
+            if (texts[column] != null) {
+                texts[column][row] = null;
+            }
+            present[column].set(row);
+        }
+
+        private void text(int column, int row, String value) {
+            if (texts[column] == null) {
+                texts[column] = new String[capacity];
+            }
+            texts[column][row] = value;
+            present[column].set(row);
+        }
+
+        private void grow() {
+            capacity *= 2;
+            for (int i = 0; i < kinds.length; i++) {
+                if (values[i] != null) {
+                    values[i] = Arrays.copyOf(values[i], capacity);
+                }
+                if (texts[i] != null) {
+                    texts[i] = Arrays.copyOf(texts[i], capacity);
+                }
+            }
+        }
+
+        private static Long parseLong(String value) {
+            try {
+                long l = Long.parseLong(value);
+                return Long.toString(l).equals(value) ? l : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Double parseDouble(String value) {
+            try {
+                double d = Double.parseDouble(value);
+                return Double.toString(d).equals(value) ? d : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
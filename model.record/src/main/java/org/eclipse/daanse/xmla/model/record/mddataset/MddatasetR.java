@@ -13,11 +13,12 @@
  */
 package org.eclipse.daanse.xmla.model.record.mddataset;
 
+import org.eclipse.daanse.xmla.api.mddataset.CellData;
 import org.eclipse.daanse.xmla.api.mddataset.Mddataset;
 import org.eclipse.daanse.xmla.model.record.exception.ExceptionR;
 import org.eclipse.daanse.xmla.model.record.exception.MessagesR;
 
-public record MddatasetR(OlapInfoR olapInfo, AxesR axes, CellDataR cellData, ExceptionR exception, MessagesR messages)
+public record MddatasetR(OlapInfoR olapInfo, AxesR axes, CellData cellData, ExceptionR exception, MessagesR messages)
         implements Mddataset {
 
 }
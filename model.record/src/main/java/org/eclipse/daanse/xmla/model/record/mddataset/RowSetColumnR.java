@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.model.record.mddataset;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetColumn;
+
+public record RowSetColumnR(String tagName, String fieldName, ItemTypeEnum type, boolean nullable)
+        implements RowSetColumn {
+
+    public RowSetColumnR(String tagName, ItemTypeEnum type) {
+        this(tagName, tagName, type, true);
+    }
+}
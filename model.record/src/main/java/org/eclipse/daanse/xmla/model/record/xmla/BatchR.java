@@ -23,6 +23,7 @@ import org.eclipse.daanse.xmla.api.xmla.BeginTransaction;
 import org.eclipse.daanse.xmla.api.xmla.Cancel;
 import org.eclipse.daanse.xmla.api.xmla.ClearCache;
 import org.eclipse.daanse.xmla.api.xmla.CloneDatabase;
+import org.eclipse.daanse.xmla.api.xmla.Command;
 import org.eclipse.daanse.xmla.api.xmla.CommitTransaction;
 import org.eclipse.daanse.xmla.api.xmla.Create;
 import org.eclipse.daanse.xmla.api.xmla.DBCC;
@@ -62,10 +63,14 @@ public record BatchR(List<Batch.Parallel> parallel, OutOfLineBinding bindings, D
         List<ClearCache> clearCache, List<Subscribe> subscribe, List<Unsubscribe> unsubscribe, List<Detach> detach,
         List<Attach> attach, List<Lock> lock, List<Unlock> unlock, List<ImageLoad> imageLoad, List<ImageSave> imageSave,
         List<CloneDatabase> cloneDatabase, List<SetAuthContext> setAuthContext, DBCC dbcc, List<Discover> discover,
-        Boolean transaction, Boolean processAffectedObjects) implements Batch {
+        Boolean transaction, Boolean processAffectedObjects, List<Batch.Step> commands) implements Batch {
 
     public record Parallel(List<Process> process, Integer maxParallel) implements Batch.Parallel {
 
     }
 
+    public record Step(Command command, Batch.Parallel parallel) implements Batch.Step {
+
+    }
+
 }
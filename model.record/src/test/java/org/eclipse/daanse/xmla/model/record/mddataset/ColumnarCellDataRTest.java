@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.model.record.mddataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ColumnarCellDataRTest {
+
+    @Nested
+    class PackingTests {
+
+        @Test
+        void addLong_valueAndTypeRestored() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addLong(3, Long.MIN_VALUE, ItemTypeEnum.INTEGER, null)
+                    .build();
+
+            assertEquals(3, data.cellOrdinal(0));
+            assertEquals(Long.toString(Long.MIN_VALUE), data.value(0));
+            assertEquals(ItemTypeEnum.INTEGER, data.valueType(0));
+            assertTrue(data.isPlain(0));
+        }
+
+        @Test
+        void addDouble_bitsRestored() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addDouble(0, -0.0, null).addDouble(1, Double.NaN, null)
+                    .addDouble(2, 1.5, null).build();
+
+            assertEquals("-0.0", data.value(0));
+            assertEquals("NaN", data.value(1));
+            assertEquals("1.5", data.value(2));
+            assertEquals(ItemTypeEnum.DOUBLE, data.valueType(2));
+        }
+
+        @Test
+        void addValue_roundTripping_sameText() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addValue(0, "42", ItemTypeEnum.INTEGER, null)
+                    .addValue(1, "2.25", ItemTypeEnum.DOUBLE, null).build();
+
+            assertEquals("42", data.value(0));
+            assertEquals("2.25", data.value(1));
+        }
+
+        @Test
+        void addValue_notRoundTripping_keptAsText() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addValue(0, "007", ItemTypeEnum.INTEGER, null)
+                    .addValue(1, "1.50", ItemTypeEnum.DOUBLE, null).addValue(2, "1e3", ItemTypeEnum.DOUBLE, null)
+                    .addValue(3, "abc", ItemTypeEnum.INTEGER, null).addValue(4, "x", ItemTypeEnum.STRING, null)
+                    .build();
+
+            assertEquals("007", data.value(0));
+            assertEquals(ItemTypeEnum.INTEGER, data.valueType(0));
+            assertEquals("1.50", data.value(1));
+            assertEquals("1e3", data.value(2));
+            assertEquals("abc", data.value(3));
+            assertEquals("x", data.value(4));
+            assertEquals(ItemTypeEnum.STRING, data.valueType(4));
+        }
+
+        @Test
+        void formattedValue_sharedAndMissing() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addLong(0, 1, ItemTypeEnum.INTEGER, "1 EUR")
+                    .addLong(1, 2, ItemTypeEnum.INTEGER, null).addLong(2, 1, ItemTypeEnum.INTEGER, "1 EUR").build();
+
+            assertEquals("1 EUR", data.formattedValue(0));
+            assertNull(data.formattedValue(1));
+            assertSame(data.formattedValue(0), data.formattedValue(2));
+        }
+    }
+
+    @Nested
+    class NullTests {
+
+        @Test
+        void addValue_null_emptyCell() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addValue(5, null, ItemTypeEnum.INTEGER, "-").build();
+
+            assertNull(data.value(0));
+            assertNull(data.valueType(0));
+            assertEquals("-", data.formattedValue(0));
+            CellType cell = data.cell(0);
+            assertNull(cell.value());
+            assertEquals(5, cell.cellOrdinal());
+            assertEquals(ColumnarCellData.FMT_VALUE, cell.any().get(0).tagName());
+        }
+
+        @Test
+        void addCell_withoutValue_emptyCell() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addCell(new CellTypeR(null, List.of(), 1)).build();
+
+            assertTrue(data.isPlain(0));
+            assertNull(data.value(0));
+            assertTrue(data.cell(0).any().isEmpty());
+        }
+    }
+
+    @Nested
+    class CellTests {
+
+        @Test
+        void addCell_plain_packed() {
+            CellType cell = new CellTypeR(new ValueR("7", ItemTypeEnum.INTEGER, List.of()),
+                    List.of(new CellInfoItemR(ColumnarCellData.FMT_VALUE, "7", Optional.empty())), 2);
+
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addCell(cell).build();
+
+            assertTrue(data.isPlain(0));
+            assertEquals("7", data.value(0));
+            assertEquals("7", data.formattedValue(0));
+            assertEquals(cell, data.cell(0));
+        }
+
+        @Test
+        void addCell_withError_keptAsCell() {
+            CellType cell = new CellTypeR(new ValueR("1", ItemTypeEnum.INTEGER, List.of(new CellTypeErrorR(1L, "e"))),
+                    List.of(), 0);
+
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addCell(cell).build();
+
+            assertFalse(data.isPlain(0));
+            assertSame(cell, data.cell(0));
+            assertEquals("1", data.value(0));
+            assertEquals(ItemTypeEnum.INTEGER, data.valueType(0));
+        }
+
+        @Test
+        void addCell_otherProperty_keptAsCell() {
+            CellType cell = new CellTypeR(new ValueR("1", ItemTypeEnum.INTEGER, null),
+                    List.of(new CellInfoItemR("FORE_COLOR", "255", Optional.empty())), 0);
+
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addCell(cell).build();
+
+            assertFalse(data.isPlain(0));
+            assertSame(cell, data.cell(0));
+        }
+    }
+
+    @Nested
+    class BuilderTests {
+
+        @Test
+        void builder_moreCellsThanExpected_grows() {
+            ColumnarCellDataR.Builder builder = ColumnarCellDataR.builder(1);
+            builder.addValue(0, "text", ItemTypeEnum.STRING, null);
+            for (int i = 1; i < 100; i++) {
+                builder.addLong(i, i, ItemTypeEnum.INTEGER, "f" + (i % 3));
+            }
+
+            ColumnarCellDataR data = builder.build();
+
+            assertEquals(100, data.cellCount());
+            assertEquals("text", data.value(0));
+            assertEquals("99", data.value(99));
+            assertEquals(99, data.cellOrdinal(99));
+            assertEquals("f0", data.formattedValue(99));
+        }
+
+        @Test
+        void build_builderReused_earlierResultUnchanged() {
+            ColumnarCellDataR.Builder builder = ColumnarCellDataR.builder(1).addLong(0, 1, ItemTypeEnum.INTEGER,
+                    null);
+            ColumnarCellDataR first = builder.build();
+            builder.addLong(1, 2, ItemTypeEnum.INTEGER, null);
+
+            assertEquals(1, first.cellCount());
+            assertEquals(2, builder.build().cellCount());
+        }
+
+        @Test
+        void cell_listView_sizeAndBounds() {
+            ColumnarCellDataR data = ColumnarCellDataR.builder().addLong(4, 1, ItemTypeEnum.INTEGER, null).build();
+
+            List<CellType> cells = data.cell();
+
+            assertEquals(1, cells.size());
+            assertEquals(4, cells.get(0).cellOrdinal());
+            assertThrows(IndexOutOfBoundsException.class, () -> cells.get(1));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.model.record.mddataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ColumnarRowSetRTest {
+
+    private static final int NAME = 0;
+    private static final int COUNT = 1;
+    private static final int SHARE = 2;
+    private static final int VISIBLE = 3;
+
+    private final List<RowSetColumnR> columns = List.of(new RowSetColumnR("Name", ItemTypeEnum.STRING),
+            new RowSetColumnR("Count", ItemTypeEnum.INTEGER), new RowSetColumnR("Share", ItemTypeEnum.DOUBLE),
+            new RowSetColumnR("Visible", ItemTypeEnum.BOOLEAN));
+
+    @Nested
+    class PackingTests {
+
+        @Test
+        void set_roundTripping_primitivesRestored() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(NAME, "a")
+                    .set(COUNT, "-12").set(SHARE, "0.25").set(VISIBLE, "false").build();
+
+            assertEquals("a", rowSet.value(0, NAME));
+            assertEquals("-12", rowSet.value(0, COUNT));
+            assertEquals(-12, rowSet.longValue(0, COUNT));
+            assertEquals("0.25", rowSet.value(0, SHARE));
+            assertEquals(0.25, rowSet.doubleValue(0, SHARE));
+            assertEquals("false", rowSet.value(0, VISIBLE));
+            assertFalse(rowSet.booleanValue(0, VISIBLE));
+        }
+
+        @Test
+        void setters_primitivesWrittenAsText() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().setLong(COUNT, Long.MAX_VALUE)
+                    .setDouble(SHARE, -0.0).setBoolean(VISIBLE, true).build();
+
+            assertEquals(Long.toString(Long.MAX_VALUE), rowSet.value(0, COUNT));
+            assertEquals("-0.0", rowSet.value(0, SHARE));
+            assertEquals("true", rowSet.value(0, VISIBLE));
+            assertEquals((double) Long.MAX_VALUE, rowSet.doubleValue(0, COUNT));
+        }
+
+        @Test
+        void set_notRoundTripping_keptAsText() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(COUNT, "007")
+                    .set(SHARE, "1.50").set(VISIBLE, "1").addRow().set(COUNT, "n/a").build();
+
+            assertEquals("007", rowSet.value(0, COUNT));
+            assertEquals(7, rowSet.longValue(0, COUNT));
+            assertEquals("1.50", rowSet.value(0, SHARE));
+            assertEquals(1.5, rowSet.doubleValue(0, SHARE));
+            assertEquals("1", rowSet.value(0, VISIBLE));
+            assertTrue(rowSet.booleanValue(0, VISIBLE));
+            assertEquals("n/a", rowSet.value(1, COUNT));
+        }
+
+        @Test
+        void setLong_afterText_primitiveWins() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(COUNT, "007").setLong(COUNT, 8)
+                    .build();
+
+            assertEquals("8", rowSet.value(0, COUNT));
+        }
+
+        @Test
+        void typedAccess_wrongColumnType_throws() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(NAME, "a").build();
+
+            assertThrows(IllegalArgumentException.class, () -> rowSet.longValue(0, NAME));
+            assertThrows(IllegalArgumentException.class, () -> rowSet.doubleValue(0, VISIBLE));
+            assertThrows(IllegalArgumentException.class, () -> rowSet.booleanValue(0, COUNT));
+        }
+    }
+
+    @Nested
+    class NullTests {
+
+        @Test
+        void notSet_null() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(NAME, "a").set(COUNT, null)
+                    .build();
+
+            assertFalse(rowSet.isNull(0, NAME));
+            assertTrue(rowSet.isNull(0, COUNT));
+            assertNull(rowSet.value(0, COUNT));
+            assertTrue(rowSet.isNull(0, SHARE));
+        }
+
+        @Test
+        void row_nullValues_noItem() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(COUNT, "3").build();
+
+            List<RowSetRowItem> items = rowSet.row(0).rowSetRowItem();
+
+            assertEquals(1, items.size());
+            assertEquals(new RowSetRowItemR("Count", "Count", "3", Optional.of(ItemTypeEnum.INTEGER)), items.get(0));
+        }
+    }
+
+    @Nested
+    class BuilderTests {
+
+        @Test
+        void builder_moreRowsThanExpected_grows() {
+            ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns, 1);
+            for (int i = 0; i < 50; i++) {
+                builder.addRow().set(NAME, "n" + i).setLong(COUNT, i);
+                if (i % 2 == 0) {
+                    builder.set(SHARE, "x");
+                }
+            }
+
+            ColumnarRowSetR rowSet = builder.build();
+
+            assertEquals(50, rowSet.rowCount());
+            assertEquals("n49", rowSet.value(49, NAME));
+            assertEquals(49, rowSet.longValue(49, COUNT));
+            assertEquals("x", rowSet.value(48, SHARE));
+            assertTrue(rowSet.isNull(49, SHARE));
+        }
+
+        @Test
+        void build_builderReused_earlierResultUnchanged() {
+            ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns).addRow().set(NAME, "a");
+            ColumnarRowSetR first = builder.build();
+            builder.set(NAME, "b").addRow();
+
+            assertEquals(1, first.rowCount());
+            assertEquals("a", first.value(0, NAME));
+        }
+
+        @Test
+        void set_noRow_throws() {
+            ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns);
+
+            assertThrows(IllegalStateException.class, () -> builder.set(NAME, "a"));
+        }
+
+        @Test
+        void setLong_otherColumnType_throws() {
+            ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns).addRow();
+
+            assertThrows(IllegalArgumentException.class, () -> builder.setLong(NAME, 1));
+        }
+
+        @Test
+        void addRow_items_setByTagName() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns)
+                    .addRow(new RowSetRowR(List.<RowSetRowItem>of(new RowSetRowItemR("Count", "5", Optional.empty()),
+                            new RowSetRowItemR("Name", "a", Optional.empty()))))
+                    .build();
+
+            assertEquals("a", rowSet.value(0, NAME));
+            assertEquals(5, rowSet.longValue(0, COUNT));
+            assertEquals(-1, ColumnarRowSetR.builder(columns).column("Other"));
+        }
+    }
+
+    @Nested
+    class RowViewTests {
+
+        @Test
+        void rowSetRows_viewOverColumns() {
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(columns).addRow().set(NAME, "a").addRow()
+                    .set(NAME, "b").build();
+
+            List<RowSetRow> rows = rowSet.rowSetRows();
+
+            assertEquals(2, rows.size());
+            assertEquals(rowSet.row(1), rows.get(1));
+            assertEquals("b", rows.get(1).rowSetRowItem().get(0).value());
+            assertThrows(IndexOutOfBoundsException.class, () -> rows.get(2));
+            assertThrows(IndexOutOfBoundsException.class, () -> rows.get(-1));
+        }
+    }
+}
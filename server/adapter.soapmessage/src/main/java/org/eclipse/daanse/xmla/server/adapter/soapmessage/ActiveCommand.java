@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Discover or Execute command that is running, registered in a
+ * {@link CommandRegistry} until it is closed. It is the
+ * {@link CancellationToken} the service gets with the request metadata.
+ * Cancelling sets the token and runs the registered actions, the thread running
+ * the command is not interrupted: an interrupt would close the channel the
+ * response is written to.
+ */
+public final class ActiveCommand implements CancellationToken, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActiveCommand.class);
+
+    private final CommandRegistry registry;
+    private final long id;
+    private final String sessionId;
+    private final String userName;
+    private final String commandType;
+    private final Instant startTime;
+    private final List<Runnable> cancelActions = new ArrayList<>();
+    private volatile boolean cancelled;
+    private boolean closed;
+
+    ActiveCommand(CommandRegistry registry, long id, String sessionId, String userName, String commandType) {
+        this.registry = registry;
+        this.id = id;
+        this.sessionId = sessionId;
+        this.userName = userName;
+        this.commandType = commandType;
+        this.startTime = Instant.now();
+    }
+
+    /**
+     * The id of the command, used as SPID of Cancel requests. It is the
+     * SESSION_SPID of the DISCOVER_COMMANDS and DISCOVER_SESSIONS rowsets.
+     */
+    public long id() {
+        return id;
+    }
+
+    public Optional<String> sessionId() {
+        return Optional.ofNullable(sessionId);
+    }
+
+    public String userName() {
+        return userName;
+    }
+
+    /**
+     * The RequestType of a Discover request or the command of an Execute request.
+     */
+    public String commandType() {
+        return commandType;
+    }
+
+    public Instant startTime() {
+        return startTime;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void onCancel(Runnable action) {
+        synchronized (this) {
+            if (!cancelled) {
+                cancelActions.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+
+    /**
+     * @return {@code false} if the command was already cancelled or has finished
+     */
+    boolean cancel() {
+        List<Runnable> actions;
+        synchronized (this) {
+            if (cancelled || closed) {
+                return false;
+            }
+            cancelled = true;
+            actions = List.copyOf(cancelActions);
+        }
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Cancel action of command {} failed", id, e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        registry.remove(this);
+    }
+}
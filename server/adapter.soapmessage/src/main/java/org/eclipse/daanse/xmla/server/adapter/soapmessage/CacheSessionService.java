@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.session.SessionService;
+import org.eclipse.daanse.xmla.api.xmla.BeginSession;
+import org.eclipse.daanse.xmla.api.xmla.EndSession;
+import org.eclipse.daanse.xmla.api.xmla.Session;
+
+/**
+ * {@link SessionService} that tells the response caches when a session ended,
+ * so they stop caching its requests per session. Sessions evicted by the
+ * {@link SessionManager} are ended through this service as well.
+ */
+final class CacheSessionService implements SessionService {
+
+    private final SessionService sessionService;
+    private final DiscoverResponseCache discoverResponseCache;
+    private final StatementResponseCache statementResponseCache;
+
+    /**
+     * @param discoverResponseCache  may be {@code null}
+     * @param statementResponseCache may be {@code null}
+     */
+    CacheSessionService(SessionService sessionService, DiscoverResponseCache discoverResponseCache,
+            StatementResponseCache statementResponseCache) {
+        this.sessionService = sessionService;
+        this.discoverResponseCache = discoverResponseCache;
+        this.statementResponseCache = statementResponseCache;
+    }
+
+    @Override
+    public Optional<Session> beginSession(BeginSession beginSession, UserRolePrincipal userPrincipal) {
+        return sessionService.beginSession(beginSession, userPrincipal);
+    }
+
+    @Override
+    public boolean checkSession(Session session, UserRolePrincipal userPrincipal) {
+        return sessionService.checkSession(session, userPrincipal);
+    }
+
+    @Override
+    public void endSession(EndSession endSession, UserRolePrincipal userPrincipal) {
+        sessionService.endSession(endSession, userPrincipal);
+        // only after the service ended it, a live session must stay marked
+        if (discoverResponseCache != null) {
+            discoverResponseCache.sessionEnded(endSession.sessionId());
+        }
+        if (statementResponseCache != null) {
+            statementResponseCache.sessionEnded(endSession.sessionId());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.xmla.Cancel;
+
+/**
+ * The Discover and Execute commands that are running, by session. Cancel
+ * requests look the commands up here and cancel them. A user can only cancel
+ * its own commands.
+ */
+public class CommandRegistry {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, ActiveCommand> commands = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a command that starts on the current thread. It must be closed
+     * when it has finished.
+     */
+    public ActiveCommand register(RequestMetaData metaData, UserRolePrincipal userPrincipal, String commandType) {
+        ActiveCommand command = new ActiveCommand(this, ids.incrementAndGet(), metaData.sessionId().orElse(null),
+                userName(userPrincipal), commandType);
+        commands.put(command.id(), command);
+        return command;
+    }
+
+    void remove(ActiveCommand command) {
+        commands.remove(command.id());
+    }
+
+    public List<ActiveCommand> activeCommands() {
+        return List.copyOf(commands.values());
+    }
+
+    /**
+     * The commands a Cancel request of the user that runs the command of the
+     * given token can cancel, ordered by id. Empty if the token is not a command
+     * of this registry.
+     */
+    public List<ActiveCommand> activeCommands(CancellationToken token) {
+        if (!(token instanceof ActiveCommand current) || commands.get(current.id()) != current) {
+            return List.of();
+        }
+        return commands.values().stream().filter(command -> command.userName().equals(current.userName()))
+                .sorted(Comparator.comparingLong(ActiveCommand::id)).toList();
+    }
+
+    public Optional<ActiveCommand> get(long id) {
+        return Optional.ofNullable(commands.get(id));
+    }
+
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * Cancels the commands a Cancel request selects. With an SPID the command with
+     * that id is cancelled, with CancelAssociated also the other commands of its
+     * session. With a SessionID the commands of that session are cancelled,
+     * otherwise those of the session of the Cancel request. Connections are not
+     * tracked, a ConnectionID alone selects nothing.
+     *
+     * @param cancel        the Cancel command
+     * @param metaData      metadata of the Cancel request
+     * @param userPrincipal the user that sent the Cancel request
+     * @return the number of cancelled commands
+     */
+    public int cancel(Cancel cancel, RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        String userName = userName(userPrincipal);
+        if (cancel.spid() != null) {
+            ActiveCommand command = commands.get(toId(cancel.spid()));
+            if (command == null || !command.userName().equals(userName)) {
+                return 0;
+            }
+            if (Boolean.TRUE.equals(cancel.cancelAssociated()) && command.sessionId().isPresent()) {
+                return cancelSession(command.sessionId().get(), userName);
+            }
+            return command.cancel() ? 1 : 0;
+        }
+        if (cancel.sessionID() != null) {
+            return cancelSession(cancel.sessionID(), userName);
+        }
+        if (cancel.connectionID() != null) {
+            return 0;
+        }
+        return metaData.sessionId().map(sessionId -> cancelSession(sessionId, userName)).orElse(0);
+    }
+
+    private int cancelSession(String sessionId, String userName) {
+        int cancelled = 0;
+        for (ActiveCommand command : commands.values()) {
+            if (command.sessionId().filter(sessionId::equals).isPresent() && command.userName().equals(userName)
+                    && command.cancel()) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    private static long toId(BigInteger spid) {
+        return spid.bitLength() < Long.SIZE ? spid.longValue() : -1;
+    }
+
+    private static String userName(UserRolePrincipal userPrincipal) {
+        return userPrincipal != null ? Objects.requireNonNullElse(userPrincipal.userName(), "") : "";
+    }
+}
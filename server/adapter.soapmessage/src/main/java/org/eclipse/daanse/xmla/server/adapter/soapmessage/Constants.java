@@ -256,6 +256,7 @@ public class Constants {
     public static final String CANCEL = "Cancel";
     public static final String CLEAR_CACHE = "ClearCache";
     public static final String ALTER = "Alter";
+    public static final String BATCH = "Batch";
     public static final String STATEMENT = "Statement";
     public static final String COMMAND = "Command";
     public static final String COORDINATE_TYPE = "COORDINATE_TYPE";
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.common.properties.Content;
+import org.eclipse.daanse.xmla.api.common.properties.Format;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+
+import jakarta.xml.soap.SOAPElement;
+
+/**
+ * Cache of DiscoverResponse elements. Entries are kept as immutable
+ * {@link XmlFragment}, a DOM is not thread safe even for reads, so they can be
+ * copied into responses of several threads at once.
+ * <p>
+ * The key holds the request type, the restrictions, the properties that select
+ * or shape the rowset, the role and user properties and the user name.
+ * {@code DiscoverService} gets no user information besides the session, so the
+ * user name is the closest the cache can get to the roles of a request. Once a
+ * session executed a statement that may create session objects, e.g. CREATE
+ * SET, its later requests are cached per session until it ends.
+ * <p>
+ * Entries expire after the time to live, the least recently used entry is
+ * evicted when the cache is full. {@link #invalidateAll()} drops all entries,
+ * it is called after an Alter, ClearCache, Process or Batch command and after
+ * statements that may change metadata were executed.
+ */
+public class DiscoverResponseCache {
+
+    /**
+     * Rowsets that are never cached, their size depends on the data and not on
+     * the metadata of a catalog, or they list the running commands.
+     */
+    private static final Set<String> NOT_CACHED = Set.of("MDSCHEMA_MEMBERS", "DISCOVER_COMMANDS",
+            "DISCOVER_SESSIONS");
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final StatefulSessions statefulSessions = new StatefulSessions();
+    private long generation;
+
+    public DiscoverResponseCache(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Creates the key of a request, {@code null} if responses of the request type
+     * or of the session are not cached. The session is only part of the key if
+     * the session executed a statement that may have created session objects.
+     *
+     * @param sessionId the session of the request, may be {@code null}
+     */
+    public Key key(String requestType, PropertiesR properties, Map<String, List<String>> restrictionValues,
+            String sessionId, UserRolePrincipal userPrincipal) {
+        if (!statefulSessions.isCacheable(sessionId)) {
+            return null;
+        }
+        return newKey(requestType, properties, restrictionValues, statefulSessions.scope(sessionId),
+                userPrincipal);
+    }
+
+    /**
+     * Creates the key of a request without a cache, e.g. to coalesce identical
+     * requests, see {@link #key}. The session is part of the key if it is given,
+     * without a cache it is not known which sessions created session objects.
+     */
+    public static Key newKey(String requestType, PropertiesR properties, Map<String, List<String>> restrictionValues,
+            String sessionId, UserRolePrincipal userPrincipal) {
+        if (NOT_CACHED.contains(requestType)) {
+            return null;
+        }
+        return new Key(requestType, copy(restrictionValues),
+                properties != null ? properties.catalog() : Optional.empty(),
+                properties != null ? properties.dataSourceInfo() : Optional.empty(),
+                properties != null ? properties.localeIdentifier() : Optional.empty(),
+                properties != null ? properties.content() : Optional.empty(),
+                properties != null ? properties.format() : Optional.empty(),
+                properties != null ? properties.roles() : Optional.empty(),
+                properties != null ? properties.effectiveRoles() : Optional.empty(),
+                properties != null ? properties.effectiveUserName() : Optional.empty(),
+                properties != null ? properties.customData() : Optional.empty(),
+                userPrincipal != null ? userPrincipal.userName() : null, sessionId);
+    }
+
+    /**
+     * Called after a Statement command was executed. If it may have changed
+     * metadata or created session objects, e.g. CREATE SET or DROP MEMBER, all
+     * entries are dropped and later requests of its session are cached per
+     * session.
+     *
+     * @param statement the statement text
+     * @param sessionId the session of the request, may be {@code null}
+     */
+    public void executed(String statement, String sessionId) {
+        if (!MdxStatements.changesState(statement)) {
+            return;
+        }
+        if (sessionId != null) {
+            statefulSessions.add(sessionId);
+        }
+        invalidateAll();
+    }
+
+    /**
+     * Called after a session ended or was evicted, its requests are no longer
+     * cached per session.
+     *
+     * @param sessionId the session that ended
+     */
+    public void sessionEnded(String sessionId) {
+        statefulSessions.remove(sessionId);
+    }
+
+    /**
+     * @return the cached DiscoverResponse element or {@code null}
+     */
+    public synchronized XmlFragment get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.created() > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.response();
+    }
+
+    /**
+     * @return the generation to pass to {@link #put} for a response that is
+     *         created now
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches a copy of the DiscoverResponse element. Nothing is cached if the
+     * cache was invalidated since the given generation was read, the response may
+     * already be outdated.
+     */
+    public void put(Key key, long generation, SOAPElement discoverResponse) {
+        put(key, generation, XmlFragment.of(discoverResponse));
+    }
+
+    /**
+     * Caches the DiscoverResponse fragment, see
+     * {@link #put(Key, long, SOAPElement)}.
+     */
+    public synchronized void put(Key key, long generation, XmlFragment discoverResponse) {
+        if (generation != this.generation) {
+            return;
+        }
+        entries.put(key, new Entry(discoverResponse, System.nanoTime()));
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static Map<String, List<String>> copy(Map<String, List<String>> restrictionValues) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        restrictionValues.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+        return Map.copyOf(copy);
+    }
+
+    public record Key(String requestType, Map<String, List<String>> restrictionValues, Optional<String> catalog,
+            Optional<String> dataSourceInfo, Optional<Integer> localeIdentifier, Optional<Content> content,
+            Optional<Format> format, Optional<String> roles, Optional<String> effectiveRoles,
+            Optional<String> effectiveUserName, Optional<String> customData, String userName, String sessionId) {
+    }
+
+    private record Entry(XmlFragment response, long created) {
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link XmlaMetrics} that keeps the measurements in memory. Times are recorded
+ * in histograms with 16 buckets per power of two, so quantiles are accurate to
+ * about 6% with a fixed amount of memory per request type and phase. The
+ * values are read with {@link #times()} and {@link #counts()} or written in the
+ * Prometheus text format with {@link #writeText(Appendable)}.
+ */
+public class HistogramMetrics implements XmlaMetrics {
+
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    private final Map<Key, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordTime(String requestType, Phase phase, long nanos) {
+        histograms.computeIfAbsent(new Key(requestType, phase.name()), key -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void recordCount(String requestType, Count count, long value) {
+        counters.computeIfAbsent(new Key(requestType, count.name()), key -> new LongAdder()).add(value);
+    }
+
+    /**
+     * Summaries of the recorded times by request type and phase.
+     */
+    public List<TimeSummary> times() {
+        List<TimeSummary> summaries = new ArrayList<>();
+        histograms.forEach((key, histogram) -> summaries.add(histogram.summary(key)));
+        summaries.sort(Comparator.comparing(TimeSummary::requestType).thenComparing(TimeSummary::phase));
+        return summaries;
+    }
+
+    /**
+     * The recorded counts by request type and count.
+     */
+    public List<CountSummary> counts() {
+        List<CountSummary> summaries = new ArrayList<>();
+        counters.forEach((key, adder) -> summaries.add(new CountSummary(key.requestType(),
+                Count.valueOf(key.name()), adder.sum())));
+        summaries.sort(Comparator.comparing(CountSummary::requestType).thenComparing(CountSummary::count));
+        return summaries;
+    }
+
+    /**
+     * Writes the times as summaries in seconds and the counts as counters in the
+     * Prometheus text format.
+     */
+    public void writeText(Appendable out) throws IOException {
+        out.append("# TYPE xmla_phase_seconds summary\n");
+        for (TimeSummary summary : times()) {
+            String labels = "request_type=\"" + escape(summary.requestType()) + "\",phase=\""
+                    + summary.phase().name().toLowerCase(Locale.ROOT) + "\"";
+            for (int i = 0; i < QUANTILES.length; i++) {
+                out.append("xmla_phase_seconds{").append(labels).append(",quantile=\"")
+                        .append(String.valueOf(QUANTILES[i])).append("\"} ")
+                        .append(seconds(summary.quantiles()[i])).append('\n');
+            }
+            out.append("xmla_phase_seconds_sum{").append(labels).append("} ")
+                    .append(seconds(summary.totalNanos())).append('\n');
+            out.append("xmla_phase_seconds_count{").append(labels).append("} ")
+                    .append(String.valueOf(summary.count())).append('\n');
+        }
+        for (CountSummary summary : counts()) {
+            out.append("xmla_").append(summary.count().name().toLowerCase(Locale.ROOT)).append("_total{")
+                    .append("request_type=\"").append(escape(summary.requestType())).append("\"} ")
+                    .append(String.valueOf(summary.value())).append('\n');
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return String.valueOf(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private record Key(String requestType, String name) {
+    }
+
+    /**
+     * Summary of the times of a request type in a phase.
+     *
+     * @param quantiles the 50th, 90th and 99th percentile in nanoseconds
+     */
+    public record TimeSummary(String requestType, Phase phase, long count, long totalNanos, long maxNanos,
+            long[] quantiles) {
+    }
+
+    public record CountSummary(String requestType, Count count, long value) {
+    }
+
+    /**
+     * Log-linear histogram of non-negative values: the highest bit of a value
+     * selects the power of two, the next four bits one of its 16 buckets. Values
+     * can be recorded by several threads at the same time.
+     */
+    public static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long value) {
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(index(v));
+            count.increment();
+            total.add(v);
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * The highest value of the bucket with the given index.
+         */
+        static long highestValue(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            long lowest = (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+            return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long total() {
+            return total.sum();
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        /**
+         * The values at the given quantiles, each at most about 6% above the exact
+         * value, from one snapshot of the buckets.
+         */
+        public long[] valuesAtQuantiles(double... quantiles) {
+            long[] snapshot = new long[buckets.length()];
+            long snapshotCount = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = buckets.get(i);
+                snapshotCount += snapshot[i];
+            }
+            long[] values = new long[quantiles.length];
+            for (int i = 0; i < quantiles.length; i++) {
+                values[i] = valueAtQuantile(quantiles[i], snapshot, snapshotCount);
+            }
+            return values;
+        }
+
+        private long valueAtQuantile(double quantile, long[] snapshot, long snapshotCount) {
+            long rank = Math.max(1, (long) Math.ceil(quantile * snapshotCount));
+            long seen = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        private TimeSummary summary(Key key) {
+            return new TimeSummary(key.requestType(), Phase.valueOf(key.name()), count(), total(), max(),
+                    valuesAtQuantiles(QUANTILES));
+        }
+    }
+}
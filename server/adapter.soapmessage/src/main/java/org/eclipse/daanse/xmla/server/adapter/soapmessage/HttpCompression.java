@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * gzip and deflate content coding for the HTTP layers. Responses are compressed
+ * if the client accepts it and the body reaches the threshold. Streamed
+ * responses are buffered only up to the threshold, the decision is made before
+ * anything is sent. Request bodies are decompressed according to their
+ * {@code Content-Encoding}.
+ */
+public final class HttpCompression {
+
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    private static final String IDENTITY = "identity";
+
+    private final int threshold;
+    private final int level;
+
+    /**
+     * @param threshold minimum size in bytes of a response body to compress it
+     * @param level     compression level from 1 to 9, or
+     *                  {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public HttpCompression(int threshold, int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION
+                && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.threshold = Math.max(0, threshold);
+        this.level = level;
+    }
+
+    /**
+     * Selects the coding for the response from an {@code Accept-Encoding} header
+     * value. gzip is preferred over deflate if both have the same quality.
+     *
+     * @return {@link #GZIP}, {@link #DEFLATE} or {@code null} if the response is
+     *         sent uncompressed
+     */
+    public String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        String selected = null;
+        double selectedQuality = 0;
+        double wildcardQuality = 0;
+        boolean gzipListed = false;
+        boolean deflateListed = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if ("*".equals(coding)) {
+                wildcardQuality = quality;
+                continue;
+            }
+            gzipListed |= GZIP.equals(coding) || "x-gzip".equals(coding);
+            deflateListed |= DEFLATE.equals(coding);
+            String candidate = GZIP.equals(coding) || "x-gzip".equals(coding) ? GZIP
+                    : DEFLATE.equals(coding) ? DEFLATE : null;
+            if (candidate != null && (quality > selectedQuality
+                    || quality == selectedQuality && quality > 0 && GZIP.equals(candidate))) {
+                selected = candidate;
+                selectedQuality = quality;
+            }
+        }
+        if (selected == null && wildcardQuality > 0) {
+            selected = !gzipListed ? GZIP : !deflateListed ? DEFLATE : null;
+        }
+        return selected;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Compresses a complete response body.
+     *
+     * @return the compressed body, or {@code null} if the body is below the
+     *         threshold and sent as it is
+     */
+    public byte[] compress(byte[] body, String coding) throws IOException {
+        if (body.length < threshold) {
+            return null;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream out = wrap(compressed, coding)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Returns a stream that compresses what is written to the given stream once
+     * the threshold is reached. {@code beforeCompression} is called before the
+     * first compressed byte is written, to set the {@code Content-Encoding}
+     * header. Smaller bodies are written uncompressed when the stream is closed.
+     */
+    public OutputStream compress(OutputStream out, String coding, Runnable beforeCompression) {
+        return new ThresholdOutputStream(out, coding, beforeCompression);
+    }
+
+    /**
+     * Whether a request body with the given {@code Content-Encoding} header value
+     * can be read.
+     */
+    public static boolean isSupported(String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return true;
+        }
+        String coding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return IDENTITY.equals(coding) || GZIP.equals(coding) || "x-gzip".equals(coding) || DEFLATE.equals(coding);
+    }
+
+    /**
+     * Decompresses a request body according to its {@code Content-Encoding}
+     * header value.
+     */
+    public static InputStream decompress(InputStream in, String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return in;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+        case GZIP, "x-gzip" -> new GZIPInputStream(in);
+        case DEFLATE -> new InflaterInputStream(in);
+        case IDENTITY -> in;
+        default -> throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+        };
+    }
+
+    private OutputStream wrap(OutputStream out, String coding) throws IOException {
+        return switch (coding) {
+        case GZIP -> new GZIPOutputStream(out, true) {
+            {
+                def.setLevel(level);
+            }
+        };
+        case DEFLATE -> new DeflaterOutputStream(out, new Deflater(level), true) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    def.end();
+                }
+            }
+        };
+        default -> throw new IllegalArgumentException("Unsupported coding: " + coding);
+        };
+    }
+
+    private final class ThresholdOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final String coding;
+        private final Runnable beforeCompression;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream compressed;
+
+        private ThresholdOutputStream(OutputStream out, String coding, Runnable beforeCompression) {
+            this.out = out;
+            this.coding = coding;
+            this.beforeCompression = beforeCompression;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (compressed == null && buffer.size() + len < threshold) {
+                buffer.write(b, off, len);
+                return;
+            }
+            if (compressed == null) {
+                beforeCompression.run();
+                compressed = wrap(out, coding);
+                buffer.writeTo(compressed);
+                buffer = null;
+            }
+            compressed.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // below the threshold nothing is sent until the stream is closed
+            if (compressed != null) {
+                compressed.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (compressed != null) {
+                compressed.close();
+            } else {
+                try (out) {
+                    buffer.writeTo(out);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A session known to the {@link SessionManager}. It holds the user the session
+ * was validated for, the results of its role checks since the session was last
+ * checked at the service and caches of the session, e.g. calculated members or
+ * prepared statements. Values of the caches that are {@link AutoCloseable} are
+ * closed when the session ends or is evicted.
+ */
+public final class ManagedSession {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedSession.class);
+
+    private final String sessionId;
+    private final String userName;
+    private final Map<String, Boolean> roles = new ConcurrentHashMap<>();
+    private final Map<String, Object> caches = new ConcurrentHashMap<>();
+    private volatile long lastAccess;
+    private volatile long lastCheck;
+
+    ManagedSession(String sessionId, String userName, long now) {
+        this.sessionId = sessionId;
+        this.userName = userName;
+        this.lastAccess = now;
+        this.lastCheck = now;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public String userName() {
+        return userName;
+    }
+
+    /**
+     * The user of the session without a request, used to end it when it is
+     * evicted. Only roles that were checked in the session are known.
+     */
+    UserRolePrincipal userPrincipal() {
+        return new UserRolePrincipal() {
+
+            @Override
+            public String userName() {
+                return userName;
+            }
+
+            @Override
+            public boolean hasRole(String role) {
+                return roles.getOrDefault(role, false);
+            }
+        };
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    long lastCheck() {
+        return lastCheck;
+    }
+
+    /**
+     * The session was checked again at the service. The role checks are
+     * forgotten, the roles of the user may have changed since.
+     */
+    void checked(long now) {
+        lastCheck = now;
+        roles.clear();
+    }
+
+    /**
+     * The principal of a request in this session. Role checks are answered from
+     * the session, roles that were not checked since the last check of the
+     * session are checked with the principal of the request.
+     */
+    UserRolePrincipal principal(UserRolePrincipal requestPrincipal) {
+        return new UserRolePrincipal() {
+
+            @Override
+            public String userName() {
+                return requestPrincipal.userName();
+            }
+
+            @Override
+            public boolean hasRole(String role) {
+                return roles.computeIfAbsent(role, requestPrincipal::hasRole);
+            }
+        };
+    }
+
+    /**
+     * Returns the cache with the given key, creating it on first use.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T cache(String key, Function<String, T> factory) {
+        return (T) caches.computeIfAbsent(key, factory);
+    }
+
+    void close() {
+        for (Object cache : caches.values()) {
+            if (cache instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOGGER.warn("Failed to close cache of session {}", sessionId, e);
+                }
+            }
+        }
+        caches.clear();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Classifies the text of Statement commands for the response caches by the
+ * first keyword after leading whitespace and comments.
+ */
+final class MdxStatements {
+
+    /**
+     * Statements that only read data, their responses may be cached.
+     */
+    private static final Set<String> QUERIES = Set.of("SELECT", "WITH", "DRILLTHROUGH");
+
+    /**
+     * Statements that may change data, metadata or create session objects.
+     * COMMIT and ROLLBACK end writeback transactions.
+     */
+    private static final Set<String> STATE_CHANGING = Set.of("CREATE", "DROP", "ALTER", "UPDATE", "REFRESH",
+            "COMMIT", "ROLLBACK");
+
+    private MdxStatements() {
+        // utility class
+    }
+
+    static boolean isQuery(String statement) {
+        return statement != null && QUERIES.contains(firstKeyword(statement));
+    }
+
+    static boolean changesState(String statement) {
+        return statement != null && STATE_CHANGING.contains(firstKeyword(statement));
+    }
+
+    /**
+     * @return the first word of the statement in upper case, empty if it does
+     *         not start with a letter
+     */
+    static String firstKeyword(String statement) {
+        int start = skipWhitespaceAndComments(statement);
+        int end = start;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return statement.substring(start, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static int skipWhitespaceAndComments(String statement) {
+        int i = 0;
+        while (i < statement.length()) {
+            if (Character.isWhitespace(statement.charAt(i))) {
+                i++;
+            } else if (statement.startsWith("--", i) || statement.startsWith("//", i)) {
+                int end = statement.indexOf('\n', i);
+                i = end < 0 ? statement.length() : end + 1;
+            } else if (statement.startsWith("/*", i)) {
+                int end = statement.indexOf("*/", i + 2);
+                i = end < 0 ? statement.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Collapses whitespace outside of string literals and bracketed identifiers
+     * to a single space and removes it at the start and end.
+     */
+    static String normalize(String statement) {
+        StringBuilder sb = new StringBuilder(statement.length());
+        char quote = 0;
+        boolean space = false;
+        for (int i = 0; i < statement.length(); i++) {
+            char c = statement.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space && !sb.isEmpty()) {
+                sb.append(' ');
+            }
+            space = false;
+            sb.append(c);
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (quote == 0 && c == '[') {
+                quote = ']';
+            } else if (c == ']' && quote == ']' && i + 1 < statement.length() && statement.charAt(i + 1) == ']') {
+                // escaped bracket inside an identifier
+                sb.append(']');
+                i++;
+            } else if (c == quote) {
+                quote = 0;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -58,15 +58,25 @@ public class PropertyConverter {
             Node n = nodeIteratorPropertyList.next();
 
             if (n instanceof SOAPElement propertyListElement) {
-                String name = propertyListElement.getLocalName();
-                Optional<PropertyListElementDefinition> opd = PropertyListElementDefinition.byNameValue(name);
-                if (opd.isPresent()) {
-                    opd.ifPresent(pd -> properties.addProperty(pd, propertyListElement.getTextContent()));
-                } else {
-                    properties.setByname(name, propertyListElement.getTextContent());
-                }
+                addProperty(properties, propertyListElement.getLocalName(), propertyListElement.getTextContent());
             }
         }
         return properties;
     }
+
+    /**
+     * Add a property of a PropertyList by its element name.
+     *
+     * @param properties the properties to add to
+     * @param name       the local name of the property element
+     * @param value      the text of the property element
+     */
+    public static void addProperty(PropertiesR properties, String name, String value) {
+        Optional<PropertyListElementDefinition> opd = PropertyListElementDefinition.byNameValue(name);
+        if (opd.isPresent()) {
+            opd.ifPresent(pd -> properties.addProperty(pd, value));
+        } else {
+            properties.setByname(name, value);
+        }
+    }
 }
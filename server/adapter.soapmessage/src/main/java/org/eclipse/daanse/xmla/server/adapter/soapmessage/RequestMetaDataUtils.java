@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.eclipse.daanse.xmla.api.CancellationToken;
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.xmla.Session;
 import org.eclipse.daanse.xmla.model.record.RequestMetaDataR;
@@ -33,6 +34,14 @@ public class RequestMetaDataUtils {
                 Optional.ofNullable(url));
     }
 
+    /**
+     * Copy of the metadata with the token that tells the service the request was
+     * cancelled.
+     */
+    public static RequestMetaData withCancellationToken(RequestMetaData metaData, CancellationToken token) {
+        return new RequestMetaDataR(metaData.userAgent(), metaData.sessionId(), metaData.url(), token);
+    }
+
     private static Optional<String> getUserAgent(Object o) {
         if (o instanceof List<?> list && !list.isEmpty() && list.getFirst() instanceof String s) {
             return Optional.of(s);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * Inline xsd:schema of a response root that is the same for every response of a
+ * kind. It is built once with SAAJ on first use and kept as {@link XmlFragment},
+ * every response gets a copy of it instead of building it again element by
+ * element.
+ */
+public final class SchemaTemplate {
+
+    /**
+     * Adds the schema and the attributes that go with it to an empty root element.
+     */
+    @FunctionalInterface
+    public interface SchemaBuilder {
+        void addSchema(SOAPElement root) throws SOAPException;
+    }
+
+    private final QName rootName;
+    private final SchemaBuilder builder;
+    private volatile XmlFragment root;
+
+    public SchemaTemplate(QName rootName, SchemaBuilder builder) {
+        this.rootName = rootName;
+        this.builder = builder;
+    }
+
+    /**
+     * Copies the attributes and the schema of the template to the root element
+     * of a response.
+     */
+    public void addTo(SOAPElement target) throws SOAPException {
+        root().appendContentTo(target);
+    }
+
+    /**
+     * Writes the start of the root element with its attributes and the schema.
+     * The end of the root element is left to the caller.
+     */
+    public void writeStart(XMLStreamWriter writer) throws SOAPException, XMLStreamException {
+        root().writeStart(writer);
+    }
+
+    /**
+     * Writes the schema only, the root element is written by the caller.
+     */
+    public void writeSchema(XMLStreamWriter writer) throws SOAPException, XMLStreamException {
+        root().writeContent(writer);
+    }
+
+    private XmlFragment root() throws SOAPException {
+        XmlFragment result = root;
+        if (result == null) {
+            synchronized (this) {
+                result = root;
+                if (result == null) {
+                    result = build();
+                    root = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private XmlFragment build() throws SOAPException {
+        SOAPElement scratch = SoapFactories.soapFactory().createElement(rootName);
+        builder.addSchema(scratch);
+        return XmlFragment.of(scratch);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+
+/**
+ * Time spent in service calls and the rows and cells they returned, collected
+ * for the current thread. A dispatcher starts a measurement before it calls a
+ * handler and reads it afterwards, the handler calls a service wrapped with
+ * {@link #measured(Class, Object)}. Rows of streamed results are counted while
+ * the stream is consumed.
+ */
+public final class ServiceMeasurement {
+
+    private static final ThreadLocal<ServiceMeasurement> CURRENT = ThreadLocal.withInitial(ServiceMeasurement::new);
+
+    private long serviceNanos;
+    private long rows;
+    private long cells;
+
+    private ServiceMeasurement() {
+    }
+
+    /**
+     * Resets the measurement of the current thread and returns it.
+     */
+    public static ServiceMeasurement start() {
+        ServiceMeasurement measurement = CURRENT.get();
+        measurement.serviceNanos = 0;
+        measurement.rows = 0;
+        measurement.cells = 0;
+        return measurement;
+    }
+
+    public long serviceNanos() {
+        return serviceNanos;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long cells() {
+        return cells;
+    }
+
+    /**
+     * Wraps a service so that its calls are measured in the measurement of the
+     * calling thread.
+     */
+    public static <T> T measured(Class<T> type, T service) {
+        InvocationHandler handler = (proxy, method, args) -> invoke(service, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object service, Method method, Object[] args) throws Throwable {
+        ServiceMeasurement measurement = CURRENT.get();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = method.invoke(service, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            measurement.serviceNanos += System.nanoTime() - start;
+        }
+        return measurement.count(result);
+    }
+
+    private Object count(Object result) {
+        if (result instanceof Collection<?> collection) {
+            rows += collection.size();
+        } else if (result instanceof Stream<?> stream) {
+            return stream.peek(row -> CURRENT.get().rows++);
+        } else if (result instanceof StatementResponse response) {
+            if (response.mdDataSet() != null && response.mdDataSet().cellData() != null
+                    && response.mdDataSet().cellData().cell() != null) {
+                cells += response.mdDataSet().cellData().cell().size();
+            }
+            if (response.rowSet() != null && response.rowSet().rowSetRows() != null) {
+                rows += response.rowSet().rowSetRows().size();
+            }
+        }
+        return result;
+    }
+}
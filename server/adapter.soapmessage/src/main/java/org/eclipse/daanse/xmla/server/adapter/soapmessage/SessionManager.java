@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.session.SessionService;
+import org.eclipse.daanse.xmla.api.xmla.BeginSession;
+import org.eclipse.daanse.xmla.api.xmla.EndSession;
+import org.eclipse.daanse.xmla.api.xmla.Session;
+import org.eclipse.daanse.xmla.model.record.xmla.EndSessionR;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Session table in front of a {@link SessionService}. Sessions that were begun
+ * or checked are checked locally for the same user for the check interval, so
+ * requests in a session do not call the service each time. After the interval
+ * the session is checked at the service again and its cached role checks are
+ * dropped, so a session ended or a role revoked at the service takes effect
+ * within the interval. Sessions that are not used for the idle timeout are
+ * evicted and ended at the service. Evicting runs while sessions are begun or
+ * checked, at most every half idle timeout, or when
+ * {@link #evictIdleSessions()} is called.
+ */
+public class SessionManager implements SessionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionManager.class);
+    /**
+     * Default time a session and its role checks are trusted without asking the
+     * service again.
+     */
+    public static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofMinutes(1);
+
+    private final SessionService sessionService;
+    private final long idleTimeoutNanos;
+    private final long checkIntervalNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, ManagedSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextEviction;
+
+    /**
+     * @param sessionService the service sessions are begun, checked and ended
+     *                       with
+     * @param idleTimeout    time after the last request a session is evicted
+     */
+    public SessionManager(SessionService sessionService, Duration idleTimeout) {
+        this(sessionService, idleTimeout, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * @param sessionService the service sessions are begun, checked and ended
+     *                       with
+     * @param idleTimeout    time after the last request a session is evicted
+     * @param checkInterval  time after the last check at the service a session
+     *                       is checked there again, the role checks of the
+     *                       session are cached for this time, zero checks
+     *                       each request
+     */
+    public SessionManager(SessionService sessionService, Duration idleTimeout, Duration checkInterval) {
+        this(sessionService, idleTimeout, checkInterval, System::nanoTime);
+    }
+
+    SessionManager(SessionService sessionService, Duration idleTimeout, Duration checkInterval,
+            LongSupplier nanoTime) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive: " + idleTimeout);
+        }
+        if (checkInterval.isNegative()) {
+            throw new IllegalArgumentException("checkInterval must not be negative: " + checkInterval);
+        }
+        this.sessionService = sessionService;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.nanoTime = nanoTime;
+        this.nextEviction = new AtomicLong(nanoTime.getAsLong() + idleTimeoutNanos / 2);
+    }
+
+    @Override
+    public Optional<Session> beginSession(BeginSession beginSession, UserRolePrincipal userPrincipal) {
+        long now = nanoTime.getAsLong();
+        evictIfDue(now);
+        Optional<Session> session = sessionService.beginSession(beginSession, userPrincipal);
+        session.ifPresent(
+                s -> sessions.put(s.sessionId(), new ManagedSession(s.sessionId(), userName(userPrincipal), now)));
+        return session;
+    }
+
+    @Override
+    public boolean checkSession(Session session, UserRolePrincipal userPrincipal) {
+        long now = nanoTime.getAsLong();
+        evictIfDue(now);
+        ManagedSession managed = sessions.get(session.sessionId());
+        boolean known = managed != null && !isIdle(managed, now)
+                && managed.userName().equals(userName(userPrincipal));
+        if (known && !isCheckDue(managed, now)) {
+            managed.touch(now);
+            return true;
+        }
+        if (!sessionService.checkSession(session, userPrincipal)) {
+            if (known && sessions.remove(session.sessionId(), managed)) {
+                managed.close();
+            }
+            return false;
+        }
+        if (known) {
+            // keep the caches of the session, only the role checks may be outdated
+            managed.checked(now);
+            managed.touch(now);
+            return true;
+        }
+        ManagedSession checked = new ManagedSession(session.sessionId(), userName(userPrincipal), now);
+        ManagedSession replaced = sessions.put(session.sessionId(), checked);
+        if (replaced != null) {
+            replaced.close();
+        }
+        return true;
+    }
+
+    @Override
+    public void endSession(EndSession endSession, UserRolePrincipal userPrincipal) {
+        ManagedSession managed = sessions.remove(endSession.sessionId());
+        if (managed != null) {
+            managed.close();
+        }
+        sessionService.endSession(endSession, userPrincipal);
+    }
+
+    /**
+     * The session with the given id, if it is known and not idle.
+     */
+    public Optional<ManagedSession> session(String sessionId) {
+        ManagedSession managed = sessionId != null ? sessions.get(sessionId) : null;
+        return managed != null && !isIdle(managed, nanoTime.getAsLong()) ? Optional.of(managed) : Optional.empty();
+    }
+
+    /**
+     * The principal to handle a request of a session with. Role checks of known
+     * sessions are cached for the session until it is checked again at the
+     * service, if the check is due the request principal is used.
+     */
+    public UserRolePrincipal principal(Optional<Session> session, UserRolePrincipal userPrincipal) {
+        long now = nanoTime.getAsLong();
+        return session.flatMap(s -> session(s.sessionId()))
+                .filter(managed -> managed.userName().equals(userName(userPrincipal)))
+                .filter(managed -> !isCheckDue(managed, now))
+                .map(managed -> managed.principal(userPrincipal))
+                .orElse(userPrincipal);
+    }
+
+    /**
+     * The number of known sessions, including idle sessions that are not yet
+     * evicted.
+     */
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Evicts the sessions that are idle and ends them at the service.
+     *
+     * @return the number of evicted sessions
+     */
+    public int evictIdleSessions() {
+        long now = nanoTime.getAsLong();
+        nextEviction.set(now + idleTimeoutNanos / 2);
+        int evicted = 0;
+        for (ManagedSession managed : sessions.values()) {
+            if (isIdle(managed, now) && sessions.remove(managed.sessionId(), managed)) {
+                evict(managed);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void evictIfDue(long now) {
+        long due = nextEviction.get();
+        if (now - due >= 0 && nextEviction.compareAndSet(due, now + idleTimeoutNanos / 2)) {
+            evictIdleSessions();
+        }
+    }
+
+    private void evict(ManagedSession managed) {
+        LOGGER.debug("Evicting idle session {}", managed.sessionId());
+        managed.close();
+        try {
+            sessionService.endSession(new EndSessionR(managed.sessionId(), null), managed.userPrincipal());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to end idle session {}", managed.sessionId(), e);
+        }
+    }
+
+    private boolean isIdle(ManagedSession managed, long now) {
+        return now - managed.lastAccess() >= idleTimeoutNanos;
+    }
+
+    private boolean isCheckDue(ManagedSession managed, long now) {
+        return now - managed.lastCheck() >= checkIntervalNanos;
+    }
+
+    private static String userName(UserRolePrincipal userPrincipal) {
+        return userPrincipal != null ? Objects.requireNonNullElse(userPrincipal.userName(), "") : "";
+    }
+}
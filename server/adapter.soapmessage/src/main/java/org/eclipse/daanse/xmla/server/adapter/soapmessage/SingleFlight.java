@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+
+/**
+ * Coalesces identical requests that run at the same time. The first request
+ * of a key computes the result, requests with the same key that arrive while
+ * it runs wait for it and get a shared copy instead of calling the service
+ * again. A request that arrives after the result was computed starts a new
+ * computation, results are not kept, see the response caches for that.
+ * <p>
+ * The shared copy is only created if a request waits, the first request uses
+ * its result as is. If the first request fails or has no result to share, the
+ * waiting requests start over: one of them computes the result and the others
+ * wait for it, so they fail with their own exception. A waiting request stops
+ * waiting when its command is cancelled or its thread is interrupted, the
+ * other requests are not affected.
+ *
+ * @param <K> the type of the request keys
+ * @param <V> the type of the results
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Computes the result of a request or waits for the result of an identical
+     * request that is computed at the moment.
+     *
+     * @param key         the key of the request
+     * @param token       cancels the request while it waits for another request
+     * @param computation computes the result of the request
+     * @param share       creates the copy of a result that is passed to the
+     *                    waiting requests, it runs on the thread of the first
+     *                    request
+     * @return the result and whether it is the result of another request
+     * @throws E                     if the computation fails
+     * @throws CancellationException if the request was cancelled or interrupted
+     *                               while it waited
+     */
+    public <E extends Exception> Result<V> execute(K key, CancellationToken token, Computation<V, E> computation,
+            UnaryOperator<V> share) throws E {
+        Flight<V> flight = new Flight<>();
+        Flight<V> running;
+        while ((running = flights.putIfAbsent(key, flight)) != null) {
+            // a closed flight is already removed, the next round finds the next one
+            if (running.join()) {
+                V value = running.await(token);
+                if (value != null) {
+                    coalesced.increment();
+                    return new Result<>(value, true);
+                }
+            }
+        }
+
+        V value;
+        try {
+            value = computation.compute();
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.close();
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flights.remove(key, flight);
+        if (flight.close() > 0) {
+            try {
+                flight.result.complete(value != null ? share.apply(value) : null);
+            } catch (RuntimeException e) {
+                flight.result.completeExceptionally(e);
+            }
+        }
+        return new Result<>(value, false);
+    }
+
+    /**
+     * @return the number of requests that got the result of another request
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the number of results that are computed at the moment
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    /**
+     * @return the number of requests that wait for the result of a key
+     */
+    int waiting(K key) {
+        Flight<V> flight = flights.get(key);
+        return flight != null ? flight.waiting() : 0;
+    }
+
+    /**
+     * Computes the result of a request.
+     */
+    @FunctionalInterface
+    public interface Computation<V, E extends Exception> {
+
+        V compute() throws E;
+    }
+
+    /**
+     * The result of a request.
+     *
+     * @param value     the result, a shared copy if it is coalesced
+     * @param coalesced whether it is the result of another request
+     */
+    public record Result<V>(V value, boolean coalesced) {
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private int waiting;
+        private boolean closed;
+
+        /**
+         * Registers a waiting request, {@code false} if the result is already
+         * complete and no copy is shared any more.
+         */
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            waiting++;
+            return true;
+        }
+
+        /**
+         * Stops registering waiting requests.
+         *
+         * @return the number of waiting requests
+         */
+        synchronized int close() {
+            closed = true;
+            return waiting;
+        }
+
+        synchronized int waiting() {
+            return waiting;
+        }
+
+        /**
+         * @return the shared result or {@code null} if there is none
+         * @throws CancellationException if the token was cancelled or the thread
+         *                               was interrupted while waiting
+         */
+        V await(CancellationToken token) {
+            CompletableFuture<V> waiter = result.copy();
+            token.onCancel(() -> waiter.cancel(false));
+            try {
+                return waiter.get();
+            } catch (ExecutionException e) {
+                return null;
+            } catch (CancellationException e) {
+                throw new CancellationException("The command was cancelled while it waited for an identical one");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for an identical command");
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Gives handlers that support streaming direct access to the body of the SOAP
+ * response. The envelope and the response header are written when the body is
+ * opened, so a handler should open it only once its result is available.
+ */
+@FunctionalInterface
+public interface SoapBodyWriter {
+
+    /**
+     * Opens the SOAP body of the response.
+     *
+     * @return the writer positioned inside the SOAP body
+     * @throws XMLStreamException if writing the envelope fails
+     */
+    XMLStreamWriter openBody() throws XMLStreamException;
+}
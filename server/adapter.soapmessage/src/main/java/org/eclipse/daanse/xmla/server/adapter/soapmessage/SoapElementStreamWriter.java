@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * An {@link XMLStreamWriter} that appends what is written as children of a
+ * {@link SOAPElement}. It lets the SAAJ path of a handler use the same writer
+ * code as the streaming path, so both produce the same XML.
+ *
+ * Elements written without a namespace end up in the default namespace of the
+ * enclosing element, like with {@code SOAPElement.addChildElement(String)} and
+ * like in the serialized output of a stream writer.
+ */
+public class SoapElementStreamWriter implements XMLStreamWriter {
+
+    private final SOAPElement parent;
+    private SOAPElement current;
+    private boolean empty;
+
+    public SoapElementStreamWriter(SOAPElement parent) {
+        this.parent = parent;
+        this.current = parent;
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        closeEmpty();
+        try {
+            current = current.addChildElement(localName);
+        } catch (SOAPException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        String prefix = current.lookupPrefix(namespaceURI);
+        writeStartElement(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX, localName, namespaceURI);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        closeEmpty();
+        try {
+            current = current.addChildElement(localName, prefix, namespaceURI);
+        } catch (SOAPException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        writeStartElement(namespaceURI, localName);
+        empty = true;
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        writeStartElement(prefix, localName, namespaceURI);
+        empty = true;
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        writeStartElement(localName);
+        empty = true;
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        closeEmpty();
+        if (current == parent) {
+            throw new XMLStreamException("No open element to end");
+        }
+        current = current.getParentElement();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        closeEmpty();
+        current = parent;
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    @Override
+    public void flush() {
+        // the elements are added immediately
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) {
+        current.setAttribute(localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) {
+        if (prefix == null || prefix.isEmpty()) {
+            current.setAttributeNS(namespaceURI, localName, value);
+        } else {
+            current.setAttributeNS(namespaceURI, prefix + ":" + localName, value);
+        }
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) {
+        writeAttribute(current.lookupPrefix(namespaceURI), namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        if (prefix == null || prefix.isEmpty() || XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+            writeDefaultNamespace(namespaceURI);
+            return;
+        }
+        try {
+            current.addNamespaceDeclaration(prefix, namespaceURI);
+        } catch (SOAPException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        try {
+            current.addNamespaceDeclaration(XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+        } catch (SOAPException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void writeComment(String data) {
+        closeEmpty();
+        current.appendChild(current.getOwnerDocument().createComment(data));
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) throws XMLStreamException {
+        throw new XMLStreamException("Processing instructions are not allowed in a SOAP body");
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        throw new XMLStreamException("Processing instructions are not allowed in a SOAP body");
+    }
+
+    @Override
+    public void writeCData(String data) {
+        closeEmpty();
+        current.appendChild(current.getOwnerDocument().createCDATASection(data));
+    }
+
+    @Override
+    public void writeDTD(String dtd) throws XMLStreamException {
+        throw new XMLStreamException("A DTD is not allowed in a SOAP body");
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        throw new XMLStreamException("Entity references are not supported in a SOAP body");
+    }
+
+    @Override
+    public void writeStartDocument() {
+        // the document is the SOAP message
+    }
+
+    @Override
+    public void writeStartDocument(String version) {
+        // the document is the SOAP message
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) {
+        // the document is the SOAP message
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        closeEmpty();
+        try {
+            current.addTextNode(text);
+        } catch (SOAPException e) {
+            throw new XMLStreamException(e);
+        }
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public String getPrefix(String uri) {
+        return current.lookupPrefix(uri);
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) throws XMLStreamException {
+        throw new XMLStreamException("The prefixes are taken from the SOAP element, declare them with writeNamespace");
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) throws XMLStreamException {
+        throw new XMLStreamException("The prefixes are taken from the SOAP element, declare them with writeNamespace");
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        throw new XMLStreamException("The namespaces are taken from the SOAP element");
+    }
+
+    /**
+     * Resolves the prefixes in the scope of the element that is currently open.
+     */
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return new NamespaceContext() {
+
+            @Override
+            public String getNamespaceURI(String prefix) {
+                if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+                    return XMLConstants.XML_NS_URI;
+                }
+                String uri = current.getNamespaceURI(prefix);
+                return uri != null ? uri : XMLConstants.NULL_NS_URI;
+            }
+
+            @Override
+            public String getPrefix(String namespaceURI) {
+                return current.lookupPrefix(namespaceURI);
+            }
+
+            @Override
+            public Iterator<String> getPrefixes(String namespaceURI) {
+                String prefix = getPrefix(namespaceURI);
+                return prefix != null ? List.of(prefix).iterator() : Collections.emptyIterator();
+            }
+        };
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Unsupported property " + name);
+    }
+
+    private void closeEmpty() {
+        if (empty) {
+            empty = false;
+            current = current.getParentElement();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPFactory;
+
+/**
+ * Shared factories for SAAJ messages and DOM documents. The {@code newInstance}
+ * methods look the implementation up with the ServiceLoader on every call, so
+ * the factories are created once and reused. SAAJ factories are thread safe,
+ * {@link DocumentBuilder}s are not and are kept per thread.
+ */
+public final class SoapFactories {
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal
+            .withInitial(SoapFactories::createDocumentBuilder);
+
+    private static volatile MessageFactory messageFactory;
+    private static volatile SOAPFactory soapFactory;
+
+    private SoapFactories() {
+        // utility class
+    }
+
+    public static MessageFactory messageFactory() throws SOAPException {
+        MessageFactory factory = messageFactory;
+        if (factory == null) {
+            factory = MessageFactory.newInstance();
+            messageFactory = factory;
+        }
+        return factory;
+    }
+
+    public static SOAPFactory soapFactory() throws SOAPException {
+        SOAPFactory factory = soapFactory;
+        if (factory == null) {
+            factory = SOAPFactory.newInstance();
+            soapFactory = factory;
+        }
+        return factory;
+    }
+
+    /**
+     * Returns the namespace aware {@link DocumentBuilder} of the current thread.
+     * Document type declarations and external entities are not allowed. The
+     * builder must not be handed to other threads.
+     */
+    public static DocumentBuilder documentBuilder() {
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        builder.reset();
+        return builder;
+    }
+
+    /**
+     * Creates an empty document, e.g. to detach nodes from a SAAJ message.
+     */
+    public static Document newDocument() {
+        return DOCUMENT_BUILDER.get().newDocument();
+    }
+
+    private static DocumentBuilder createDocumentBuilder() {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            // XXE prevention
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            return factory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
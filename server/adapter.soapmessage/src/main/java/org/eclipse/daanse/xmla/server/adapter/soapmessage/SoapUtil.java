@@ -17,7 +17,6 @@ import java.io.IOException;
 import java.io.StringReader;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants;
@@ -101,13 +100,7 @@ public class SoapUtil {
 
     public static SOAPElement xmlStringToSoapElement(String xmlFragment, SOAPElement context)
             throws SAXException, IOException, ParserConfigurationException, SOAPException {
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        // XXE prevention
-        dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-        dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-        dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        Document doc = dbf.newDocumentBuilder().parse(new InputSource(new StringReader(xmlFragment)));
+        Document doc = SoapFactories.documentBuilder().parse(new InputSource(new StringReader(xmlFragment)));
 
         Element root = doc.getDocumentElement();
 
@@ -116,7 +109,7 @@ public class SoapUtil {
         if (imported instanceof SOAPElement) {
             return (SOAPElement) imported;
         } else {
-            SOAPFactory soapFactory = SOAPFactory.newInstance();
+            SOAPFactory soapFactory = SoapFactories.soapFactory();
             SOAPElement newElement = soapFactory.createElement(root.getNodeName(), "", root.getNamespaceURI());
 
             for (int i = 0; i < root.getAttributes().getLength(); i++) {
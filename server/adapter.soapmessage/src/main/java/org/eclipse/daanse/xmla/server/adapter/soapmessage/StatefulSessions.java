@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sessions that executed statements which may have created session objects
+ * like calculated members or named sets. The response caches key the
+ * responses of these sessions by session, so they are not served to other
+ * sessions. A session is only removed when it ends, see {@link #remove}.
+ * <p>
+ * At most {@value #MAX_SESSIONS} sessions are kept. If a session cannot be
+ * added because the set is full, it is not known any more which sessions are
+ * stateful, so from then on requests of sessions that are not in the set are
+ * not cached. Requests without a session are still cached.
+ */
+final class StatefulSessions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatefulSessions.class);
+
+    static final int MAX_SESSIONS = 10_000;
+
+    private final Set<String> sessions = new HashSet<>();
+    private boolean overflowed;
+
+    synchronized void add(String sessionId) {
+        if (sessions.size() < MAX_SESSIONS || sessions.contains(sessionId)) {
+            sessions.add(sessionId);
+        } else if (!overflowed) {
+            overflowed = true;
+            LOGGER.warn("More than {} sessions created session objects, responses of other sessions are not cached",
+                    MAX_SESSIONS);
+        }
+    }
+
+    /**
+     * The session ended, its session objects are gone.
+     */
+    synchronized void remove(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * @return whether responses of the session may be cached, {@code false} if
+     *         the session may be stateful but is not in the set
+     */
+    synchronized boolean isCacheable(String sessionId) {
+        return sessionId == null || !overflowed || sessions.contains(sessionId);
+    }
+
+    /**
+     * @return the session if it is stateful, otherwise {@code null}
+     */
+    synchronized String scope(String sessionId) {
+        return sessionId != null && sessions.contains(sessionId) ? sessionId : null;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.common.properties.AxisFormat;
+import org.eclipse.daanse.xmla.api.common.properties.Content;
+import org.eclipse.daanse.xmla.api.common.properties.Format;
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.CellData;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarRowSet;
+import org.eclipse.daanse.xmla.api.mddataset.RowSet;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+
+/**
+ * Cache of Statement responses. The responses are the objects the Execute
+ * service returned, they are only read after they were put and may be written
+ * by several threads at once.
+ * <p>
+ * The key holds the statement with its whitespace outside of literals and
+ * identifiers collapsed, the parameters, the properties that select the data
+ * or shape the response and the user and role properties together with the
+ * user name. Only SELECT, WITH and DRILLTHROUGH statements are cached, leading
+ * comments are skipped. CREATE, DROP, ALTER, UPDATE, REFRESH, COMMIT and
+ * ROLLBACK statements may change the data or create session objects, so their
+ * catalog is invalidated and later statements of their session are cached per
+ * session until it ends.
+ * <p>
+ * Entries expire after the time to live. Each entry weighs the number of cells
+ * and row values of its response, the least recently used entries are evicted
+ * when the total weight is above the maximum. {@link #invalidateAll()} drops
+ * all entries, it is called after an Alter, ClearCache, Process or Batch
+ * command, their objects are referenced by DatabaseID and not by Catalog name.
+ */
+public class StatementResponseCache {
+
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final StatefulSessions statefulSessions = new StatefulSessions();
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxWeight the maximum number of cells and row values of all cached
+     *                  responses
+     * @param ttl       the time a response is used
+     */
+    public StatementResponseCache(long maxWeight, Duration ttl) {
+        this(maxWeight, ttl, System::nanoTime);
+    }
+
+    StatementResponseCache(long maxWeight, Duration ttl, LongSupplier nanoTime) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Creates the key of a statement, {@code null} if the response of the
+     * statement or of the session is not cached.
+     *
+     * @param statement     the statement text
+     * @param properties    the properties of the request, may be {@code null}
+     * @param parameters    the parameters of the request, may be {@code null}
+     * @param sessionId     the session of the request, may be {@code null}
+     * @param userPrincipal the user of the request, may be {@code null}
+     */
+    public Key key(String statement, PropertiesR properties, List<ExecuteParameter> parameters, String sessionId,
+            UserRolePrincipal userPrincipal) {
+        if (!statefulSessions.isCacheable(sessionId)) {
+            return null;
+        }
+        return newKey(statement, properties, parameters, statefulSessions.scope(sessionId), userPrincipal);
+    }
+
+    /**
+     * Creates the key of a statement without a cache, e.g. to coalesce identical
+     * statements, {@code null} if it is not a query, see {@link #isQuery}. The
+     * session is part of the key if it is given, without a cache it is not known
+     * which sessions created session objects.
+     *
+     * @param statement     the statement text
+     * @param properties    the properties of the request, may be {@code null}
+     * @param parameters    the parameters of the request, may be {@code null}
+     * @param sessionId     the session the key is specific to, may be
+     *                      {@code null}
+     * @param userPrincipal the user of the request, may be {@code null}
+     */
+    public static Key newKey(String statement, PropertiesR properties, List<ExecuteParameter> parameters,
+            String sessionId, UserRolePrincipal userPrincipal) {
+        if (!isQuery(statement)) {
+            return null;
+        }
+        return new Key(MdxStatements.normalize(statement), parameters(parameters),
+                properties != null ? properties.catalog() : Optional.empty(),
+                properties != null ? properties.dataSourceInfo() : Optional.empty(),
+                properties != null ? properties.localeIdentifier() : Optional.empty(),
+                properties != null ? properties.content() : Optional.empty(),
+                properties != null ? properties.format() : Optional.empty(),
+                properties != null ? properties.axisFormat() : Optional.empty(),
+                properties != null ? properties.roles() : Optional.empty(),
+                properties != null ? properties.effectiveRoles() : Optional.empty(),
+                properties != null ? properties.effectiveUserName() : Optional.empty(),
+                properties != null ? properties.customData() : Optional.empty(),
+                userPrincipal != null ? userPrincipal.userName() : null, sessionId);
+    }
+
+    /**
+     * @return the cached response, it must not be modified, or {@code null}
+     */
+    public synchronized StatementResponse get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && nanoTime.getAsLong() - entry.created() > ttlNanos) {
+            remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response();
+    }
+
+    /**
+     * @return the generation to pass to {@link #put} for a response that is
+     *         created now
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches a response. Nothing is cached if the cache was invalidated since the
+     * given generation was read, the response may already be outdated, or if the
+     * response alone weighs more than the maximum.
+     */
+    public void put(Key key, long generation, StatementResponse response) {
+        long responseWeight = weight(response);
+        if (responseWeight > maxWeight) {
+            return;
+        }
+        synchronized (this) {
+            if (generation != this.generation) {
+                return;
+            }
+            remove(key);
+            entries.put(key, new Entry(response, responseWeight, nanoTime.getAsLong()));
+            weight += responseWeight;
+            Iterator<Entry> it = entries.values().iterator();
+            while (weight > maxWeight && it.hasNext()) {
+                weight -= it.next().weight();
+                it.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Called after a statement that is not cached was executed. If it is a
+     * CREATE, DROP, ALTER, UPDATE, REFRESH, COMMIT or ROLLBACK statement, the
+     * entries of its catalog are dropped and later statements of its session are
+     * cached per session, it may have created session objects like calculated
+     * members. Other statements, e.g. CALL, change nothing.
+     *
+     * @param statement  the statement text
+     * @param properties the properties of the request, may be {@code null}
+     * @param sessionId  the session of the request, may be {@code null}
+     */
+    public void executed(String statement, PropertiesR properties, String sessionId) {
+        if (!MdxStatements.changesState(statement)) {
+            return;
+        }
+        if (sessionId != null) {
+            statefulSessions.add(sessionId);
+        }
+        invalidate(properties != null ? properties.catalog().orElse(null) : null);
+    }
+
+    /**
+     * Called after a session ended or was evicted, its requests are no longer
+     * cached per session.
+     *
+     * @param sessionId the session that ended
+     */
+    public void sessionEnded(String sessionId) {
+        statefulSessions.remove(sessionId);
+    }
+
+    /**
+     * Drops the entries of a catalog and those of requests without a catalog,
+     * they may have used it as default. Drops all entries if the catalog is
+     * {@code null}.
+     */
+    public synchronized void invalidate(String catalog) {
+        if (catalog == null) {
+            invalidateAll();
+            return;
+        }
+        generation++;
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> entry = it.next();
+            Optional<String> entryCatalog = entry.getKey().catalog();
+            if (entryCatalog.isEmpty() || entryCatalog.get().equalsIgnoreCase(catalog)) {
+                weight -= entry.getValue().weight();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of cells and row values of all cached responses
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * @return the hits, misses and evictions since the cache was created
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions);
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight();
+        }
+    }
+
+    /**
+     * The weight of a response, the number of its cells and row values but at
+     * least 1.
+     */
+    static long weight(StatementResponse response) {
+        long weight = 1;
+        if (response == null) {
+            return weight;
+        }
+        if (response.mdDataSet() != null && response.mdDataSet().cellData() != null) {
+            CellData cellData = response.mdDataSet().cellData();
+            if (cellData instanceof ColumnarCellData columnar) {
+                weight += columnar.cellCount();
+            } else if (cellData.cell() != null) {
+                weight += cellData.cell().size();
+            }
+        }
+        RowSet rowSet = response.rowSet();
+        if (rowSet instanceof ColumnarRowSet columnar) {
+            weight += (long) columnar.rowCount() * columnar.columns().size();
+        } else if (rowSet != null && rowSet.rowSetRows() != null) {
+            for (RowSetRow row : rowSet.rowSetRows()) {
+                weight += row.rowSetRowItem() != null ? row.rowSetRowItem().size() : 0;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Whether the response may be cached, responses that carry an exception are
+     * not.
+     */
+    public static boolean isCacheable(StatementResponse response) {
+        return response != null && (response.mdDataSet() == null || response.mdDataSet().exception() == null);
+    }
+
+    /**
+     * Whether the responses of a statement are cached: SELECT, WITH and
+     * DRILLTHROUGH statements, also after leading comments.
+     */
+    public static boolean isQuery(String statement) {
+        return MdxStatements.isQuery(statement);
+    }
+
+    private static List<List<Object>> parameters(List<ExecuteParameter> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return List.of();
+        }
+        List<List<Object>> copy = new ArrayList<>(parameters.size());
+        for (ExecuteParameter parameter : parameters) {
+            copy.add(Arrays.asList(parameter.name(), parameter.value()));
+        }
+        return List.copyOf(copy);
+    }
+
+    public record Key(String statement, List<List<Object>> parameters, Optional<String> catalog,
+            Optional<String> dataSourceInfo, Optional<Integer> localeIdentifier, Optional<Content> content,
+            Optional<Format> format, Optional<AxisFormat> axisFormat, Optional<String> roles,
+            Optional<String> effectiveRoles, Optional<String> effectiveUserName, Optional<String> customData,
+            String userName, String sessionId) {
+    }
+
+    /**
+     * The hits, misses and evictions of the cache.
+     */
+    public record Stats(long hits, long misses, long evictions) {
+    }
+
+    private record Entry(StatementResponse response, long weight, long created) {
+    }
+}
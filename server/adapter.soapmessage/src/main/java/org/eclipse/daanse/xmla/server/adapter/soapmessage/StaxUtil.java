@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Helpers for writing XMLA responses to a non repairing {@link XMLStreamWriter}.
+ * Namespaces are declared the same way SAAJ does it: only where the prefix of
+ * an element is not yet bound to its namespace.
+ */
+public class StaxUtil {
+
+    private StaxUtil() {
+        // utility class
+    }
+
+    /**
+     * Starts an element and declares its namespace if the prefix is not yet bound
+     * to it in the current scope.
+     */
+    public static void writeStartElement(XMLStreamWriter writer, QName qName) throws XMLStreamException {
+        writeStartElement(writer, qName.getPrefix(), qName.getLocalPart(), qName.getNamespaceURI());
+    }
+
+    /**
+     * Writes a complete element with an optional text value. The element is
+     * written even if the value is {@code null}.
+     */
+    public static void writeElement(XMLStreamWriter writer, QName qName, String value) throws XMLStreamException {
+        writeStartElement(writer, qName);
+        if (value != null) {
+            writer.writeCharacters(value);
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes an element without namespace information. Like
+     * {@code SOAPElement.addChildElement(String)} it ends up in the default
+     * namespace of the enclosing element. Nothing is written if the value is
+     * {@code null}.
+     */
+    public static void writeElementWithValue(XMLStreamWriter writer, String localName, String value)
+            throws XMLStreamException {
+        if (value != null) {
+            writer.writeStartElement(localName);
+            writer.writeCharacters(value);
+            writer.writeEndElement();
+        }
+    }
+
+    public static void writeAttribute(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        if (value != null) {
+            writer.writeAttribute(name, value);
+        }
+    }
+
+    /**
+     * Copies a DOM node with all its children to the writer.
+     */
+    public static void writeNode(XMLStreamWriter writer, Node node) throws XMLStreamException {
+        switch (node.getNodeType()) {
+        case Node.ELEMENT_NODE:
+            writeDomElement(writer, node);
+            break;
+        case Node.TEXT_NODE:
+            writer.writeCharacters(node.getNodeValue());
+            break;
+        case Node.CDATA_SECTION_NODE:
+            writer.writeCData(node.getNodeValue());
+            break;
+        case Node.COMMENT_NODE:
+            writer.writeComment(node.getNodeValue());
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static void writeDomElement(XMLStreamWriter writer, Node element) throws XMLStreamException {
+        writeStartElement(writer, element);
+        Node child = element.getFirstChild();
+        while (child != null) {
+            writeNode(writer, child);
+            child = child.getNextSibling();
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Starts an element with the name, namespace declarations and attributes of
+     * a DOM element. Its children and the end of the element are left to the
+     * caller.
+     */
+    public static void writeStartElement(XMLStreamWriter writer, Node element) throws XMLStreamException {
+        String localName = element.getLocalName() != null ? element.getLocalName() : element.getNodeName();
+        String prefix = element.getPrefix() != null ? element.getPrefix() : XMLConstants.DEFAULT_NS_PREFIX;
+        String namespace = element.getNamespaceURI();
+        NamedNodeMap attributes = element.getAttributes();
+
+        if (namespace == null) {
+            writer.writeStartElement(localName);
+        } else {
+            String bound = writer.getNamespaceContext().getNamespaceURI(prefix);
+            writer.writeStartElement(prefix, localName, namespace);
+            if (!namespace.equals(bound) && !declares(attributes, prefix)) {
+                writeNamespace(writer, prefix, namespace);
+            }
+        }
+
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            String name = attr.getName();
+            if (XMLConstants.XMLNS_ATTRIBUTE.equals(name)) {
+                writer.writeDefaultNamespace(attr.getValue());
+            } else if (name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                writer.writeNamespace(name.substring(XMLConstants.XMLNS_ATTRIBUTE.length() + 1), attr.getValue());
+            }
+        }
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            String name = attr.getName();
+            if (!XMLConstants.XMLNS_ATTRIBUTE.equals(name) && !name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                writer.writeAttribute(name, attr.getValue());
+            }
+        }
+    }
+
+    private static void writeStartElement(XMLStreamWriter writer, String prefix, String localName, String namespace)
+            throws XMLStreamException {
+        String bound = writer.getNamespaceContext().getNamespaceURI(prefix);
+        writer.writeStartElement(prefix, localName, namespace);
+        if (!namespace.equals(bound)) {
+            writeNamespace(writer, prefix, namespace);
+        }
+    }
+
+    private static void writeNamespace(XMLStreamWriter writer, String prefix, String namespace)
+            throws XMLStreamException {
+        if (prefix.isEmpty()) {
+            writer.writeDefaultNamespace(namespace);
+        } else {
+            writer.writeNamespace(prefix, namespace);
+        }
+    }
+
+    private static boolean declares(NamedNodeMap attributes, String prefix) {
+        String name = prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+        return attributes.getNamedItem(name) != null;
+    }
+}
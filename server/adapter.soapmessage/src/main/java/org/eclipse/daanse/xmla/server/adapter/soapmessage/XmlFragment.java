@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Immutable copy of a DOM element with its attributes and children. A DOM is
+ * not thread safe, not even for reads, so elements that are written to several
+ * responses at once, e.g. from a cache, are kept as fragment. Every response
+ * gets new DOM nodes with {@link #appendTo(Node)} or the events with
+ * {@link #write(XMLStreamWriter)}.
+ */
+public final class XmlFragment {
+
+    private final ElementPart root;
+
+    private XmlFragment(ElementPart root) {
+        this.root = root;
+    }
+
+    /**
+     * Copies the element, it is only read while the fragment is created.
+     */
+    public static XmlFragment of(Element element) {
+        return new XmlFragment(element(element));
+    }
+
+    /**
+     * Appends a copy of the element to the parent.
+     */
+    public void appendTo(Node parent) {
+        Document document = parent instanceof Document d ? d : parent.getOwnerDocument();
+        parent.appendChild(root.toDom(document));
+    }
+
+    /**
+     * Adds the namespace declarations, the attributes and copies of the children
+     * of the element to the target, e.g. to an empty root element of a response.
+     */
+    public void appendContentTo(Element target) {
+        root.addAttributes(target);
+        Document document = target.getOwnerDocument();
+        for (Part child : root.children()) {
+            target.appendChild(child.toDom(document));
+        }
+    }
+
+    /**
+     * Writes the element with its children.
+     */
+    public void write(XMLStreamWriter writer) throws XMLStreamException {
+        root.write(writer);
+    }
+
+    /**
+     * Writes the start of the element with its namespace declarations,
+     * attributes and children. The end of the element is left to the caller.
+     */
+    public void writeStart(XMLStreamWriter writer) throws XMLStreamException {
+        root.writeStartElement(writer);
+        writeContent(writer);
+    }
+
+    /**
+     * Writes the children of the element only.
+     */
+    public void writeContent(XMLStreamWriter writer) throws XMLStreamException {
+        for (Part child : root.children()) {
+            child.write(writer);
+        }
+    }
+
+    private static ElementPart element(Element element) {
+        List<Attribute> namespaces = new ArrayList<>();
+        List<Attribute> attributes = new ArrayList<>();
+        NamedNodeMap map = element.getAttributes();
+        for (int i = 0; i < map.getLength(); i++) {
+            Attr attr = (Attr) map.item(i);
+            String name = attr.getName();
+            if (XMLConstants.XMLNS_ATTRIBUTE.equals(name) || name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                namespaces.add(new Attribute(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, attr.getValue()));
+            } else {
+                attributes.add(new Attribute(attr.getNamespaceURI(), name, attr.getValue()));
+            }
+        }
+        List<Part> children = new ArrayList<>();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                children.add(element((Element) child));
+                break;
+            case Node.TEXT_NODE, Node.CDATA_SECTION_NODE, Node.COMMENT_NODE:
+                children.add(new TextPart(child.getNodeType(), child.getNodeValue()));
+                break;
+            default:
+                break;
+            }
+        }
+        String localName = element.getLocalName() != null ? element.getLocalName() : element.getNodeName();
+        String prefix = element.getPrefix() != null ? element.getPrefix() : XMLConstants.DEFAULT_NS_PREFIX;
+        return new ElementPart(element.getNamespaceURI(), element.getNodeName(), prefix, localName,
+                List.copyOf(namespaces), List.copyOf(attributes), List.copyOf(children));
+    }
+
+    private sealed interface Part permits ElementPart, TextPart {
+
+        Node toDom(Document document);
+
+        void write(XMLStreamWriter writer) throws XMLStreamException;
+    }
+
+    private record Attribute(String namespace, String name, String value) {
+    }
+
+    private record ElementPart(String namespace, String qualifiedName, String prefix, String localName,
+            List<Attribute> namespaces, List<Attribute> attributes, List<Part> children) implements Part {
+
+        @Override
+        public Node toDom(Document document) {
+            Element element = namespace == null ? document.createElement(qualifiedName)
+                    : document.createElementNS(namespace, qualifiedName);
+            addAttributes(element);
+            for (Part child : children) {
+                element.appendChild(child.toDom(document));
+            }
+            return element;
+        }
+
+        void addAttributes(Element element) {
+            for (Attribute ns : namespaces) {
+                element.setAttributeNS(ns.namespace(), ns.name(), ns.value());
+            }
+            for (Attribute attribute : attributes) {
+                if (attribute.namespace() == null) {
+                    element.setAttribute(attribute.name(), attribute.value());
+                } else {
+                    element.setAttributeNS(attribute.namespace(), attribute.name(), attribute.value());
+                }
+            }
+        }
+
+        @Override
+        public void write(XMLStreamWriter writer) throws XMLStreamException {
+            writeStartElement(writer);
+            for (Part child : children) {
+                child.write(writer);
+            }
+            writer.writeEndElement();
+        }
+
+        /**
+         * Like {@link StaxUtil#writeStartElement(XMLStreamWriter, Node)}.
+         */
+        void writeStartElement(XMLStreamWriter writer) throws XMLStreamException {
+            if (namespace == null) {
+                writer.writeStartElement(localName);
+            } else {
+                String bound = writer.getNamespaceContext().getNamespaceURI(prefix);
+                writer.writeStartElement(prefix, localName, namespace);
+                if (!namespace.equals(bound) && !declares(prefix)) {
+                    if (prefix.isEmpty()) {
+                        writer.writeDefaultNamespace(namespace);
+                    } else {
+                        writer.writeNamespace(prefix, namespace);
+                    }
+                }
+            }
+            for (Attribute ns : namespaces) {
+                if (XMLConstants.XMLNS_ATTRIBUTE.equals(ns.name())) {
+                    writer.writeDefaultNamespace(ns.value());
+                } else {
+                    writer.writeNamespace(ns.name().substring(XMLConstants.XMLNS_ATTRIBUTE.length() + 1), ns.value());
+                }
+            }
+            for (Attribute attribute : attributes) {
+                writer.writeAttribute(attribute.name(), attribute.value());
+            }
+        }
+
+        private boolean declares(String prefix) {
+            String name = prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+            for (Attribute ns : namespaces) {
+                if (ns.name().equals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record TextPart(short type, String text) implements Part {
+
+        @Override
+        public Node toDom(Document document) {
+            switch (type) {
+            case Node.CDATA_SECTION_NODE:
+                return document.createCDATASection(text);
+            case Node.COMMENT_NODE:
+                return document.createComment(text);
+            default:
+                return document.createTextNode(text);
+            }
+        }
+
+        @Override
+        public void write(XMLStreamWriter writer) throws XMLStreamException {
+            switch (type) {
+            case Node.CDATA_SECTION_NODE:
+                writer.writeCData(text);
+                break;
+            case Node.COMMENT_NODE:
+                writer.writeComment(text);
+                break;
+            default:
+                writer.writeCharacters(text);
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.time.Duration;
+
+/**
+ * Options of {@link XmlaApiAdapter} and its dispatchers. All of them are off by
+ * default.
+ *
+ * @param discoverResponseCache  cache for Discover responses, it is
+ *                               invalidated after Alter, ClearCache, Process
+ *                               and Batch commands and statements that may
+ *                               change metadata, may be {@code null}
+ * @param statementResponseCache cache for the responses of SELECT, WITH and
+ *                               DRILLTHROUGH statements, may be {@code null}
+ * @param sessionIdleTimeout     time after which unused sessions are evicted
+ *                               from the local session table, may be
+ *                               {@code null} to check every session at the
+ *                               service
+ * @param metrics                receives the times of the phases, the sizes,
+ *                               rows, cells, cache hits, coalesced requests and
+ *                               errors of the requests, may be {@code null}
+ * @param coalesce               whether identical Discover requests and
+ *                               queries that run at the same time are handled
+ *                               once, see {@link SingleFlight}
+ */
+public record XmlaAdapterOptions(DiscoverResponseCache discoverResponseCache,
+        StatementResponseCache statementResponseCache, Duration sessionIdleTimeout, XmlaMetrics metrics,
+        boolean coalesce) {
+
+    /**
+     * No caches, no local session table, no metrics and no coalescing.
+     */
+    public static final XmlaAdapterOptions DEFAULT = builder().build();
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private DiscoverResponseCache discoverResponseCache;
+        private StatementResponseCache statementResponseCache;
+        private Duration sessionIdleTimeout;
+        private XmlaMetrics metrics;
+        private boolean coalesce;
+
+        private Builder() {
+        }
+
+        public Builder discoverResponseCache(DiscoverResponseCache discoverResponseCache) {
+            this.discoverResponseCache = discoverResponseCache;
+            return this;
+        }
+
+        public Builder statementResponseCache(StatementResponseCache statementResponseCache) {
+            this.statementResponseCache = statementResponseCache;
+            return this;
+        }
+
+        public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+            this.sessionIdleTimeout = sessionIdleTimeout;
+            return this;
+        }
+
+        public Builder metrics(XmlaMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public Builder coalesce(boolean coalesce) {
+            this.coalesce = coalesce;
+            return this;
+        }
+
+        public XmlaAdapterOptions build() {
+            return new XmlaAdapterOptions(discoverResponseCache, statementResponseCache, sessionIdleTimeout, metrics,
+                    coalesce);
+        }
+    }
+}
@@ -13,15 +13,27 @@
 */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage;
 
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.UserRolePrincipal;
 import org.eclipse.daanse.xmla.api.XmlaService;
+import org.eclipse.daanse.xmla.api.session.SessionService;
 import org.eclipse.daanse.xmla.api.xmla.Session;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverDispatcher;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteDispatcher;
@@ -29,7 +41,6 @@ import org.eclipse.daanse.xmla.server.adapter.soapmessage.session.SessionDispatc
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import jakarta.xml.soap.MessageFactory;
 import jakarta.xml.soap.Node;
 import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPElement;
@@ -45,43 +56,225 @@ import jakarta.xml.soap.SOAPPart;
  */
 public class XmlaApiAdapter {
     private static final Logger LOGGER = LoggerFactory.getLogger(XmlaApiAdapter.class);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
 
     private final SessionDispatcher sessionDispatcher;
     private final DiscoverDispatcher discoverDispatcher;
     private final ExecuteDispatcher executeDispatcher;
+    private final CommandRegistry commandRegistry = new CommandRegistry();
+    private final SessionManager sessionManager;
+    private final XmlaMetrics metrics;
+    private final StatementResponseCache statementResponseCache;
 
     public XmlaApiAdapter(XmlaService xmlaService) {
-        this.sessionDispatcher = new SessionDispatcher(xmlaService.session());
-        this.discoverDispatcher = new DiscoverDispatcher(xmlaService.discover());
-        this.executeDispatcher = new ExecuteDispatcher(xmlaService.execute());
+        this(xmlaService, XmlaAdapterOptions.DEFAULT);
+    }
+
+    /**
+     * @param xmlaService the service requests are handled with
+     * @param options     the caches, session table, metrics and coalescing of
+     *                    the requests
+     */
+    public XmlaApiAdapter(XmlaService xmlaService, XmlaAdapterOptions options) {
+        Duration sessionIdleTimeout = options.sessionIdleTimeout();
+        this.metrics = options.metrics();
+        this.statementResponseCache = options.statementResponseCache();
+        SessionService sessionService = sessionService(xmlaService.session(), options);
+        this.sessionManager = sessionIdleTimeout != null
+                ? new SessionManager(sessionService, sessionIdleTimeout)
+                : null;
+        this.sessionDispatcher = new SessionDispatcher(sessionManager != null ? sessionManager : sessionService);
+        this.discoverDispatcher = new DiscoverDispatcher(xmlaService.discover(), options, commandRegistry);
+        this.executeDispatcher = new ExecuteDispatcher(xmlaService.execute(), options, commandRegistry);
+    }
+
+    private static SessionService sessionService(SessionService sessionService, XmlaAdapterOptions options) {
+        if (options.discoverResponseCache() == null && options.statementResponseCache() == null) {
+            return sessionService;
+        }
+        return new CacheSessionService(sessionService, options.discoverResponseCache(),
+                options.statementResponseCache());
+    }
+
+    /**
+     * The Discover and Execute commands that are running. XMLA Cancel commands
+     * cancel them.
+     */
+    public CommandRegistry commandRegistry() {
+        return commandRegistry;
+    }
+
+    /**
+     * The local session table, {@code null} if sessions are checked at the
+     * service on every request.
+     */
+    public SessionManager sessionManager() {
+        return sessionManager;
+    }
+
+    /**
+     * The cache for the responses of SELECT statements, {@code null} if they are
+     * not cached.
+     */
+    public StatementResponseCache statementResponseCache() {
+        return statementResponseCache;
+    }
+
+    /**
+     * The metrics the requests are recorded in, {@code null} if they are not
+     * measured.
+     */
+    public XmlaMetrics metrics() {
+        return metrics;
     }
 
     public SOAPMessage handleRequest(SOAPMessage messageRequest, Map<String, Object> headers, Principal principal,
             Function<String, Boolean> isUserInRoleFunction, String url) {
-        try {
-            SOAPMessage messageResponse = MessageFactory.newInstance().createMessage();
-            messageResponse.setProperty(SOAPMessage.WRITE_XML_DECLARATION, "true");
-            SOAPPart soapPartResponse = messageResponse.getSOAPPart();
-            SOAPEnvelope envelopeResponse = soapPartResponse.getEnvelope();
+        try (RequestMeasurement measurement = new RequestMeasurement(metrics)) {
+            SOAPMessage messageResponse = createResponseMessage();
+            handleRequest(messageRequest, messageResponse, null, headers, principal, isUserInRoleFunction, url,
+                    measurement);
+            return messageResponse;
+        } catch (SOAPException | XMLStreamException e) {
+            LOGGER.error("handleRequest error", e);
+        }
+        return null;
+    }
 
-            UserRolePrincipal userPrincipal = createUserPrincipal(principal, isUserInRoleFunction);
+    /**
+     * Handles the request and writes the SOAP response to the given stream.
+     * Responses of handlers that support streaming (Execute with a Statement) are
+     * written with StAX while they are serialized, so no SAAJ tree of the result
+     * is built. All other responses are written from the SAAJ message.
+     *
+     * @param out stream the response is written to, it is not closed
+     * @return {@code false} if the request failed, in that case the response may
+     *         be incomplete or missing
+     * @throws IOException if writing to the stream fails
+     */
+    public boolean handleRequest(SOAPMessage messageRequest, Map<String, Object> headers, Principal principal,
+            Function<String, Boolean> isUserInRoleFunction, String url, OutputStream out) throws IOException {
+        try (RequestMeasurement measurement = new RequestMeasurement(metrics)) {
+            OutputStream responseOut = measurement.countResponse(out);
+            SOAPMessage messageResponse = createResponseMessage();
+            EnvelopeBodyWriter bodyWriter = new EnvelopeBodyWriter(messageResponse.getSOAPPart().getEnvelope(),
+                    responseOut);
+            handleRequest(messageRequest, messageResponse, bodyWriter, headers, principal, isUserInRoleFunction, url,
+                    measurement);
+            measurement.begin(XmlaMetrics.Phase.WRITE);
+            writeResponse(messageResponse, bodyWriter, responseOut);
+            measurement.end();
+            return true;
+        } catch (SOAPException | XMLStreamException e) {
+            LOGGER.error("handleRequest error", e);
+        }
+        return false;
+    }
+
+    /**
+     * Handles a request that is read with {@link XmlaRequestReader} directly from
+     * the request stream, so no SAAJ message or DOM of the request is built. The
+     * response is written like by
+     * {@link #handleRequest(SOAPMessage, Map, Principal, Function, String, OutputStream)}.
+     *
+     * @param in  stream the SOAP request is read from, it is not closed
+     * @param out stream the response is written to, it is not closed
+     * @return {@code false} if the request failed, in that case the response may
+     *         be incomplete or missing
+     * @throws IOException if writing to the stream fails
+     */
+    public boolean handleRequest(InputStream in, Map<String, Object> headers, Principal principal,
+            Function<String, Boolean> isUserInRoleFunction, String url, OutputStream out) throws IOException {
+        try (RequestMeasurement measurement = new RequestMeasurement(metrics)) {
+            measurement.begin(XmlaMetrics.Phase.PARSE);
+            XmlaRequest request = XmlaRequestReader.read(measurement.countRequest(in));
+            measurement.requestType(requestType(request));
+            measurement.end();
 
-            // Process session headers
-            Optional<Session> oSession = sessionDispatcher.processSessionHeaders(messageRequest.getSOAPHeader(),
-                    userPrincipal);
+            OutputStream responseOut = measurement.countResponse(out);
+            SOAPMessage messageResponse = createResponseMessage();
+            SOAPEnvelope envelopeResponse = messageResponse.getSOAPPart().getEnvelope();
+            EnvelopeBodyWriter bodyWriter = new EnvelopeBodyWriter(envelopeResponse, responseOut);
 
-            // Add session response header
-            SOAPHeader responseHeader = envelopeResponse.getHeader();
-            sessionDispatcher.addSessionResponseHeader(responseHeader, oSession);
+            measurement.begin(XmlaMetrics.Phase.SESSION);
+            UserRolePrincipal userPrincipal = createUserPrincipal(principal, isUserInRoleFunction);
+            Optional<Session> oSession = sessionDispatcher.processSessionHeaders(request.session(),
+                    request.beginSession(), request.endSession(), userPrincipal);
+            userPrincipal = sessionPrincipal(oSession, userPrincipal);
+            sessionDispatcher.addSessionResponseHeader(envelopeResponse.getHeader(), oSession);
+            measurement.end();
 
             RequestMetaData metaData = RequestMetaDataUtils.getRequestMetaData(headers, oSession, url);
             SOAPBody bodyResponse = envelopeResponse.getBody();
-            handleBody(messageRequest.getSOAPBody(), bodyResponse, metaData, userPrincipal);
-            return messageResponse;
-        } catch (SOAPException e) {
+            if (request.body() instanceof XmlaRequest.Discover discover) {
+                discoverDispatcher.dispatch(discover.requestType(), discover.properties(),
+                        discover.restrictionValues(), bodyResponse, bodyWriter, metaData, userPrincipal);
+            } else if (request.body() instanceof XmlaRequest.Execute execute) {
+                executeDispatcher.dispatch(execute.command(), execute.properties(), execute.parameters(),
+                        bodyResponse, bodyWriter, metaData, userPrincipal);
+            }
+            measurement.begin(XmlaMetrics.Phase.WRITE);
+            writeResponse(messageResponse, bodyWriter, responseOut);
+            measurement.end();
+            return true;
+        } catch (SOAPException | XMLStreamException e) {
             LOGGER.error("handleRequest error", e);
         }
-        return null;
+        return false;
+    }
+
+    private static void writeResponse(SOAPMessage messageResponse, EnvelopeBodyWriter bodyWriter, OutputStream out)
+            throws SOAPException, XMLStreamException, IOException {
+        if (bodyWriter.isOpen()) {
+            bodyWriter.close();
+        } else {
+            if (messageResponse.saveRequired()) {
+                messageResponse.saveChanges();
+            }
+            messageResponse.writeTo(out);
+        }
+    }
+
+    private SOAPMessage createResponseMessage() throws SOAPException {
+        SOAPMessage messageResponse = SoapFactories.messageFactory().createMessage();
+        messageResponse.setProperty(SOAPMessage.WRITE_XML_DECLARATION, "true");
+        return messageResponse;
+    }
+
+    private void handleRequest(SOAPMessage messageRequest, SOAPMessage messageResponse, SoapBodyWriter bodyWriter,
+            Map<String, Object> headers, Principal principal, Function<String, Boolean> isUserInRoleFunction,
+            String url, RequestMeasurement measurement) throws SOAPException, XMLStreamException {
+        // SAAJ implementations parse the request when the envelope is accessed first
+        measurement.begin(XmlaMetrics.Phase.PARSE);
+        messageRequest.getSOAPPart().getEnvelope();
+        if (measurement.isEnabled()) {
+            measurement.requestType(requestType(messageRequest.getSOAPBody()));
+        }
+        measurement.end();
+
+        SOAPPart soapPartResponse = messageResponse.getSOAPPart();
+        SOAPEnvelope envelopeResponse = soapPartResponse.getEnvelope();
+
+        measurement.begin(XmlaMetrics.Phase.SESSION);
+        UserRolePrincipal userPrincipal = createUserPrincipal(principal, isUserInRoleFunction);
+
+        // Process session headers
+        Optional<Session> oSession = sessionDispatcher.processSessionHeaders(messageRequest.getSOAPHeader(),
+                userPrincipal);
+        userPrincipal = sessionPrincipal(oSession, userPrincipal);
+
+        // Add session response header
+        SOAPHeader responseHeader = envelopeResponse.getHeader();
+        sessionDispatcher.addSessionResponseHeader(responseHeader, oSession);
+        measurement.end();
+
+        RequestMetaData metaData = RequestMetaDataUtils.getRequestMetaData(headers, oSession, url);
+        SOAPBody bodyResponse = envelopeResponse.getBody();
+        handleBody(messageRequest.getSOAPBody(), bodyResponse, bodyWriter, metaData, userPrincipal);
+    }
+
+    private UserRolePrincipal sessionPrincipal(Optional<Session> oSession, UserRolePrincipal userPrincipal) {
+        return sessionManager != null ? sessionManager.principal(oSession, userPrincipal) : userPrincipal;
     }
 
     private UserRolePrincipal createUserPrincipal(Principal principal, Function<String, Boolean> isUserInRoleFunction) {
@@ -104,8 +297,8 @@ public class XmlaApiAdapter {
         };
     }
 
-    private void handleBody(SOAPBody body, SOAPBody responseBody, RequestMetaData metaData,
-            UserRolePrincipal userPrincipal) throws SOAPException {
+    private void handleBody(SOAPBody body, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
         SOAPElement node = null;
 
         Iterator<Node> nodeIterator = body.getChildElements();
@@ -118,11 +311,236 @@ public class XmlaApiAdapter {
         }
 
         if (node != null && Constants.MSXMLA.QN_DISCOVER.equals(node.getElementQName())) {
-            discoverDispatcher.dispatch(node, responseBody, metaData);
+            discoverDispatcher.dispatch(node, responseBody, bodyWriter, metaData, userPrincipal);
         }
 
         if (node != null && Constants.MSXMLA.QN_EXECUTE.equals(node.getElementQName())) {
-            executeDispatcher.dispatch(node, responseBody, metaData, userPrincipal);
+            executeDispatcher.dispatch(node, responseBody, bodyWriter, metaData, userPrincipal);
+        }
+    }
+
+    private static String requestType(XmlaRequest request) {
+        if (request.body() instanceof XmlaRequest.Discover discover) {
+            return discover.requestType();
+        }
+        if (request.body() instanceof XmlaRequest.Execute execute && execute.command() != null) {
+            return ExecuteDispatcher.commandName(execute.command());
+        }
+        return null;
+    }
+
+    /**
+     * The RequestType of a Discover request or the name of the command element of
+     * an Execute request, like {@link #requestType(XmlaRequest)}.
+     */
+    private static String requestType(SOAPBody body) {
+        SOAPElement request = firstChildElement(body);
+        if (request == null) {
+            return null;
+        }
+        Iterator<Node> nodeIterator = request.getChildElements();
+        while (nodeIterator.hasNext()) {
+            if (nodeIterator.next() instanceof SOAPElement element) {
+                if (Constants.MSXMLA.QN_DISCOVER.equals(request.getElementQName())
+                        && Constants.MSXMLA.QN_REQUEST_TYPE.equals(element.getElementQName())) {
+                    return element.getTextContent();
+                }
+                if (Constants.MSXMLA.QN_EXECUTE.equals(request.getElementQName())
+                        && Constants.MSXMLA.QN_COMMAND.equals(element.getElementQName())) {
+                    SOAPElement command = firstChildElement(element);
+                    return command != null ? command.getLocalName() : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static SOAPElement firstChildElement(SOAPElement element) {
+        Iterator<Node> nodeIterator = element.getChildElements();
+        while (nodeIterator.hasNext()) {
+            if (nodeIterator.next() instanceof SOAPElement child) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the phases of a request the adapter handles itself, parsing, session
+     * processing and writing, and the request and response sizes. The dispatchers
+     * record the service and build times. A request that fails in one of these
+     * phases is counted as error when the measurement is closed. Does nothing
+     * without metrics.
+     */
+    private static final class RequestMeasurement implements AutoCloseable {
+
+        private static final String UNKNOWN = "UNKNOWN";
+
+        private final XmlaMetrics metrics;
+        private String requestType = UNKNOWN;
+        private XmlaMetrics.Phase phase;
+        private long phaseStart;
+        private CountingInputStream requestIn;
+        private CountingOutputStream responseOut;
+
+        RequestMeasurement(XmlaMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        boolean isEnabled() {
+            return metrics != null;
+        }
+
+        void requestType(String requestType) {
+            this.requestType = requestType != null ? requestType : UNKNOWN;
+        }
+
+        void begin(XmlaMetrics.Phase phase) {
+            if (metrics != null) {
+                this.phase = phase;
+                this.phaseStart = System.nanoTime();
+            }
+        }
+
+        void end() {
+            if (metrics != null) {
+                metrics.recordTime(requestType, phase, System.nanoTime() - phaseStart);
+                phase = null;
+            }
+        }
+
+        InputStream countRequest(InputStream in) {
+            if (metrics == null) {
+                return in;
+            }
+            requestIn = new CountingInputStream(in);
+            return requestIn;
+        }
+
+        OutputStream countResponse(OutputStream out) {
+            if (metrics == null) {
+                return out;
+            }
+            responseOut = new CountingOutputStream(out);
+            return responseOut;
+        }
+
+        @Override
+        public void close() {
+            if (metrics == null) {
+                return;
+            }
+            if (phase != null) {
+                metrics.recordCount(requestType, XmlaMetrics.Count.ERRORS, 1);
+            }
+            if (requestIn != null) {
+                metrics.recordCount(requestType, XmlaMetrics.Count.REQUEST_BYTES, requestIn.count);
+            }
+            if (responseOut != null) {
+                metrics.recordCount(requestType, XmlaMetrics.Count.RESPONSE_BYTES, responseOut.count);
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Writes the start of the SOAP envelope including the response header when
+     * the body is opened by a streaming handler.
+     */
+    private static final class EnvelopeBodyWriter implements SoapBodyWriter {
+
+        private final SOAPEnvelope envelope;
+        private final OutputStream out;
+        private XMLStreamWriter writer;
+
+        EnvelopeBodyWriter(SOAPEnvelope envelope, OutputStream out) {
+            this.envelope = envelope;
+            this.out = out;
+        }
+
+        @Override
+        public XMLStreamWriter openBody() throws XMLStreamException {
+            if (writer == null) {
+                try {
+                    SOAPBody body = envelope.getBody();
+                    writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+                    writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                    writer.writeStartElement(envelope.getPrefix(), envelope.getLocalName(),
+                            envelope.getNamespaceURI());
+                    writer.writeNamespace(envelope.getPrefix(), envelope.getNamespaceURI());
+                    StaxUtil.writeNode(writer, envelope.getHeader());
+                    writer.writeStartElement(body.getPrefix(), body.getLocalName(), body.getNamespaceURI());
+                } catch (SOAPException e) {
+                    throw new XMLStreamException(e);
+                }
+            }
+            return writer;
+        }
+
+        boolean isOpen() {
+            return writer != null;
+        }
+
+        void close() throws XMLStreamException {
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            writer.close();
         }
     }
 }
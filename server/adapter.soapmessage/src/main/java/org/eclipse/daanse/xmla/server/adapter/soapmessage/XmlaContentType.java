@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Content types of XMLA requests and responses. Besides plain XML, ADOMD.NET
+ * clients can use binary XML (SX) and XPRESS compression. Only plain XML is
+ * supported, requests in other formats are rejected by the HTTP layers with
+ * {@code 415 Unsupported Media Type} instead of failing to parse them as XML.
+ * Clients only use the other formats if the server offers them, so responses
+ * are always plain XML.
+ */
+public enum XmlaContentType {
+
+    XML("text/xml", true),
+    SX("application/sx", false),
+    XPRESS("application/xml+xpress", false),
+    SX_XPRESS("application/sx+xpress", false);
+
+    private final String mediaType;
+    private final boolean supported;
+
+    XmlaContentType(String mediaType, boolean supported) {
+        this.mediaType = mediaType;
+        this.supported = supported;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Returns the content type of a {@code Content-Type} header value, ignoring
+     * its parameters. A missing header is read as plain XML.
+     *
+     * @return empty if the media type is not an XMLA content type
+     */
+    public static Optional<XmlaContentType> fromHeader(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return Optional.of(XML);
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim()
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(values()).filter(type -> type.mediaType.equals(mediaType)).findFirst();
+    }
+
+    /**
+     * Whether a request with the given {@code Content-Type} header value can be
+     * read.
+     */
+    public static boolean isSupported(String contentType) {
+        return fromHeader(contentType).filter(XmlaContentType::isSupported).isPresent();
+    }
+
+    /**
+     * The supported media types as value of an {@code Accept} header.
+     */
+    public static String supportedMediaTypes() {
+        return Arrays.stream(values()).filter(XmlaContentType::isSupported).map(XmlaContentType::mediaType)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+/**
+ * Receives measurements of the handled requests. They are tagged with the
+ * request type, the RequestType of a Discover request (e.g.
+ * {@code MDSCHEMA_CUBES}) or the command of an Execute request (e.g.
+ * {@code Statement}). Implementations are called by all request threads at the
+ * same time and must be fast.
+ */
+public interface XmlaMetrics {
+
+    /**
+     * The phases of a request.
+     */
+    enum Phase {
+        /** Parsing the SOAP request. */
+        PARSE,
+        /** Processing the session headers. */
+        SESSION,
+        /** Calls of the Discover or Execute service. */
+        SERVICE,
+        /** Building the response, the handling of the request without the service calls. */
+        BUILD,
+        /** Writing the SOAP response. */
+        WRITE
+    }
+
+    /**
+     * The counted values of a request. The cache counts are those of the
+     * Statement response cache, {@code COALESCED} counts the requests that got
+     * the result of an identical request running at the same time.
+     */
+    enum Count {
+        REQUEST_BYTES, RESPONSE_BYTES, ROWS, CELLS, ERRORS, CACHE_HITS, CACHE_MISSES, COALESCED
+    }
+
+    /**
+     * Records the time a request spent in a phase.
+     */
+    void recordTime(String requestType, Phase phase, long nanos);
+
+    /**
+     * Adds a value to a count.
+     */
+    void recordCount(String requestType, Count count, long value);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.xmla.BeginSession;
+import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.api.xmla.EndSession;
+import org.eclipse.daanse.xmla.api.xmla.Session;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+
+/**
+ * An XMLA SOAP request read by {@link XmlaRequestReader}.
+ *
+ * @param session      the Session header
+ * @param beginSession the BeginSession header
+ * @param endSession   the EndSession header
+ * @param body         the Discover or Execute request, {@code null} if the body
+ *                     contains neither
+ */
+public record XmlaRequest(Optional<Session> session, Optional<BeginSession> beginSession,
+        Optional<EndSession> endSession, Body body) {
+
+    public sealed interface Body permits Discover, Execute {
+    }
+
+    /**
+     * @param requestType       the RequestType
+     * @param restrictionValues values of the RestrictionList by restriction name
+     * @param properties        the Properties, may be {@code null}
+     */
+    public record Discover(String requestType, Map<String, List<String>> restrictionValues, PropertiesR properties)
+            implements Body {
+    }
+
+    /**
+     * @param command    the Command
+     * @param properties the Properties, may be {@code null}
+     * @param parameters the Parameters, may be {@code null}
+     */
+    public record Execute(Command command, PropertiesR properties, List<ExecuteParameter> parameters)
+            implements Body {
+    }
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.ALTER;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.BATCH;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.CANCEL;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.CLEAR_CACHE;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.PROCESS;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.STATEMENT;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.toInteger;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.xmla.BeginSession;
+import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.api.xmla.EndSession;
+import org.eclipse.daanse.xmla.api.xmla.ObjectReference;
+import org.eclipse.daanse.xmla.api.xmla.Session;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.model.record.execute.ExecuteParameterR;
+import org.eclipse.daanse.xmla.model.record.xmla.BeginSessionR;
+import org.eclipse.daanse.xmla.model.record.xmla.ClearCacheR;
+import org.eclipse.daanse.xmla.model.record.xmla.EndSessionR;
+import org.eclipse.daanse.xmla.model.record.xmla.SessionR;
+import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.converter.CommandConverter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.converter.CommandParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import jakarta.xml.soap.SOAPConstants;
+
+/**
+ * Reads an XMLA SOAP request with StAX directly into the request records, so
+ * neither a SAAJ message nor a DOM of the envelope is built.
+ * <p>
+ * Alter, Process and Batch commands are an exception: they are still read into
+ * a DOM of their own and parsed by {@link CommandConverter}, there is no StAX
+ * reader for object definitions yet. The DOM only holds the command and is
+ * dropped after the conversion, but while a large Alter with a full Database
+ * definition is converted it is held in memory twice, as DOM and as records.
+ */
+public class XmlaRequestReader {
+
+    private static final QName QN_ENVELOPE = new QName(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE, "Envelope");
+    private static final QName QN_HEADER = new QName(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE, "Header");
+    private static final QName QN_BODY = new QName(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE, "Body");
+    private static final QName QN_SESSION = new QName(Constants.MSXMLA.NS_URN, "Session");
+    private static final QName QN_BEGIN_SESSION = new QName(Constants.MSXMLA.NS_URN, "BeginSession");
+    private static final QName QN_END_SESSION = new QName(Constants.MSXMLA.NS_URN, "EndSession");
+    private static final String SESSION_ID = "SessionId";
+    private static final String MUST_UNDERSTAND = "mustUnderstand";
+    private static final String OBJECT_REFERENCE = "Object";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private XmlaRequestReader() {
+        // utility class
+    }
+
+    /**
+     * Reads a SOAP envelope with an XMLA request. The stream is not closed.
+     *
+     * @param in the stream to read the envelope from
+     * @return the request
+     * @throws XMLStreamException  if the stream is no well formed XML
+     * @throws XmlaParseException if the envelope is not a SOAP 1.1 envelope
+     */
+    public static XmlaRequest read(InputStream in) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            return readEnvelope(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static XmlaRequest readEnvelope(XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!QN_ENVELOPE.equals(reader.getName())) {
+            throw new XmlaParseException("SOAP envelope expected: " + reader.getName());
+        }
+
+        Optional<Session> session = Optional.empty();
+        Optional<BeginSession> beginSession = Optional.empty();
+        Optional<EndSession> endSession = Optional.empty();
+        XmlaRequest.Body body = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (QN_HEADER.equals(reader.getName())) {
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    QName name = reader.getName();
+                    if (session.isEmpty() && QN_SESSION.equals(name)) {
+                        session = Optional.of(new SessionR(reader.getAttributeValue(null, SESSION_ID),
+                                toInteger(reader.getAttributeValue(null, MUST_UNDERSTAND))));
+                    } else if (beginSession.isEmpty() && QN_BEGIN_SESSION.equals(name)) {
+                        beginSession = Optional
+                                .of(new BeginSessionR(toInteger(reader.getAttributeValue(null, MUST_UNDERSTAND))));
+                    } else if (endSession.isEmpty() && QN_END_SESSION.equals(name)) {
+                        endSession = Optional.of(new EndSessionR(reader.getAttributeValue(null, SESSION_ID),
+                                toInteger(reader.getAttributeValue(null, MUST_UNDERSTAND))));
+                    }
+                    skipElement(reader);
+                }
+            } else if (QN_BODY.equals(reader.getName())) {
+                body = readBody(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+        return new XmlaRequest(session, beginSession, endSession, body);
+    }
+
+    private static XmlaRequest.Body readBody(XMLStreamReader reader) throws XMLStreamException {
+        XmlaRequest.Body body = null;
+        boolean first = true;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (first && Constants.MSXMLA.QN_DISCOVER.equals(reader.getName())) {
+                body = readDiscover(reader);
+            } else if (first && Constants.MSXMLA.QN_EXECUTE.equals(reader.getName())) {
+                body = readExecute(reader);
+            } else {
+                skipElement(reader);
+            }
+            first = false;
+        }
+        return body;
+    }
+
+    private static XmlaRequest.Discover readDiscover(XMLStreamReader reader) throws XMLStreamException {
+        String requestType = null;
+        Map<String, List<String>> restrictionValues = null;
+        PropertiesR properties = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            QName name = reader.getName();
+            if (requestType == null && Constants.MSXMLA.QN_REQUEST_TYPE.equals(name)) {
+                requestType = readText(reader);
+            } else if (restrictionValues == null && Constants.MSXMLA.QN_RESTRICTIONS.equals(name)) {
+                restrictionValues = readRestrictions(reader);
+            } else if (properties == null && Constants.MSXMLA.QN_PROPERTIES.equals(name)) {
+                properties = readProperties(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+        return new XmlaRequest.Discover(requestType, restrictionValues, properties);
+    }
+
+    private static XmlaRequest.Execute readExecute(XMLStreamReader reader) throws XMLStreamException {
+        Command command = null;
+        PropertiesR properties = null;
+        List<ExecuteParameter> parameters = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            QName name = reader.getName();
+            if (command == null && Constants.MSXMLA.QN_COMMAND.equals(name)) {
+                command = readCommand(reader);
+            } else if (properties == null && Constants.MSXMLA.QN_PROPERTIES.equals(name)) {
+                properties = readProperties(reader);
+            } else if (parameters == null && Constants.MSXMLA.QN_PARAMETERS.equals(name)) {
+                parameters = readParameters(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+        return new XmlaRequest.Execute(command, properties, parameters);
+    }
+
+    private static Map<String, List<String>> readRestrictions(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, List<String>> result = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (result == null && Constants.MSXMLA.QN_RESTRICTION_LIST.equals(reader.getName())) {
+                result = new HashMap<>();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    result.put(name, readValues(reader));
+                }
+            } else {
+                skipElement(reader);
+            }
+        }
+        return result != null ? result : Map.of();
+    }
+
+    /**
+     * Reads the values of a restriction: the text of each child element, or the
+     * text of the restriction itself if it has no child elements.
+     */
+    private static List<String> readValues(XMLStreamReader reader) throws XMLStreamException {
+        List<String> values = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                values.add(readText(reader));
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (values.isEmpty()) {
+                    values.add(text.toString());
+                }
+                return values;
+            } else if (isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+    }
+
+    private static PropertiesR readProperties(XMLStreamReader reader) throws XMLStreamException {
+        PropertiesR properties = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (properties == null && Constants.MSXMLA.QN_PROPERTY_LIST.equals(reader.getName())) {
+                properties = new PropertiesR();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    PropertyConverter.addProperty(properties, name, readText(reader));
+                }
+            } else {
+                skipElement(reader);
+            }
+        }
+        return properties != null ? properties : new PropertiesR();
+    }
+
+    private static List<ExecuteParameter> readParameters(XMLStreamReader reader) throws XMLStreamException {
+        List<ExecuteParameter> parameters = new ArrayList<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = null;
+            String value = null;
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String localName = reader.getLocalName();
+                if ("Name".equalsIgnoreCase(localName)) {
+                    name = readText(reader);
+                } else if ("Value".equalsIgnoreCase(localName)) {
+                    value = readText(reader);
+                } else {
+                    skipElement(reader);
+                }
+            }
+            if (name != null && value != null) {
+                parameters.add(new ExecuteParameterR(name, value));
+            }
+        }
+        return parameters;
+    }
+
+    private static Command readCommand(XMLStreamReader reader) throws XMLStreamException {
+        Command command = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (command == null) {
+                command = readCommandElement(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+        return command;
+    }
+
+    private static Command readCommandElement(XMLStreamReader reader) throws XMLStreamException {
+        String localName = reader.getLocalName();
+        if (STATEMENT.equals(localName)) {
+            return new StatementR(readText(reader));
+        }
+        if (CLEAR_CACHE.equals(localName)) {
+            ObjectReference object = null;
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (object == null && OBJECT_REFERENCE.equals(reader.getLocalName())) {
+                    object = CommandParser.getObjectReference(readChildValues(reader));
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return new ClearCacheR(object);
+        }
+        if (CANCEL.equals(localName)) {
+            return CommandParser.getCancelCommand(readChildValues(reader));
+        }
+        if (ALTER.equals(localName) || PROCESS.equals(localName) || BATCH.equals(localName)) {
+            // not streamed, see the class comment
+            Document document = SoapFactories.newDocument();
+            Element command = document.createElementNS(Constants.MSXMLA.NS_URN, "Command");
+            command.appendChild(readElement(reader, document));
+            return CommandConverter.getCommandFromNodeList(command.getChildNodes());
+        }
+        skipElement(reader);
+        return null;
+    }
+
+    private static Map<String, String> readChildValues(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> map = new HashMap<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            map.put(name, readText(reader));
+        }
+        return map;
+    }
+
+    /**
+     * Reads the text content of the current element and moves to its end.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isText(int event) {
+        return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE;
+    }
+
+    /**
+     * Reads the current element into a DOM element and moves to its end.
+     */
+    private static Element readElement(XMLStreamReader reader, Document document) throws XMLStreamException {
+        Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()),
+                qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = emptyToNull(reader.getNamespacePrefix(i));
+            String name = prefix == null ? XMLConstants.XMLNS_ATTRIBUTE
+                    : qualifiedName(XMLConstants.XMLNS_ATTRIBUTE, prefix);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                element.appendChild(readElement(reader, document));
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return element;
+            } else if (isText(event)) {
+                element.appendChild(document.createTextNode(reader.getText()));
+            }
+        }
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+}
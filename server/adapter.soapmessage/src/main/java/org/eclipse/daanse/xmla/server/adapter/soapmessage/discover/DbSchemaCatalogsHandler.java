@@ -27,6 +27,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.catalogs.DbSchemaCatalogsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.catalogs.DbSchemaCatalogsRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -37,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaCatalogsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaCatalogsHandler::addSchema);
+
     private static final String CATALOG_NAME = "CATALOG_NAME";
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
@@ -49,16 +53,16 @@ public class DbSchemaCatalogsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaCatalogsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaCatalogsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaCatalogsRequest request = new DbSchemaCatalogsRequestR(properties, restrictions);
         List<DbSchemaCatalogsResponseRow> rows = discoverService.dbSchemaCatalogs(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DbSchemaCatalogsRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaCatalogsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaCatalogsRestrictionsR(Optional.ofNullable(m.get(CATALOG_NAME)));
     }
 
@@ -71,6 +75,11 @@ public class DbSchemaCatalogsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement ct1 = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
@@ -97,7 +106,6 @@ public class DbSchemaCatalogsHandler implements DiscoverHandler {
         s1e4.setAttribute("name", "DATE_MODIFIED");
         s1e4.setAttribute("type", "xsd:dateTime");
         s1e4.setAttribute("minOccurs", "0");
-        return seRoot;
     }
 
     @SuppressWarnings("deprecation")
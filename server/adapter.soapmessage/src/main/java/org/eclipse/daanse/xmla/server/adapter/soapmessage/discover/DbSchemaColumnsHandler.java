@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.ColumnOlapTypeEnum;
@@ -25,6 +27,7 @@ import org.eclipse.daanse.xmla.api.discover.dbschema.columns.DbSchemaColumnsResp
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.columns.DbSchemaColumnsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.columns.DbSchemaColumnsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaColumnsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaColumnsHandler::addSchema);
+
     private static final String TABLE_CATALOG = "TABLE_CATALOG";
     private static final String TABLE_SCHEMA = "TABLE_SCHEMA";
     private static final String TABLE_NAME = "TABLE_NAME";
@@ -48,31 +54,38 @@ public class DbSchemaColumnsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaColumnsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaColumnsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaColumnsRequest request = new DbSchemaColumnsRequestR(properties, restrictions);
-        List<DbSchemaColumnsResponseRow> rows = discoverService.dbSchemaColumns(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<DbSchemaColumnsResponseRow> rows = discoverService.dbSchemaColumnsStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private DbSchemaColumnsRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaColumnsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaColumnsRestrictionsR(Optional.ofNullable(m.get(TABLE_CATALOG)),
                 Optional.ofNullable(m.get(TABLE_SCHEMA)), Optional.ofNullable(m.get(TABLE_NAME)),
                 Optional.ofNullable(m.get(COLUMN_NAME)),
                 Optional.ofNullable(ColumnOlapTypeEnum.fromValue(m.get(COLUMN_OLAP_TYPE))));
     }
 
-    private void writeResponse(List<DbSchemaColumnsResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<DbSchemaColumnsResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (DbSchemaColumnsResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<DbSchemaColumnsResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -89,7 +102,6 @@ public class DbSchemaColumnsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "CHARACTER_OCTET_LENGTH", "xsd:unsignedInt", "0");
         SoapUtil.addElement(s, "NUMERIC_PRECISION", "xsd:unsignedShort", "0");
         SoapUtil.addElement(s, "NUMERIC_SCALE", "xsd:short", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DbSchemaColumnsResponseRow r) throws SOAPException {
@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.api.discover.dbschema.providertypes.DbSchemaProvi
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.providertypes.DbSchemaProviderTypesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.providertypes.DbSchemaProviderTypesRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +36,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaProviderTypesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaProviderTypesHandler::addSchema);
+
     private static final String DATA_TYPE = "DATA_TYPE";
     private static final String BEST_MATCH = "BEST_MATCH";
 
@@ -45,16 +49,16 @@ public class DbSchemaProviderTypesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaProviderTypesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaProviderTypesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaProviderTypesRequest request = new DbSchemaProviderTypesRequestR(properties, restrictions);
         List<DbSchemaProviderTypesResponseRow> rows = discoverService.dbSchemaProviderTypes(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DbSchemaProviderTypesRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaProviderTypesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaProviderTypesRestrictionsR(Optional.ofNullable(LevelDbTypeEnum.fromValue(m.get(DATA_TYPE))),
                 Optional.ofNullable(Boolean.valueOf(m.get(BEST_MATCH))));
     }
@@ -68,6 +72,11 @@ public class DbSchemaProviderTypesHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -84,7 +93,6 @@ public class DbSchemaProviderTypesHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "AUTO_UNIQUE_VALUE", "xsd:boolean", "0");
         SoapUtil.addElement(s, "IS_LONG", "xsd:boolean", "0");
         SoapUtil.addElement(s, "BEST_MATCH", "xsd:boolean", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DbSchemaProviderTypesResponseRow r) throws SOAPException {
@@ -23,6 +23,7 @@ import org.eclipse.daanse.xmla.api.discover.dbschema.schemata.DbSchemaSchemataRe
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.schemata.DbSchemaSchemataRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.schemata.DbSchemaSchemataRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -33,6 +34,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaSchemataHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaSchemataHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public DbSchemaSchemataHandler(DiscoverService discoverService) {
@@ -40,16 +44,16 @@ public class DbSchemaSchemataHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaSchemataRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaSchemataRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaSchemataRequest request = new DbSchemaSchemataRequestR(properties, restrictions);
         List<DbSchemaSchemataResponseRow> rows = discoverService.dbSchemaSchemata(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DbSchemaSchemataRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaSchemataRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaSchemataRestrictionsR(m.get(ROW.CATALOG_NAME), m.get(ROW.SCHEMA_NAME),
                 m.get(ROW.SCHEMA_OWNER));
     }
@@ -63,13 +67,17 @@ public class DbSchemaSchemataHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
         SoapUtil.addElement(s, "CATALOG_NAME", "xsd:string", null);
         SoapUtil.addElement(s, "SCHEMA_NAME", "xsd:string", null);
         SoapUtil.addElement(s, "SCHEMA_OWNER", "xsd:string", null);
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DbSchemaSchemataResponseRow r) throws SOAPException {
@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.api.discover.dbschema.sourcetables.DbSchemaSource
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.sourcetables.DbSchemaSourceTablesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.sourcetables.DbSchemaSourceTablesRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +36,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaSourceTablesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaSourceTablesHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public DbSchemaSourceTablesHandler(DiscoverService discoverService) {
@@ -42,16 +46,16 @@ public class DbSchemaSourceTablesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaSourceTablesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaSourceTablesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaSourceTablesRequest request = new DbSchemaSourceTablesRequestR(properties, restrictions);
         List<DbSchemaSourceTablesResponseRow> rows = discoverService.dbSchemaSourceTables(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DbSchemaSourceTablesRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaSourceTablesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaSourceTablesRestrictionsR(Optional.ofNullable(m.get(ROW.TABLE_CATALOG)),
                 Optional.ofNullable(m.get(ROW.TABLE_SCHEMA)), m.get(ROW.TABLE_NAME),
                 TableTypeEnum.fromValue(m.get(ROW.TABLE_TYPE)));
@@ -66,6 +70,11 @@ public class DbSchemaSourceTablesHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -73,7 +82,6 @@ public class DbSchemaSourceTablesHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "TABLE_SCHEMA", "xsd:string", "0");
         SoapUtil.addElement(s, "TABLE_NAME", "xsd:string", null);
         SoapUtil.addElement(s, "TABLE_TYPE", "xsd:string", null);
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DbSchemaSourceTablesResponseRow r) throws SOAPException {
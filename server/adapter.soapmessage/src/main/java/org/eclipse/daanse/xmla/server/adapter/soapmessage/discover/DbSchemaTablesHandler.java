@@ -15,9 +15,11 @@ package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.discover.DiscoverService;
@@ -27,6 +29,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.tables.DbSchemaTablesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.tables.DbSchemaTablesRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -37,6 +40,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaTablesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaTablesHandler::addSchema);
+
     private static final String TABLE_CATALOG = "TABLE_CATALOG";
     private static final String TABLE_SCHEMA = "TABLE_SCHEMA";
     private static final String TABLE_NAME = "TABLE_NAME";
@@ -52,30 +58,37 @@ public class DbSchemaTablesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaTablesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaTablesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaTablesRequest request = new DbSchemaTablesRequestR(properties, restrictions);
-        List<DbSchemaTablesResponseRow> rows = discoverService.dbSchemaTables(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<DbSchemaTablesResponseRow> rows = discoverService.dbSchemaTablesStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private DbSchemaTablesRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaTablesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaTablesRestrictionsR(Optional.ofNullable(m.get(TABLE_CATALOG)),
                 Optional.ofNullable(m.get(TABLE_SCHEMA)), Optional.ofNullable(m.get(TABLE_NAME)),
                 Optional.ofNullable(m.get(TABLE_TYPE)));
     }
 
-    private void writeResponse(List<DbSchemaTablesResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<DbSchemaTablesResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (DbSchemaTablesResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<DbSchemaTablesResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
 
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
@@ -130,8 +143,6 @@ public class DbSchemaTablesHandler implements DiscoverHandler {
         se9.setAttribute("name", "DATE_MODIFIED");
         se9.setAttribute("type", "xsd:dateTime");
         se9.setAttribute("minOccurs", "0");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DbSchemaTablesResponseRow r) throws SOAPException {
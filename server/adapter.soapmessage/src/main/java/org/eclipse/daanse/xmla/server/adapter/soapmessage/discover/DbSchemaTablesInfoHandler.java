@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.api.discover.dbschema.tablesinfo.DbSchemaTablesIn
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.tablesinfo.DbSchemaTablesInfoRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.dbschema.tablesinfo.DbSchemaTablesInfoRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +36,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DbSchemaTablesInfoHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DbSchemaTablesInfoHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public DbSchemaTablesInfoHandler(DiscoverService discoverService) {
@@ -42,16 +46,16 @@ public class DbSchemaTablesInfoHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DbSchemaTablesInfoRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DbSchemaTablesInfoRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DbSchemaTablesInfoRequest request = new DbSchemaTablesInfoRequestR(properties, restrictions);
         List<DbSchemaTablesInfoResponseRow> rows = discoverService.dbSchemaTablesInfo(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DbSchemaTablesInfoRestrictionsR parseRestrictions(SOAPElement restrictionElement) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionElement);
+    private DbSchemaTablesInfoRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DbSchemaTablesInfoRestrictionsR(Optional.ofNullable(m.get(ROW.TABLE_CATALOG)),
                 Optional.ofNullable(m.get(ROW.TABLE_SCHEMA)), m.get(ROW.TABLE_NAME),
                 TableTypeEnum.fromValue(m.get(ROW.TABLE_TYPE)));
@@ -66,6 +70,11 @@ public class DbSchemaTablesInfoHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -83,7 +92,6 @@ public class DbSchemaTablesInfoHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "CARDINALITY", "xsd:unsignedLong", null);
         SoapUtil.addElement(s, "DESCRIPTION", "xsd:string", "0");
         SoapUtil.addElement(s, "TABLE_PROPID", "xsd:unsignedInt", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DbSchemaTablesInfoResponseRow r) throws SOAPException {
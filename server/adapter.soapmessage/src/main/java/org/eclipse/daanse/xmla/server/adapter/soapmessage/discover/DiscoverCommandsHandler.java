@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.ActiveCommand;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.CommandRegistry;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
+
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * DISCOVER_COMMANDS rowset of the running commands, answered from the
+ * {@link CommandRegistry} without calling the service. SESSION_SPID is the id
+ * a Cancel request selects the command with. A user only sees the commands it
+ * can cancel.
+ */
+public class DiscoverCommandsHandler implements DiscoverHandler {
+
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverCommandsHandler::addSchema);
+
+    static final String SESSION_SPID = "SESSION_SPID";
+    private static final String SESSION_COMMAND_COUNT = "SESSION_COMMAND_COUNT";
+    private static final String COMMAND_START_TIME = "COMMAND_START_TIME";
+    private static final String COMMAND_ELAPSED_TIME_MS = "COMMAND_ELAPSED_TIME_MS";
+    private static final String COMMAND_TEXT = "COMMAND_TEXT";
+
+    static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final CommandRegistry commandRegistry;
+
+    public DiscoverCommandsHandler(CommandRegistry commandRegistry) {
+        this.commandRegistry = commandRegistry;
+    }
+
+    @Override
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        String spid = DiscoverDispatcher.getRestrictionMap(restrictionValues).get(SESSION_SPID);
+        List<ActiveCommand> commands = commandRegistry.activeCommands(
+                metaData != null ? metaData.cancellationToken() : CancellationToken.NONE);
+        Instant now = Instant.now();
+        SOAPElement root = SoapUtil.prepareRootElement(responseBody);
+        SCHEMA.addTo(root);
+        for (ActiveCommand command : commands) {
+            if (spid == null || spid.equals(Long.toString(command.id()))) {
+                addResponseRow(root, command, sessionCommandCount(commands, command), now);
+            }
+        }
+    }
+
+    private static long sessionCommandCount(List<ActiveCommand> commands, ActiveCommand command) {
+        return command.sessionId().isEmpty() ? 1
+                : commands.stream().filter(other -> other.sessionId().equals(command.sessionId())).count();
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
+        SOAPElement schema = SoapUtil.fillRoot(seRoot);
+
+        SOAPElement ct1 = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
+        ct1.setAttribute("name", "row");
+        SOAPElement s1 = SoapUtil.addChildElement(ct1, Constants.XSD.QN_SEQUENCE);
+        addColumn(s1, SESSION_SPID, "xsd:long");
+        addColumn(s1, SESSION_COMMAND_COUNT, "xsd:int");
+        addColumn(s1, COMMAND_START_TIME, "xsd:dateTime");
+        addColumn(s1, COMMAND_ELAPSED_TIME_MS, "xsd:long");
+        addColumn(s1, COMMAND_TEXT, "xsd:string");
+    }
+
+    static void addColumn(SOAPElement sequence, String name, String type) {
+        SOAPElement element = SoapUtil.addChildElement(sequence, Constants.XSD.QN_ELEMENT);
+        element.setAttribute("sql:field", name);
+        element.setAttribute("name", name);
+        element.setAttribute("type", type);
+        element.setAttribute("minOccurs", "0");
+    }
+
+    private static void addResponseRow(SOAPElement root, ActiveCommand command, long sessionCommandCount,
+            Instant now) throws SOAPException {
+        SOAPElement row = root.addChildElement(ROWSET.QN_ROW);
+        SoapUtil.addChildElement(row, qName(SESSION_SPID), Long.toString(command.id()));
+        SoapUtil.addChildElement(row, qName(SESSION_COMMAND_COUNT), Long.toString(sessionCommandCount));
+        SoapUtil.addChildElement(row, qName(COMMAND_START_TIME), formatter.format(command.startTime()));
+        SoapUtil.addChildElement(row, qName(COMMAND_ELAPSED_TIME_MS),
+                Long.toString(Duration.between(command.startTime(), now).toMillis()));
+        SoapUtil.addChildElement(row, qName(COMMAND_TEXT), command.commandType());
+    }
+
+    static QName qName(String column) {
+        return new QName(ROW.NS_URN, column, ROW.PREFIX);
+    }
+}
@@ -28,6 +28,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.csdlmetadata.DiscoverCsdlMetaDataRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.csdlmetadata.DiscoverCsdlMetaDataRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
@@ -40,6 +41,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverCsdlMetaDataHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverCsdlMetaDataHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public DiscoverCsdlMetaDataHandler(DiscoverService discoverService) {
@@ -47,16 +51,16 @@ public class DiscoverCsdlMetaDataHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverCsdlMetaDataRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverCsdlMetaDataRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverCsdlMetaDataRequest request = new DiscoverCsdlMetaDataRequestR(properties, restrictions);
         List<DiscoverCsdlMetaDataResponseRow> rows = discoverService.csdlMetaData(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverCsdlMetaDataRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverCsdlMetaDataRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverCsdlMetaDataRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.PERSPECTIVE_NAME)), Optional.ofNullable(m.get(ROW.VERSION)));
     }
@@ -70,6 +74,11 @@ public class DiscoverCsdlMetaDataHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement el1complexType = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
@@ -79,7 +88,6 @@ public class DiscoverCsdlMetaDataHandler implements DiscoverHandler {
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
         SoapUtil.addElement(s, "METADATA", "xmlDocument", null);
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverCsdlMetaDataResponseRow r) throws SOAPException {
@@ -26,6 +26,7 @@ import org.eclipse.daanse.xmla.api.discover.discover.datasources.DiscoverDataSou
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.datasources.DiscoverDataSourcesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.datasources.DiscoverDataSourcesRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +37,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverDataSourcesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverDataSourcesHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public DiscoverDataSourcesHandler(DiscoverService discoverService) {
@@ -43,16 +47,16 @@ public class DiscoverDataSourcesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverDataSourcesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverDataSourcesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverDataSourcesRequest request = new DiscoverDataSourcesRequestR(properties, restrictions);
         List<DiscoverDataSourcesResponseRow> rows = discoverService.dataSources(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverDataSourcesRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverDataSourcesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverDataSourcesRestrictionsR(m.get(ROW.DATA_SOURCE_NAME),
                 Optional.ofNullable(m.get(ROW.DATA_SOURCE_DESCRIPTION)), Optional.ofNullable(m.get(ROW.URL)),
                 Optional.ofNullable(m.get(ROW.DATA_SOURCE_INFO)), m.get(ROW.PROVIDER_NAME),
@@ -69,6 +73,11 @@ public class DiscoverDataSourcesHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -79,7 +88,6 @@ public class DiscoverDataSourcesHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "ProviderName", "xsd:string", "0");
         SoapUtil.addElement(s, "ProviderType", "xsd:string", "0");
         SoapUtil.addElement(s, "AuthenticationMode", "xsd:string", null);
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverDataSourcesResponseRow r) throws SOAPException {
@@ -13,15 +13,32 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
 import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
 import org.eclipse.daanse.xmla.api.discover.DiscoverService;
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.ActiveCommand;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.CommandRegistry;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.DiscoverResponseCache;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.PropertyConverter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.RequestMetaDataUtils;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.ServiceMeasurement;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SingleFlight;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapBodyWriter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlFragment;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaAdapterOptions;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaMetrics;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaParseException;
 
 import jakarta.xml.soap.Node;
@@ -64,11 +81,36 @@ public class DiscoverDispatcher {
     private static final String DISCOVER_DATASOURCES = "DISCOVER_DATASOURCES";
     private static final String DISCOVER_XML_METADATA = "DISCOVER_XML_METADATA";
     private static final String DISCOVER_CSDL_METADATA = "DISCOVER_CSDL_METADATA";
+    private static final String DISCOVER_COMMANDS = "DISCOVER_COMMANDS";
+    private static final String DISCOVER_SESSIONS = "DISCOVER_SESSIONS";
 
     private final Map<String, DiscoverHandler> handlers;
+    private final DiscoverResponseCache cache;
+    private final SingleFlight<DiscoverResponseCache.Key, XmlFragment> singleFlight;
+    private final CommandRegistry commandRegistry;
+    private final XmlaMetrics metrics;
 
     public DiscoverDispatcher(DiscoverService discoverService) {
-        this.handlers = initHandlers(discoverService);
+        this(discoverService, XmlaAdapterOptions.DEFAULT, null);
+    }
+
+    /**
+     * @param discoverService the service the handlers call
+     * @param options         the response cache, metrics and coalescing of the
+     *                        requests
+     * @param commandRegistry registry the running requests are registered in, so
+     *                        that they can be cancelled, may be {@code null}
+     */
+    public DiscoverDispatcher(DiscoverService discoverService, XmlaAdapterOptions options,
+            CommandRegistry commandRegistry) {
+        XmlaMetrics metrics = options.metrics();
+        this.handlers = initHandlers(
+                metrics != null ? ServiceMeasurement.measured(DiscoverService.class, discoverService)
+                        : discoverService, commandRegistry);
+        this.cache = options.discoverResponseCache();
+        this.singleFlight = options.coalesce() ? new SingleFlight<>() : null;
+        this.commandRegistry = commandRegistry;
+        this.metrics = metrics;
     }
 
     /**
@@ -81,10 +123,33 @@ public class DiscoverDispatcher {
      */
     public void dispatch(SOAPElement discoverElement, SOAPBody responseBody, RequestMetaData metaData)
             throws SOAPException {
+        try {
+            dispatch(discoverElement, responseBody, null, metaData, null);
+        } catch (XMLStreamException e) {
+            // not reached without a body writer
+            throw new SOAPException(e);
+        }
+    }
+
+    /**
+     * Dispatch a Discover SOAP element to the appropriate handler. If a body
+     * writer is given and the handler is a {@link StreamingDiscoverHandler}, the
+     * rows are streamed to the writer and the response body stays empty.
+     *
+     * @param discoverElement the Discover SOAP element
+     * @param responseBody    the response body to write to
+     * @param bodyWriter      writer for streamed responses, may be {@code null}
+     * @param metaData        request metadata
+     * @param userPrincipal   user principal information, may be {@code null}
+     * @throws SOAPException      if SOAP processing fails
+     * @throws XMLStreamException if writing a streamed response fails
+     */
+    public void dispatch(SOAPElement discoverElement, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
 
         String requestType = null;
         PropertiesR properties = null;
-        SOAPElement restrictions = null;
+        Map<String, List<String>> restrictionValues = null;
 
         Iterator<Node> nodeIterator = discoverElement.getChildElements();
         while (nodeIterator.hasNext()) {
@@ -94,8 +159,8 @@ public class DiscoverDispatcher {
                     requestType = element.getTextContent();
                     continue;
                 }
-                if (restrictions == null && Constants.MSXMLA.QN_RESTRICTIONS.equals(element.getElementQName())) {
-                    restrictions = element;
+                if (restrictionValues == null && Constants.MSXMLA.QN_RESTRICTIONS.equals(element.getElementQName())) {
+                    restrictionValues = getRestrictionValues(element);
                     continue;
                 }
                 if (properties == null && Constants.MSXMLA.QN_PROPERTIES.equals(element.getElementQName())) {
@@ -104,14 +169,168 @@ public class DiscoverDispatcher {
             }
         }
 
+        dispatch(requestType, properties, restrictionValues, responseBody, bodyWriter, metaData, userPrincipal);
+    }
+
+    /**
+     * Dispatch an already parsed Discover request to the appropriate handler, see
+     * {@link #dispatch(SOAPElement, SOAPBody, SoapBodyWriter, RequestMetaData, UserRolePrincipal)}.
+     * If there is a cache, cached responses are copied to the response instead.
+     * If identical requests are coalesced, a request that arrives while an
+     * identical one is handled writes the immutable copy of its response.
+     * If there is a command registry, the request is registered while the
+     * handler runs and the metadata carries its cancellation token. If there are
+     * metrics, the times, rows and errors of the request are recorded.
+     *
+     * @param requestType       the RequestType of the Discover request
+     * @param properties        the parsed Properties, may be {@code null}
+     * @param restrictionValues the parsed RestrictionList, may be {@code null}
+     * @param responseBody      the response body to write to
+     * @param bodyWriter        writer for streamed responses, may be {@code null}
+     * @param metaData          request metadata
+     * @param userPrincipal     user principal information, may be {@code null}
+     * @throws SOAPException      if SOAP processing fails
+     * @throws XMLStreamException if writing a streamed response fails
+     */
+    public void dispatch(String requestType, PropertiesR properties, Map<String, List<String>> restrictionValues,
+            SOAPBody responseBody, SoapBodyWriter bodyWriter, RequestMetaData metaData,
+            UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
         DiscoverHandler handler = handlers.get(requestType);
         if (handler == null) {
             throw new XmlaParseException("Unknown request type: " + requestType);
         }
+        Map<String, List<String>> restrictions = restrictionValues != null ? restrictionValues : Map.of();
+        if (metrics == null) {
+            register(handler, requestType, properties, restrictions, responseBody, bodyWriter, metaData,
+                    userPrincipal);
+            return;
+        }
+        ServiceMeasurement measurement = ServiceMeasurement.start();
+        long start = System.nanoTime();
+        try {
+            register(handler, requestType, properties, restrictions, responseBody, bodyWriter, metaData,
+                    userPrincipal);
+        } catch (RuntimeException | SOAPException | XMLStreamException e) {
+            metrics.recordCount(requestType, XmlaMetrics.Count.ERRORS, 1);
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            metrics.recordTime(requestType, XmlaMetrics.Phase.SERVICE, measurement.serviceNanos());
+            metrics.recordTime(requestType, XmlaMetrics.Phase.BUILD, nanos - measurement.serviceNanos());
+            metrics.recordCount(requestType, XmlaMetrics.Count.ROWS, measurement.rows());
+        }
+    }
+
+    private void register(DiscoverHandler handler, String requestType, PropertiesR properties,
+            Map<String, List<String>> restrictions, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
+        if (commandRegistry == null) {
+            handle(handler, requestType, properties, restrictions, responseBody, bodyWriter, metaData, userPrincipal);
+            return;
+        }
+        try (ActiveCommand command = commandRegistry.register(metaData, userPrincipal, requestType)) {
+            handle(handler, requestType, properties, restrictions, responseBody, bodyWriter,
+                    RequestMetaDataUtils.withCancellationToken(metaData, command), userPrincipal);
+        }
+    }
+
+    private void handle(DiscoverHandler handler, String requestType, PropertiesR properties,
+            Map<String, List<String>> restrictions, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
+        DiscoverResponseCache.Key key = key(requestType, properties, restrictions, metaData, userPrincipal);
+        if (key == null) {
+            if (bodyWriter != null && handler instanceof StreamingDiscoverHandler streamingHandler) {
+                streamingHandler.handle(metaData, properties, restrictions, bodyWriter);
+            } else {
+                handler.handle(metaData, properties, restrictions, responseBody);
+            }
+            return;
+        }
+
+        if (cache != null) {
+            XmlFragment cached = cache.get(key);
+            if (cached != null) {
+                write(cached, responseBody, bodyWriter);
+                return;
+            }
+        }
+        if (singleFlight == null) {
+            handleAndCache(handler, key, properties, restrictions, responseBody, metaData);
+            return;
+        }
+        CancellationToken token = metaData != null ? metaData.cancellationToken() : CancellationToken.NONE;
+        SingleFlight.Result<XmlFragment> result = singleFlight.execute(key, token,
+                () -> handleAndCache(handler, key, properties, restrictions, responseBody, metaData),
+                UnaryOperator.identity());
+        if (result.coalesced()) {
+            // the fragment is immutable, all waiting requests write the same one
+            write(result.value(), responseBody, bodyWriter);
+            if (metrics != null) {
+                metrics.recordCount(requestType, XmlaMetrics.Count.COALESCED, 1);
+            }
+        }
+    }
+
+    /**
+     * @return the key to cache or coalesce the request, {@code null} if it is
+     *         neither cached nor coalesced
+     */
+    private DiscoverResponseCache.Key key(String requestType, PropertiesR properties,
+            Map<String, List<String>> restrictions, RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        if (cache == null && singleFlight == null) {
+            return null;
+        }
+        String sessionId = metaData != null && metaData.sessionId() != null && metaData.sessionId().isPresent()
+                ? metaData.sessionId().get()
+                : null;
+        return cache != null ? cache.key(requestType, properties, restrictions, sessionId, userPrincipal)
+                : DiscoverResponseCache.newKey(requestType, properties, restrictions, sessionId, userPrincipal);
+    }
+
+    /**
+     * Handles the request into the response body and caches the response. The
+     * fragment is only created if the response is cached or coalesced.
+     *
+     * @return an immutable copy of the DiscoverResponse element in the response
+     *         body, may be {@code null}
+     */
+    private XmlFragment handleAndCache(DiscoverHandler handler, DiscoverResponseCache.Key key,
+            PropertiesR properties, Map<String, List<String>> restrictions, SOAPBody responseBody,
+            RequestMetaData metaData) throws SOAPException {
+        long generation = cache != null ? cache.generation() : 0;
         handler.handle(metaData, properties, restrictions, responseBody);
+        SOAPElement discoverResponse = getDiscoverResponse(responseBody);
+        if (discoverResponse == null) {
+            return null;
+        }
+        XmlFragment fragment = XmlFragment.of(discoverResponse);
+        if (cache != null) {
+            cache.put(key, generation, fragment);
+        }
+        return fragment;
+    }
+
+    private static void write(XmlFragment response, SOAPBody responseBody, SoapBodyWriter bodyWriter)
+            throws XMLStreamException {
+        if (bodyWriter != null) {
+            response.write(bodyWriter.openBody());
+        } else {
+            response.appendTo(responseBody);
+        }
+    }
+
+    private static SOAPElement getDiscoverResponse(SOAPBody responseBody) {
+        SOAPElement discoverResponse = null;
+        Iterator<Node> nodeIterator = responseBody.getChildElements(Constants.MSXMLA.QN_DISCOVER_RESPONSE);
+        while (nodeIterator.hasNext()) {
+            if (nodeIterator.next() instanceof SOAPElement element) {
+                discoverResponse = element;
+            }
+        }
+        return discoverResponse;
     }
 
-    private Map<String, DiscoverHandler> initHandlers(DiscoverService ds) {
+    private Map<String, DiscoverHandler> initHandlers(DiscoverService ds, CommandRegistry commandRegistry) {
         Map<String, DiscoverHandler> map = new HashMap<>();
         map.put(MDSCHEMA_FUNCTIONS, new MdSchemaFunctionsHandler(ds));
         map.put(MDSCHEMA_DIMENSIONS, new MdSchemaDimensionsHandler(ds));
@@ -141,6 +360,10 @@ public class DiscoverDispatcher {
         map.put(DISCOVER_DATASOURCES, new DiscoverDataSourcesHandler(ds));
         map.put(DISCOVER_XML_METADATA, new DiscoverXmlMetaDataHandler(ds));
         map.put(DISCOVER_CSDL_METADATA, new DiscoverCsdlMetaDataHandler(ds));
+        if (commandRegistry != null) {
+            map.put(DISCOVER_COMMANDS, new DiscoverCommandsHandler(commandRegistry));
+            map.put(DISCOVER_SESSIONS, new DiscoverSessionsHandler(commandRegistry));
+        }
         return map;
     }
 
@@ -151,6 +374,32 @@ public class DiscoverDispatcher {
      * @return map of restriction name to value
      */
     public static Map<String, String> getRestrictionMap(SOAPElement el) {
+        return getRestrictionMap(getRestrictionValues(el));
+    }
+
+    /**
+     * Flattens restriction values to a map of restriction name to value. Multiple
+     * values of a restriction are concatenated like the text content of the
+     * restriction element.
+     *
+     * @param restrictionValues the restriction values
+     * @return map of restriction name to value
+     */
+    public static Map<String, String> getRestrictionMap(Map<String, List<String>> restrictionValues) {
+        Map<String, String> result = new HashMap<>();
+        restrictionValues.forEach((name, values) -> result.put(name, String.join("", values)));
+        return result;
+    }
+
+    /**
+     * Parse the values of the RestrictionList from a SOAP element. A restriction
+     * has one value, its text, unless it contains child elements like
+     * {@code <Value>}, then each child element is a value.
+     *
+     * @param el the SOAP element containing restrictions
+     * @return map of restriction name to values
+     */
+    public static Map<String, List<String>> getRestrictionValues(SOAPElement el) {
         Iterator<Node> nodeIterator = el.getChildElements();
         while (nodeIterator.hasNext()) {
             Node node = nodeIterator.next();
@@ -162,14 +411,23 @@ public class DiscoverDispatcher {
         return Map.of();
     }
 
-    private static Map<String, String> restrictionValues(SOAPElement restrictionList) {
-        Map<String, String> result = new HashMap<>();
+    private static Map<String, List<String>> restrictionValues(SOAPElement restrictionList) {
+        Map<String, List<String>> result = new HashMap<>();
         Iterator<Node> nodeIteratorRestrictionList = restrictionList.getChildElements();
         while (nodeIteratorRestrictionList.hasNext()) {
             Node n = nodeIteratorRestrictionList.next();
             if (n instanceof SOAPElement restrictionListElement) {
-                String name = restrictionListElement.getLocalName();
-                result.put(name, restrictionListElement.getTextContent());
+                List<String> values = new ArrayList<>();
+                Iterator<Node> valueIterator = restrictionListElement.getChildElements();
+                while (valueIterator.hasNext()) {
+                    if (valueIterator.next() instanceof SOAPElement valueElement) {
+                        values.add(valueElement.getTextContent());
+                    }
+                }
+                if (values.isEmpty()) {
+                    values.add(restrictionListElement.getTextContent());
+                }
+                result.put(restrictionListElement.getLocalName(), values);
             }
         }
         return result;
@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.enumerators.DiscoverEnumeratorsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.enumerators.DiscoverEnumeratorsRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +36,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverEnumeratorsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverEnumeratorsHandler::addSchema);
+
     private static final String ENUM_NAME = "EnumName";
 
     private final DiscoverService discoverService;
@@ -44,16 +48,16 @@ public class DiscoverEnumeratorsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverEnumeratorsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverEnumeratorsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverEnumeratorsRequest request = new DiscoverEnumeratorsRequestR(properties, restrictions);
         List<DiscoverEnumeratorsResponseRow> rows = discoverService.discoverEnumerators(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverEnumeratorsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverEnumeratorsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverEnumeratorsRestrictionsR(Optional.ofNullable(m.get(ENUM_NAME)));
     }
 
@@ -66,6 +70,11 @@ public class DiscoverEnumeratorsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement ct1 = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
@@ -103,8 +112,6 @@ public class DiscoverEnumeratorsHandler implements DiscoverHandler {
         s1e6.setAttribute("name", "ElementValue");
         s1e6.setAttribute("type", "xsd:string");
         s1e6.setAttribute("minOccurs", "0");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverEnumeratorsResponseRow r) throws SOAPException {
@@ -13,16 +13,22 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 
 import jakarta.xml.soap.SOAPBody;
-import jakarta.xml.soap.SOAPElement;
 import jakarta.xml.soap.SOAPException;
 
 @FunctionalInterface
 public interface DiscoverHandler {
 
-    void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement, SOAPBody responseBody)
-            throws SOAPException;
+    /**
+     * @param restrictionValues values of the RestrictionList by restriction name,
+     *                          see {@link DiscoverDispatcher#getRestrictionValues}
+     */
+    void handle(RequestMetaData metaData, PropertiesR properties, Map<String, List<String>> restrictionValues,
+            SOAPBody responseBody) throws SOAPException;
 }
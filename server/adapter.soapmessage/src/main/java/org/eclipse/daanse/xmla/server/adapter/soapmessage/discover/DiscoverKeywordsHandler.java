@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.keywords.DiscoverKeywordsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.keywords.DiscoverKeywordsRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +36,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverKeywordsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverKeywordsHandler::addSchema);
+
     private static final String KEYWORD = "Keyword";
 
     private final DiscoverService discoverService;
@@ -44,16 +48,16 @@ public class DiscoverKeywordsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverKeywordsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverKeywordsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverKeywordsRequest request = new DiscoverKeywordsRequestR(properties, restrictions);
         List<DiscoverKeywordsResponseRow> rows = discoverService.discoverKeywords(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverKeywordsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverKeywordsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverKeywordsRestrictionsR(Optional.ofNullable(m.get(KEYWORD)));
     }
 
@@ -66,6 +70,11 @@ public class DiscoverKeywordsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement ct1 = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
@@ -75,8 +84,6 @@ public class DiscoverKeywordsHandler implements DiscoverHandler {
         s1e1.setAttribute("sql:field", "Keyword");
         s1e1.setAttribute("name", "Keyword");
         s1e1.setAttribute("type", "xsd:string");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverKeywordsResponseRow r) throws SOAPException {
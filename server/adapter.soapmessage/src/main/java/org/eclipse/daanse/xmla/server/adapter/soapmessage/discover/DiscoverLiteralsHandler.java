@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.literals.DiscoverLiteralsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.literals.DiscoverLiteralsRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +36,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverLiteralsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverLiteralsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public DiscoverLiteralsHandler(DiscoverService discoverService) {
@@ -42,16 +46,16 @@ public class DiscoverLiteralsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverLiteralsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverLiteralsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverLiteralsRequest request = new DiscoverLiteralsRequestR(properties, restrictions);
         List<DiscoverLiteralsResponseRow> rows = discoverService.discoverLiterals(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverLiteralsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverLiteralsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverLiteralsRestrictionsR(Optional.ofNullable(m.get(ROW.LITERAL_NAME)));
     }
 
@@ -64,6 +68,11 @@ public class DiscoverLiteralsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -101,8 +110,6 @@ public class DiscoverLiteralsHandler implements DiscoverHandler {
         se6.setAttribute("name", "LiteralNameEnumValue");
         se6.setAttribute("type", "xsd:int");
         se6.setAttribute("minOccurs", "0");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverLiteralsResponseRow r) throws SOAPException {
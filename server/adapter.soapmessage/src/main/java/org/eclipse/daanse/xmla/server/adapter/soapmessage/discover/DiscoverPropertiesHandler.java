@@ -14,10 +14,10 @@
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.PROPERTY_NAME;
-import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.RESTRICTION_LIST;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.discover.DiscoverService;
@@ -27,10 +27,10 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.properties.DiscoverPropertiesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.properties.DiscoverPropertiesRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
-import org.w3c.dom.NodeList;
 
 import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPElement;
@@ -38,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverPropertiesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverPropertiesHandler::addSchema);
+
     private static final String UUID_VALUE = "[0-9a-zA-Z]{8}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{12}";
 
     private final DiscoverService discoverService;
@@ -47,41 +50,23 @@ public class DiscoverPropertiesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverPropertiesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverPropertiesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverPropertiesRequest request = new DiscoverPropertiesRequestR(properties, restrictions);
         List<DiscoverPropertiesResponseRow> rows = discoverService.discoverProperties(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverPropertiesRestrictionsR parseRestrictions(SOAPElement restriction) {
-        NodeList nodeList = restriction.getElementsByTagName(RESTRICTION_LIST);
+    private DiscoverPropertiesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
         List<String> pnList = new ArrayList<>();
-        if (nodeList != null && nodeList.getLength() > 0 && nodeList.item(0) instanceof SOAPElement sEl) {
-            pnList = getValuesByTag(sEl, PROPERTY_NAME);
-        }
-        return new DiscoverPropertiesRestrictionsR(pnList);
-    }
-
-    private List<String> getValuesByTag(SOAPElement el, String tagName) {
-        NodeList nodeList = el.getElementsByTagName(tagName);
-        if (nodeList != null && nodeList.getLength() > 0) {
-            return getValues(nodeList.item(0).getChildNodes());
-        }
-        return List.of();
-    }
-
-    private List<String> getValues(NodeList nl) {
-        List<String> result = new ArrayList<>();
-        for (int i = 0; i < nl.getLength(); i++) {
-            org.w3c.dom.Node n = nl.item(i);
-            String val = n.getTextContent().trim();
+        for (String value : restrictionValues.getOrDefault(PROPERTY_NAME, List.of())) {
+            String val = value.trim();
             if (val.length() > 0) {
-                result.add(val);
+                pnList.add(val);
             }
         }
-        return result;
+        return new DiscoverPropertiesRestrictionsR(pnList);
     }
 
     private void writeResponse(List<DiscoverPropertiesResponseRow> rows, SOAPBody body) throws SOAPException {
@@ -93,6 +78,11 @@ public class DiscoverPropertiesHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPElement body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         seRoot.setAttribute("xmlns:xsi", Constants.XSI.NS_URN);
         seRoot.setAttribute("xmlns", "urn:schemas-microsoft-com:xml-analysis:rowset");
         seRoot.setAttribute("xmlns:EX", "urn:schemas-microsoft-com:xml-analysis:exception");
@@ -152,8 +142,6 @@ public class DiscoverPropertiesHandler implements DiscoverHandler {
         s2e6.setAttribute("sql:field", "Value");
         s2e6.setAttribute("name", "Value");
         s2e6.setAttribute("type", "xsd:string");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverPropertiesResponseRow r) throws SOAPException {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.StaxUtil;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
+
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * Writes a DiscoverResponse rowset to an {@link XMLStreamWriter} row by row.
+ * Produces the same XML as the handlers do with
+ * {@link org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil#prepareRootElement}.
+ */
+class DiscoverResponseStreamWriter {
+
+    private final XMLStreamWriter writer;
+
+    DiscoverResponseStreamWriter(XMLStreamWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes DiscoverResponse, return and the start of the root element of the
+     * template with its attributes and the schema.
+     */
+    void writeStart(SchemaTemplate schema) throws SOAPException, XMLStreamException {
+        StaxUtil.writeStartElement(writer, Constants.MSXMLA.QN_DISCOVER_RESPONSE);
+        StaxUtil.writeStartElement(writer, Constants.MSXMLA.QN_RETURN);
+        schema.writeStart(writer);
+    }
+
+    void startRow() throws XMLStreamException {
+        StaxUtil.writeStartElement(writer, DiscoverConstants.ROWSET.QN_ROW);
+    }
+
+    /**
+     * Writes a column of the current row. Like
+     * {@link org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil#addChildElement(SOAPElement, QName, String)}
+     * it fails with an unchecked exception so it can be used in lambdas.
+     */
+    void addElement(QName qName, String value) {
+        try {
+            StaxUtil.writeElement(writer, qName, value);
+        } catch (XMLStreamException e) {
+            throw new XmlaSoapException("writeElement error", e);
+        }
+    }
+
+    void endRow() throws XMLStreamException {
+        writer.writeEndElement();
+    }
+
+    void writeEnd() throws XMLStreamException {
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+}
@@ -26,6 +26,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.schemarowsets.DiscoverSchemaRowsetsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.schemarowsets.DiscoverSchemaRowsetsRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +37,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverSchemaRowsetsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverSchemaRowsetsHandler::addSchema);
+
     private static final String UUID_VALUE = "[0-9a-zA-Z]{8}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{12}";
     private static final String SCHEMA_NAME_LOW = "SchemaName";
 
@@ -46,16 +50,16 @@ public class DiscoverSchemaRowsetsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverSchemaRowsetsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverSchemaRowsetsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverSchemaRowsetsRequest request = new DiscoverSchemaRowsetsRequestR(properties, restrictions);
         List<DiscoverSchemaRowsetsResponseRow> rows = discoverService.discoverSchemaRowsets(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverSchemaRowsetsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverSchemaRowsetsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverSchemaRowsetsRestrictionsR(Optional.ofNullable(m.get(SCHEMA_NAME_LOW)));
     }
 
@@ -70,6 +74,11 @@ public class DiscoverSchemaRowsetsHandler implements DiscoverHandler {
         SOAPElement seDiscoverResponse = body.addChildElement(Constants.MSXMLA.QN_DISCOVER_RESPONSE);
         SOAPElement seReturn = seDiscoverResponse.addChildElement(Constants.MSXMLA.QN_RETURN);
         SOAPElement seRoot = SoapUtil.addChildElement(seReturn, ROWSET.QN_ROOT);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         seRoot.setAttribute("xmlns:xsi", Constants.XSI.NS_URN);
         seRoot.setAttribute("xmlns:xsd", Constants.XSD.NS_URN);
         seRoot.setAttribute("xmlns:EX", Constants.EX.NS_URN);
@@ -136,8 +145,6 @@ public class DiscoverSchemaRowsetsHandler implements DiscoverHandler {
         s1e5.setAttribute("name", "RestrictionsMask");
         s1e5.setAttribute("type", "xsd:unsignedLong");
         s1e5.setAttribute("minOccurs", "0");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverSchemaRowsetsResponseRow r) throws SOAPException {
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
+
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverCommandsHandler.addColumn;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverCommandsHandler.formatter;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverCommandsHandler.qName;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.ActiveCommand;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.CommandRegistry;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
+
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * DISCOVER_SESSIONS rowset of the sessions with running commands, answered from
+ * the {@link CommandRegistry} without calling the service. SESSION_SPID is the
+ * id of the latest command of the session, a Cancel request with it and
+ * CancelAssociated cancels all commands of the session. A user only sees its
+ * own sessions.
+ */
+public class DiscoverSessionsHandler implements DiscoverHandler {
+
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverSessionsHandler::addSchema);
+
+    private static final String SESSION_ID = "SESSION_ID";
+    private static final String SESSION_SPID = DiscoverCommandsHandler.SESSION_SPID;
+    private static final String SESSION_USER_NAME = "SESSION_USER_NAME";
+    private static final String SESSION_START_TIME = "SESSION_START_TIME";
+    private static final String SESSION_ELAPSED_TIME_MS = "SESSION_ELAPSED_TIME_MS";
+    private static final String SESSION_LAST_COMMAND = "SESSION_LAST_COMMAND";
+    private static final String SESSION_STATUS = "SESSION_STATUS";
+    /** SESSION_STATUS of a session that runs a command. */
+    private static final String ACTIVE = "1";
+
+    private final CommandRegistry commandRegistry;
+
+    public DiscoverSessionsHandler(CommandRegistry commandRegistry) {
+        this.commandRegistry = commandRegistry;
+    }
+
+    @Override
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        Map<String, String> restrictions = DiscoverDispatcher.getRestrictionMap(restrictionValues);
+        String sessionId = restrictions.get(SESSION_ID);
+        String spid = restrictions.get(SESSION_SPID);
+        // commands are ordered by id, so the first command of a session started first
+        Map<String, List<ActiveCommand>> sessions = new LinkedHashMap<>();
+        for (ActiveCommand command : commandRegistry.activeCommands(
+                metaData != null ? metaData.cancellationToken() : CancellationToken.NONE)) {
+            command.sessionId().ifPresent(
+                    id -> sessions.computeIfAbsent(id, key -> new ArrayList<>()).add(command));
+        }
+        Instant now = Instant.now();
+        SOAPElement root = SoapUtil.prepareRootElement(responseBody);
+        SCHEMA.addTo(root);
+        for (Map.Entry<String, List<ActiveCommand>> session : sessions.entrySet()) {
+            ActiveCommand first = session.getValue().get(0);
+            ActiveCommand last = session.getValue().get(session.getValue().size() - 1);
+            if ((sessionId == null || sessionId.equals(session.getKey()))
+                    && (spid == null || spid.equals(Long.toString(last.id())))) {
+                addResponseRow(root, session.getKey(), first, last, now);
+            }
+        }
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
+        SOAPElement schema = SoapUtil.fillRoot(seRoot);
+
+        SOAPElement ct1 = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
+        ct1.setAttribute("name", "row");
+        SOAPElement s1 = SoapUtil.addChildElement(ct1, Constants.XSD.QN_SEQUENCE);
+        addColumn(s1, SESSION_ID, "xsd:string");
+        addColumn(s1, SESSION_SPID, "xsd:long");
+        addColumn(s1, SESSION_USER_NAME, "xsd:string");
+        addColumn(s1, SESSION_START_TIME, "xsd:dateTime");
+        addColumn(s1, SESSION_ELAPSED_TIME_MS, "xsd:long");
+        addColumn(s1, SESSION_LAST_COMMAND, "xsd:string");
+        addColumn(s1, SESSION_STATUS, "xsd:int");
+    }
+
+    private static void addResponseRow(SOAPElement root, String sessionId, ActiveCommand first, ActiveCommand last,
+            Instant now) throws SOAPException {
+        SOAPElement row = root.addChildElement(ROWSET.QN_ROW);
+        SoapUtil.addChildElement(row, qName(SESSION_ID), sessionId);
+        SoapUtil.addChildElement(row, qName(SESSION_SPID), Long.toString(last.id()));
+        SoapUtil.addChildElement(row, qName(SESSION_USER_NAME), last.userName());
+        SoapUtil.addChildElement(row, qName(SESSION_START_TIME), formatter.format(first.startTime()));
+        SoapUtil.addChildElement(row, qName(SESSION_ELAPSED_TIME_MS),
+                Long.toString(Duration.between(first.startTime(), now).toMillis()));
+        SoapUtil.addChildElement(row, qName(SESSION_LAST_COMMAND), last.commandType());
+        SoapUtil.addChildElement(row, qName(SESSION_STATUS), ACTIVE);
+    }
+}
@@ -29,6 +29,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.xmlmetadata.DiscoverXmlMetaDataRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.discover.xmlmetadata.DiscoverXmlMetaDataRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
@@ -41,6 +42,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class DiscoverXmlMetaDataHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            DiscoverXmlMetaDataHandler::addSchema);
+
     private static final String OBJECT_TYPE = "ObjectType";
     private static final String DATABASE_ID = "DatabaseID";
     private static final String DIMENSION_ID = "DimensionID";
@@ -72,16 +76,16 @@ public class DiscoverXmlMetaDataHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        DiscoverXmlMetaDataRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        DiscoverXmlMetaDataRestrictionsR restrictions = parseRestrictions(restrictionValues);
         DiscoverXmlMetaDataRequest request = new DiscoverXmlMetaDataRequestR(properties, restrictions);
         List<DiscoverXmlMetaDataResponseRow> rows = discoverService.xmlMetaData(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private DiscoverXmlMetaDataRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private DiscoverXmlMetaDataRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new DiscoverXmlMetaDataRestrictionsR(Optional.ofNullable(m.get(OBJECT_TYPE)),
                 Optional.ofNullable(m.get(DATABASE_ID)), Optional.ofNullable(m.get(DIMENSION_ID)),
                 Optional.ofNullable(m.get(CUBE_ID)), Optional.ofNullable(m.get(MEASURE_GROUP_ID)),
@@ -106,6 +110,11 @@ public class DiscoverXmlMetaDataHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement el1complexType = SoapUtil.addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
@@ -115,7 +124,6 @@ public class DiscoverXmlMetaDataHandler implements DiscoverHandler {
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
         SoapUtil.addElement(s, "METADATA", "xmlDocument", null);
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, DiscoverXmlMetaDataResponseRow r) throws SOAPException {
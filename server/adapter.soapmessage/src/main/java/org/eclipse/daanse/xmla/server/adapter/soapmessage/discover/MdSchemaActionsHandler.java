@@ -27,6 +27,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.actions.MdSchemaActionsResp
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.actions.MdSchemaActionsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.actions.MdSchemaActionsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -37,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaActionsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaActionsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public MdSchemaActionsHandler(DiscoverService discoverService) {
@@ -44,16 +48,16 @@ public class MdSchemaActionsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaActionsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaActionsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaActionsRequest request = new MdSchemaActionsRequestR(properties, restrictions);
         List<MdSchemaActionsResponseRow> rows = discoverService.mdSchemaActions(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private MdSchemaActionsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaActionsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaActionsRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), m.get(ROW.CUBE_NAME),
                 Optional.ofNullable(m.get(ROW.ACTION_NAME)),
@@ -74,6 +78,11 @@ public class MdSchemaActionsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -89,7 +98,6 @@ public class MdSchemaActionsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "CONTENT", "xsd:string", "0");
         SoapUtil.addElement(s, "APPLICATION", "xsd:string", "0");
         SoapUtil.addElement(s, "INVOCATION", "xsd:int", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaActionsResponseRow r) throws SOAPException {
@@ -14,9 +14,11 @@
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -28,6 +30,7 @@ import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.cubes.MdSchemaCubesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.cubes.MdSchemaCubesRestrictionsR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -38,6 +41,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaCubesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaCubesHandler::addSchema);
+
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
     private final DiscoverService discoverService;
@@ -47,16 +53,17 @@ public class MdSchemaCubesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaCubesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaCubesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaCubesRequest request = new MdSchemaCubesRequestR(properties, restrictions);
-        List<MdSchemaCubesResponseRow> rows = discoverService.mdSchemaCubes(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaCubesResponseRow> rows = discoverService.mdSchemaCubesStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaCubesRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaCubesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaCubesRestrictionsR(m.get(ROW.CATALOG_NAME), Optional.ofNullable(m.get(ROW.SCHEMA_NAME)),
                 Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(CubeTypeEnum.fromValue(m.get(ROW.CUBE_TYPE))),
@@ -64,15 +71,21 @@ public class MdSchemaCubesHandler implements DiscoverHandler {
                 Optional.ofNullable(CubeSourceEnum.fromValue(m.get(ROW.CUBE_SOURCE))));
     }
 
-    private void writeResponse(List<MdSchemaCubesResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaCubesResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaCubesResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaCubesResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -193,8 +206,6 @@ public class MdSchemaCubesHandler implements DiscoverHandler {
         se21.setAttribute("name", "CUBE_SOURCE");
         se21.setAttribute("type", "xsd:int");
         se21.setAttribute("minOccurs", "0");
-
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaCubesResponseRow r) throws SOAPException {
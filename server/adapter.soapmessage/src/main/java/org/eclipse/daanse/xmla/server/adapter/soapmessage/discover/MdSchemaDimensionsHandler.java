@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -26,6 +28,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.demensions.MdSchemaDimensio
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.demensions.MdSchemaDimensionsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.demensions.MdSchemaDimensionsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +39,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaDimensionsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaDimensionsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public MdSchemaDimensionsHandler(DiscoverService discoverService) {
@@ -43,16 +49,17 @@ public class MdSchemaDimensionsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaDimensionsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaDimensionsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaDimensionsRequest request = new MdSchemaDimensionsRequestR(properties, restrictions);
-        List<MdSchemaDimensionsResponseRow> rows = discoverService.mdSchemaDimensions(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaDimensionsResponseRow> rows = discoverService.mdSchemaDimensionsStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaDimensionsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaDimensionsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaDimensionsRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.DIMENSION_NAME)), Optional.ofNullable(m.get(ROW.DIMENSION_UNIQUE_NAME)),
@@ -60,15 +67,21 @@ public class MdSchemaDimensionsHandler implements DiscoverHandler {
                 Optional.ofNullable(VisibilityEnum.fromValue(m.get(ROW.DIMENSION_VISIBILITY))));
     }
 
-    private void writeResponse(List<MdSchemaDimensionsResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaDimensionsResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaDimensionsResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaDimensionsResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -90,7 +103,6 @@ public class MdSchemaDimensionsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "DIMENSION_MASTER_UNIQUE_NAME", "xsd:string", "0");
         SoapUtil.addElement(s, "DIMENSION_IS_VISIBLE", "xsd:boolean", "0");
         SoapUtil.addElement(s, "HIERARCHIES", null, "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaDimensionsResponseRow r) throws SOAPException {
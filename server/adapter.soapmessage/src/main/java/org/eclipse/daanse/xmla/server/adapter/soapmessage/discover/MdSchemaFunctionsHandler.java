@@ -27,6 +27,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.functions.ParameterInfo;
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.functions.MdSchemaFunctionsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.functions.MdSchemaFunctionsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -37,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaFunctionsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaFunctionsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public MdSchemaFunctionsHandler(DiscoverService discoverService) {
@@ -44,16 +48,16 @@ public class MdSchemaFunctionsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaFunctionsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaFunctionsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaFunctionsRequest request = new MdSchemaFunctionsRequestR(properties, restrictions);
         List<MdSchemaFunctionsResponseRow> rows = discoverService.mdSchemaFunctions(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private MdSchemaFunctionsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaFunctionsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaFunctionsRestrictionsR(Optional.ofNullable(m.get(ROW.FUNCTION_NAME)),
                 Optional.ofNullable(OriginEnum.fromValue(m.get(ROW.ORIGIN))),
                 Optional.ofNullable(InterfaceNameEnum.fromValue(m.get(ROW.INTERFACE_NAME))),
@@ -69,6 +73,11 @@ public class MdSchemaFunctionsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -80,7 +89,6 @@ public class MdSchemaFunctionsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "INTERFACE_NAME", "xsd:string", null);
         SoapUtil.addElement(s, "LIBRARY_NAME", "xsd:string", "0");
         SoapUtil.addElement(s, "CAPTION", "xsd:string", "0");
-        return seRoot;
     }
 
     @SuppressWarnings("deprecation")
@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -26,6 +28,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.hierarchies.MdSchemaHierarc
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.hierarchies.MdSchemaHierarchiesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.hierarchies.MdSchemaHierarchiesRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +39,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaHierarchiesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaHierarchiesHandler::addSchema);
+
     private static final String CUBE_SOURCE = "CUBE_SOURCE";
     private static final String HIERARCHY_VISIBILITY = "HIERARCHY_VISIBILITY";
 
@@ -46,16 +52,18 @@ public class MdSchemaHierarchiesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaHierarchiesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaHierarchiesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaHierarchiesRequest request = new MdSchemaHierarchiesRequestR(properties, restrictions);
-        List<MdSchemaHierarchiesResponseRow> rows = discoverService.mdSchemaHierarchies(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaHierarchiesResponseRow> rows = discoverService.mdSchemaHierarchiesStream(request,
+                metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaHierarchiesRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaHierarchiesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaHierarchiesRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.DIMENSION_UNIQUE_NAME)), Optional.ofNullable(m.get(ROW.HIERARCHY_NAME)),
@@ -65,15 +73,21 @@ public class MdSchemaHierarchiesHandler implements DiscoverHandler {
                 Optional.ofNullable(VisibilityEnum.fromValue(m.get(HIERARCHY_VISIBILITY))));
     }
 
-    private void writeResponse(List<MdSchemaHierarchiesResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaHierarchiesResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaHierarchiesResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaHierarchiesResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
 
@@ -104,7 +118,6 @@ public class MdSchemaHierarchiesHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "HIERARCHY_VISIBILITY", "xsd:unsignedShort", "0");
         SoapUtil.addElement(s, "PARENT_CHILD", "xsd:boolean", "0");
         SoapUtil.addElement(s, "LEVELS", null, "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaHierarchiesResponseRow r) throws SOAPException {
@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -25,6 +27,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.kpis.MdSchemaKpisResponseRo
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.kpis.MdSchemaKpisRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.kpis.MdSchemaKpisRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaKpisHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaKpisHandler::addSchema);
+
     private static final String CUBE_SOURCE = "CUBE_SOURCE";
 
     private final DiscoverService discoverService;
@@ -44,31 +50,38 @@ public class MdSchemaKpisHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaKpisRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaKpisRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaKpisRequest request = new MdSchemaKpisRequestR(properties, restrictions);
-        List<MdSchemaKpisResponseRow> rows = discoverService.mdSchemaKpis(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaKpisResponseRow> rows = discoverService.mdSchemaKpisStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaKpisRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaKpisRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaKpisRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.KPI_NAME)),
                 Optional.ofNullable(CubeSourceEnum.fromValue(m.get(CUBE_SOURCE))));
     }
 
-    private void writeResponse(List<MdSchemaKpisResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaKpisResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaKpisResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaKpisResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -91,7 +104,6 @@ public class MdSchemaKpisHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "KPI_PARENT_KPI_NAME", "xsd:string", "0");
         SoapUtil.addElement(s, "SCOPE", "xsd:int", null);
         SoapUtil.addElement(s, "ANNOTATIONS", "xsd:string", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaKpisResponseRow r) throws SOAPException {
@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.VisibilityEnum;
@@ -25,6 +27,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.levels.MdSchemaLevelsRespon
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.levels.MdSchemaLevelsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.levels.MdSchemaLevelsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,6 +38,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaLevelsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaLevelsHandler::addSchema);
+
     private static final String DIMENSION_VISIBILITY = "DIMENSION_VISIBILITY";
 
     private final DiscoverService discoverService;
@@ -44,16 +50,17 @@ public class MdSchemaLevelsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaLevelsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaLevelsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaLevelsRequest request = new MdSchemaLevelsRequestR(properties, restrictions);
-        List<MdSchemaLevelsResponseRow> rows = discoverService.mdSchemaLevels(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaLevelsResponseRow> rows = discoverService.mdSchemaLevelsStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaLevelsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaLevelsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaLevelsRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.DIMENSION_UNIQUE_NAME)),
@@ -62,15 +69,21 @@ public class MdSchemaLevelsHandler implements DiscoverHandler {
                 Optional.ofNullable(VisibilityEnum.fromValue(m.get(DIMENSION_VISIBILITY))));
     }
 
-    private void writeResponse(List<MdSchemaLevelsResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaLevelsResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaLevelsResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaLevelsResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -93,7 +106,6 @@ public class MdSchemaLevelsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "LEVEL_ORIGIN", "xsd:unsignedShort", "0");
         SoapUtil.addElement(s, "CUBE_SOURCE", "xsd:unsignedShort", "0");
         SoapUtil.addElement(s, "LEVEL_VISIBILITY", "xsd:unsignedShort", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaLevelsResponseRow r) throws SOAPException {
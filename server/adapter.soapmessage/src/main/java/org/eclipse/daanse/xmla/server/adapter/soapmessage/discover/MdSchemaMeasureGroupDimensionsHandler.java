@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.VisibilityEnum;
@@ -26,6 +28,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.measuregroupdimensions.Meas
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.measuregroupdimensions.MdSchemaMeasureGroupDimensionsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.measuregroupdimensions.MdSchemaMeasureGroupDimensionsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +39,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaMeasureGroupDimensionsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaMeasureGroupDimensionsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public MdSchemaMeasureGroupDimensionsHandler(DiscoverService discoverService) {
@@ -43,18 +49,19 @@ public class MdSchemaMeasureGroupDimensionsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaMeasureGroupDimensionsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaMeasureGroupDimensionsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaMeasureGroupDimensionsRequest request = new MdSchemaMeasureGroupDimensionsRequestR(properties,
                 restrictions);
-        List<MdSchemaMeasureGroupDimensionsResponseRow> rows = discoverService.mdSchemaMeasureGroupDimensions(request,
-                metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaMeasureGroupDimensionsResponseRow> rows = discoverService
+                .mdSchemaMeasureGroupDimensionsStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaMeasureGroupDimensionsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaMeasureGroupDimensionsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaMeasureGroupDimensionsRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.DIMENSION_UNIQUE_NAME)),
@@ -62,16 +69,22 @@ public class MdSchemaMeasureGroupDimensionsHandler implements DiscoverHandler {
                 Optional.ofNullable(VisibilityEnum.fromValue(m.get(ROW.DIMENSION_VISIBILITY))));
     }
 
-    private void writeResponse(List<MdSchemaMeasureGroupDimensionsResponseRow> rows, SOAPBody body)
+    private void writeResponse(Stream<MdSchemaMeasureGroupDimensionsResponseRow> rows, SOAPBody body)
             throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaMeasureGroupDimensionsResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaMeasureGroupDimensionsResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -86,7 +99,6 @@ public class MdSchemaMeasureGroupDimensionsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "DIMENSION_IS_FACT_DIMENSION", "xsd:boolean", "0");
         SoapUtil.addElement(s, "DIMENSION_PATH", "xsd:string", "0");
         SoapUtil.addElement(s, "DIMENSION_GRANULARITY", "xsd:string", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaMeasureGroupDimensionsResponseRow r) throws SOAPException {
@@ -24,6 +24,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.measuregroups.MdSchemaMeasu
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.measuregroups.MdSchemaMeasureGroupsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.measuregroups.MdSchemaMeasureGroupsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -34,6 +35,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaMeasureGroupsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaMeasureGroupsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public MdSchemaMeasureGroupsHandler(DiscoverService discoverService) {
@@ -41,16 +45,16 @@ public class MdSchemaMeasureGroupsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaMeasureGroupsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaMeasureGroupsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaMeasureGroupsRequest request = new MdSchemaMeasureGroupsRequestR(properties, restrictions);
         List<MdSchemaMeasureGroupsResponseRow> rows = discoverService.mdSchemaMeasureGroups(request, metaData);
         writeResponse(rows, responseBody);
     }
 
-    private MdSchemaMeasureGroupsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaMeasureGroupsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaMeasureGroupsRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.MEASUREGROUP_NAME)));
@@ -65,6 +69,11 @@ public class MdSchemaMeasureGroupsHandler implements DiscoverHandler {
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -75,7 +84,6 @@ public class MdSchemaMeasureGroupsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "DESCRIPTION", "xsd:string", "0");
         SoapUtil.addElement(s, "IS_WRITE_ENABLED", "xsd:boolean", null);
         SoapUtil.addElement(s, "MEASUREGROUP_CAPTION", "xsd:string", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaMeasureGroupsResponseRow r) throws SOAPException {
@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -26,6 +28,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.measures.MdSchemaMeasuresRe
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.measures.MdSchemaMeasuresRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.measures.MdSchemaMeasuresRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +39,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaMeasuresHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaMeasuresHandler::addSchema);
+
     private static final String CUBE_SOURCE = "CUBE_SOURCE";
     private static final String MEASURE_VISIBILITY = "MEASURE_VISIBILITY";
 
@@ -46,16 +52,17 @@ public class MdSchemaMeasuresHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaMeasuresRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaMeasuresRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaMeasuresRequest request = new MdSchemaMeasuresRequestR(properties, restrictions);
-        List<MdSchemaMeasuresResponseRow> rows = discoverService.mdSchemaMeasures(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaMeasuresResponseRow> rows = discoverService.mdSchemaMeasuresStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaMeasuresRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaMeasuresRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaMeasuresRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.MEASURE_NAME)), Optional.ofNullable(m.get(ROW.MEASURE_UNIQUE_NAME)),
@@ -64,15 +71,21 @@ public class MdSchemaMeasuresHandler implements DiscoverHandler {
                 Optional.ofNullable(VisibilityEnum.fromValue(m.get(MEASURE_VISIBILITY))));
     }
 
-    private void writeResponse(List<MdSchemaMeasuresResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaMeasuresResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaMeasuresResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaMeasuresResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -99,7 +112,6 @@ public class MdSchemaMeasuresHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "DEFAULT_FORMAT_STRING", "xsd:string", "0");
         SoapUtil.addElement(s, "CUBE_SOURCE", "xsd:unsignedShort", "0");
         SoapUtil.addElement(s, "MEASURE_VISIBILITY", "xsd:unsignedShort", "0");
-        return seRoot;
     }
 
     @SuppressWarnings("deprecation")
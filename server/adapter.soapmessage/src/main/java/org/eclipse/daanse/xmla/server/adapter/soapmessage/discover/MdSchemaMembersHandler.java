@@ -13,9 +13,15 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -27,6 +33,8 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.members.MdSchemaMembersResp
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.members.MdSchemaMembersRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.members.MdSchemaMembersRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapBodyWriter;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -35,7 +43,10 @@ import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPElement;
 import jakarta.xml.soap.SOAPException;
 
-public class MdSchemaMembersHandler implements DiscoverHandler {
+public class MdSchemaMembersHandler implements StreamingDiscoverHandler {
+
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaMembersHandler::addSchema);
 
     private static final String CUBE_SOURCE = "CUBE_SOURCE";
     private static final String TREE_OP = "TREE_OP";
@@ -47,16 +58,41 @@ public class MdSchemaMembersHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaMembersRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaMembersRestrictionsR restrictions = parseRestrictions(restrictionValues);
+        MdSchemaMembersRequest request = new MdSchemaMembersRequestR(properties, restrictions);
+        try (Stream<MdSchemaMembersResponseRow> rows = discoverService.mdSchemaMembersStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
+    }
+
+    @Override
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SoapBodyWriter bodyWriter)
+            throws SOAPException, XMLStreamException {
+        MdSchemaMembersRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaMembersRequest request = new MdSchemaMembersRequestR(properties, restrictions);
-        List<MdSchemaMembersResponseRow> rows = discoverService.mdSchemaMembers(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaMembersResponseRow> rows = discoverService.mdSchemaMembersStream(request, metaData)) {
+            Iterator<MdSchemaMembersResponseRow> it = rows.iterator();
+            // fetch the first row before the body is opened, so a failing query
+            // can still be answered with a fault
+            boolean hasNext = it.hasNext();
+
+            DiscoverResponseStreamWriter writer = new DiscoverResponseStreamWriter(bodyWriter.openBody());
+            writer.writeStart(SCHEMA);
+            while (hasNext) {
+                writer.startRow();
+                addRowValues(writer::addElement, it.next());
+                writer.endRow();
+                hasNext = it.hasNext();
+            }
+            writer.writeEnd();
+        }
     }
 
-    private MdSchemaMembersRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaMembersRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaMembersRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.DIMENSION_UNIQUE_NAME)),
@@ -69,15 +105,21 @@ public class MdSchemaMembersHandler implements DiscoverHandler {
                 Optional.ofNullable(TreeOpEnum.fromValue(m.get(TREE_OP))));
     }
 
-    private void writeResponse(List<MdSchemaMembersResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaMembersResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaMembersResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaMembersResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -104,37 +146,39 @@ public class MdSchemaMembersHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "IS_PLACEHOLDERMEMBER", "xsd:boolean", "0");
         SoapUtil.addElement(s, "IS_DATAMEMBER", "xsd:boolean", "0");
         SoapUtil.addElement(s, "SCOPE", "xsd:int", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaMembersResponseRow r) throws SOAPException {
         SOAPElement row = root.addChildElement(ROWSET.QN_ROW);
+        addRowValues((qName, value) -> SoapUtil.addChildElement(row, qName, value), r);
+    }
 
-        r.catalogName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_CATALOG_NAME, v));
-        r.schemaName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_SCHEMA_NAME, v));
-        r.cubeName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_CUBE_NAME, v));
-        r.dimensionUniqueName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_DIMENSION_UNIQUE_NAME, v));
-        r.hierarchyUniqueName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_HIERARCHY_UNIQUE_NAME, v));
-        r.levelUniqueName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_LEVEL_UNIQUE_NAME, v));
-        r.levelNumber().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_LEVEL_NUMBER, String.valueOf(v)));
-        r.memberOrdinal().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_ORDINAL, String.valueOf(v)));
-        r.memberName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_NAME, v));
-        r.memberUniqueName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_UNIQUE_NAME, v));
-        r.memberType().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_TYPE, String.valueOf(v.getValue())));
-        r.memberGuid().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_GUID, String.valueOf(v)));
-        r.memberCaption().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_CAPTION, v));
+    private void addRowValues(BiConsumer<QName, String> row, MdSchemaMembersResponseRow r) {
+        r.catalogName().ifPresent(v -> row.accept(ROW.QN_CATALOG_NAME, v));
+        r.schemaName().ifPresent(v -> row.accept(ROW.QN_SCHEMA_NAME, v));
+        r.cubeName().ifPresent(v -> row.accept(ROW.QN_CUBE_NAME, v));
+        r.dimensionUniqueName().ifPresent(v -> row.accept(ROW.QN_DIMENSION_UNIQUE_NAME, v));
+        r.hierarchyUniqueName().ifPresent(v -> row.accept(ROW.QN_HIERARCHY_UNIQUE_NAME, v));
+        r.levelUniqueName().ifPresent(v -> row.accept(ROW.QN_LEVEL_UNIQUE_NAME, v));
+        r.levelNumber().ifPresent(v -> row.accept(ROW.QN_LEVEL_NUMBER, String.valueOf(v)));
+        r.memberOrdinal().ifPresent(v -> row.accept(ROW.QN_MEMBER_ORDINAL, String.valueOf(v)));
+        r.memberName().ifPresent(v -> row.accept(ROW.QN_MEMBER_NAME, v));
+        r.memberUniqueName().ifPresent(v -> row.accept(ROW.QN_MEMBER_UNIQUE_NAME, v));
+        r.memberType().ifPresent(v -> row.accept(ROW.QN_MEMBER_TYPE, String.valueOf(v.getValue())));
+        r.memberGuid().ifPresent(v -> row.accept(ROW.QN_MEMBER_GUID, String.valueOf(v)));
+        r.memberCaption().ifPresent(v -> row.accept(ROW.QN_MEMBER_CAPTION, v));
         r.childrenCardinality()
-                .ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_CHILDREN_CARDINALITY, String.valueOf(v)));
-        r.parentLevel().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_PARENT_LEVEL, String.valueOf(v)));
-        r.parentUniqueName().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_PARENT_UNIQUE_NAME, v));
-        r.parentCount().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_PARENT_COUNT, String.valueOf(v)));
-        r.description().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_DESCRIPTION, v));
-        r.expression().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_EXPRESSION, v));
-        r.memberKey().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_MEMBER_KEY, v));
+                .ifPresent(v -> row.accept(ROW.QN_CHILDREN_CARDINALITY, String.valueOf(v)));
+        r.parentLevel().ifPresent(v -> row.accept(ROW.QN_PARENT_LEVEL, String.valueOf(v)));
+        r.parentUniqueName().ifPresent(v -> row.accept(ROW.QN_PARENT_UNIQUE_NAME, v));
+        r.parentCount().ifPresent(v -> row.accept(ROW.QN_PARENT_COUNT, String.valueOf(v)));
+        r.description().ifPresent(v -> row.accept(ROW.QN_DESCRIPTION, v));
+        r.expression().ifPresent(v -> row.accept(ROW.QN_EXPRESSION, v));
+        r.memberKey().ifPresent(v -> row.accept(ROW.QN_MEMBER_KEY, v));
         r.isPlaceHolderMember()
-                .ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_IS_PLACEHOLDERMEMBER, String.valueOf(v)));
-        r.isDataMember().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_IS_DATAMEMBER, String.valueOf(v)));
-        r.scope().ifPresent(v -> SoapUtil.addChildElement(row, ROW.QN_SCOPE, String.valueOf(v.getValue())));
+                .ifPresent(v -> row.accept(ROW.QN_IS_PLACEHOLDERMEMBER, String.valueOf(v)));
+        r.isDataMember().ifPresent(v -> row.accept(ROW.QN_IS_DATAMEMBER, String.valueOf(v)));
+        r.scope().ifPresent(v -> row.accept(ROW.QN_SCOPE, String.valueOf(v.getValue())));
     }
 
     private static Integer toInt(String s) {
@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -29,6 +31,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.properties.MdSchemaProperti
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.properties.MdSchemaPropertiesRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.properties.MdSchemaPropertiesRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -39,6 +42,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaPropertiesHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaPropertiesHandler::addSchema);
+
     private static final String CUBE_SOURCE = "CUBE_SOURCE";
     private static final String PROPERTY_NAME2 = "PROPERTY_NAME";
     private static final String PROPERTY_TYPE = "PROPERTY_TYPE";
@@ -53,16 +59,17 @@ public class MdSchemaPropertiesHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaPropertiesRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaPropertiesRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaPropertiesRequest request = new MdSchemaPropertiesRequestR(properties, restrictions);
-        List<MdSchemaPropertiesResponseRow> rows = discoverService.mdSchemaProperties(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaPropertiesResponseRow> rows = discoverService.mdSchemaPropertiesStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaPropertiesRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaPropertiesRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaPropertiesRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.DIMENSION_UNIQUE_NAME)),
@@ -76,15 +83,21 @@ public class MdSchemaPropertiesHandler implements DiscoverHandler {
                 Optional.ofNullable(VisibilityEnum.fromValue(m.get(PROPERTY_VISIBILITY))));
     }
 
-    private void writeResponse(List<MdSchemaPropertiesResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaPropertiesResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaPropertiesResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaPropertiesResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -110,7 +123,6 @@ public class MdSchemaPropertiesHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "PROPERTY_ATTRIBUTE_HIERARCHY_NAME", "xsd:string", "0");
         SoapUtil.addElement(s, "PROPERTY_CARDINALITY", "xsd:string", "0");
         SoapUtil.addElement(s, "MIME_TYPE", "xsd:string", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaPropertiesResponseRow r) throws SOAPException {
@@ -13,9 +13,11 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.common.enums.CubeSourceEnum;
@@ -26,6 +28,7 @@ import org.eclipse.daanse.xmla.api.discover.mdschema.sets.MdSchemaSetsResponseRo
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.sets.MdSchemaSetsRequestR;
 import org.eclipse.daanse.xmla.model.record.discover.mdschema.sets.MdSchemaSetsRestrictionsR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapUtil;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROW;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants.ROWSET;
@@ -36,6 +39,9 @@ import jakarta.xml.soap.SOAPException;
 
 public class MdSchemaSetsHandler implements DiscoverHandler {
 
+    private static final SchemaTemplate SCHEMA = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT,
+            MdSchemaSetsHandler::addSchema);
+
     private final DiscoverService discoverService;
 
     public MdSchemaSetsHandler(DiscoverService discoverService) {
@@ -43,16 +49,17 @@ public class MdSchemaSetsHandler implements DiscoverHandler {
     }
 
     @Override
-    public void handle(RequestMetaData metaData, PropertiesR properties, SOAPElement restrictionElement,
-            SOAPBody responseBody) throws SOAPException {
-        MdSchemaSetsRestrictionsR restrictions = parseRestrictions(restrictionElement);
+    public void handle(RequestMetaData metaData, PropertiesR properties,
+            Map<String, List<String>> restrictionValues, SOAPBody responseBody) throws SOAPException {
+        MdSchemaSetsRestrictionsR restrictions = parseRestrictions(restrictionValues);
         MdSchemaSetsRequest request = new MdSchemaSetsRequestR(properties, restrictions);
-        List<MdSchemaSetsResponseRow> rows = discoverService.mdSchemaSets(request, metaData);
-        writeResponse(rows, responseBody);
+        try (Stream<MdSchemaSetsResponseRow> rows = discoverService.mdSchemaSetsStream(request, metaData)) {
+            writeResponse(rows, responseBody);
+        }
     }
 
-    private MdSchemaSetsRestrictionsR parseRestrictions(SOAPElement restriction) {
-        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restriction);
+    private MdSchemaSetsRestrictionsR parseRestrictions(Map<String, List<String>> restrictionValues) {
+        Map<String, String> m = DiscoverDispatcher.getRestrictionMap(restrictionValues);
         return new MdSchemaSetsRestrictionsR(Optional.ofNullable(m.get(ROW.CATALOG_NAME)),
                 Optional.ofNullable(m.get(ROW.SCHEMA_NAME)), Optional.ofNullable(m.get(ROW.CUBE_NAME)),
                 Optional.ofNullable(m.get(ROW.SET_NAME)), Optional.ofNullable(ScopeEnum.fromValue(m.get(ROW.SCOPE))),
@@ -61,15 +68,21 @@ public class MdSchemaSetsHandler implements DiscoverHandler {
                 Optional.ofNullable(m.get(ROW.HIERARCHY_UNIQUE_NAME)));
     }
 
-    private void writeResponse(List<MdSchemaSetsResponseRow> rows, SOAPBody body) throws SOAPException {
+    private void writeResponse(Stream<MdSchemaSetsResponseRow> rows, SOAPBody body) throws SOAPException {
         SOAPElement root = addRoot(body);
-        for (MdSchemaSetsResponseRow row : rows) {
-            addResponseRow(root, row);
+        Iterator<MdSchemaSetsResponseRow> it = rows.iterator();
+        while (it.hasNext()) {
+            addResponseRow(root, it.next());
         }
     }
 
     private SOAPElement addRoot(SOAPBody body) throws SOAPException {
         SOAPElement seRoot = SoapUtil.prepareRootElement(body);
+        SCHEMA.addTo(seRoot);
+        return seRoot;
+    }
+
+    private static void addSchema(SOAPElement seRoot) throws SOAPException {
         SOAPElement schema = SoapUtil.fillRoot(seRoot);
 
         SOAPElement s = SoapUtil.prepareSequenceElement(schema);
@@ -83,7 +96,6 @@ public class MdSchemaSetsHandler implements DiscoverHandler {
         SoapUtil.addElement(s, "DIMENSIONS", "xsd:string", "0");
         SoapUtil.addElement(s, "SET_CAPTION", "xsd:string", "0");
         SoapUtil.addElement(s, "SET_DISPLAY_FOLDER", "xsd:string", "0");
-        return seRoot;
     }
 
     private void addResponseRow(SOAPElement root, MdSchemaSetsResponseRow r) throws SOAPException {
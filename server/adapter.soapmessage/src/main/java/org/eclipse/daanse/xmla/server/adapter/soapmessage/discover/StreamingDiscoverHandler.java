@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapBodyWriter;
+
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * {@link DiscoverHandler} that can also write its rows directly to a
+ * {@link SoapBodyWriter} while they are produced instead of building them in a
+ * SAAJ body.
+ */
+public interface StreamingDiscoverHandler extends DiscoverHandler {
+
+    void handle(RequestMetaData metaData, PropertiesR properties, Map<String, List<String>> restrictionValues,
+            SoapBodyWriter bodyWriter) throws SOAPException, XMLStreamException;
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.execute.ExecuteService;
+import org.eclipse.daanse.xmla.api.xmla.Batch;
+import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.api.xmla.Process;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.model.record.xmla.BatchR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapFactories;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaParseException;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * Handler for Batch commands. The commands of the batch are handled one after
+ * the other by the handlers of the dispatcher, the Process commands of a
+ * Parallel group at the same time, at most MaxParallel and at most the limit
+ * of the handler. The calling thread takes part in the work of a group, the
+ * other workers run on the executor.
+ * <p>
+ * The commands run in document order, see {@link Batch#commands()}. If the
+ * order is not known, they run by type: Alter, Process, the Parallel groups,
+ * ClearCache and Cancel. The result of each command is written as
+ * {@code root} element into one multiple results response. A transactional
+ * batch, the default, runs in a transaction of the service: it is begun before
+ * the first command, committed after the last one and rolled back if a command
+ * fails. The first failing command fails the whole request and no further
+ * command is started. Otherwise the root of a failing command holds the error
+ * and the other commands still run.
+ */
+public class BatchHandler implements ExecuteHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchHandler.class);
+    private static final ThreadFactory WORKER_FACTORY = Thread.ofVirtual().name("xmla-batch-", 0).factory();
+    /**
+     * Starts each worker of a Parallel group on a virtual thread of its own, the
+     * number of workers is bounded by the limit of the handler.
+     */
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = task -> WORKER_FACTORY.newThread(task).start();
+
+    private final ExecuteService executeService;
+    private final Function<Command, ExecuteHandler> handlers;
+    private final Executor executor;
+    private final int maxParallel;
+
+    /**
+     * Creates a handler that runs at most as many commands of a Parallel group
+     * at the same time as there are processors.
+     *
+     * @param executeService the service the transactions of the batches run in
+     * @param handlers       the handlers of the commands in the batch by command
+     */
+    public BatchHandler(ExecuteService executeService, Function<Command, ExecuteHandler> handlers) {
+        this(executeService, handlers, VIRTUAL_THREAD_EXECUTOR, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param executeService the service the transactions of the batches run in
+     * @param handlers       the handlers of the commands in the batch by command
+     * @param executor       executor the workers of Parallel groups run on
+     * @param maxParallel    the maximum number of commands of a Parallel group
+     *                       that run at the same time, also if MaxParallel is
+     *                       higher
+     */
+    public BatchHandler(ExecuteService executeService, Function<Command, ExecuteHandler> handlers,
+            Executor executor, int maxParallel) {
+        if (maxParallel < 1) {
+            throw new IllegalArgumentException("maxParallel must be positive: " + maxParallel);
+        }
+        this.executeService = executeService;
+        this.handlers = handlers;
+        this.executor = executor;
+        this.maxParallel = maxParallel;
+    }
+
+    @Override
+    public void handle(Command command, PropertiesR properties, List<ExecuteParameter> parameters,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal, SOAPBody responseBody) throws SOAPException {
+        if (!(command instanceof BatchR batch)) {
+            return;
+        }
+        boolean transaction = !Boolean.FALSE.equals(batch.transaction());
+        Run run = new Run(properties, parameters, metaData, userPrincipal, transaction);
+        List<SOAPElement> roots;
+        if (transaction) {
+            executeService.beginTransaction(metaData, userPrincipal);
+            boolean committed = false;
+            try {
+                roots = execute(run, batch);
+                executeService.commitTransaction(metaData, userPrincipal);
+                committed = true;
+            } finally {
+                // also on errors, e.g. a StackOverflowError of a handler or a failing commit
+                if (!committed) {
+                    executeService.rollbackTransaction(metaData, userPrincipal);
+                }
+            }
+        } else {
+            roots = execute(run, batch);
+        }
+        writeResponse(roots, responseBody);
+    }
+
+    private List<SOAPElement> execute(Run run, BatchR batch) {
+        List<SOAPElement> roots = new ArrayList<>();
+        for (Batch.Step step : steps(batch)) {
+            if (step.parallel() != null) {
+                roots.addAll(executeParallel(run, step.parallel()));
+            } else {
+                roots.add(run.execute(step.command()));
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * The commands of the batch in document order, by type if the order is not
+     * known.
+     */
+    private static List<Batch.Step> steps(BatchR batch) {
+        if (batch.commands() != null && !batch.commands().isEmpty()) {
+            return batch.commands();
+        }
+        List<Batch.Step> steps = new ArrayList<>();
+        batch.alter().forEach(c -> steps.add(new BatchR.Step(c, null)));
+        batch.process().forEach(c -> steps.add(new BatchR.Step(c, null)));
+        batch.parallel().forEach(p -> steps.add(new BatchR.Step(null, p)));
+        batch.clearCache().forEach(c -> steps.add(new BatchR.Step(c, null)));
+        batch.cancel().forEach(c -> steps.add(new BatchR.Step(c, null)));
+        return steps;
+    }
+
+    private List<SOAPElement> executeParallel(Run run, Batch.Parallel parallel) {
+        List<Process> commands = parallel.process();
+        SOAPElement[] roots = new SOAPElement[commands.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int i;
+            while (failure.get() == null && (i = next.getAndIncrement()) < commands.size()) {
+                try {
+                    roots[i] = run.execute(commands.get(i));
+                } catch (RuntimeException e) {
+                    // only thrown in a transactional batch, the other workers stop
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        int workers = Math.min(commands.size(), limit(parallel.maxParallel()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(worker, executor));
+        }
+        worker.run();
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                failure.compareAndSet(null, new XmlaSoapException("Parallel worker failed", e.getCause()));
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return List.of(roots);
+    }
+
+    private int limit(Integer maxParallelOfGroup) {
+        return maxParallelOfGroup != null && maxParallelOfGroup > 0 ? Math.min(maxParallelOfGroup, maxParallel)
+                : maxParallel;
+    }
+
+    private static void writeResponse(List<SOAPElement> roots, SOAPBody body) throws SOAPException {
+        SOAPElement results = body.addChildElement(Constants.MSXMLA.QN_EXECUTE_RESPONSE)
+                .addChildElement(Constants.MSXMLA.QN_RETURN)
+                .addChildElement(ExecuteConstants.MULTIPLE_RESULTS.QN_RESULTS);
+        for (SOAPElement root : roots) {
+            results.appendChild(results.getOwnerDocument().importNode(root, true));
+        }
+    }
+
+    /**
+     * The root of the result in {@code ExecuteResponse/return}.
+     */
+    private static SOAPElement resultRoot(SOAPBody body) {
+        Node node = firstChildElement(firstChildElement(firstChildElement(body)));
+        if (node instanceof SOAPElement root) {
+            return root;
+        }
+        throw new XmlaSoapException("Command in Batch has no result");
+    }
+
+    private static Node firstChildElement(Node node) {
+        Node child = node != null ? node.getFirstChild() : null;
+        while (child != null && child.getNodeType() != Node.ELEMENT_NODE) {
+            child = child.getNextSibling();
+        }
+        return child;
+    }
+
+    /**
+     * The state of the batch that is handled, shared by the workers.
+     */
+    private class Run {
+
+        private final PropertiesR properties;
+        private final List<ExecuteParameter> parameters;
+        private final RequestMetaData metaData;
+        private final UserRolePrincipal userPrincipal;
+        private final boolean transaction;
+
+        Run(PropertiesR properties, List<ExecuteParameter> parameters, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal, boolean transaction) {
+            this.properties = properties;
+            this.parameters = parameters;
+            this.metaData = metaData;
+            this.userPrincipal = userPrincipal;
+            this.transaction = transaction;
+        }
+
+        /**
+         * Handles a command of the batch into a message of its own and returns the
+         * root of its result.
+         */
+        SOAPElement execute(Command command) {
+            metaData.cancellationToken().throwIfCancelled();
+            ExecuteHandler handler = handlers.apply(command);
+            if (handler == null) {
+                throw new XmlaParseException("Unsupported command type in Batch: " + command.getClass());
+            }
+            try {
+                SOAPBody body = SoapFactories.messageFactory().createMessage().getSOAPBody();
+                try {
+                    handler.handle(command, properties, parameters, metaData, userPrincipal, body);
+                } catch (RuntimeException e) {
+                    if (transaction) {
+                        throw e;
+                    }
+                    LOGGER.warn("Command {} of the batch failed", command.getClass().getSimpleName(), e);
+                    body = SoapFactories.messageFactory().createMessage().getSOAPBody();
+                    ExecuteResponseUtil.addErrorResult(body, String.valueOf(e.getMessage()),
+                            e.getClass().getName());
+                }
+                return resultRoot(body);
+            } catch (SOAPException e) {
+                throw new XmlaSoapException("Failed to handle command in Batch", e);
+            }
+        }
+    }
+}
@@ -85,4 +85,14 @@ public interface ExecuteConstants {
 
         QName QN_ROOT = new QName(NS_URN, "root", PREFIX);
     }
+
+    /**
+     * MULTIPLE_RESULTS namespace constants for the results of Batch commands.
+     */
+    interface MULTIPLE_RESULTS {
+        String PREFIX = "";
+        String NS_URN = "http://schemas.microsoft.com/analysisservices/2003/xmla-multipleresults";
+
+        QName QN_RESULTS = new QName(NS_URN, "results", PREFIX);
+    }
 }
@@ -19,6 +19,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.UserRolePrincipal;
 import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
@@ -27,11 +29,22 @@ import org.eclipse.daanse.xmla.api.xmla.Command;
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.execute.ExecuteParameterR;
 import org.eclipse.daanse.xmla.model.record.xmla.AlterR;
+import org.eclipse.daanse.xmla.model.record.xmla.BatchR;
 import org.eclipse.daanse.xmla.model.record.xmla.CancelR;
 import org.eclipse.daanse.xmla.model.record.xmla.ClearCacheR;
+import org.eclipse.daanse.xmla.model.record.xmla.ProcessR;
 import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.ActiveCommand;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.CommandRegistry;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.DiscoverResponseCache;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.PropertyConverter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.RequestMetaDataUtils;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.ServiceMeasurement;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapBodyWriter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.StatementResponseCache;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaAdapterOptions;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaMetrics;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaParseException;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.converter.CancelHandler;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.converter.CommandConverter;
@@ -48,9 +61,33 @@ import jakarta.xml.soap.SOAPException;
 public class ExecuteDispatcher {
 
     private final Map<Class<? extends Command>, ExecuteHandler> handlers;
+    private final DiscoverResponseCache discoverResponseCache;
+    private final StatementResponseCache statementResponseCache;
+    private final CommandRegistry commandRegistry;
+    private final XmlaMetrics metrics;
 
     public ExecuteDispatcher(ExecuteService executeService) {
-        this.handlers = initHandlers(executeService);
+        this(executeService, XmlaAdapterOptions.DEFAULT, null);
+    }
+
+    /**
+     * @param executeService  the service the handlers call
+     * @param options         the response caches, which are invalidated after
+     *                        commands that change metadata or data, the metrics
+     *                        and coalescing of the commands
+     * @param commandRegistry registry the running commands are registered in and
+     *                        Cancel commands cancel them, may be {@code null}
+     */
+    public ExecuteDispatcher(ExecuteService executeService, XmlaAdapterOptions options,
+            CommandRegistry commandRegistry) {
+        XmlaMetrics metrics = options.metrics();
+        this.handlers = initHandlers(
+                metrics != null ? ServiceMeasurement.measured(ExecuteService.class, executeService) : executeService,
+                options, commandRegistry);
+        this.discoverResponseCache = options.discoverResponseCache();
+        this.statementResponseCache = options.statementResponseCache();
+        this.commandRegistry = commandRegistry;
+        this.metrics = metrics;
     }
 
     /**
@@ -64,6 +101,29 @@ public class ExecuteDispatcher {
      */
     public void dispatch(SOAPElement executeElement, SOAPBody responseBody, RequestMetaData metaData,
             UserRolePrincipal userPrincipal) throws SOAPException {
+        try {
+            dispatch(executeElement, responseBody, null, metaData, userPrincipal);
+        } catch (XMLStreamException e) {
+            // not reached without a body writer
+            throw new SOAPException(e);
+        }
+    }
+
+    /**
+     * Dispatch an Execute SOAP element to the appropriate handler. If a body
+     * writer is given and the handler is a {@link StreamingExecuteHandler}, the
+     * response is streamed to the writer and the response body stays empty.
+     *
+     * @param executeElement the Execute SOAP element
+     * @param responseBody   the response body to write to
+     * @param bodyWriter     writer for streamed responses, may be {@code null}
+     * @param metaData       request metadata
+     * @param userPrincipal  user principal information
+     * @throws SOAPException      if SOAP processing fails
+     * @throws XMLStreamException if writing a streamed response fails
+     */
+    public void dispatch(SOAPElement executeElement, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
 
         Command command = null;
         PropertiesR properties = null;
@@ -85,19 +145,139 @@ public class ExecuteDispatcher {
             }
         }
 
+        dispatch(command, properties, parameters, responseBody, bodyWriter, metaData, userPrincipal);
+    }
+
+    /**
+     * Dispatch an already parsed Execute request to the appropriate handler, see
+     * {@link #dispatch(SOAPElement, SOAPBody, SoapBodyWriter, RequestMetaData, UserRolePrincipal)}.
+     * If there is a command registry, all commands but Cancel are registered
+     * while the handler runs and the metadata carries their cancellation token.
+     * If there are metrics, the times, rows, cells and errors of the command are
+     * recorded.
+     *
+     * @param command       the parsed Command
+     * @param properties    the parsed Properties, may be {@code null}
+     * @param parameters    the parsed Parameters, may be {@code null}
+     * @param responseBody  the response body to write to
+     * @param bodyWriter    writer for streamed responses, may be {@code null}
+     * @param metaData      request metadata
+     * @param userPrincipal user principal information
+     * @throws SOAPException      if SOAP processing fails
+     * @throws XMLStreamException if writing a streamed response fails
+     */
+    public void dispatch(Command command, PropertiesR properties, List<ExecuteParameter> parameters,
+            SOAPBody responseBody, SoapBodyWriter bodyWriter, RequestMetaData metaData,
+            UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
+        if (command == null) {
+            throw new XmlaParseException("Illegal command");
+        }
         ExecuteHandler handler = handlers.get(command.getClass());
         if (handler == null) {
             throw new XmlaParseException("Unsupported command type: " + command.getClass());
         }
-        handler.handle(command, properties, parameters, metaData, userPrincipal, responseBody);
+        if (metrics == null) {
+            register(handler, command, properties, parameters, responseBody, bodyWriter, metaData, userPrincipal);
+            return;
+        }
+        String commandName = commandName(command);
+        ServiceMeasurement measurement = ServiceMeasurement.start();
+        long start = System.nanoTime();
+        try {
+            register(handler, command, properties, parameters, responseBody, bodyWriter, metaData, userPrincipal);
+        } catch (RuntimeException | SOAPException | XMLStreamException e) {
+            metrics.recordCount(commandName, XmlaMetrics.Count.ERRORS, 1);
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            metrics.recordTime(commandName, XmlaMetrics.Phase.SERVICE, measurement.serviceNanos());
+            metrics.recordTime(commandName, XmlaMetrics.Phase.BUILD, nanos - measurement.serviceNanos());
+            metrics.recordCount(commandName, XmlaMetrics.Count.ROWS, measurement.rows());
+            metrics.recordCount(commandName, XmlaMetrics.Count.CELLS, measurement.cells());
+        }
+    }
+
+    /**
+     * The name of the command interface a command implements, e.g.
+     * {@code Statement} for a {@link StatementR}.
+     *
+     * @param command the command
+     * @return the name the command is measured with
+     */
+    public static String commandName(Command command) {
+        for (Class<?> type : command.getClass().getInterfaces()) {
+            if (Command.class.isAssignableFrom(type)) {
+                return type.getSimpleName();
+            }
+        }
+        return command.getClass().getSimpleName();
+    }
+
+    private void register(ExecuteHandler handler, Command command, PropertiesR properties,
+            List<ExecuteParameter> parameters, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
+        if (commandRegistry == null || command instanceof CancelR) {
+            handle(handler, command, properties, parameters, responseBody, bodyWriter, metaData, userPrincipal);
+            return;
+        }
+        try (ActiveCommand activeCommand = commandRegistry.register(metaData, userPrincipal,
+                command.getClass().getSimpleName())) {
+            handle(handler, command, properties, parameters, responseBody, bodyWriter,
+                    RequestMetaDataUtils.withCancellationToken(metaData, activeCommand), userPrincipal);
+        }
+    }
+
+    private void handle(ExecuteHandler handler, Command command, PropertiesR properties,
+            List<ExecuteParameter> parameters, SOAPBody responseBody, SoapBodyWriter bodyWriter,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) throws SOAPException, XMLStreamException {
+        try {
+            if (bodyWriter != null && handler instanceof StreamingExecuteHandler streamingHandler) {
+                streamingHandler.handle(command, properties, parameters, metaData, userPrincipal, bodyWriter);
+            } else {
+                handler.handle(command, properties, parameters, metaData, userPrincipal, responseBody);
+            }
+        } finally {
+            // also if the command failed, it may have changed the metadata partly
+            if (command instanceof AlterR || command instanceof ClearCacheR || command instanceof ProcessR
+                    || command instanceof BatchR) {
+                invalidateAll();
+            } else if (discoverResponseCache != null && command instanceof StatementR statement) {
+                // the statement cache is invalidated by the StatementHandler
+                discoverResponseCache.executed(statement.statement(), sessionId(metaData));
+            }
+        }
+    }
+
+    /**
+     * Drops all cached responses. The object of an Alter, ClearCache or Process
+     * command is referenced by its DatabaseID, the statement cache is keyed by
+     * the Catalog name and the ID is not mapped to a name here, so the whole
+     * cache is dropped and not only the catalog.
+     */
+    private void invalidateAll() {
+        if (discoverResponseCache != null) {
+            discoverResponseCache.invalidateAll();
+        }
+        if (statementResponseCache != null) {
+            statementResponseCache.invalidateAll();
+        }
+    }
+
+    private static String sessionId(RequestMetaData metaData) {
+        return metaData != null && metaData.sessionId() != null && metaData.sessionId().isPresent()
+                ? metaData.sessionId().get()
+                : null;
     }
 
-    private Map<Class<? extends Command>, ExecuteHandler> initHandlers(ExecuteService es) {
+    private Map<Class<? extends Command>, ExecuteHandler> initHandlers(ExecuteService es,
+            XmlaAdapterOptions options, CommandRegistry commandRegistry) {
         Map<Class<? extends Command>, ExecuteHandler> map = new HashMap<>();
-        map.put(StatementR.class, new StatementHandler(es));
+        map.put(StatementR.class, new StatementHandler(es, options));
         map.put(AlterR.class, new AlterHandler(es));
         map.put(ClearCacheR.class, new ClearCacheHandler(es));
-        map.put(CancelR.class, new CancelHandler(es));
+        map.put(CancelR.class, new CancelHandler(es, commandRegistry));
+        map.put(ProcessR.class, new ProcessHandler(es));
+        map.put(BatchR.class, new BatchHandler(es, command -> map.get(command.getClass())));
         return map;
     }
 
@@ -29,6 +29,10 @@ import org.eclipse.daanse.xmla.api.exception.Messages;
 import org.eclipse.daanse.xmla.api.exception.StartEnd;
 import org.eclipse.daanse.xmla.api.exception.WarningType;
 import org.eclipse.daanse.xmla.api.xmla_empty.Emptyresult;
+import org.eclipse.daanse.xmla.model.record.exception.ErrorTypeR;
+import org.eclipse.daanse.xmla.model.record.exception.ExceptionR;
+import org.eclipse.daanse.xmla.model.record.exception.MessagesR;
+import org.eclipse.daanse.xmla.model.record.xmla_empty.EmptyresultR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteConstants.ENGINE200;
@@ -60,6 +64,17 @@ public class ExecuteResponseUtil {
         return seRoot;
     }
 
+    /**
+     * Adds an empty result that holds an error, the result of a command that
+     * failed without failing the request.
+     */
+    public static void addErrorResult(SOAPBody body, String description, String source) throws SOAPException {
+        SOAPElement root = addEmptyRoot(body);
+        List<org.eclipse.daanse.xmla.api.exception.Type> errors = List
+                .of(new ErrorTypeR(null, null, 0L, description, source, null));
+        addEmptyresult(root, new EmptyresultR(new ExceptionR(), new MessagesR(errors)));
+    }
+
     public static void addEmptyresult(SOAPElement root, Emptyresult emptyresult) {
         addException(root, emptyresult.exception());
         addMessages(root, emptyresult.messages());
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
+
+import java.util.List;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.execute.ExecuteService;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessRequest;
+import org.eclipse.daanse.xmla.api.execute.process.ProcessResponse;
+import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.model.record.execute.process.ProcessRequestR;
+import org.eclipse.daanse.xmla.model.record.xmla.ProcessR;
+
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+
+public class ProcessHandler implements ExecuteHandler {
+
+    private final ExecuteService executeService;
+
+    public ProcessHandler(ExecuteService executeService) {
+        this.executeService = executeService;
+    }
+
+    @Override
+    public void handle(Command command, PropertiesR properties, List<ExecuteParameter> parameters,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal, SOAPBody responseBody) throws SOAPException {
+        if (!(command instanceof ProcessR process)) {
+            return;
+        }
+        ProcessRequest request = new ProcessRequestR(properties, parameters, process);
+        ProcessResponse response = executeService.process(request, metaData, userPrincipal);
+        writeResponse(response, responseBody);
+    }
+
+    private void writeResponse(ProcessResponse response, SOAPBody body) throws SOAPException {
+        SOAPElement root = ExecuteResponseUtil.addEmptyRoot(body);
+        if (response != null) {
+            ExecuteResponseUtil.addEmptyresult(root, response.emptyresult());
+        }
+    }
+}
@@ -13,13 +13,17 @@
  */
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
 
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
+import org.eclipse.daanse.xmla.api.CancellationToken;
 import org.eclipse.daanse.xmla.api.RequestMetaData;
 import org.eclipse.daanse.xmla.api.UserRolePrincipal;
 import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
@@ -27,41 +31,22 @@ import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
 import org.eclipse.daanse.xmla.api.execute.ExecuteService;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
 import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
-import org.eclipse.daanse.xmla.api.mddataset.Axes;
-import org.eclipse.daanse.xmla.api.mddataset.AxesInfo;
-import org.eclipse.daanse.xmla.api.mddataset.Axis;
-import org.eclipse.daanse.xmla.api.mddataset.AxisInfo;
-import org.eclipse.daanse.xmla.api.mddataset.CellData;
-import org.eclipse.daanse.xmla.api.mddataset.CellInfo;
-import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
-import org.eclipse.daanse.xmla.api.mddataset.CellType;
-import org.eclipse.daanse.xmla.api.mddataset.CellTypeError;
-import org.eclipse.daanse.xmla.api.mddataset.CubeInfo;
-import org.eclipse.daanse.xmla.api.mddataset.HierarchyInfo;
-import org.eclipse.daanse.xmla.api.mddataset.Mddataset;
-import org.eclipse.daanse.xmla.api.mddataset.MemberType;
-import org.eclipse.daanse.xmla.api.mddataset.MembersType;
-import org.eclipse.daanse.xmla.api.mddataset.NormTupleSet;
-import org.eclipse.daanse.xmla.api.mddataset.OlapInfo;
-import org.eclipse.daanse.xmla.api.mddataset.OlapInfoCube;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarRowSet;
 import org.eclipse.daanse.xmla.api.mddataset.RowSet;
-import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetColumn;
 import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
-import org.eclipse.daanse.xmla.api.mddataset.SetListType;
-import org.eclipse.daanse.xmla.api.mddataset.TupleType;
-import org.eclipse.daanse.xmla.api.mddataset.TuplesType;
-import org.eclipse.daanse.xmla.api.mddataset.Type;
-import org.eclipse.daanse.xmla.api.mddataset.Union;
-import org.eclipse.daanse.xmla.api.mddataset.Value;
-import org.eclipse.daanse.xmla.api.msxmla.MemberRef;
-import org.eclipse.daanse.xmla.api.msxmla.MembersLookup;
-import org.eclipse.daanse.xmla.api.msxmla.NormTuple;
-import org.eclipse.daanse.xmla.api.msxmla.NormTuplesType;
 import org.eclipse.daanse.xmla.api.xmla.Command;
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.execute.statement.StatementRequestR;
 import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SingleFlight;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapBodyWriter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapElementStreamWriter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.StatementResponseCache;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaAdapterOptions;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaMetrics;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteConstants.MDDATASET;
@@ -72,24 +57,41 @@ import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPElement;
 import jakarta.xml.soap.SOAPException;
 
-public class StatementHandler implements ExecuteHandler {
+public class StatementHandler implements StreamingExecuteHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatementHandler.class);
     private static final String UUID_VALUE = "[0-9a-zA-Z]{8}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{4}-[0-9a-zA-Z]{12}";
-    private static final String QN_MEMBER_ORDINAL = "MemberOrdinal";
-    private static final String QN_MEMBER_DISP_INFO = "MemberDispInfo";
-    private static final String QN_NORM_TUPLES = "NormTuples";
-    private static final String QN_NORM_TUPLE = "NormTuple";
-    private static final String QN_MEMBER_REF = "MemberRef";
-    private static final String QN_MEMBERS_LOOKUP = "MembersLookup";
 
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
-            .withZone(ZoneId.systemDefault());
+    private static final SchemaTemplate MDDATASET_SCHEMA = new SchemaTemplate(MDDATASET.QN_ROOT,
+            StatementHandler::addMddatasetSchema);
+
+    // the rowset schema depends on the columns of the statement, only a bounded number is kept
+    private static final int MAX_ROWSET_SCHEMAS = 256;
+    private static final Map<List<Column>, SchemaTemplate> ROWSET_SCHEMAS = new ConcurrentHashMap<>();
 
     private final ExecuteService executeService;
+    private final StatementResponseCache cache;
+    private final XmlaMetrics metrics;
+    private final SingleFlight<StatementResponseCache.Key, StatementResponse> singleFlight;
 
     public StatementHandler(ExecuteService executeService) {
+        this(executeService, XmlaAdapterOptions.DEFAULT);
+    }
+
+    /**
+     * @param executeService the service the statements are executed with
+     * @param options        the response cache, the metrics that receive the
+     *                       cache hits and misses and the coalesced statements
+     *                       and whether identical queries that run at the same
+     *                       time are executed once, see {@link SingleFlight}.
+     *                       Without a cache statements of a session are only
+     *                       coalesced with statements of the same session.
+     */
+    public StatementHandler(ExecuteService executeService, XmlaAdapterOptions options) {
         this.executeService = executeService;
+        this.cache = options.statementResponseCache();
+        this.metrics = options.metrics();
+        this.singleFlight = options.coalesce() ? new SingleFlight<>() : null;
     }
 
     @Override
@@ -98,45 +100,123 @@ public class StatementHandler implements ExecuteHandler {
         if (!(command instanceof StatementR statement)) {
             return;
         }
+        StatementResponse response = execute(statement, properties, parameters, metaData, userPrincipal);
+        writeResponse(response, responseBody);
+    }
+
+    @Override
+    public void handle(Command command, PropertiesR properties, List<ExecuteParameter> parameters,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal, SoapBodyWriter bodyWriter)
+            throws SOAPException, XMLStreamException {
+        if (!(command instanceof StatementR statement)) {
+            return;
+        }
+        StatementResponse response = execute(statement, properties, parameters, metaData, userPrincipal);
+        // a cancelled command answers with a fault, as long as the body is not open
+        if (metaData != null) {
+            metaData.cancellationToken().throwIfCancelled();
+        }
+        writeResponse(response, bodyWriter);
+    }
+
+    private StatementResponse execute(StatementR statement, PropertiesR properties,
+            List<ExecuteParameter> parameters, RequestMetaData metaData, UserRolePrincipal userPrincipal) {
         String sessionId = metaData != null && metaData.sessionId() != null && metaData.sessionId().isPresent()
                 ? metaData.sessionId().get()
                 : null;
         StatementRequest request = new StatementRequestR(properties, parameters, statement, sessionId);
+        if (cache == null && singleFlight == null) {
+            return executeService.statement(request, metaData, userPrincipal);
+        }
+        StatementResponseCache.Key key = cache != null
+                ? cache.key(statement.statement(), properties, parameters, sessionId, userPrincipal)
+                : StatementResponseCache.newKey(statement.statement(), properties, parameters, sessionId,
+                        userPrincipal);
+        if (key == null) {
+            try {
+                return executeService.statement(request, metaData, userPrincipal);
+            } finally {
+                // also if the statement failed, it may have changed data partly
+                if (cache != null) {
+                    cache.executed(statement.statement(), properties, sessionId);
+                }
+            }
+        }
+        String commandName = ExecuteDispatcher.commandName(statement);
+        if (cache != null) {
+            StatementResponse cached = cache.get(key);
+            if (metrics != null) {
+                metrics.recordCount(commandName,
+                        cached != null ? XmlaMetrics.Count.CACHE_HITS : XmlaMetrics.Count.CACHE_MISSES, 1);
+            }
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (singleFlight == null) {
+            return executeAndCache(key, request, metaData, userPrincipal);
+        }
+        // the responses are only read after they were created, so all requests get the same one
+        CancellationToken token = metaData != null ? metaData.cancellationToken() : CancellationToken.NONE;
+        SingleFlight.Result<StatementResponse> result = singleFlight.execute(key, token,
+                () -> executeAndCache(key, request, metaData, userPrincipal), UnaryOperator.identity());
+        if (result.coalesced() && metrics != null) {
+            metrics.recordCount(commandName, XmlaMetrics.Count.COALESCED, 1);
+        }
+        return result.value();
+    }
+
+    private StatementResponse executeAndCache(StatementResponseCache.Key key, StatementRequest request,
+            RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+        long generation = cache != null ? cache.generation() : 0;
         StatementResponse response = executeService.statement(request, metaData, userPrincipal);
-        writeResponse(response, responseBody);
+        if (cache != null && StatementResponseCache.isCacheable(response)) {
+            cache.put(key, generation, response);
+        }
+        return response;
     }
 
+    /**
+     * Writes the response to a SAAJ body with the same writer the streaming
+     * variant uses, so both produce the same XML.
+     */
     private void writeResponse(StatementResponse response, SOAPBody body) throws SOAPException {
+        try {
+            writeResponse(response, new SoapElementStreamWriter(body));
+        } catch (XMLStreamException e) {
+            LOGGER.error("writeResponse error", e);
+            throw new XmlaSoapException("writeResponse error", e);
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #writeResponse(StatementResponse, SOAPBody)}.
+     * The body is opened after the statement was executed.
+     */
+    private void writeResponse(StatementResponse response, SoapBodyWriter bodyWriter)
+            throws SOAPException, XMLStreamException {
+        writeResponse(response, bodyWriter.openBody());
+    }
+
+    /**
+     * The schema is copied from a {@link SchemaTemplate}, every cell, tuple and
+     * member goes to the writer directly.
+     */
+    private static void writeResponse(StatementResponse response, XMLStreamWriter writer)
+            throws SOAPException, XMLStreamException {
+        StatementResponseStreamWriter streamWriter = new StatementResponseStreamWriter(writer);
         if (response != null && response.mdDataSet() != null) {
-            SOAPElement root = addMddatasetRoot(body);
-            addMdDataSet(root, response.mdDataSet());
+            streamWriter.writeMddataset(MDDATASET_SCHEMA, response.mdDataSet());
         }
-        if (response.rowSet() != null) {
-            SOAPElement root = addRowSetRoot(body, response.rowSet());
-            List<RowSetRow> rowSetRows = response.rowSet().rowSetRows();
-            if (rowSetRows != null) {
-                for (RowSetRow rowSetRow : rowSetRows) {
-                    addRowSetRow(root, rowSetRow);
-                }
-            }
+        if (response != null && response.rowSet() != null) {
+            streamWriter.writeRowSet(rowsetSchema(response.rowSet()), response.rowSet());
         }
-        if (response.mdDataSet() == null && response.rowSet() == null) {
-            ExecuteResponseUtil.addEmptyRoot(body);
+        if (response == null || (response.mdDataSet() == null && response.rowSet() == null)) {
+            streamWriter.writeEmpty();
         }
     }
 
-    private SOAPElement addMddatasetRoot(SOAPElement body) throws SOAPException {
-        SOAPElement seExecuteResponse = body.addChildElement(Constants.MSXMLA.QN_EXECUTE_RESPONSE);
-        SOAPElement seReturn = seExecuteResponse.addChildElement(Constants.MSXMLA.QN_RETURN);
-        SOAPElement seRoot = seReturn.addChildElement(MDDATASET.QN_ROOT);
-        seRoot.setAttribute("xmlns:xsi", Constants.XSI.NS_URN);
-        seRoot.setAttribute("xmlns:xsd", Constants.XSD.NS_URN);
-        seRoot.setAttribute("xmlns:EX", Constants.EX.NS_URN);
-        addMddatasetSchema(seRoot);
-        return seRoot;
-    }
-
-    private void addMddatasetSchema(SOAPElement root) {
+    private static void addMddatasetSchema(SOAPElement root) {
         SOAPElement schema = addChildElement(root, Constants.XSD.QN_SCHEMA);
         schema.setAttribute("xmlns:xsd", Constants.XSD.NS_URN);
         schema.setAttribute("targetNamespace", MDDATASET.NS_URN);
@@ -495,333 +575,37 @@ public class StatementHandler implements ExecuteHandler {
         elementComplexTypeSequenceE3.setAttribute("type", "CellData");
     }
 
-    private void addMdDataSet(SOAPElement el, Mddataset it) throws SOAPException {
-        if (it != null) {
-            addOlapInfo(el, it.olapInfo());
-            addAxes(el, it.axes());
-            addCellData(el, it.cellData());
-            ExecuteResponseUtil.addException(el, it.exception());
-            ExecuteResponseUtil.addMessages(el, it.messages());
-        }
-    }
-
-    private void addOlapInfo(SOAPElement e, OlapInfo it) throws SOAPException {
-        if (it != null) {
-            SOAPElement seOlapInfo = e.addChildElement(MDDATASET.QN_OLAP_INFO);
-            addCubeInfo(seOlapInfo, it.cubeInfo());
-            addAxesInfo(seOlapInfo, it.axesInfo());
-            addCellInfo(seOlapInfo, it.cellInfo());
-        }
-    }
-
-    private void addCubeInfo(SOAPElement e, CubeInfo it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_CUBE_INFO);
-            addOlapInfoCubeList(el, it.cube());
-        }
-    }
-
-    private void addOlapInfoCubeList(SOAPElement e, List<OlapInfoCube> list) {
-        if (list != null) {
-            list.forEach(it -> addOlapInfoCube(e, it));
-        }
-    }
-
-    private void addOlapInfoCube(SOAPElement e, OlapInfoCube it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_CUBE);
-            addChildElement(el, MDDATASET.QN_CUBE_NAME, it.cubeName());
-            addChildElement(el, ExecuteConstants.ENGINE.QN_LAST_DATA_UPDATE, instantToString(it.lastDataUpdate()));
-            addChildElement(el, ExecuteConstants.ENGINE.QN_LAST_SCHEMA_UPDATE, instantToString(it.lastSchemaUpdate()));
-        }
-    }
-
-    private void addAxesInfo(SOAPElement e, AxesInfo it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_AXES_INFO);
-            addAxisInfoList(el, it.axisInfo());
-        }
-    }
-
-    private void addAxisInfoList(SOAPElement el, List<AxisInfo> list) {
-        if (list != null) {
-            list.forEach(it -> addAxisInfo(el, it));
-        }
-    }
-
-    private void addAxisInfo(SOAPElement e, AxisInfo it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_AXIS_INFO);
-            setAttribute(el, "name", it.name());
-            addHierarchyInfoList(el, it.hierarchyInfo());
-        }
-    }
-
-    private void addHierarchyInfoList(SOAPElement el, List<HierarchyInfo> list) {
-        if (list != null) {
-            list.forEach(it -> addHierarchyInfo(el, it));
-        }
-    }
-
-    private void addHierarchyInfo(SOAPElement e, HierarchyInfo it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_HIERARCHY_INFO);
-            addCellInfoItemListName(el, it.any());
-            setAttribute(el, "name", it.name());
-        }
-    }
-
-    private void addCellInfo(SOAPElement e, CellInfo it) throws SOAPException {
-        if (it != null) {
-            SOAPElement seCellInfo = e.addChildElement(MDDATASET.QN_CELL_INFO);
-            addCellInfoItemListName(seCellInfo, it.any());
-        }
-    }
-
-    private void addCellInfoItemListName(SOAPElement e, List<CellInfoItem> list) {
-        if (list != null) {
-            list.forEach(it -> addCellInfoItemName(e, it));
-        }
-    }
-
-    private void addCellInfoItemName(SOAPElement e, CellInfoItem it) {
-        if (it != null) {
-            String prefix = MDDATASET.PREFIX;
-            SOAPElement el = addChildElementWithPrefix(e, it.tagName(), prefix);
-            setAttribute(el, "name", it.name());
-            it.type().ifPresent(v -> setAttribute(el, "type", v));
-        }
-    }
-
-    private void addCellInfoItemList(SOAPElement e, List<CellInfoItem> list) {
-        if (list != null) {
-            list.forEach(it -> addCellInfoItem(e, it));
-        }
-    }
-
-    private void addCellInfoItem(SOAPElement e, CellInfoItem it) {
-        if (it != null) {
-            String prefix = MDDATASET.PREFIX;
-            SOAPElement el = addChildElementWithPrefix(e, it.tagName(), prefix);
-            el.setTextContent(it.name());
-            it.type().ifPresent(v -> setAttribute(el, "type", v));
-        }
-    }
-
-    private void addAxes(SOAPElement e, Axes it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_AXES);
-            addAxisList(el, it.axis());
-        }
-    }
-
-    private void addAxisList(SOAPElement e, List<Axis> list) {
-        if (list != null) {
-            list.forEach(it -> addAxis(e, it));
-        }
-    }
-
-    private void addAxis(SOAPElement e, Axis it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_AXIS);
-            addTypeList(el, it.setType());
-            setAttribute(el, "name", it.name());
-        }
-    }
-
-    private void addTypeList(SOAPElement e, List<Type> list) {
-        if (list != null) {
-            list.forEach(it -> addType(e, it));
-        }
-    }
-
-    private void addType(SOAPElement soapElement, Type type) {
-        if (type != null) {
-            if (type instanceof MembersType membersType) {
-                addMembersType(soapElement, membersType);
-            }
-            if (type instanceof TuplesType tuplesType) {
-                addTuplesType(soapElement, tuplesType);
-            }
-            if (type instanceof SetListType setListType) {
-                addSetListType(soapElement, setListType);
-            }
-            if (type instanceof NormTupleSet normTupleSet) {
-                addNormTupleSet(soapElement, normTupleSet);
+    private static SchemaTemplate rowsetSchema(RowSet rowSet) {
+        List<Column> columns = new ArrayList<>();
+        if (rowSet instanceof ColumnarRowSet columnar) {
+            for (RowSetColumn column : columnar.columns()) {
+                columns.add(new Column(column.tagName(), column.fieldName(),
+                        column.type() != null ? column.type() : ItemTypeEnum.STRING, column.nullable()));
             }
-            if (type instanceof Union union) {
-                addUnion(soapElement, union);
+        } else if (rowSet.rowSetRows() != null && !rowSet.rowSetRows().isEmpty() && rowSet.rowSetRows().get(0) != null
+                && rowSet.rowSetRows().get(0).rowSetRowItem() != null) {
+            for (RowSetRowItem item : rowSet.rowSetRows().get(0).rowSetRowItem()) {
+                columns.add(new Column(item.tagName(), item.fieldName(), item.type().orElse(ItemTypeEnum.STRING),
+                        true));
             }
         }
-    }
-
-    private void addMembersType(SOAPElement e, MembersType it) {
-        if (it != null && it.member() != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_MEMBERS);
-            it.member().forEach(item -> addMemberType(el, item));
-            setAttribute(e, "Hierarchy", it.hierarchy());
-        }
-    }
-
-    private void addTuplesType(SOAPElement e, TuplesType it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_TUPLES);
-            addTuplesTypeList(el, it.tuple());
-        }
-    }
-
-    private void addTuplesTypeList(SOAPElement e, List<TupleType> list) {
-        if (list != null) {
-            list.forEach(it -> addTupleTypeTuple(e, it));
-        }
-    }
-
-    private void addTupleTypeTuple(SOAPElement e, TupleType it) {
-        if (it != null && it.member() != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_TUPLE);
-            it.member().forEach(item -> addMemberType(el, item));
-        }
-    }
-
-    private void addTupleTypeMembers(SOAPElement e, TupleType it) {
-        if (it != null && it.member() != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_MEMBERS);
-            it.member().forEach(item -> addMemberType(el, item));
-        }
-    }
-
-    private void addMemberType(SOAPElement e, MemberType it) {
-        if (it != null) {
-            SOAPElement seMember = addChildElement(e, MDDATASET.QN_MEMBER);
-            addCellInfoItemList(seMember, it.any());
-            setAttribute(seMember, "Hierarchy", it.hierarchy());
-        }
-    }
-
-    private void addSetListType(SOAPElement e, SetListType it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_CROSS_PRODUCT);
-            addTypeList(el, it.setType());
-            addChildElement(el, MDDATASET.QN_SIZE, String.valueOf(it.size()));
-        }
-    }
-
-    private void addNormTupleSet(SOAPElement soapElement, NormTupleSet normTupleSet) {
-        if (normTupleSet != null) {
-            SOAPElement el = addChildElement(soapElement, MDDATASET.QN_NORM_TUPLE_SET);
-            addNormTuplesType(el, normTupleSet.normTuples());
-            addTupleTypeList(el, normTupleSet.membersLookup());
-        }
-    }
-
-    private void addNormTuplesType(SOAPElement e, NormTuplesType it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, QN_NORM_TUPLES);
-            addNormTupleList(el, it.normTuple());
-        }
-    }
-
-    private void addNormTupleList(SOAPElement el, List<NormTuple> list) {
-        if (list != null) {
-            list.forEach(it -> addNormTuple(el, it));
-        }
-    }
-
-    private void addNormTuple(SOAPElement e, NormTuple it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, QN_NORM_TUPLE);
-            addMemberRefList(el, it.memberRef());
-        }
-    }
-
-    private void addMemberRefList(SOAPElement e, List<MemberRef> list) {
-        if (list != null) {
-            list.forEach(it -> addMemberRef(e, it));
-        }
-    }
-
-    private void addMemberRef(SOAPElement e, MemberRef it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, QN_MEMBER_REF);
-            addChildElementWithValue(el, QN_MEMBER_ORDINAL, String.valueOf(it.memberOrdinal()));
-            addChildElementWithValue(el, QN_MEMBER_DISP_INFO, String.valueOf(it.memberDispInfo()));
-        }
-    }
-
-    private void addTupleTypeList(SOAPElement soapElement, MembersLookup membersLookup) {
-        if (membersLookup != null) {
-            SOAPElement el = addChildElement(soapElement, QN_MEMBERS_LOOKUP);
-            if (membersLookup.members() != null) {
-                membersLookup.members().forEach(it -> addTupleTypeMembers(el, it));
+        SchemaTemplate template = ROWSET_SCHEMAS.get(columns);
+        if (template == null) {
+            template = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT, root -> addRowsetSchema(root, columns));
+            if (ROWSET_SCHEMAS.size() < MAX_ROWSET_SCHEMAS) {
+                SchemaTemplate existing = ROWSET_SCHEMAS.putIfAbsent(columns, template);
+                if (existing != null) {
+                    template = existing;
+                }
             }
         }
+        return template;
     }
 
-    private void addUnion(SOAPElement soapElement, Union union) {
-        if (union != null) {
-            SOAPElement el = addChildElement(soapElement, MDDATASET.QN_UNION);
-            addTypeList(el, union.setType());
-        }
-    }
-
-    private void addCellData(SOAPElement e, CellData it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_CELL_DATA);
-            addCellTypeList(el, it.cell());
-        }
-    }
-
-    private void addCellTypeList(SOAPElement el, List<CellType> list) {
-        if (list != null) {
-            list.forEach(it -> addCellType(el, it));
-        }
-    }
-
-    private void addCellType(SOAPElement e, CellType it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_CELL);
-            addCellTypeValue(el, it.value());
-            addCellInfoItemList(el, it.any());
-            setAttribute(el, "CellOrdinal", String.valueOf(it.cellOrdinal()));
-        }
-    }
-
-    private void addCellTypeValue(SOAPElement e, Value it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_VALUE);
-            el.setAttribute("xsi:type", it.type().getValue());
-            el.setTextContent(it.value());
-            addCellTypeErrorList(el, it.error());
-        }
-    }
-
-    private void addCellTypeErrorList(SOAPElement el, List<CellTypeError> list) {
-        if (list != null) {
-            list.forEach(it -> addCellTypeError(el, it));
-        }
-    }
-
-    private void addCellTypeError(SOAPElement e, CellTypeError it) {
-        if (it != null) {
-            SOAPElement el = addChildElement(e, MDDATASET.QN_ERROR);
-            setAttribute(el, "ErrorCode", String.valueOf(it.errorCode()));
-            setAttribute(el, "Description", it.description());
-        }
+    private record Column(String tagName, String fieldName, ItemTypeEnum type, boolean nullable) {
     }
 
-    private SOAPElement addRowSetRoot(SOAPBody body, RowSet rowSet) throws SOAPException {
-        SOAPElement seExecuteResponse = body.addChildElement(Constants.MSXMLA.QN_EXECUTE_RESPONSE);
-        SOAPElement seReturn = seExecuteResponse.addChildElement(Constants.MSXMLA.QN_RETURN);
-        SOAPElement seRoot = seReturn.addChildElement(DiscoverConstants.ROWSET.QN_ROOT);
-
-        seRoot.setAttribute("xmlns:xsi", Constants.XSI.NS_URN);
-        seRoot.setAttribute("xmlns:xsd", Constants.XSD.NS_URN);
-        seRoot.setAttribute("xmlns:EX", Constants.EX.NS_URN);
-        addRowsetSchema(seRoot, rowSet);
-        return seRoot;
-    }
-
-    private void addRowsetSchema(SOAPElement root, RowSet rowSet) {
+    private static void addRowsetSchema(SOAPElement root, List<Column> columns) {
         SOAPElement schema = addChildElement(root, Constants.XSD.QN_SCHEMA);
         schema.setAttribute("xmlns:xsd", Constants.XSD.NS_URN);
         schema.setAttribute("targetNamespace", DiscoverConstants.ROWSET.NS_URN);
@@ -855,56 +639,18 @@ public class StatementHandler implements ExecuteHandler {
         SOAPElement ct = addChildElement(schema, Constants.XSD.QN_COMPLEX_TYPE);
         ct.setAttribute("name", "row");
         SOAPElement ctSequence = addChildElement(ct, Constants.XSD.QN_SEQUENCE);
-        if (rowSet.rowSetRows() != null && !rowSet.rowSetRows().isEmpty() && rowSet.rowSetRows().get(0) != null
-                && rowSet.rowSetRows().get(0).rowSetRowItem() != null) {
-            for (RowSetRowItem item : rowSet.rowSetRows().get(0).rowSetRowItem()) {
-                SOAPElement ctSequenceEl1 = addChildElement(ctSequence, Constants.XSD.QN_ELEMENT);
-                ItemTypeEnum type = item.type().orElse(ItemTypeEnum.STRING);
+        for (Column column : columns) {
+            SOAPElement ctSequenceEl1 = addChildElement(ctSequence, Constants.XSD.QN_ELEMENT);
+            if (column.nullable()) {
                 ctSequenceEl1.setAttribute("minOccurs", "0");
-                ctSequenceEl1.setAttribute("name", item.tagName());
-                ctSequenceEl1.setAttribute("sql:field", item.fieldName());
-                ctSequenceEl1.setAttribute("type", type.getValue());
             }
+            ctSequenceEl1.setAttribute("name", column.tagName());
+            ctSequenceEl1.setAttribute("sql:field", column.fieldName());
+            ctSequenceEl1.setAttribute("type", column.type().getValue());
         }
     }
 
-    private void addRowSetRow(SOAPElement e, RowSetRow it) throws SOAPException {
-        SOAPElement seRow = e.addChildElement(DiscoverConstants.ROWSET.QN_ROW);
-        if (it.rowSetRowItem() != null) {
-            it.rowSetRowItem().forEach(i -> addRowSetRowItem(seRow, i));
-        }
-    }
-
-    private void addRowSetRowItem(SOAPElement e, RowSetRowItem it) {
-        if (it != null) {
-            SOAPElement el = addChildElementWithPrefix(e, it.tagName(), DiscoverConstants.ROWSET.PREFIX);
-            el.setTextContent(it.value());
-            it.type().ifPresent(v -> setAttribute(el, "type", v.getValue()));
-        }
-    }
-
-    private String instantToString(Instant instant) {
-        return instant != null ? formatter.format(instant) : null;
-    }
-
-    private void setAttribute(SOAPElement el, String name, String value) {
-        if (value != null) {
-            el.setAttribute(name, value);
-        }
-    }
-
-    private SOAPElement addChildElement(SOAPElement element, QName qNameOfChild, String valueOfChild) {
-        try {
-            SOAPElement createdChild = element.addChildElement(qNameOfChild);
-            createdChild.setTextContent(valueOfChild);
-            return createdChild;
-        } catch (SOAPException e) {
-            LOGGER.error("addChildElement {} error", qNameOfChild);
-            throw new XmlaSoapException("addChildElement error", e);
-        }
-    }
-
-    private SOAPElement addChildElement(SOAPElement element, QName qNameOfChild) {
+    private static SOAPElement addChildElement(SOAPElement element, QName qNameOfChild) {
         try {
             return element.addChildElement(qNameOfChild);
         } catch (SOAPException e) {
@@ -912,37 +658,4 @@ public class StatementHandler implements ExecuteHandler {
             throw new XmlaSoapException("addChildElement error", e);
         }
     }
-
-    private SOAPElement addChildElement(SOAPElement element, String childElementName) {
-        try {
-            return element.addChildElement(childElementName);
-        } catch (SOAPException e) {
-            LOGGER.error("addChildElement {} error", childElementName);
-            throw new XmlaSoapException("addChildElement error", e);
-        }
-    }
-
-    private void addChildElementWithValue(SOAPElement element, String childElementName, String value) {
-        try {
-            if (value != null) {
-                element.addChildElement(childElementName).setTextContent(value);
-            }
-        } catch (SOAPException e) {
-            LOGGER.error("addChildElement {} error", childElementName);
-            throw new XmlaSoapException("addChildElement error", e);
-        }
-    }
-
-    private SOAPElement addChildElementWithPrefix(SOAPElement element, String childElementName, String prefix) {
-        try {
-            if (prefix == null || prefix.isEmpty()) {
-                return element.addChildElement(childElementName);
-            } else {
-                return element.addChildElement(childElementName, prefix);
-            }
-        } catch (SOAPException e) {
-            LOGGER.error("addChildElement {} error", childElementName);
-            throw new XmlaSoapException("addChildElement error", e);
-        }
-    }
 }
@@ -0,0 +1,647 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
+
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.StaxUtil.writeAttribute;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.StaxUtil.writeElement;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.StaxUtil.writeElementWithValue;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.StaxUtil.writeStartElement;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.daanse.xmla.api.engine200.WarningColumn;
+import org.eclipse.daanse.xmla.api.engine200.WarningLocationObject;
+import org.eclipse.daanse.xmla.api.engine200.WarningMeasure;
+import org.eclipse.daanse.xmla.api.exception.ErrorType;
+import org.eclipse.daanse.xmla.api.exception.Exception;
+import org.eclipse.daanse.xmla.api.exception.MessageLocation;
+import org.eclipse.daanse.xmla.api.exception.Messages;
+import org.eclipse.daanse.xmla.api.exception.StartEnd;
+import org.eclipse.daanse.xmla.api.exception.WarningType;
+import org.eclipse.daanse.xmla.api.mddataset.Axes;
+import org.eclipse.daanse.xmla.api.mddataset.AxesInfo;
+import org.eclipse.daanse.xmla.api.mddataset.Axis;
+import org.eclipse.daanse.xmla.api.mddataset.AxisInfo;
+import org.eclipse.daanse.xmla.api.mddataset.CellData;
+import org.eclipse.daanse.xmla.api.mddataset.CellInfo;
+import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.CellTypeError;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarCellData;
+import org.eclipse.daanse.xmla.api.mddataset.ColumnarRowSet;
+import org.eclipse.daanse.xmla.api.mddataset.CubeInfo;
+import org.eclipse.daanse.xmla.api.mddataset.HierarchyInfo;
+import org.eclipse.daanse.xmla.api.mddataset.Mddataset;
+import org.eclipse.daanse.xmla.api.mddataset.MemberType;
+import org.eclipse.daanse.xmla.api.mddataset.MembersType;
+import org.eclipse.daanse.xmla.api.mddataset.NormTupleSet;
+import org.eclipse.daanse.xmla.api.mddataset.OlapInfo;
+import org.eclipse.daanse.xmla.api.mddataset.OlapInfoCube;
+import org.eclipse.daanse.xmla.api.mddataset.RowSet;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetColumn;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+import org.eclipse.daanse.xmla.api.mddataset.SetListType;
+import org.eclipse.daanse.xmla.api.mddataset.TupleType;
+import org.eclipse.daanse.xmla.api.mddataset.TuplesType;
+import org.eclipse.daanse.xmla.api.mddataset.Type;
+import org.eclipse.daanse.xmla.api.mddataset.Union;
+import org.eclipse.daanse.xmla.api.mddataset.Value;
+import org.eclipse.daanse.xmla.api.msxmla.MemberRef;
+import org.eclipse.daanse.xmla.api.msxmla.MembersLookup;
+import org.eclipse.daanse.xmla.api.msxmla.NormTuple;
+import org.eclipse.daanse.xmla.api.msxmla.NormTuplesType;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SchemaTemplate;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteConstants.ENGINE200;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteConstants.MDDATASET;
+
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * Writes the ExecuteResponse of a statement to an {@link XMLStreamWriter}.
+ * Every cell, tuple and member goes to the writer directly, so no DOM of the
+ * result is built when streaming. {@link StatementHandler} also writes its SAAJ
+ * responses with it, through a
+ * {@link org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapElementStreamWriter}.
+ */
+class StatementResponseStreamWriter {
+
+    private static final String QN_MEMBER_ORDINAL = "MemberOrdinal";
+    private static final String QN_MEMBER_DISP_INFO = "MemberDispInfo";
+    private static final String QN_NORM_TUPLES = "NormTuples";
+    private static final String QN_NORM_TUPLE = "NormTuple";
+    private static final String QN_MEMBER_REF = "MemberRef";
+    private static final String QN_MEMBERS_LOOKUP = "MembersLookup";
+    private static final String HIERARCHY = "Hierarchy";
+    private static final String NAME = "name";
+    private static final String TYPE = "type";
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final XMLStreamWriter writer;
+
+    StatementResponseStreamWriter(XMLStreamWriter writer) {
+        this.writer = writer;
+    }
+
+    void writeMddataset(SchemaTemplate schema, Mddataset mddataset) throws SOAPException, XMLStreamException {
+        writeRoot(MDDATASET.QN_ROOT);
+        schema.writeSchema(writer);
+        if (mddataset != null) {
+            writeOlapInfo(mddataset.olapInfo());
+            writeAxes(mddataset.axes());
+            writeCellData(mddataset.cellData());
+            writeException(mddataset.exception());
+            writeMessages(mddataset.messages());
+        }
+        writeEndRoot();
+    }
+
+    void writeRowSet(SchemaTemplate schema, RowSet rowSet) throws SOAPException, XMLStreamException {
+        writeRoot(DiscoverConstants.ROWSET.QN_ROOT);
+        schema.writeSchema(writer);
+        if (rowSet instanceof ColumnarRowSet columnar) {
+            writeColumnarRows(columnar);
+        } else if (rowSet.rowSetRows() != null) {
+            for (RowSetRow row : rowSet.rowSetRows()) {
+                writeRowSetRow(row);
+            }
+        }
+        writeEndRoot();
+    }
+
+    void writeEmpty() throws XMLStreamException {
+        writeRoot(ExecuteConstants.EMPTY.QN_ROOT);
+        writeEndRoot();
+    }
+
+    private void writeRoot(QName root) throws XMLStreamException {
+        writeStartElement(writer, Constants.MSXMLA.QN_EXECUTE_RESPONSE);
+        writeStartElement(writer, Constants.MSXMLA.QN_RETURN);
+        writeStartElement(writer, root);
+        writer.writeNamespace(Constants.XSI.PREFIX, Constants.XSI.NS_URN);
+        writer.writeNamespace(Constants.XSD.PREFIX, Constants.XSD.NS_URN);
+        writer.writeNamespace(Constants.EX.PREFIX, Constants.EX.NS_URN);
+    }
+
+    private void writeEndRoot() throws XMLStreamException {
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private void writeOlapInfo(OlapInfo it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_OLAP_INFO);
+            writeCubeInfo(it.cubeInfo());
+            writeAxesInfo(it.axesInfo());
+            writeCellInfo(it.cellInfo());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCubeInfo(CubeInfo it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_CUBE_INFO);
+            if (it.cube() != null) {
+                for (OlapInfoCube cube : it.cube()) {
+                    writeOlapInfoCube(cube);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeOlapInfoCube(OlapInfoCube it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_CUBE);
+            writeElement(writer, MDDATASET.QN_CUBE_NAME, it.cubeName());
+            writeElement(writer, ExecuteConstants.ENGINE.QN_LAST_DATA_UPDATE, instantToString(it.lastDataUpdate()));
+            writeElement(writer, ExecuteConstants.ENGINE.QN_LAST_SCHEMA_UPDATE,
+                    instantToString(it.lastSchemaUpdate()));
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeAxesInfo(AxesInfo it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_AXES_INFO);
+            if (it.axisInfo() != null) {
+                for (AxisInfo axisInfo : it.axisInfo()) {
+                    writeAxisInfo(axisInfo);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeAxisInfo(AxisInfo it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_AXIS_INFO);
+            writeAttribute(writer, NAME, it.name());
+            if (it.hierarchyInfo() != null) {
+                for (HierarchyInfo hierarchyInfo : it.hierarchyInfo()) {
+                    writeHierarchyInfo(hierarchyInfo);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeHierarchyInfo(HierarchyInfo it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_HIERARCHY_INFO);
+            writeAttribute(writer, NAME, it.name());
+            writeCellInfoItemListName(it.any());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCellInfo(CellInfo it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_CELL_INFO);
+            writeCellInfoItemListName(it.any());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCellInfoItemListName(List<CellInfoItem> list) throws XMLStreamException {
+        if (list != null) {
+            for (CellInfoItem it : list) {
+                if (it != null) {
+                    writer.writeEmptyElement(it.tagName());
+                    writeAttribute(writer, NAME, it.name());
+                    writeAttribute(writer, TYPE, it.type().orElse(null));
+                }
+            }
+        }
+    }
+
+    private void writeCellInfoItemList(List<CellInfoItem> list) throws XMLStreamException {
+        if (list != null) {
+            for (CellInfoItem it : list) {
+                if (it != null) {
+                    writer.writeStartElement(it.tagName());
+                    writeAttribute(writer, TYPE, it.type().orElse(null));
+                    if (it.name() != null) {
+                        writer.writeCharacters(it.name());
+                    }
+                    writer.writeEndElement();
+                }
+            }
+        }
+    }
+
+    private void writeAxes(Axes it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_AXES);
+            if (it.axis() != null) {
+                for (Axis axis : it.axis()) {
+                    writeAxis(axis);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeAxis(Axis it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_AXIS);
+            writeAttribute(writer, HIERARCHY, membersHierarchy(it.setType()));
+            writeAttribute(writer, NAME, it.name());
+            writeTypeList(it.setType());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeTypeList(List<Type> list) throws XMLStreamException {
+        if (list != null) {
+            for (Type type : list) {
+                writeType(type);
+            }
+        }
+    }
+
+    private void writeType(Type type) throws XMLStreamException {
+        if (type != null) {
+            if (type instanceof MembersType membersType) {
+                writeMembersType(membersType);
+            }
+            if (type instanceof TuplesType tuplesType) {
+                writeTuplesType(tuplesType);
+            }
+            if (type instanceof SetListType setListType) {
+                writeSetListType(setListType);
+            }
+            if (type instanceof NormTupleSet normTupleSet) {
+                writeNormTupleSet(normTupleSet);
+            }
+            if (type instanceof Union union) {
+                writeUnion(union);
+            }
+        }
+    }
+
+    /**
+     * The SAAJ writer puts the hierarchy of a Members element on the enclosing
+     * element. The attribute has to be known before the children are written, so
+     * it is looked up in advance here; the last one wins like with
+     * {@code setAttribute}.
+     */
+    private static String membersHierarchy(List<Type> list) {
+        String hierarchy = null;
+        if (list != null) {
+            for (Type type : list) {
+                if (type instanceof MembersType membersType && membersType.member() != null
+                        && membersType.hierarchy() != null) {
+                    hierarchy = membersType.hierarchy();
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    private void writeMembersType(MembersType it) throws XMLStreamException {
+        if (it != null && it.member() != null) {
+            writeStartElement(writer, MDDATASET.QN_MEMBERS);
+            for (MemberType member : it.member()) {
+                writeMemberType(member);
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeTuplesType(TuplesType it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_TUPLES);
+            if (it.tuple() != null) {
+                for (TupleType tuple : it.tuple()) {
+                    writeTupleType(MDDATASET.QN_TUPLE, tuple);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeTupleType(QName qName, TupleType it) throws XMLStreamException {
+        if (it != null && it.member() != null) {
+            writeStartElement(writer, qName);
+            for (MemberType member : it.member()) {
+                writeMemberType(member);
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeMemberType(MemberType it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_MEMBER);
+            writeAttribute(writer, HIERARCHY, it.hierarchy());
+            writeCellInfoItemList(it.any());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeSetListType(SetListType it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_CROSS_PRODUCT);
+            writeAttribute(writer, HIERARCHY, membersHierarchy(it.setType()));
+            writeTypeList(it.setType());
+            writeElement(writer, MDDATASET.QN_SIZE, String.valueOf(it.size()));
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeNormTupleSet(NormTupleSet it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_NORM_TUPLE_SET);
+            writeNormTuplesType(it.normTuples());
+            writeMembersLookup(it.membersLookup());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeNormTuplesType(NormTuplesType it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement(QN_NORM_TUPLES);
+            if (it.normTuple() != null) {
+                for (NormTuple normTuple : it.normTuple()) {
+                    writeNormTuple(normTuple);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeNormTuple(NormTuple it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement(QN_NORM_TUPLE);
+            if (it.memberRef() != null) {
+                for (MemberRef memberRef : it.memberRef()) {
+                    writeMemberRef(memberRef);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeMemberRef(MemberRef it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement(QN_MEMBER_REF);
+            writeElementWithValue(writer, QN_MEMBER_ORDINAL, String.valueOf(it.memberOrdinal()));
+            writeElementWithValue(writer, QN_MEMBER_DISP_INFO, String.valueOf(it.memberDispInfo()));
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeMembersLookup(MembersLookup it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement(QN_MEMBERS_LOOKUP);
+            if (it.members() != null) {
+                for (TupleType members : it.members()) {
+                    writeTupleType(MDDATASET.QN_MEMBERS, members);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeUnion(Union it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_UNION);
+            writeAttribute(writer, HIERARCHY, membersHierarchy(it.setType()));
+            writeTypeList(it.setType());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCellData(CellData it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_CELL_DATA);
+            if (it instanceof ColumnarCellData columnar) {
+                writeColumnarCells(columnar);
+            } else if (it.cell() != null) {
+                for (CellType cell : it.cell()) {
+                    writeCellType(cell);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeColumnarCells(ColumnarCellData it) throws XMLStreamException {
+        for (int i = 0; i < it.cellCount(); i++) {
+            if (!it.isPlain(i)) {
+                writeCellType(it.cell(i));
+                continue;
+            }
+            writeStartElement(writer, MDDATASET.QN_CELL);
+            writer.writeAttribute("CellOrdinal", String.valueOf(it.cellOrdinal(i)));
+            String value = it.value(i);
+            if (value != null) {
+                writeStartElement(writer, MDDATASET.QN_VALUE);
+                if (it.valueType(i) != null) {
+                    writer.writeAttribute(Constants.XSI.PREFIX, Constants.XSI.NS_URN, TYPE, it.valueType(i).getValue());
+                }
+                writer.writeCharacters(value);
+                writer.writeEndElement();
+            }
+            String formattedValue = it.formattedValue(i);
+            if (formattedValue != null) {
+                writer.writeStartElement(ColumnarCellData.FMT_VALUE);
+                writer.writeCharacters(formattedValue);
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCellType(CellType it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_CELL);
+            writer.writeAttribute("CellOrdinal", String.valueOf(it.cellOrdinal()));
+            writeCellTypeValue(it.value());
+            writeCellInfoItemList(it.any());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCellTypeValue(Value it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_VALUE);
+            if (it.type() != null) {
+                writer.writeAttribute(Constants.XSI.PREFIX, Constants.XSI.NS_URN, TYPE, it.type().getValue());
+            }
+            if (it.value() != null) {
+                writer.writeCharacters(it.value());
+            }
+            if (it.error() != null) {
+                for (CellTypeError error : it.error()) {
+                    writeCellTypeError(error);
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeCellTypeError(CellTypeError it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_ERROR);
+            writer.writeAttribute("ErrorCode", String.valueOf(it.errorCode()));
+            writeAttribute(writer, Constants.DESCRIPTION, it.description());
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeColumnarRows(ColumnarRowSet it) throws XMLStreamException {
+        List<RowSetColumn> columns = it.columns();
+        for (int row = 0; row < it.rowCount(); row++) {
+            writeStartElement(writer, DiscoverConstants.ROWSET.QN_ROW);
+            for (int i = 0; i < columns.size(); i++) {
+                if (!it.isNull(row, i)) {
+                    RowSetColumn column = columns.get(i);
+                    writer.writeStartElement(column.tagName());
+                    if (column.type() != null) {
+                        writer.writeAttribute(TYPE, column.type().getValue());
+                    }
+                    writer.writeCharacters(it.value(row, i));
+                    writer.writeEndElement();
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeRowSetRow(RowSetRow it) throws XMLStreamException {
+        writeStartElement(writer, DiscoverConstants.ROWSET.QN_ROW);
+        if (it.rowSetRowItem() != null) {
+            for (RowSetRowItem item : it.rowSetRowItem()) {
+                if (item != null) {
+                    writer.writeStartElement(item.tagName());
+                    if (item.type().isPresent()) {
+                        writer.writeAttribute(TYPE, item.type().get().getValue());
+                    }
+                    if (item.value() != null) {
+                        writer.writeCharacters(item.value());
+                    }
+                    writer.writeEndElement();
+                }
+            }
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeException(Exception it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeEmptyElement("Exception");
+        }
+    }
+
+    private void writeMessages(Messages it) throws XMLStreamException {
+        if (it != null) {
+            writeStartElement(writer, MDDATASET.QN_MESSAGES);
+            if (it.warningOrError() != null) {
+                for (org.eclipse.daanse.xmla.api.exception.Type type : it.warningOrError()) {
+                    if (type instanceof WarningType warningType) {
+                        writeWarningType(warningType);
+                    }
+                    if (type instanceof ErrorType errorType) {
+                        writeErrorType(errorType);
+                    }
+                }
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeErrorType(ErrorType it) throws XMLStreamException {
+        writer.writeStartElement("Error");
+        writeAttribute(writer, Constants.DESCRIPTION, it.description());
+        writeAttribute(writer, "Source", it.source());
+        writeAttribute(writer, "HelpFile", it.helpFile());
+        writeElementWithValue(writer, "Callstack", it.callstack());
+        writeElementWithValue(writer, "ErrorCode", String.valueOf(it.errorCode()));
+        writeMessageLocation(it.location());
+        writer.writeEndElement();
+    }
+
+    private void writeWarningType(WarningType it) throws XMLStreamException {
+        writer.writeStartElement("Warning");
+        writeElementWithValue(writer, "WarningCode", String.valueOf(it.warningCode()));
+        writeMessageLocation(it.location());
+        writeElementWithValue(writer, "Description", it.description());
+        writeElementWithValue(writer, "Source", it.source());
+        writeElementWithValue(writer, "HelpFile", it.helpFile());
+        writer.writeEndElement();
+    }
+
+    private void writeMessageLocation(MessageLocation it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement("Location");
+            writeStartEnd("Start", it.start());
+            writeStartEnd("End", it.end());
+            writeElementWithValue(writer, "LineOffset", String.valueOf(it.lineOffset()));
+            writeElementWithValue(writer, "TextLength", String.valueOf(it.textLength()));
+            writeWarningLocationObject("SourceObject", it.sourceObject());
+            writeWarningLocationObject("DependsOnObject", it.dependsOnObject());
+            writeElementWithValue(writer, "RowNumber", String.valueOf(it.rowNumber()));
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeWarningLocationObject(String tagName, WarningLocationObject it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement(tagName);
+            WarningColumn column = it.warningColumn();
+            if (column != null) {
+                writeStartElement(writer, ENGINE200.QN_WARNING_COLUMN);
+                writeElementWithValue(writer, "Dimension", column.dimension());
+                writeElementWithValue(writer, "Attribute", column.attribute());
+                writer.writeEndElement();
+            }
+            WarningMeasure measure = it.warningMeasure();
+            if (measure != null) {
+                writeStartElement(writer, ENGINE200.QN_WARNING_MEASURE);
+                writeElementWithValue(writer, "Cube", measure.cube());
+                writeElementWithValue(writer, "MeasureGroup", measure.measureGroup());
+                writeElementWithValue(writer, "MeasureName", measure.measureName());
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+    }
+
+    private void writeStartEnd(String tagName, StartEnd it) throws XMLStreamException {
+        if (it != null) {
+            writer.writeStartElement(tagName);
+            writeElementWithValue(writer, "Line", String.valueOf(it.line()));
+            writeElementWithValue(writer, "Column", String.valueOf(it.column()));
+            writer.writeEndElement();
+        }
+    }
+
+    private static String instantToString(Instant instant) {
+        return instant != null ? formatter.format(instant) : null;
+    }
+}
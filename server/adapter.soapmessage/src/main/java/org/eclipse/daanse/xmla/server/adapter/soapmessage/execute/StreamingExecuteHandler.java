@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
+
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.execute.ExecuteParameter;
+import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapBodyWriter;
+
+import jakarta.xml.soap.SOAPException;
+
+/**
+ * {@link ExecuteHandler} that can also write its response directly to a
+ * {@link SoapBodyWriter} instead of building it in a SAAJ body.
+ */
+public interface StreamingExecuteHandler extends ExecuteHandler {
+
+    void handle(Command command, PropertiesR properties, List<ExecuteParameter> parameters, RequestMetaData metaData,
+            UserRolePrincipal userPrincipal, SoapBodyWriter bodyWriter) throws SOAPException, XMLStreamException;
+}
@@ -25,6 +25,7 @@ import org.eclipse.daanse.xmla.api.xmla.Command;
 import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
 import org.eclipse.daanse.xmla.model.record.execute.cancel.CancelRequestR;
 import org.eclipse.daanse.xmla.model.record.xmla.CancelR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.CommandRegistry;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteHandler;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.ExecuteResponseUtil;
 
@@ -35,9 +36,20 @@ import jakarta.xml.soap.SOAPException;
 public class CancelHandler implements ExecuteHandler {
 
     private final ExecuteService executeService;
+    private final CommandRegistry commandRegistry;
 
     public CancelHandler(ExecuteService executeService) {
+        this(executeService, null);
+    }
+
+    /**
+     * @param executeService  the service the Cancel command is passed on to
+     * @param commandRegistry registry of the running commands that are cancelled
+     *                        first, may be {@code null}
+     */
+    public CancelHandler(ExecuteService executeService, CommandRegistry commandRegistry) {
         this.executeService = executeService;
+        this.commandRegistry = commandRegistry;
     }
 
     @Override
@@ -46,6 +58,9 @@ public class CancelHandler implements ExecuteHandler {
         if (!(command instanceof CancelR cancel)) {
             return;
         }
+        if (commandRegistry != null) {
+            commandRegistry.cancel(cancel, metaData, userPrincipal);
+        }
         CancelRequest request = new CancelRequestR(properties, parameters, cancel);
         CancelResponse response = executeService.cancel(request, metaData, userPrincipal);
         writeResponse(response, responseBody);
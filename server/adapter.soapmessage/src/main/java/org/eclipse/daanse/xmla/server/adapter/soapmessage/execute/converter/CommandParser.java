@@ -17,6 +17,7 @@ import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.AGGRE
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.ALLOW_CREATE;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.ALTER;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.ASSEMBLY_ID;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.BATCH;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.CANCEL;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.CLEAR_CACHE;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.CUBE_ID;
@@ -38,28 +39,44 @@ import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.OBJEC
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.OBJECT_EXPANSION;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.PARTITION_ID;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.PERSPECTIVE_ID;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.PROCESS;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.ROLE_ID;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.SERVER_ID;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.STATEMENT;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.Constants.TRACE_ID;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.getAttribute;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.matchesLocalName;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.nodeListToMap;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.toBigInteger;
 import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.toBoolean;
+import static org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlNodeHelper.toInteger;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import org.eclipse.daanse.xmla.api.xmla.Alter;
+import org.eclipse.daanse.xmla.api.xmla.Batch;
+import org.eclipse.daanse.xmla.api.xmla.Cancel;
+import org.eclipse.daanse.xmla.api.xmla.ClearCache;
 import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.api.xmla.DataSource;
+import org.eclipse.daanse.xmla.api.xmla.DataSourceView;
+import org.eclipse.daanse.xmla.api.xmla.ErrorConfiguration;
 import org.eclipse.daanse.xmla.api.xmla.MajorObject;
 import org.eclipse.daanse.xmla.api.xmla.ObjectExpansion;
 import org.eclipse.daanse.xmla.api.xmla.ObjectReference;
+import org.eclipse.daanse.xmla.api.xmla.Process;
 import org.eclipse.daanse.xmla.api.xmla.Scope;
+import org.eclipse.daanse.xmla.api.xmla.WriteBackTableCreation;
 import org.eclipse.daanse.xmla.model.record.xmla.AlterR;
+import org.eclipse.daanse.xmla.model.record.xmla.BatchR;
 import org.eclipse.daanse.xmla.model.record.xmla.CancelR;
 import org.eclipse.daanse.xmla.model.record.xmla.ClearCacheR;
 import org.eclipse.daanse.xmla.model.record.xmla.ObjectReferenceR;
+import org.eclipse.daanse.xmla.model.record.xmla.ProcessR;
 import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaParseException;
 import org.w3c.dom.NodeList;
@@ -68,8 +85,8 @@ import jakarta.xml.soap.Node;
 import jakarta.xml.soap.SOAPElement;
 
 /**
- * Parser for XMLA Command elements. Handles Statement, Alter, Cancel, and
- * ClearCache commands.
+ * Parser for XMLA Command elements. Handles Statement, Alter, Cancel,
+ * ClearCache, Process and Batch commands.
  */
 public class CommandParser {
 
@@ -80,6 +97,15 @@ public class CommandParser {
     private static final String SESSION_ID = "SessionID";
     private static final String SPID = "SPID";
     private static final String CANCEL_ASSOCIATED = "CancelAssociated";
+    private static final String PARALLEL = "Parallel";
+    private static final String MAX_PARALLEL = "MaxParallel";
+    private static final String TRANSACTION = "Transaction";
+    private static final String PROCESS_AFFECTED_OBJECTS = "ProcessAffectedObjects";
+    private static final String PROCESS_TYPE = "Type";
+    private static final String DATA_SOURCE = "DataSource";
+    private static final String DATA_SOURCE_VIEW = "DataSourceView";
+    private static final String ERROR_CONFIGURATION = "ErrorConfiguration";
+    private static final String WRITE_BACK_TABLE_CREATION = "WriteBackTableCreation";
 
     private CommandParser() {
         // utility class
@@ -126,11 +152,131 @@ public class CommandParser {
         if (matchesLocalName(n, CANCEL)) {
             return getCancelCommand(n.getChildNodes());
         }
+        if (matchesLocalName(n, PROCESS)) {
+            return getProcessCommand(n.getChildNodes());
+        }
+        if (matchesLocalName(n, BATCH)) {
+            return getBatchCommand(n, majorObjectParser);
+        }
         return null;
     }
 
+    /**
+     * Create a Batch command. Of the commands in a Batch, Alter, ClearCache,
+     * Cancel and Process are supported, Process also in Parallel groups. Besides
+     * the lists by type, the commands are kept in document order.
+     */
+    static Command getBatchCommand(org.w3c.dom.Node n, MajorObjectParser majorObjectParser) {
+        List<Batch.Step> commands = new ArrayList<>();
+        List<Batch.Parallel> parallel = new ArrayList<>();
+        List<Alter> alter = new ArrayList<>();
+        List<Process> process = new ArrayList<>();
+        List<Cancel> cancel = new ArrayList<>();
+        List<ClearCache> clearCache = new ArrayList<>();
+        DataSource dataSource = null;
+        DataSourceView dataSourceView = null;
+        ErrorConfiguration errorConfiguration = null;
+
+        NodeList nl = n.getChildNodes();
+        for (int i = 0; i < nl.getLength(); i++) {
+            org.w3c.dom.Node node = nl.item(i);
+            if (node.getNodeType() != org.w3c.dom.Node.ELEMENT_NODE) {
+                continue;
+            }
+            if (matchesLocalName(node, PARALLEL)) {
+                Batch.Parallel group = getParallel(node);
+                parallel.add(group);
+                commands.add(new BatchR.Step(null, group));
+            } else if (matchesLocalName(node, ALTER)) {
+                Alter command = (Alter) getAlterCommand(node.getChildNodes(), majorObjectParser);
+                alter.add(command);
+                commands.add(new BatchR.Step(command, null));
+            } else if (matchesLocalName(node, PROCESS)) {
+                Process command = (Process) getProcessCommand(node.getChildNodes());
+                process.add(command);
+                commands.add(new BatchR.Step(command, null));
+            } else if (matchesLocalName(node, CANCEL)) {
+                Cancel command = (Cancel) getCancelCommand(node.getChildNodes());
+                cancel.add(command);
+                commands.add(new BatchR.Step(command, null));
+            } else if (matchesLocalName(node, CLEAR_CACHE)) {
+                ClearCache command = (ClearCache) getClearCacheCommand(node.getChildNodes());
+                clearCache.add(command);
+                commands.add(new BatchR.Step(command, null));
+            } else if (matchesLocalName(node, DATA_SOURCE)) {
+                dataSource = DataSourceConverter.getDataSource(node.getChildNodes());
+            } else if (matchesLocalName(node, DATA_SOURCE_VIEW)) {
+                dataSourceView = DataSourceConverter.getDataSourceView(node.getChildNodes());
+            } else if (matchesLocalName(node, ERROR_CONFIGURATION)) {
+                errorConfiguration = CommonConverter.getErrorConfiguration(node.getChildNodes());
+            } else {
+                throw new XmlaParseException("Unsupported command in Batch: " + node.getNodeName());
+            }
+        }
+        Boolean transaction = toBoolean(getAttribute(n.getAttributes(), TRANSACTION));
+        Boolean processAffectedObjects = toBoolean(getAttribute(n.getAttributes(), PROCESS_AFFECTED_OBJECTS));
+        return new BatchR(parallel, null, dataSource, dataSourceView, errorConfiguration, List.of(), alter, List.of(),
+                process, List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(),
+                List.of(), List.of(), cancel, List.of(), List.of(), List.of(), clearCache, List.of(), List.of(),
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), null,
+                List.of(), transaction, processAffectedObjects, commands);
+    }
+
+    private static Batch.Parallel getParallel(org.w3c.dom.Node n) {
+        List<Process> process = new ArrayList<>();
+        NodeList nl = n.getChildNodes();
+        for (int i = 0; i < nl.getLength(); i++) {
+            org.w3c.dom.Node node = nl.item(i);
+            if (matchesLocalName(node, PROCESS)) {
+                process.add((Process) getProcessCommand(node.getChildNodes()));
+            } else if (node.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
+                throw new XmlaParseException("Unsupported command in Parallel: " + node.getNodeName());
+            }
+        }
+        return new BatchR.Parallel(process, toInteger(getAttribute(n.getAttributes(), MAX_PARALLEL)));
+    }
+
+    static Command getProcessCommand(NodeList nl) {
+        String type = null;
+        ObjectReference object = null;
+        DataSource dataSource = null;
+        DataSourceView dataSourceView = null;
+        ErrorConfiguration errorConfiguration = null;
+        WriteBackTableCreation writeBackTableCreation = null;
+
+        for (int i = 0; i < nl.getLength(); i++) {
+            org.w3c.dom.Node node = nl.item(i);
+            if (matchesLocalName(node, PROCESS_TYPE)) {
+                type = node.getTextContent();
+            }
+            if (matchesLocalName(node, OBJECT_REFERENCE)) {
+                object = getObjectReference(node.getChildNodes());
+            }
+            if (matchesLocalName(node, DATA_SOURCE)) {
+                dataSource = DataSourceConverter.getDataSource(node.getChildNodes());
+            }
+            if (matchesLocalName(node, DATA_SOURCE_VIEW)) {
+                dataSourceView = DataSourceConverter.getDataSourceView(node.getChildNodes());
+            }
+            if (matchesLocalName(node, ERROR_CONFIGURATION)) {
+                errorConfiguration = CommonConverter.getErrorConfiguration(node.getChildNodes());
+            }
+            if (matchesLocalName(node, WRITE_BACK_TABLE_CREATION)) {
+                writeBackTableCreation = WriteBackTableCreation.fromValue(node.getTextContent());
+            }
+        }
+        return new ProcessR(type, object, null, dataSource, dataSourceView, errorConfiguration,
+                writeBackTableCreation);
+    }
+
     static Command getCancelCommand(NodeList nl) {
-        Map<String, String> map = nodeListToMap(nl);
+        return getCancelCommand(nodeListToMap(nl));
+    }
+
+    /**
+     * Create a Cancel command from the values of its child elements by local name.
+     */
+    public static Command getCancelCommand(Map<String, String> map) {
         BigInteger connectionID = toBigInteger(map.get(CONNECTION_ID));
         String sessionID = map.get(SESSION_ID);
         BigInteger spid = toBigInteger(map.get(SPID));
@@ -182,7 +328,14 @@ public class CommandParser {
     }
 
     static ObjectReference getObjectReference(NodeList nl) {
-        Map<String, String> map = nodeListToMap(nl);
+        return getObjectReference(nodeListToMap(nl));
+    }
+
+    /**
+     * Create an ObjectReference from the values of its child elements by local
+     * name.
+     */
+    public static ObjectReference getObjectReference(Map<String, String> map) {
         return new ObjectReferenceR(map.get(SERVER_ID), map.get(DATABASE_ID), map.get(ROLE_ID), map.get(TRACE_ID),
                 map.get(ASSEMBLY_ID), map.get(DIMENSION_ID), map.get(DIMENSION_PERMISSION_ID), map.get(DATA_SOURCE_ID),
                 map.get(DATA_SOURCE_PERMISSION_ID), map.get(DATABASE_PERMISSION_ID), map.get(DATA_SOURCE_VIEW_ID),
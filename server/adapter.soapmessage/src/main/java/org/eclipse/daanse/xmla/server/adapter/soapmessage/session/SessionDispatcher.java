@@ -59,8 +59,24 @@ public class SessionDispatcher {
      */
     public Optional<Session> processSessionHeaders(SOAPElement soapRequestHeader, UserRolePrincipal userPrincipal)
             throws SOAPException {
+        return processSessionHeaders(SessionHeaderParser.getSession(soapRequestHeader),
+                SessionHeaderParser.getBeginSession(soapRequestHeader),
+                SessionHeaderParser.getEndSession(soapRequestHeader), userPrincipal);
+    }
+
+    /**
+     * Process already parsed session headers, see
+     * {@link #processSessionHeaders(SOAPElement, UserRolePrincipal)}.
+     *
+     * @param oSession      the Session header
+     * @param beginSession  the BeginSession header
+     * @param oEndSession   the EndSession header
+     * @param userPrincipal the user principal
+     * @return Optional containing the session if active, empty otherwise
+     */
+    public Optional<Session> processSessionHeaders(Optional<Session> oSession, Optional<BeginSession> beginSession,
+            Optional<EndSession> oEndSession, UserRolePrincipal userPrincipal) {
         // Check for existing session
-        Optional<Session> oSession = SessionHeaderParser.getSession(soapRequestHeader);
         if (oSession.isPresent()) {
             boolean checked = sessionService.checkSession(oSession.get(), userPrincipal);
             if (checked) {
@@ -71,13 +87,11 @@ public class SessionDispatcher {
         }
 
         // Check for begin session request
-        Optional<BeginSession> beginSession = SessionHeaderParser.getBeginSession(soapRequestHeader);
         if (beginSession.isPresent()) {
             return sessionService.beginSession(beginSession.get(), userPrincipal);
         }
 
         // Check for end session request
-        Optional<EndSession> oEndSession = SessionHeaderParser.getEndSession(soapRequestHeader);
         if (oEndSession.isPresent()) {
             sessionService.endSession(oEndSession.get(), userPrincipal);
             return Optional.empty();
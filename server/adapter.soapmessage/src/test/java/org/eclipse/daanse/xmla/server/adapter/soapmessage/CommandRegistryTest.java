@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.model.record.RequestMetaDataR;
+import org.eclipse.daanse.xmla.model.record.xmla.CancelR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class CommandRegistryTest {
+
+    private static final UserRolePrincipal ALICE = user("alice");
+    private static final UserRolePrincipal BOB = user("bob");
+
+    private final CommandRegistry registry = new CommandRegistry();
+
+    @Nested
+    class Register {
+
+        @Test
+        void register_close_removed() {
+            ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR");
+            assertEquals(1, registry.size());
+            assertEquals(Optional.of(command), registry.get(command.id()));
+
+            command.close();
+
+            assertEquals(0, registry.size());
+        }
+
+        @Test
+        void register_twice_differentIds() {
+            try (ActiveCommand first = registry.register(metaData("s1"), ALICE, "StatementR");
+                    ActiveCommand second = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                assertTrue(first.id() != second.id());
+            }
+        }
+    }
+
+    @Nested
+    class Cancel {
+
+        @Test
+        void cancel_withoutTarget_cancelsRequestSession() {
+            try (ActiveCommand s1 = registry.register(metaData("s1"), ALICE, "StatementR");
+                    ActiveCommand s2 = registry.register(metaData("s2"), ALICE, "StatementR")) {
+                assertEquals(1, registry.cancel(new CancelR(null, null, null, null), metaData("s1"), ALICE));
+                assertTrue(s1.isCancelled());
+                assertFalse(s2.isCancelled());
+            }
+        }
+
+        @Test
+        void cancel_sessionId_cancelsSession() {
+            try (ActiveCommand s2 = registry.register(metaData("s2"), ALICE, "StatementR")) {
+                assertEquals(1, registry.cancel(new CancelR(null, "s2", null, null), metaData("s1"), ALICE));
+                assertTrue(s2.isCancelled());
+            }
+        }
+
+        @Test
+        void cancel_spid_cancelsOnlyCommand() {
+            try (ActiveCommand first = registry.register(metaData("s1"), ALICE, "StatementR");
+                    ActiveCommand second = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                CancelR cancel = new CancelR(null, null, BigInteger.valueOf(first.id()), null);
+
+                assertEquals(1, registry.cancel(cancel, metaData("s2"), ALICE));
+                assertTrue(first.isCancelled());
+                assertFalse(second.isCancelled());
+            }
+        }
+
+        @Test
+        void cancel_spidCancelAssociated_cancelsSession() {
+            try (ActiveCommand first = registry.register(metaData("s1"), ALICE, "StatementR");
+                    ActiveCommand second = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                CancelR cancel = new CancelR(null, null, BigInteger.valueOf(first.id()), true);
+
+                assertEquals(2, registry.cancel(cancel, metaData("s2"), ALICE));
+                assertTrue(first.isCancelled());
+                assertTrue(second.isCancelled());
+            }
+        }
+
+        @Test
+        void cancel_otherUser_notCancelled() {
+            try (ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                assertEquals(0, registry.cancel(new CancelR(null, "s1", null, null), metaData("s1"), BOB));
+                assertFalse(command.isCancelled());
+            }
+        }
+
+        @Test
+        void cancel_connectionId_ignored() {
+            try (ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                CancelR cancel = new CancelR(BigInteger.ONE, null, null, null);
+
+                assertEquals(0, registry.cancel(cancel, metaData("s1"), ALICE));
+                assertFalse(command.isCancelled());
+            }
+        }
+    }
+
+    @Nested
+    class Token {
+
+        @Test
+        void onCancel_runsActionOnce() {
+            AtomicInteger runs = new AtomicInteger();
+            try (ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                command.onCancel(runs::incrementAndGet);
+
+                registry.cancel(new CancelR(null, "s1", null, null), metaData("s1"), ALICE);
+                registry.cancel(new CancelR(null, "s1", null, null), metaData("s1"), ALICE);
+            }
+            assertEquals(1, runs.get());
+        }
+
+        @Test
+        void onCancel_afterCancel_runsImmediately() {
+            AtomicInteger runs = new AtomicInteger();
+            try (ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                registry.cancel(new CancelR(null, "s1", null, null), metaData("s1"), ALICE);
+                command.onCancel(runs::incrementAndGet);
+            }
+            assertEquals(1, runs.get());
+        }
+
+        @Test
+        void cancel_doesNotInterruptThread() {
+            try (ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR")) {
+                registry.cancel(new CancelR(null, "s1", null, null), metaData("s1"), ALICE);
+                assertTrue(command.isCancelled());
+                assertFalse(Thread.currentThread().isInterrupted());
+            }
+        }
+
+        @Test
+        void cancel_afterClose_notInterrupted() {
+            ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR");
+            command.close();
+
+            assertEquals(0, registry.cancel(new CancelR(null, "s1", null, null), metaData("s1"), ALICE));
+            assertFalse(command.isCancelled());
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+
+    @Nested
+    class ActiveCommands {
+
+        @Test
+        void activeCommands_ofTokenUser_orderedById() {
+            try (ActiveCommand first = registry.register(metaData("s1"), ALICE, "StatementR");
+                    ActiveCommand other = registry.register(metaData("s2"), BOB, "StatementR");
+                    ActiveCommand second = registry.register(metaData("s3"), ALICE, "DISCOVER_COMMANDS")) {
+                assertEquals(List.of(first, second), registry.activeCommands(second));
+                assertEquals(List.of(other), registry.activeCommands(other));
+            }
+        }
+
+        @Test
+        void activeCommands_unknownToken_empty() {
+            ActiveCommand command = registry.register(metaData("s1"), ALICE, "StatementR");
+            command.close();
+
+            assertEquals(List.of(), registry.activeCommands(command));
+            assertEquals(List.of(), registry.activeCommands(CancellationToken.NONE));
+        }
+    }
+
+    private static RequestMetaData metaData(String sessionId) {
+        return new RequestMetaDataR(Optional.empty(), Optional.of(sessionId), Optional.empty());
+    }
+
+    private static UserRolePrincipal user(String name) {
+        return new UserRolePrincipal() {
+
+            @Override
+            public String userName() {
+                return name;
+            }
+
+            @Override
+            public boolean hasRole(String role) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPFactory;
+
+class DiscoverResponseCacheTest {
+
+    private DiscoverResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DiscoverResponseCache(2, Duration.ofMinutes(1));
+    }
+
+    @Nested
+    class KeyTests {
+
+        @Test
+        void key_sameRequest_equal() {
+            assertEquals(cache.key("MDSCHEMA_CUBES", null, Map.of("CATALOG_NAME", List.of("FoodMart")), null, null),
+                    cache.key("MDSCHEMA_CUBES", null, Map.of("CATALOG_NAME", List.of("FoodMart")), null, null));
+        }
+
+        @Test
+        void key_otherRestriction_notEqual() {
+            assertNotEquals(
+                    cache.key("MDSCHEMA_CUBES", null, Map.of("CATALOG_NAME", List.of("FoodMart")), null, null),
+                    cache.key("MDSCHEMA_CUBES", null, Map.of("CATALOG_NAME", List.of("Sales")), null, null));
+        }
+
+        @Test
+        void key_members_notCached() {
+            assertNull(cache.key("MDSCHEMA_MEMBERS", null, Map.of(), null, null));
+        }
+
+        @Test
+        void key_otherRolesOrCustomData_notEqual() {
+            PropertiesR admin = new PropertiesR();
+            admin.setRoles(Optional.of("Admin"));
+            PropertiesR reader = new PropertiesR();
+            reader.setRoles(Optional.of("Reader"));
+            PropertiesR customData = new PropertiesR();
+            customData.setCustomData(Optional.of("region=east"));
+
+            assertNotEquals(cache.key("MDSCHEMA_CUBES", admin, Map.of(), null, null),
+                    cache.key("MDSCHEMA_CUBES", reader, Map.of(), null, null));
+            assertNotEquals(cache.key("MDSCHEMA_CUBES", null, Map.of(), null, null),
+                    cache.key("MDSCHEMA_CUBES", customData, Map.of(), null, null));
+        }
+
+        @Test
+        void key_afterCreateSet_perSession() {
+            assertNull(cache.key("MDSCHEMA_SETS", null, Map.of(), "s1", null).sessionId());
+
+            cache.executed("CREATE SET [Sales].[Top] AS {}", "s1");
+
+            assertEquals("s1", cache.key("MDSCHEMA_SETS", null, Map.of(), "s1", null).sessionId());
+            assertNull(cache.key("MDSCHEMA_SETS", null, Map.of(), "s2", null).sessionId());
+        }
+
+        @Test
+        void key_sessionEnded_notPerSession() {
+            cache.executed("CREATE SET [Sales].[Top] AS {}", "s1");
+
+            cache.sessionEnded("s1");
+
+            assertNull(cache.key("MDSCHEMA_SETS", null, Map.of(), "s1", null).sessionId());
+        }
+
+        @Test
+        void key_moreStatefulSessionsThanMax_otherSessionsNotCached() {
+            for (int i = 0; i <= StatefulSessions.MAX_SESSIONS; i++) {
+                cache.executed("CREATE SET [Sales].[Top] AS {}", "s" + i);
+            }
+
+            assertEquals("s0", cache.key("MDSCHEMA_SETS", null, Map.of(), "s0", null).sessionId());
+            assertNull(cache.key("MDSCHEMA_SETS", null, Map.of(), "s" + StatefulSessions.MAX_SESSIONS, null));
+            assertNull(cache.key("MDSCHEMA_SETS", null, Map.of(), "other", null));
+            assertNotNull(cache.key("MDSCHEMA_SETS", null, Map.of(), null, null));
+
+            cache.sessionEnded("s0");
+            cache.executed("CREATE SET [Sales].[Top] AS {}", "s" + StatefulSessions.MAX_SESSIONS);
+
+            assertEquals("s" + StatefulSessions.MAX_SESSIONS, cache.key("MDSCHEMA_SETS", null, Map.of(),
+                    "s" + StatefulSessions.MAX_SESSIONS, null).sessionId());
+            assertNull(cache.key("MDSCHEMA_SETS", null, Map.of(), "other", null));
+        }
+    }
+
+    @Nested
+    class EntryTests {
+
+        @Test
+        void get_afterPut_returnsCopy() throws Exception {
+            DiscoverResponseCache.Key key = cache.key("MDSCHEMA_CUBES", null, Map.of(), null, null);
+            cache.put(key, cache.generation(), response());
+
+            assertNotNull(cache.get(key));
+            assertEquals("DiscoverResponse", copy(cache.get(key)).getLocalName());
+        }
+
+        @Test
+        void put_responseChangedLater_entryUnchanged() throws Exception {
+            DiscoverResponseCache.Key key = cache.key("MDSCHEMA_CUBES", null, Map.of(), null, null);
+            SOAPElement response = response();
+            cache.put(key, cache.generation(), response);
+
+            response.addChildElement("changed");
+
+            assertEquals(1, copy(cache.get(key)).getChildNodes().getLength());
+        }
+
+        @Test
+        void put_afterInvalidate_notCached() throws Exception {
+            DiscoverResponseCache.Key key = cache.key("MDSCHEMA_CUBES", null, Map.of(), null, null);
+            long generation = cache.generation();
+            cache.invalidateAll();
+
+            cache.put(key, generation, response());
+
+            assertNull(cache.get(key));
+        }
+
+        @Test
+        void put_full_evictsLeastRecentlyUsed() throws Exception {
+            DiscoverResponseCache.Key cubes = cache.key("MDSCHEMA_CUBES", null, Map.of(), null, null);
+            DiscoverResponseCache.Key dimensions = cache.key("MDSCHEMA_DIMENSIONS", null, Map.of(), null, null);
+            DiscoverResponseCache.Key catalogs = cache.key("DBSCHEMA_CATALOGS", null, Map.of(), null, null);
+            cache.put(cubes, cache.generation(), response());
+            cache.put(dimensions, cache.generation(), response());
+            cache.get(cubes);
+
+            cache.put(catalogs, cache.generation(), response());
+
+            assertEquals(2, cache.size());
+            assertNotNull(cache.get(cubes));
+            assertNull(cache.get(dimensions));
+        }
+
+        @Test
+        void executed_ddl_dropsAll() throws Exception {
+            DiscoverResponseCache.Key key = cache.key("MDSCHEMA_SETS", null, Map.of(), null, null);
+            cache.put(key, cache.generation(), response());
+
+            cache.executed("SELECT FROM [Sales]", null);
+            assertEquals(1, cache.size());
+            cache.executed("/* session set */ CREATE SET [Sales].[Top] AS {}", null);
+
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        void get_expired_returnsNull() throws Exception {
+            cache = new DiscoverResponseCache(2, Duration.ZERO);
+            DiscoverResponseCache.Key key = cache.key("MDSCHEMA_CUBES", null, Map.of(), null, null);
+            cache.put(key, cache.generation(), response());
+            Thread.sleep(1);
+
+            assertNull(cache.get(key));
+        }
+    }
+
+    private static Element copy(XmlFragment fragment) {
+        Document document = SoapFactories.newDocument();
+        fragment.appendTo(document);
+        return document.getDocumentElement();
+    }
+
+    private static SOAPElement response() throws Exception {
+        SOAPElement response = SOAPFactory.newInstance().createElement(Constants.MSXMLA.QN_DISCOVER_RESPONSE);
+        response.addChildElement(Constants.MSXMLA.QN_RETURN);
+        return response;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HistogramMetrics.Histogram;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HistogramMetrics.TimeSummary;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaMetrics.Count;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaMetrics.Phase;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class HistogramMetricsTest {
+
+    private final HistogramMetrics metrics = new HistogramMetrics();
+
+    @Nested
+    class Buckets {
+
+        @Test
+        void index_smallValues_exact() {
+            for (int value = 0; value < 16; value++) {
+                assertEquals(value, Histogram.index(value));
+                assertEquals(value, Histogram.highestValue(Histogram.index(value)));
+            }
+        }
+
+        @Test
+        void highestValue_largeValues_withinBucketPrecision() {
+            for (long value : new long[] { 16, 17, 100, 1_000, 123_456, 1_000_000_000L, Long.MAX_VALUE }) {
+                long highest = Histogram.highestValue(Histogram.index(value));
+                assertTrue(highest >= value);
+                assertTrue(highest - value <= value / 16, value + " -> " + highest);
+            }
+        }
+
+        @Test
+        void index_increasingValues_increasingIndexes() {
+            int previous = -1;
+            for (long value = 0; value < 100_000; value += 7) {
+                int index = Histogram.index(value);
+                assertTrue(index >= previous);
+                previous = index;
+            }
+        }
+    }
+
+    @Nested
+    class Quantiles {
+
+        @Test
+        void valuesAtQuantiles_empty_zero() {
+            Histogram histogram = new Histogram();
+
+            long[] values = histogram.valuesAtQuantiles(0.5, 0.999);
+
+            assertEquals(0, values[0]);
+            assertEquals(0, values[1]);
+            assertEquals(0, histogram.count());
+        }
+
+        @Test
+        void valuesAtQuantiles_outlier_onlyInHighQuantile() {
+            Histogram histogram = new Histogram();
+            for (int i = 0; i < 999; i++) {
+                histogram.record(10);
+            }
+            histogram.record(1_000_000);
+
+            long[] values = histogram.valuesAtQuantiles(0.5, 0.99, 0.9999);
+
+            assertEquals(10, values[0]);
+            assertEquals(10, values[1]);
+            assertEquals(1_000_000, values[2]);
+            assertEquals(1_000_000, histogram.max());
+            assertEquals(1_009_990, histogram.total());
+        }
+    }
+
+    @Nested
+    class Times {
+
+        @Test
+        void times_recordedValues_quantilesAndMax() {
+            for (int i = 1; i <= 100; i++) {
+                metrics.recordTime("MDSCHEMA_CUBES", Phase.SERVICE, i * 1_000L);
+            }
+
+            List<TimeSummary> times = metrics.times();
+
+            assertEquals(1, times.size());
+            TimeSummary summary = times.get(0);
+            assertEquals("MDSCHEMA_CUBES", summary.requestType());
+            assertEquals(Phase.SERVICE, summary.phase());
+            assertEquals(100, summary.count());
+            assertEquals(5_050_000L, summary.totalNanos());
+            assertEquals(100_000L, summary.maxNanos());
+            assertNear(50_000L, summary.quantiles()[0]);
+            assertNear(90_000L, summary.quantiles()[1]);
+            assertNear(99_000L, summary.quantiles()[2]);
+        }
+
+        @Test
+        void times_severalTypesAndPhases_sorted() {
+            metrics.recordTime("Statement", Phase.WRITE, 1);
+            metrics.recordTime("MDSCHEMA_CUBES", Phase.SERVICE, 1);
+            metrics.recordTime("Statement", Phase.PARSE, 1);
+
+            List<TimeSummary> times = metrics.times();
+
+            assertEquals(3, times.size());
+            assertEquals("MDSCHEMA_CUBES", times.get(0).requestType());
+            assertEquals(Phase.PARSE, times.get(1).phase());
+            assertEquals(Phase.WRITE, times.get(2).phase());
+        }
+
+        private static void assertNear(long expected, long actual) {
+            assertTrue(Math.abs(actual - expected) <= expected / 16, expected + " ~ " + actual);
+        }
+    }
+
+    @Nested
+    class Text {
+
+        @Test
+        void writeText_timesAndCounts_prometheusFormat() throws IOException {
+            metrics.recordTime("Statement", Phase.SERVICE, 2_000_000_000L);
+            metrics.recordCount("Statement", Count.CELLS, 40);
+            metrics.recordCount("Statement", Count.CELLS, 2);
+
+            StringBuilder text = new StringBuilder();
+            metrics.writeText(text);
+
+            String output = text.toString();
+            assertTrue(output.contains("# TYPE xmla_phase_seconds summary\n"));
+            assertTrue(output.contains(
+                    "xmla_phase_seconds{request_type=\"Statement\",phase=\"service\",quantile=\"0.99\"} 2.0\n"),
+                    output);
+            assertTrue(output.contains("xmla_phase_seconds_count{request_type=\"Statement\",phase=\"service\"} 1\n"));
+            assertTrue(output.contains("xmla_cells_total{request_type=\"Statement\"} 42\n"));
+        }
+
+        @Test
+        void writeText_quoteInRequestType_escaped() throws IOException {
+            metrics.recordCount("a\"b", Count.ERRORS, 1);
+
+            StringBuilder text = new StringBuilder();
+            metrics.writeText(text);
+
+            assertTrue(text.toString().contains("xmla_errors_total{request_type=\"a\\\"b\"} 1\n"));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class HttpCompressionTest {
+
+    private static final byte[] BODY = "<row><CATALOG_NAME>FoodMart</CATALOG_NAME></row>".repeat(100)
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpCompression compression = new HttpCompression(1024, Deflater.BEST_SPEED);
+
+    @Nested
+    class NegotiateTests {
+
+        @Test
+        void negotiate_gzipAndDeflate_prefersGzip() {
+            assertEquals(HttpCompression.GZIP, compression.negotiate("deflate, gzip"));
+        }
+
+        @Test
+        void negotiate_quality_highestWins() {
+            assertEquals(HttpCompression.DEFLATE, compression.negotiate("gzip;q=0.5, deflate"));
+        }
+
+        @Test
+        void negotiate_excluded_none() {
+            assertNull(compression.negotiate("gzip;q=0, br"));
+            assertNull(compression.negotiate(null));
+        }
+
+        @Test
+        void negotiate_wildcard_gzip() {
+            assertEquals(HttpCompression.GZIP, compression.negotiate("*"));
+            assertEquals(HttpCompression.DEFLATE, compression.negotiate("gzip;q=0, *"));
+        }
+    }
+
+    @Nested
+    class StreamTests {
+
+        @Test
+        void compress_aboveThreshold_roundTrips() throws IOException {
+            for (String coding : new String[] { HttpCompression.GZIP, HttpCompression.DEFLATE }) {
+                AtomicInteger calls = new AtomicInteger();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (OutputStream compressing = compression.compress(out, coding, calls::incrementAndGet)) {
+                    for (int i = 0; i < BODY.length; i += 100) {
+                        compressing.write(BODY, i, Math.min(100, BODY.length - i));
+                    }
+                }
+
+                assertEquals(1, calls.get());
+                assertTrue(out.size() < BODY.length / 4);
+                assertArrayEquals(BODY, decompress(out.toByteArray(), coding));
+            }
+        }
+
+        @Test
+        void compress_belowThreshold_plain() throws IOException {
+            AtomicInteger calls = new AtomicInteger();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] small = "<root/>".getBytes(StandardCharsets.UTF_8);
+            try (OutputStream compressing = compression.compress(out, HttpCompression.GZIP, calls::incrementAndGet)) {
+                compressing.write(small);
+                compressing.flush();
+                assertEquals(0, out.size());
+            }
+
+            assertEquals(0, calls.get());
+            assertArrayEquals(small, out.toByteArray());
+        }
+
+        @Test
+        void compress_completeBody_thresholdApplies() throws IOException {
+            assertNull(compression.compress(new byte[10], HttpCompression.GZIP));
+            assertArrayEquals(BODY, decompress(compression.compress(BODY, HttpCompression.GZIP), HttpCompression.GZIP));
+        }
+
+        @Test
+        void isSupported_knownCodings() {
+            assertTrue(HttpCompression.isSupported(null));
+            assertTrue(HttpCompression.isSupported("GZIP"));
+            assertTrue(HttpCompression.isSupported("identity"));
+            assertFalse(HttpCompression.isSupported("br"));
+        }
+    }
+
+    private static byte[] decompress(byte[] body, String coding) throws IOException {
+        try (InputStream in = HttpCompression.decompress(new ByteArrayInputStream(body), coding)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.discover.DiscoverConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPMessage;
+
+class SchemaTemplateTest {
+
+    private AtomicInteger builds;
+    private SchemaTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        builds = new AtomicInteger();
+        template = new SchemaTemplate(DiscoverConstants.ROWSET.QN_ROOT, root -> {
+            builds.incrementAndGet();
+            SOAPElement schema = SoapUtil.fillRoot(root);
+            SoapUtil.addElement(SoapUtil.prepareSequenceElement(schema), "CATALOG_NAME", "xsd:string", "0");
+        });
+    }
+
+    @Test
+    void writeSchema_calledTwice_builtOnce() throws Exception {
+        String first = writeSchema();
+        String second = writeSchema();
+
+        assertEquals(first, second);
+        assertTrue(first.contains("CATALOG_NAME"));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void writeSchema_concurrently_sameSchema() throws Exception {
+        String expected = writeSchema();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(this::writeSchema));
+            }
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void addTo_responseRoot_copiesAttributesAndSchema() throws Exception {
+        SOAPMessage message = MessageFactory.newInstance().createMessage();
+        SOAPElement root = SoapUtil.prepareRootElement(message.getSOAPBody());
+
+        template.addTo(root);
+
+        Element schema = (Element) root.getFirstChild();
+        assertEquals(Constants.XSI.NS_URN, root.getAttribute("xmlns:xsi"));
+        assertEquals(Constants.EX.NS_URN, root.getAttribute("xmlns:EX"));
+        assertEquals("schema", schema.getLocalName());
+        assertEquals(DiscoverConstants.ROWSET.NS_URN, schema.getAttribute("targetNamespace"));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void addTo_twoResponses_separateCopies() throws Exception {
+        SOAPElement first = SoapUtil.prepareRootElement(MessageFactory.newInstance().createMessage().getSOAPBody());
+        SOAPElement second = SoapUtil.prepareRootElement(MessageFactory.newInstance().createMessage().getSOAPBody());
+
+        template.addTo(first);
+        template.addTo(second);
+
+        assertNotSame(first.getFirstChild(), second.getFirstChild());
+        assertEquals(first.getFirstChild().getLocalName(), second.getFirstChild().getLocalName());
+        assertEquals(1, builds.get());
+    }
+
+    private String writeSchema() throws Exception {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+        writer.writeStartElement("root");
+        template.writeSchema(writer);
+        writer.writeEndElement();
+        writer.flush();
+        return result.toString();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class ServiceMeasurementTest {
+
+    interface RowService {
+
+        List<String> list();
+
+        Stream<String> stream();
+
+        String fail();
+    }
+
+    private final RowService service = ServiceMeasurement.measured(RowService.class, new RowService() {
+
+        @Override
+        public List<String> list() {
+            return List.of("a", "b", "c");
+        }
+
+        @Override
+        public Stream<String> stream() {
+            return Stream.of("a", "b");
+        }
+
+        @Override
+        public String fail() {
+            throw new IllegalStateException("failed");
+        }
+    });
+
+    @Test
+    void measured_list_rowsCounted() {
+        ServiceMeasurement measurement = ServiceMeasurement.start();
+
+        service.list();
+        service.list();
+
+        assertEquals(6, measurement.rows());
+        assertTrue(measurement.serviceNanos() > 0);
+    }
+
+    @Test
+    void measured_stream_rowsCountedWhenConsumed() {
+        ServiceMeasurement measurement = ServiceMeasurement.start();
+
+        Stream<String> rows = service.stream();
+        assertEquals(0, measurement.rows());
+        rows.forEach(row -> {
+        });
+
+        assertEquals(2, measurement.rows());
+    }
+
+    @Test
+    void measured_exception_rethrownUnwrapped() {
+        ServiceMeasurement measurement = ServiceMeasurement.start();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, service::fail);
+
+        assertEquals("failed", e.getMessage());
+        assertEquals(0, measurement.rows());
+    }
+
+    @Test
+    void start_afterCalls_reset() {
+        service.list();
+
+        ServiceMeasurement measurement = ServiceMeasurement.start();
+
+        assertEquals(0, measurement.rows());
+        assertEquals(0, measurement.serviceNanos());
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.session.SessionService;
+import org.eclipse.daanse.xmla.api.xmla.BeginSession;
+import org.eclipse.daanse.xmla.api.xmla.EndSession;
+import org.eclipse.daanse.xmla.api.xmla.Session;
+import org.eclipse.daanse.xmla.model.record.xmla.BeginSessionR;
+import org.eclipse.daanse.xmla.model.record.xmla.EndSessionR;
+import org.eclipse.daanse.xmla.model.record.xmla.SessionR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SessionManagerTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration CHECK_INTERVAL = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final TestSessionService service = new TestSessionService();
+    private final SessionManager manager = new SessionManager(service, IDLE_TIMEOUT, CHECK_INTERVAL, now::get);
+
+    @Nested
+    class CheckSession {
+
+        @Test
+        void checkSession_begunSession_serviceNotCalled() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+
+            assertTrue(manager.checkSession(session, user("alice")));
+            assertEquals(0, service.checks.get());
+        }
+
+        @Test
+        void checkSession_unknownSession_checkedOnce() {
+            Session session = new SessionR("s1", null);
+
+            assertTrue(manager.checkSession(session, user("alice")));
+            assertTrue(manager.checkSession(session, user("alice")));
+            assertEquals(1, service.checks.get());
+            assertEquals(1, manager.sessionCount());
+        }
+
+        @Test
+        void checkSession_otherUser_checkedAtService() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+
+            manager.checkSession(session, user("bob"));
+
+            assertEquals(1, service.checks.get());
+        }
+
+        @Test
+        void checkSession_checkDue_checkedAtServiceAgain() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            now.addAndGet(CHECK_INTERVAL.toNanos());
+
+            assertTrue(manager.checkSession(session, user("alice")));
+            assertTrue(manager.checkSession(session, user("alice")));
+            assertEquals(1, service.checks.get());
+        }
+
+        @Test
+        void checkSession_endedAtService_removed() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            AtomicInteger closed = new AtomicInteger();
+            manager.session(session.sessionId()).orElseThrow().cache("statements",
+                    key -> (AutoCloseable) closed::incrementAndGet);
+            service.valid = false;
+            now.addAndGet(CHECK_INTERVAL.toNanos());
+
+            assertFalse(manager.checkSession(session, user("alice")));
+            assertEquals(0, manager.sessionCount());
+            assertEquals(1, closed.get());
+        }
+
+        @Test
+        void checkSession_idleSession_checkedAtService() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            now.addAndGet(IDLE_TIMEOUT.toNanos());
+
+            manager.checkSession(session, user("alice"));
+
+            assertEquals(1, service.checks.get());
+        }
+    }
+
+    @Nested
+    class Eviction {
+
+        @Test
+        void evictIdleSessions_endsIdleSessions() {
+            Session idle = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            now.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+            Session used = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            now.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+
+            assertEquals(1, manager.evictIdleSessions());
+            assertEquals(List.of(idle.sessionId()), service.ended);
+            assertTrue(manager.session(used.sessionId()).isPresent());
+        }
+
+        @Test
+        void checkSession_evictsWhenDue() {
+            manager.beginSession(new BeginSessionR(null), user("alice"));
+            now.addAndGet(IDLE_TIMEOUT.toNanos());
+
+            manager.checkSession(new SessionR("other", null), user("bob"));
+
+            assertEquals(1, service.ended.size());
+            assertEquals(1, manager.sessionCount());
+        }
+
+        @Test
+        void endSession_closesCaches() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            AtomicInteger closed = new AtomicInteger();
+            manager.session(session.sessionId()).orElseThrow().cache("statements",
+                    key -> (AutoCloseable) closed::incrementAndGet);
+
+            manager.endSession(new EndSessionR(session.sessionId(), null), user("alice"));
+
+            assertEquals(1, closed.get());
+            assertEquals(0, manager.sessionCount());
+            assertEquals(List.of(session.sessionId()), service.ended);
+        }
+    }
+
+    @Nested
+    class Principal {
+
+        @Test
+        void principal_roleChecksCached() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            AtomicInteger roleChecks = new AtomicInteger();
+            UserRolePrincipal requestPrincipal = user("alice", roleChecks);
+
+            manager.principal(Optional.of(session), requestPrincipal).hasRole("admin");
+            boolean hasRole = manager.principal(Optional.of(session), requestPrincipal).hasRole("admin");
+
+            assertTrue(hasRole);
+            assertEquals(1, roleChecks.get());
+        }
+
+        @Test
+        void principal_checkedAgain_roleChecksDropped() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            AtomicInteger roleChecks = new AtomicInteger();
+            UserRolePrincipal requestPrincipal = user("alice", roleChecks);
+            manager.principal(Optional.of(session), requestPrincipal).hasRole("admin");
+            now.addAndGet(CHECK_INTERVAL.toNanos());
+
+            manager.principal(Optional.of(session), requestPrincipal).hasRole("admin");
+            manager.checkSession(session, requestPrincipal);
+            manager.principal(Optional.of(session), requestPrincipal).hasRole("admin");
+
+            assertEquals(3, roleChecks.get());
+        }
+
+        @Test
+        void principal_withoutSession_requestPrincipal() {
+            UserRolePrincipal requestPrincipal = user("alice");
+
+            assertSame(requestPrincipal, manager.principal(Optional.empty(), requestPrincipal));
+        }
+
+        @Test
+        void principal_otherUser_requestPrincipal() {
+            Session session = manager.beginSession(new BeginSessionR(null), user("alice")).orElseThrow();
+            UserRolePrincipal requestPrincipal = user("bob");
+
+            assertSame(requestPrincipal, manager.principal(Optional.of(session), requestPrincipal));
+            assertFalse(manager.session("unknown").isPresent());
+        }
+    }
+
+    private static UserRolePrincipal user(String name) {
+        return user(name, new AtomicInteger());
+    }
+
+    private static UserRolePrincipal user(String name, AtomicInteger roleChecks) {
+        return new UserRolePrincipal() {
+
+            @Override
+            public String userName() {
+                return name;
+            }
+
+            @Override
+            public boolean hasRole(String role) {
+                roleChecks.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    private static class TestSessionService implements SessionService {
+
+        private final AtomicInteger ids = new AtomicInteger();
+        private final AtomicInteger checks = new AtomicInteger();
+        private final List<String> ended = new ArrayList<>();
+        private boolean valid = true;
+
+        @Override
+        public Optional<Session> beginSession(BeginSession beginSession, UserRolePrincipal userPrincipal) {
+            return Optional.of(new SessionR("session-" + ids.incrementAndGet(), null));
+        }
+
+        @Override
+        public boolean checkSession(Session session, UserRolePrincipal userPrincipal) {
+            checks.incrementAndGet();
+            return valid;
+        }
+
+        @Override
+        public void endSession(EndSession endSession, UserRolePrincipal userPrincipal) {
+            ended.add(endSession.sessionId());
+        }
+    }
+}
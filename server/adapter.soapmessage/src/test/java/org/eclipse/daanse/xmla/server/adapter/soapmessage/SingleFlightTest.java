@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.eclipse.daanse.xmla.api.CancellationToken;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger computations = new AtomicInteger();
+    private final AtomicInteger copies = new AtomicInteger();
+    private final UnaryOperator<String> share = value -> {
+        copies.incrementAndGet();
+        return "copy of " + value;
+    };
+
+    @Nested
+    class Coalescing {
+
+        @Test
+        void execute_concurrentSameKey_computedOnce() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<SingleFlight.Result<String>> first = CompletableFuture.supplyAsync(
+                    () -> singleFlight.execute("cubes", CancellationToken.NONE, () -> compute(release), share));
+            awaitInFlight();
+
+            CompletableFuture<SingleFlight.Result<String>> second = new CompletableFuture<>();
+            Thread thread = new Thread(() -> second
+                    .complete(singleFlight.execute("cubes", CancellationToken.NONE, () -> compute(null), share)));
+            thread.start();
+            awaitWaiting(thread);
+            release.countDown();
+
+            assertEquals(new SingleFlight.Result<>("result", false), first.get(5, TimeUnit.SECONDS));
+            assertEquals(new SingleFlight.Result<>("copy of result", true), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, computations.get());
+            assertEquals(1, copies.get());
+            assertEquals(1, singleFlight.coalesced());
+            assertEquals(0, singleFlight.inFlight());
+        }
+
+        @Test
+        void execute_sequential_computedEachTimeWithoutCopy() {
+            singleFlight.execute("cubes", CancellationToken.NONE, () -> compute(null), share);
+            SingleFlight.Result<String> result = singleFlight.execute("cubes", CancellationToken.NONE,
+                    () -> compute(null), share);
+
+            assertFalse(result.coalesced());
+            assertEquals(2, computations.get());
+            assertEquals(0, copies.get());
+        }
+
+        @Test
+        void execute_firstFails_waitingRequestsCoalesceAgain() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<SingleFlight.Result<String>> first = CompletableFuture
+                    .supplyAsync(() -> singleFlight.execute("cubes", CancellationToken.NONE, () -> {
+                        compute(release);
+                        throw new IllegalStateException("backend down");
+                    }, share));
+            awaitInFlight();
+
+            CountDownLatch releaseRetry = new CountDownLatch(1);
+            CompletableFuture<SingleFlight.Result<String>> second = new CompletableFuture<>();
+            CompletableFuture<SingleFlight.Result<String>> third = new CompletableFuture<>();
+            new Thread(() -> second.complete(
+                    singleFlight.execute("cubes", CancellationToken.NONE, () -> compute(releaseRetry), share)))
+                    .start();
+            new Thread(() -> third.complete(
+                    singleFlight.execute("cubes", CancellationToken.NONE, () -> compute(releaseRetry), share)))
+                    .start();
+            awaitWaitingRequests(2);
+            release.countDown();
+            // one of them computes again, the other one waits for it
+            awaitWaitingRequests(1);
+            releaseRetry.countDown();
+
+            Exception e = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals(1, Stream.of(second.get(5, TimeUnit.SECONDS), third.get(5, TimeUnit.SECONDS))
+                    .filter(SingleFlight.Result::coalesced).count());
+            assertEquals(2, computations.get());
+            assertEquals(1, singleFlight.coalesced());
+        }
+
+        @Test
+        void execute_waitingRequestCancelled_stopsWaiting() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<SingleFlight.Result<String>> first = CompletableFuture.supplyAsync(
+                    () -> singleFlight.execute("cubes", CancellationToken.NONE, () -> compute(release), share));
+            awaitInFlight();
+
+            TestToken token = new TestToken();
+            CompletableFuture<SingleFlight.Result<String>> second = new CompletableFuture<>();
+            new Thread(() -> {
+                try {
+                    second.complete(singleFlight.execute("cubes", token, () -> compute(null), share));
+                } catch (RuntimeException e) {
+                    second.completeExceptionally(e);
+                }
+            }).start();
+            awaitWaitingRequests(1);
+            token.cancel();
+
+            assertThrows(CancellationException.class, () -> second.get(5, TimeUnit.SECONDS));
+            release.countDown();
+            assertEquals(new SingleFlight.Result<>("result", false), first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, computations.get());
+        }
+
+        @Test
+        void execute_otherRoles_notCoalesced() throws Exception {
+            SingleFlight<DiscoverResponseCache.Key, String> discoverFlight = new SingleFlight<>();
+            PropertiesR admin = new PropertiesR();
+            admin.setRoles(Optional.of("Admin"));
+            PropertiesR reader = new PropertiesR();
+            reader.setRoles(Optional.of("Reader"));
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<SingleFlight.Result<String>> first = CompletableFuture
+                    .supplyAsync(() -> discoverFlight.execute(
+                            DiscoverResponseCache.newKey("MDSCHEMA_CUBES", admin, Map.of(), null, null),
+                            CancellationToken.NONE, () -> compute(release), share));
+            CompletableFuture<SingleFlight.Result<String>> second = CompletableFuture
+                    .supplyAsync(() -> discoverFlight.execute(
+                            DiscoverResponseCache.newKey("MDSCHEMA_CUBES", reader, Map.of(), null, null),
+                            CancellationToken.NONE, () -> compute(release), share));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (discoverFlight.inFlight() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertFalse(first.get(5, TimeUnit.SECONDS).coalesced());
+            assertFalse(second.get(5, TimeUnit.SECONDS).coalesced());
+            assertEquals(2, computations.get());
+            assertEquals(0, discoverFlight.coalesced());
+        }
+    }
+
+    private String compute(CountDownLatch release) {
+        computations.incrementAndGet();
+        if (release != null) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return "result";
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.inFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits until the given number of requests wait for the computed result.
+     */
+    private void awaitWaitingRequests(int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.waiting("cubes") != waiting && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits until the thread blocks on the result of the first request.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static final class TestToken implements CancellationToken {
+
+        private final List<Runnable> actions = new CopyOnWriteArrayList<>();
+        private volatile boolean cancelled;
+
+        void cancel() {
+            cancelled = true;
+            actions.forEach(Runnable::run);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void onCancel(Runnable action) {
+            actions.add(action);
+            if (cancelled) {
+                action.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+
+class SoapElementStreamWriterTest {
+
+    private static final String SOAP_ENV = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String NS = "urn:schemas-microsoft-com:xml-analysis:rowset";
+
+    private SOAPBody body;
+    private SoapElementStreamWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        body = MessageFactory.newInstance().createMessage().getSOAPBody();
+        writer = new SoapElementStreamWriter(body);
+    }
+
+    @Test
+    void write_sameCalls_sameXmlAsTextWriter() throws Exception {
+        write(writer);
+
+        StringWriter text = new StringWriter();
+        XMLStreamWriter textWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(text);
+        textWriter.writeStartElement("SOAP-ENV", "Body", SOAP_ENV);
+        textWriter.writeNamespace("SOAP-ENV", SOAP_ENV);
+        write(textWriter);
+        textWriter.writeEndElement();
+        textWriter.flush();
+
+        Diff diff = DiffBuilder.compare(text.toString()).withTest(serialize(body)).ignoreWhitespace()
+                .checkForSimilar().build();
+        assertFalse(diff.hasDifferences(), diff.toString());
+    }
+
+    @Test
+    void writeStartElement_withoutNamespace_inDefaultNamespaceOfParent() throws Exception {
+        writer.writeStartElement("", "root", NS);
+        writer.writeDefaultNamespace(NS);
+        writer.writeStartElement("row");
+
+        Element row = (Element) body.getFirstChild().getFirstChild();
+        assertEquals(NS, row.getNamespaceURI());
+        assertEquals(NS, writer.getNamespaceContext().getNamespaceURI(""));
+    }
+
+    @Test
+    void writeEndElement_noOpenElement_throws() {
+        assertThrows(XMLStreamException.class, writer::writeEndElement);
+    }
+
+    private static void write(XMLStreamWriter w) throws XMLStreamException {
+        StaxUtil.writeStartElement(w, Constants.MSXMLA.QN_EXECUTE_RESPONSE);
+        w.writeStartElement("", "root", NS);
+        w.writeDefaultNamespace(NS);
+        w.writeNamespace(Constants.XSI.PREFIX, Constants.XSI.NS_URN);
+        w.writeStartElement("row");
+        w.writeStartElement("CATALOG_NAME");
+        w.writeAttribute(Constants.XSI.PREFIX, Constants.XSI.NS_URN, "type", "xsd:string");
+        w.writeCharacters("Sales");
+        w.writeEndElement();
+        w.writeEmptyElement("DESCRIPTION");
+        w.writeAttribute("empty", "true");
+        w.writeStartElement("CUBE_NAME");
+        w.writeCharacters("Warehouse");
+        w.writeEndElement();
+        w.writeEndElement();
+        w.writeEndElement();
+        w.writeEndElement();
+    }
+
+    private static String serialize(SOAPElement element) throws Exception {
+        StringWriter result = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(element), new StreamResult(result));
+        return result.toString();
+    }
+}
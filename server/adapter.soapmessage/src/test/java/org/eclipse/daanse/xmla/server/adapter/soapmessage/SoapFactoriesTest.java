@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.concurrent.CompletableFuture;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+class SoapFactoriesTest {
+
+    @Test
+    void documentBuilder_sameThread_reused() {
+        assertSame(SoapFactories.documentBuilder(), SoapFactories.documentBuilder());
+    }
+
+    @Test
+    void documentBuilder_otherThread_notShared() throws Exception {
+        DocumentBuilder builder = SoapFactories.documentBuilder();
+        DocumentBuilder other = CompletableFuture.supplyAsync(SoapFactories::documentBuilder).get();
+
+        assertNotSame(builder, other);
+    }
+
+    @Test
+    void documentBuilder_namespaces_kept() throws Exception {
+        Document document = SoapFactories.documentBuilder()
+                .parse(new InputSource(new StringReader("<x:root xmlns:x=\"urn:test\"/>")));
+
+        assertEquals("urn:test", document.getDocumentElement().getNamespaceURI());
+        assertEquals("root", document.getDocumentElement().getLocalName());
+    }
+
+    @Test
+    void documentBuilder_doctype_rejected() {
+        String xml = "<!DOCTYPE root [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><root>&e;</root>";
+
+        assertThrows(SAXException.class,
+                () -> SoapFactories.documentBuilder().parse(new InputSource(new StringReader(xml))));
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+import org.eclipse.daanse.xmla.model.record.discover.PropertiesR;
+import org.eclipse.daanse.xmla.model.record.execute.ExecuteParameterR;
+import org.eclipse.daanse.xmla.model.record.execute.statement.StatementResponseR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MddatasetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class StatementResponseCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong now = new AtomicLong();
+    private final StatementResponseCache cache = new StatementResponseCache(10, TTL, now::get);
+
+    @Nested
+    class KeyTests {
+
+        @Test
+        void key_whitespace_equal() {
+            assertEquals(cache.key("SELECT  {[Measures].[Sales]}\n ON 0 FROM [Sales] ", null, null, null, null),
+                    cache.key("SELECT {[Measures].[Sales]} ON 0 FROM [Sales]", null, null, null, null));
+        }
+
+        @Test
+        void key_whitespaceInLiteral_notEqual() {
+            assertNotEquals(cache.key("SELECT [A  B] ON 0 FROM [Sales]", null, null, null, null),
+                    cache.key("SELECT [A B] ON 0 FROM [Sales]", null, null, null, null));
+        }
+
+        @Test
+        void key_otherCatalogOrParameter_notEqual() {
+            assertNotEquals(cache.key("SELECT FROM [Sales]", catalog("FoodMart"), null, null, null),
+                    cache.key("SELECT FROM [Sales]", catalog("Steelwheels"), null, null, null));
+            assertNotEquals(
+                    cache.key("SELECT FROM [Sales]", null, List.of(new ExecuteParameterR("p", "1")), null, null),
+                    cache.key("SELECT FROM [Sales]", null, List.of(new ExecuteParameterR("p", "2")), null, null));
+        }
+
+        @Test
+        void key_notQuery_notCached() {
+            assertNull(cache.key("CREATE MEMBER [Sales].[Measures].[X] AS 1", null, null, null, null));
+            assertNull(cache.key("UPDATE CUBE [Sales] SET ([Measures].[Sales]) = 1", null, null, null, null));
+        }
+
+        @Test
+        void key_drillthroughOrLeadingComment_cached() {
+            assertEquals("DRILLTHROUGH SELECT FROM [Sales]",
+                    cache.key("DRILLTHROUGH SELECT FROM [Sales]", null, null, null, null).statement());
+            assertNotNull(cache.key("-- sales\nSELECT FROM [Sales]", null, null, null, null));
+            assertNotNull(cache.key("/* sales */ WITH MEMBER [Measures].[X] AS 1 SELECT FROM [Sales]", null, null,
+                    null, null));
+            assertNull(cache.key("/* SELECT */ CREATE SET [Sales].[S] AS {}", null, null, null, null));
+        }
+
+        @Test
+        void key_afterSessionStatement_perSession() {
+            cache.executed("CREATE MEMBER [Sales].[Measures].[X] AS 1", null, "s1");
+
+            assertEquals("s1", cache.key("SELECT FROM [Sales]", null, null, "s1", null).sessionId());
+            assertNull(cache.key("SELECT FROM [Sales]", null, null, "s2", null).sessionId());
+        }
+
+        @Test
+        void key_moreStatefulSessionsThanMax_otherSessionsNotCached() {
+            for (int i = 0; i <= StatefulSessions.MAX_SESSIONS; i++) {
+                cache.executed("CREATE MEMBER [Sales].[Measures].[X] AS 1", null, "s" + i);
+            }
+
+            assertEquals("s0", cache.key("SELECT FROM [Sales]", null, null, "s0", null).sessionId());
+            assertNull(cache.key("SELECT FROM [Sales]", null, null, "s" + StatefulSessions.MAX_SESSIONS, null));
+            assertNull(cache.key("SELECT FROM [Sales]", null, null, "other", null));
+            assertNotNull(cache.key("SELECT FROM [Sales]", null, null, null, null));
+        }
+    }
+
+    @Nested
+    class EntryTests {
+
+        @Test
+        void get_afterPut_returnsResponse() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", null, null, null, null);
+            StatementResponse response = response(2);
+            cache.put(key, cache.generation(), response);
+
+            assertSame(response, cache.get(key));
+            assertEquals(new StatementResponseCache.Stats(1, 0, 0), cache.stats());
+        }
+
+        @Test
+        void put_afterInvalidate_notCached() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", null, null, null, null);
+            long generation = cache.generation();
+            cache.invalidateAll();
+
+            cache.put(key, generation, response(2));
+
+            assertNull(cache.get(key));
+            assertEquals(new StatementResponseCache.Stats(0, 1, 0), cache.stats());
+        }
+
+        @Test
+        void put_overWeight_evictsLeastRecentlyUsed() {
+            StatementResponseCache.Key a = cache.key("SELECT FROM [A]", null, null, null, null);
+            StatementResponseCache.Key b = cache.key("SELECT FROM [B]", null, null, null, null);
+            StatementResponseCache.Key c = cache.key("SELECT FROM [C]", null, null, null, null);
+            cache.put(a, cache.generation(), response(3));
+            cache.put(b, cache.generation(), response(3));
+            cache.get(a);
+
+            cache.put(c, cache.generation(), rowSetResponse(2, 2));
+
+            assertEquals(2, cache.size());
+            assertEquals(9, cache.weight());
+            assertNull(cache.get(b));
+            assertEquals(1, cache.stats().evictions());
+        }
+
+        @Test
+        void put_heavierThanMaximum_notCached() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", null, null, null, null);
+
+            cache.put(key, cache.generation(), response(10));
+
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        void get_expired_returnsNull() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", null, null, null, null);
+            cache.put(key, cache.generation(), response(1));
+            now.addAndGet(TTL.toNanos() + 1);
+
+            assertNull(cache.get(key));
+            assertEquals(0, cache.weight());
+        }
+    }
+
+    @Nested
+    class InvalidationTests {
+
+        @Test
+        void invalidate_catalog_dropsCatalogAndDefault() {
+            StatementResponseCache.Key foodMart = cache.key("SELECT FROM [Sales]", catalog("FoodMart"), null, null,
+                    null);
+            StatementResponseCache.Key steelwheels = cache.key("SELECT FROM [Sales]", catalog("Steelwheels"), null,
+                    null, null);
+            StatementResponseCache.Key noCatalog = cache.key("SELECT FROM [Sales]", null, null, null, null);
+            cache.put(foodMart, cache.generation(), response(1));
+            cache.put(steelwheels, cache.generation(), response(1));
+            cache.put(noCatalog, cache.generation(), response(1));
+
+            cache.invalidate("foodmart");
+
+            assertNull(cache.get(foodMart));
+            assertNull(cache.get(noCatalog));
+            assertEquals(1, cache.size());
+            assertEquals(2, cache.weight());
+        }
+
+        @Test
+        void executed_notQuery_invalidatesCatalog() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", catalog("FoodMart"), null, null, null);
+            cache.put(key, cache.generation(), response(1));
+
+            cache.executed("SELECT FROM [Sales]", catalog("FoodMart"), null);
+            assertEquals(1, cache.size());
+            cache.executed("UPDATE CUBE [Sales] SET ([Measures].[Sales]) = 1", catalog("FoodMart"), null);
+
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        void executed_commentedDdl_invalidatesCatalog() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", catalog("FoodMart"), null, null, null);
+            cache.put(key, cache.generation(), response(1));
+
+            cache.executed("// new set\n  CREATE SET [Sales].[S] AS {}", catalog("FoodMart"), "s1");
+
+            assertEquals(0, cache.size());
+            assertEquals("s1", cache.key("SELECT FROM [Sales]", null, null, "s1", null).sessionId());
+        }
+
+        @Test
+        void executed_neitherQueryNorDdl_changesNothing() {
+            StatementResponseCache.Key key = cache.key("SELECT FROM [Sales]", catalog("FoodMart"), null, null, null);
+            cache.put(key, cache.generation(), response(1));
+
+            cache.executed("CALL SystemRestart()", catalog("FoodMart"), "s1");
+
+            assertEquals(1, cache.size());
+            assertNull(cache.key("SELECT FROM [Sales]", null, null, "s1", null).sessionId());
+        }
+    }
+
+    private static PropertiesR catalog(String catalog) {
+        PropertiesR properties = new PropertiesR();
+        properties.setCatalog(Optional.of(catalog));
+        return properties;
+    }
+
+    /**
+     * A response with the given number of cells, it weighs one more.
+     */
+    private static StatementResponse response(int cells) {
+        List<CellType> cellList = new ArrayList<>();
+        for (int i = 0; i < cells; i++) {
+            cellList.add(new CellTypeR(null, List.of(), i));
+        }
+        return new StatementResponseR(new MddatasetR(null, null, new CellDataR(cellList, null), null, null), null);
+    }
+
+    private static StatementResponse rowSetResponse(int rows, int columns) {
+        List<RowSetRowItem> items = new ArrayList<>();
+        for (int i = 0; i < columns; i++) {
+            items.add(new RowSetRowItemR("c" + i, null, "v", Optional.empty()));
+        }
+        List<RowSetRow> rowList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            rowList.add(new RowSetRowR(items));
+        }
+        return new StatementResponseR(null, new RowSetR(rowList));
+    }
+}
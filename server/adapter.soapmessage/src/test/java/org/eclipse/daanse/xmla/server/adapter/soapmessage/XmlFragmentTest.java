@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+class XmlFragmentTest {
+
+    private static final String XML = """
+            <DiscoverResponse xmlns="urn:schemas-microsoft-com:xml-analysis"><return>\
+            <root xmlns="urn:schemas-microsoft-com:xml-analysis:rowset" \
+            xmlns:xsd="http://www.w3.org/2001/XMLSchema" xmlns:sql="urn:schemas-microsoft-com:xml-sql">\
+            <xsd:schema targetNamespace="urn:schemas-microsoft-com:xml-analysis:rowset">\
+            <xsd:element sql:field="CATALOG_NAME" name="CATALOG_NAME"/></xsd:schema>\
+            <row><CATALOG_NAME>Sales &amp; Co</CATALOG_NAME><!-- note --><![CDATA[<x>]]></row>\
+            </root></return></DiscoverResponse>""";
+
+    private Document document;
+    private XmlFragment fragment;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        document = parse(XML);
+        fragment = XmlFragment.of(document.getDocumentElement());
+    }
+
+    @Test
+    void write_sameXml() throws Exception {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+        fragment.write(writer);
+        writer.flush();
+
+        assertSimilar(XML, result.toString());
+    }
+
+    @Test
+    void appendTo_otherDocument_sameXml() throws Exception {
+        Document target = newDocument();
+
+        fragment.appendTo(target);
+
+        assertSimilar(XML, serialize(target));
+    }
+
+    @Test
+    void appendContentTo_emptyElement_attributesAndChildren() throws Exception {
+        Element root = (Element) document.getElementsByTagNameNS("*", "root").item(0);
+        XmlFragment rootFragment = XmlFragment.of(root);
+        Document target = newDocument();
+        Element copy = target.createElementNS("urn:schemas-microsoft-com:xml-analysis:rowset", "root");
+        target.appendChild(copy);
+
+        rootFragment.appendContentTo(copy);
+
+        assertSimilar(serialize(root), serialize(target));
+    }
+
+    @Test
+    void of_elementChangedLater_fragmentUnchanged() throws Exception {
+        Node row = document.getElementsByTagNameNS("*", "row").item(0);
+        row.getParentNode().removeChild(row);
+        document.getDocumentElement().setAttribute("changed", "true");
+
+        StringWriter result = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+        fragment.write(writer);
+        writer.flush();
+
+        assertSimilar(XML, result.toString());
+    }
+
+    @Test
+    void writeStart_rootLeftOpen() throws Exception {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+        fragment.writeStart(writer);
+        writer.writeStartElement("urn:schemas-microsoft-com:xml-analysis", "extra");
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.flush();
+
+        Document written = parse(result.toString());
+        Node last = written.getDocumentElement().getLastChild();
+        assertEquals("extra", last.getLocalName());
+        assertEquals("urn:schemas-microsoft-com:xml-analysis", last.getNamespaceURI());
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+    private static Document newDocument() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().newDocument();
+    }
+
+    private static String serialize(Node node) throws Exception {
+        StringWriter result = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(node), new StreamResult(result));
+        return result.toString();
+    }
+
+    private static void assertSimilar(String expected, String actual) {
+        Diff diff = DiffBuilder.compare(expected).withTest(actual).checkForSimilar().build();
+        assertFalse(diff.hasDifferences(), diff.toString());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class XmlaContentTypeTest {
+
+    @Test
+    void fromHeader_withCharset_xml() {
+        assertEquals(Optional.of(XmlaContentType.XML), XmlaContentType.fromHeader("text/xml; charset=utf-8"));
+    }
+
+    @Test
+    void fromHeader_missing_xml() {
+        assertEquals(Optional.of(XmlaContentType.XML), XmlaContentType.fromHeader(null));
+    }
+
+    @Test
+    void fromHeader_binaryXml_sx() {
+        assertEquals(Optional.of(XmlaContentType.SX_XPRESS), XmlaContentType.fromHeader("Application/SX+Xpress"));
+    }
+
+    @Test
+    void fromHeader_unknown_empty() {
+        assertEquals(Optional.empty(), XmlaContentType.fromHeader("application/json"));
+    }
+
+    @Test
+    void isSupported_onlyXml() {
+        assertTrue(XmlaContentType.isSupported("text/xml"));
+        assertFalse(XmlaContentType.isSupported("application/sx"));
+        assertFalse(XmlaContentType.isSupported("application/xml+xpress"));
+        assertFalse(XmlaContentType.isSupported("application/json"));
+        assertEquals("text/xml", XmlaContentType.supportedMediaTypes());
+    }
+}
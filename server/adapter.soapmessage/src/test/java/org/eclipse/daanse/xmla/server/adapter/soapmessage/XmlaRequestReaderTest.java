@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.model.record.execute.ExecuteParameterR;
+import org.eclipse.daanse.xmla.model.record.xmla.AlterR;
+import org.eclipse.daanse.xmla.model.record.xmla.CancelR;
+import org.eclipse.daanse.xmla.model.record.xmla.ClearCacheR;
+import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class XmlaRequestReaderTest {
+
+    private static final String ENVELOPE_START = """
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">
+            """;
+    private static final String ENVELOPE_END = "</SOAP-ENV:Envelope>";
+
+    @Nested
+    class HeaderTests {
+
+        @Test
+        void read_session() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Header>
+                      <Session xmlns="urn:schemas-microsoft-com:xml-analysis" SessionId="s-1" mustUnderstand="1"/>
+                    </SOAP-ENV:Header>
+                    <SOAP-ENV:Body/>
+                    """);
+
+            assertEquals("s-1", request.session().get().sessionId());
+            assertEquals(Integer.valueOf(1), request.session().get().mustUnderstand());
+            assertTrue(request.beginSession().isEmpty());
+            assertTrue(request.endSession().isEmpty());
+            assertNull(request.body());
+        }
+
+        @Test
+        void read_beginAndEndSession() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Header>
+                      <BeginSession xmlns="urn:schemas-microsoft-com:xml-analysis" mustUnderstand="1"/>
+                      <EndSession xmlns="urn:schemas-microsoft-com:xml-analysis" SessionId="s-2"/>
+                    </SOAP-ENV:Header>
+                    """);
+
+            assertTrue(request.session().isEmpty());
+            assertEquals(Integer.valueOf(1), request.beginSession().get().mustUnderstand());
+            assertEquals("s-2", request.endSession().get().sessionId());
+        }
+    }
+
+    @Nested
+    class DiscoverTests {
+
+        @Test
+        void read_discover() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Body>
+                      <Discover xmlns="urn:schemas-microsoft-com:xml-analysis">
+                        <RequestType>MDSCHEMA_CUBES</RequestType>
+                        <Restrictions>
+                          <RestrictionList>
+                            <CATALOG_NAME>FoodMart</CATALOG_NAME>
+                            <CUBE_NAME></CUBE_NAME>
+                            <PropertyName>
+                              <Value>Catalog</Value>
+                              <Value>Format</Value>
+                            </PropertyName>
+                          </RestrictionList>
+                        </Restrictions>
+                        <Properties>
+                          <PropertyList>
+                            <Catalog>FoodMart</Catalog>
+                          </PropertyList>
+                        </Properties>
+                      </Discover>
+                    </SOAP-ENV:Body>
+                    """);
+
+            XmlaRequest.Discover discover = assertInstanceOf(XmlaRequest.Discover.class, request.body());
+            assertEquals("MDSCHEMA_CUBES", discover.requestType());
+            assertEquals(Map.of("CATALOG_NAME", List.of("FoodMart"), "CUBE_NAME", List.of(""), "PropertyName",
+                    List.of("Catalog", "Format")), discover.restrictionValues());
+            assertEquals(Optional.of("FoodMart"), discover.properties().catalog());
+        }
+
+        @Test
+        void read_discoverWithoutRestrictionList() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Body>
+                      <Discover xmlns="urn:schemas-microsoft-com:xml-analysis">
+                        <RequestType>DISCOVER_PROPERTIES</RequestType>
+                        <Restrictions/>
+                        <Properties/>
+                      </Discover>
+                    </SOAP-ENV:Body>
+                    """);
+
+            XmlaRequest.Discover discover = assertInstanceOf(XmlaRequest.Discover.class, request.body());
+            assertTrue(discover.restrictionValues().isEmpty());
+            assertTrue(discover.properties().catalog().isEmpty());
+        }
+    }
+
+    @Nested
+    class ExecuteTests {
+
+        @Test
+        void read_statement() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Body>
+                      <Execute xmlns="urn:schemas-microsoft-com:xml-analysis">
+                        <Command>
+                          <Statement><![CDATA[SELECT [Measures].[Count] ON 0 FROM [Sales]]]></Statement>
+                        </Command>
+                        <Properties>
+                          <PropertyList>
+                            <Catalog>FoodMart</Catalog>
+                          </PropertyList>
+                        </Properties>
+                        <Parameters>
+                          <Parameter>
+                            <Name>p1</Name>
+                            <Value>v1</Value>
+                          </Parameter>
+                        </Parameters>
+                      </Execute>
+                    </SOAP-ENV:Body>
+                    """);
+
+            XmlaRequest.Execute execute = assertInstanceOf(XmlaRequest.Execute.class, request.body());
+            assertEquals(new StatementR("SELECT [Measures].[Count] ON 0 FROM [Sales]"), execute.command());
+            assertEquals(Optional.of("FoodMart"), execute.properties().catalog());
+            assertEquals(List.of(new ExecuteParameterR("p1", "v1")), execute.parameters());
+        }
+
+        @Test
+        void read_cancel() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Body>
+                      <Execute xmlns="urn:schemas-microsoft-com:xml-analysis">
+                        <Command>
+                          <Cancel xmlns="http://schemas.microsoft.com/analysisservices/2003/engine">
+                            <ConnectionID>7</ConnectionID>
+                            <CancelAssociated>true</CancelAssociated>
+                          </Cancel>
+                        </Command>
+                      </Execute>
+                    </SOAP-ENV:Body>
+                    """);
+
+            XmlaRequest.Execute execute = assertInstanceOf(XmlaRequest.Execute.class, request.body());
+            assertEquals(new CancelR(BigInteger.valueOf(7), null, null, true), execute.command());
+        }
+
+        @Test
+        void read_clearCache() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Body>
+                      <Execute xmlns="urn:schemas-microsoft-com:xml-analysis">
+                        <Command>
+                          <ClearCache xmlns="http://schemas.microsoft.com/analysisservices/2003/engine">
+                            <Object>
+                              <DatabaseID>FoodMart</DatabaseID>
+                              <CubeID>Sales</CubeID>
+                            </Object>
+                          </ClearCache>
+                        </Command>
+                      </Execute>
+                    </SOAP-ENV:Body>
+                    """);
+
+            XmlaRequest.Execute execute = assertInstanceOf(XmlaRequest.Execute.class, request.body());
+            ClearCacheR clearCache = assertInstanceOf(ClearCacheR.class, execute.command());
+            assertEquals("FoodMart", clearCache.object().databaseID());
+            assertEquals("Sales", clearCache.object().cubeID());
+        }
+
+        @Test
+        void read_alter() throws Exception {
+            XmlaRequest request = read("""
+                    <SOAP-ENV:Body>
+                      <Execute xmlns="urn:schemas-microsoft-com:xml-analysis">
+                        <Command>
+                          <Alter xmlns="http://schemas.microsoft.com/analysisservices/2003/engine">
+                            <Object>
+                              <DatabaseID>FoodMart</DatabaseID>
+                            </Object>
+                            <AllowCreate>true</AllowCreate>
+                          </Alter>
+                        </Command>
+                      </Execute>
+                    </SOAP-ENV:Body>
+                    """);
+
+            XmlaRequest.Execute execute = assertInstanceOf(XmlaRequest.Execute.class, request.body());
+            AlterR alter = assertInstanceOf(AlterR.class, execute.command());
+            assertEquals("FoodMart", alter.object().databaseID());
+            assertEquals(Boolean.TRUE, alter.allowCreate());
+        }
+    }
+
+    @Test
+    void read_noSoapEnvelope() {
+        assertThrows(XmlaParseException.class, () -> XmlaRequestReader.read(
+                new ByteArrayInputStream("<Envelope/>".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static XmlaRequest read(String content) throws Exception {
+        String envelope = ENVELOPE_START + content + ENVELOPE_END;
+        return XmlaRequestReader.read(new ByteArrayInputStream(envelope.getBytes(StandardCharsets.UTF_8)));
+    }
+}
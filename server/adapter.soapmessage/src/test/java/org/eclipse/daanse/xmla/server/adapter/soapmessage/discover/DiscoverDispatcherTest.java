@@ -16,6 +16,7 @@ package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
@@ -109,4 +110,24 @@ class DiscoverDispatcherTest {
             assertEquals("", result.get("EMPTY_RESTRICTION"));
         }
     }
+
+    @Nested
+    class GetRestrictionValuesTests {
+
+        @Test
+        void getRestrictionValues_withValueElements() throws Exception {
+            SOAPElement restrictions = bodyElement.addChildElement(QN_RESTRICTIONS);
+            SOAPElement restrictionList = restrictions.addChildElement(QN_RESTRICTION_LIST);
+            restrictionList.addChildElement("CATALOG_NAME").setTextContent("TestCatalog");
+            SOAPElement propertyName = restrictionList.addChildElement("PropertyName");
+            propertyName.addChildElement("Value").setTextContent("Catalog");
+            propertyName.addChildElement("Value").setTextContent("Format");
+
+            Map<String, List<String>> result = DiscoverDispatcher.getRestrictionValues(restrictions);
+
+            assertEquals(List.of("TestCatalog"), result.get("CATALOG_NAME"));
+            assertEquals(List.of("Catalog", "Format"), result.get("PropertyName"));
+            assertEquals("CatalogFormat", DiscoverDispatcher.getRestrictionMap(result).get("PropertyName"));
+        }
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.discover;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.eclipse.daanse.xmla.api.common.enums.MemberTypeEnum;
+import org.eclipse.daanse.xmla.api.common.enums.ScopeEnum;
+import org.eclipse.daanse.xmla.api.discover.DiscoverService;
+import org.eclipse.daanse.xmla.api.discover.mdschema.members.MdSchemaMembersResponseRow;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.members.MdSchemaMembersResponseRowR;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPMessage;
+
+class MdSchemaMembersHandlerTest {
+
+    private static final String SOAP_ENV = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    private List<MdSchemaMembersResponseRow> rows;
+    private AtomicBoolean closed;
+    private MdSchemaMembersHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        closed = new AtomicBoolean();
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if ("mdSchemaMembers".equals(method.getName())) {
+                return rows;
+            }
+            if ("mdSchemaMembersStream".equals(method.getName())) {
+                return rows.stream().onClose(() -> closed.set(true));
+            }
+            throw new UnsupportedOperationException(method.getName());
+        };
+        DiscoverService discoverService = (DiscoverService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { DiscoverService.class }, invocationHandler);
+        handler = new MdSchemaMembersHandler(discoverService);
+    }
+
+    @Nested
+    class StreamingTests {
+
+        @Test
+        void handle_rows_streamedEqualsSoapBody() throws Exception {
+            rows = List.of(row("[Store].[All Stores]", 0), row("[Store].[USA]", 1));
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+
+        @Test
+        void handle_noRows_streamedEqualsSoapBody() throws Exception {
+            rows = List.of();
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+
+        @Test
+        void handle_rows_streamIsClosed() throws Exception {
+            rows = List.of(row("[Store].[All Stores]", 0));
+
+            streamedBody();
+
+            assertTrue(closed.get());
+        }
+    }
+
+    private static MdSchemaMembersResponseRow row(String uniqueName, int levelNumber) {
+        return new MdSchemaMembersResponseRowR(Optional.of("FoodMart"), Optional.empty(), Optional.of("Sales"),
+                Optional.of("[Store]"), Optional.of("[Store]"), Optional.of("[Store].[Store Country]"),
+                Optional.of(levelNumber), Optional.of(0), Optional.of(uniqueName), Optional.of(uniqueName),
+                Optional.of(MemberTypeEnum.REGULAR_MEMBER), Optional.empty(), Optional.of(uniqueName),
+                Optional.of(1), Optional.empty(), Optional.empty(), Optional.of(0), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.of(false), Optional.of(false),
+                Optional.of(ScopeEnum.GLOBAL));
+    }
+
+    private String soapBody() throws Exception {
+        SOAPMessage message = MessageFactory.newInstance().createMessage();
+        handler.handle(null, null, Map.of(), message.getSOAPBody());
+        StringWriter result = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(message.getSOAPBody()),
+                new StreamResult(result));
+        return result.toString();
+    }
+
+    private String streamedBody() throws Exception {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+        handler.handle(null, null, Map.of(), () -> {
+            writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV);
+            writer.writeNamespace("SOAP-ENV", SOAP_ENV);
+            return writer;
+        });
+        writer.writeEndElement();
+        writer.flush();
+        return result.toString();
+    }
+
+    private static void assertSimilar(String expected, String actual) {
+        Diff diff = DiffBuilder.compare(expected).withTest(actual).ignoreWhitespace().checkForSimilar().build();
+        assertFalse(diff.hasDifferences(), diff.toString());
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.execute.ExecuteService;
+import org.eclipse.daanse.xmla.api.execute.alter.AlterRequest;
+import org.eclipse.daanse.xmla.api.execute.alter.AlterResponse;
+import org.eclipse.daanse.xmla.api.execute.cancel.CancelRequest;
+import org.eclipse.daanse.xmla.api.execute.cancel.CancelResponse;
+import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheRequest;
+import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheResponse;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.xmla.Batch;
+import org.eclipse.daanse.xmla.api.xmla.Command;
+import org.eclipse.daanse.xmla.api.xmla.Process;
+import org.eclipse.daanse.xmla.model.record.RequestMetaDataR;
+import org.eclipse.daanse.xmla.model.record.xmla.BatchR;
+import org.eclipse.daanse.xmla.model.record.xmla.ObjectReferenceR;
+import org.eclipse.daanse.xmla.model.record.xmla.ProcessR;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaSoapException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.NodeList;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPBody;
+
+class BatchHandlerTest {
+
+    private static final RequestMetaData META_DATA = new RequestMetaDataR(Optional.empty(), Optional.empty(),
+            Optional.empty());
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final ExecuteService service = new TransactionService();
+
+    @Nested
+    class ParallelTests {
+
+        @Test
+        void handle_parallel_boundedByMaxParallel() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler(null),
+                    Executors.newCachedThreadPool(), 8);
+            BatchR batch = batch(null, List.of(new BatchR.Parallel(processes(6), 2)), List.of());
+
+            SOAPBody body = handle(handler, batch);
+
+            assertEquals(6, roots(body).getLength());
+            assertTrue(maxRunning.get() <= 2);
+        }
+
+        @Test
+        void handle_parallel_boundedByHandlerLimit() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler(null),
+                    Executors.newCachedThreadPool(), 3);
+            BatchR batch = batch(null, List.of(new BatchR.Parallel(processes(9), null)), List.of());
+
+            SOAPBody body = handle(handler, batch);
+
+            assertEquals(9, roots(body).getLength());
+            assertTrue(maxRunning.get() <= 3);
+        }
+    }
+
+    @Nested
+    class TransactionTests {
+
+        @Test
+        void handle_transactionFailure_failsBatch() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler("P1"));
+            BatchR batch = batch(null, List.of(), processes(3));
+
+            assertThrows(XmlaSoapException.class, () -> handle(handler, batch));
+            assertEquals(List.of("begin", "P0", "P1", "rollback"), calls);
+        }
+
+        @Test
+        void handle_transactionError_rolledBack() throws Exception {
+            BatchHandler handler = new BatchHandler(service,
+                    command -> (c, properties, parameters, metaData, userPrincipal, responseBody) -> {
+                        throw new StackOverflowError();
+                    });
+            BatchR batch = batch(null, List.of(), processes(1));
+
+            assertThrows(StackOverflowError.class, () -> handle(handler, batch));
+            assertEquals(List.of("begin", "rollback"), calls);
+        }
+
+        @Test
+        void handle_transaction_committedAfterCommands() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler(null));
+            BatchR batch = batch(null, List.of(), processes(2));
+
+            handle(handler, batch);
+
+            assertEquals(List.of("begin", "P0", "P1", "commit"), calls);
+        }
+
+        @Test
+        void handle_noTransaction_noBoundaries() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler(null));
+            BatchR batch = batch(false, List.of(), processes(2));
+
+            handle(handler, batch);
+
+            assertEquals(List.of("P0", "P1"), calls);
+        }
+
+        @Test
+        void handle_noTransactionFailure_errorInResult() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler("P1"));
+            BatchR batch = batch(false, List.of(), processes(3));
+
+            SOAPBody body = handle(handler, batch);
+
+            NodeList roots = roots(body);
+            assertEquals(3, roots.getLength());
+            assertEquals(1, body.getElementsByTagNameNS(ExecuteConstants.MDDATASET.NS_URN, "Messages").getLength());
+        }
+    }
+
+    @Nested
+    class OrderTests {
+
+        @Test
+        void handle_commands_inDocumentOrder() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler(null));
+            List<Process> processes = processes(4);
+            BatchR.Parallel parallel = new BatchR.Parallel(processes.subList(1, 3), 1);
+            BatchR batch = batch(false, List.of(parallel), List.of(processes.get(3), processes.get(0)),
+                    List.of(new BatchR.Step(processes.get(3), null), new BatchR.Step(null, parallel),
+                            new BatchR.Step(processes.get(0), null)));
+
+            SOAPBody body = handle(handler, batch);
+
+            assertEquals(4, roots(body).getLength());
+            assertEquals(List.of("P3", "P1", "P2", "P0"), calls);
+        }
+
+        @Test
+        void handle_orderUnknown_byType() throws Exception {
+            BatchHandler handler = new BatchHandler(service, command -> processHandler(null));
+            List<Process> processes = processes(3);
+            BatchR batch = batch(false, List.of(new BatchR.Parallel(processes.subList(0, 1), 1)),
+                    processes.subList(1, 3));
+
+            handle(handler, batch);
+
+            assertEquals(List.of("P1", "P2", "P0"), calls);
+        }
+    }
+
+    private ExecuteHandler processHandler(String failingPartition) {
+        return (command, properties, parameters, metaData, userPrincipal, responseBody) -> {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            calls.add(((Process) command).object().partitionID());
+            try {
+                Thread.sleep(20);
+                if (((Process) command).object().partitionID().equals(failingPartition)) {
+                    throw new XmlaSoapException("Processing failed");
+                }
+                ExecuteResponseUtil.addEmptyRoot(responseBody);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    private static SOAPBody handle(BatchHandler handler, Command batch) throws Exception {
+        SOAPBody body = MessageFactory.newInstance().createMessage().getSOAPBody();
+        handler.handle(batch, null, List.of(), META_DATA, null, body);
+        return body;
+    }
+
+    private static NodeList roots(SOAPBody body) {
+        return body.getElementsByTagNameNS(ExecuteConstants.EMPTY.NS_URN, "root");
+    }
+
+    private static List<Process> processes(int count) {
+        return IntStream.range(0, count)
+                .<Process>mapToObj(i -> new ProcessR("ProcessFull",
+                        new ObjectReferenceR(null, null, null, null, null,
+                                null, null, null, null, null, null, null, null, null, null, null, null, "P" + i,
+                                null, null, null, null),
+                        null, null, null, null, null))
+                .toList();
+    }
+
+    private static BatchR batch(Boolean transaction, List<Batch.Parallel> parallel, List<Process> process) {
+        return batch(transaction, parallel, process, List.of());
+    }
+
+    private static BatchR batch(Boolean transaction, List<Batch.Parallel> parallel, List<Process> process,
+            List<Batch.Step> commands) {
+        return new BatchR(parallel, null, null, null, null, List.of(), List.of(), List.of(), process, List.of(),
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(),
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), List.of(),
+                List.of(), List.of(), List.of(), List.of(), List.of(), List.of(), null, List.of(), transaction, null,
+                commands);
+    }
+
+    /**
+     * Records the transaction boundaries, the commands are handled by the test
+     * handlers.
+     */
+    private class TransactionService implements ExecuteService {
+
+        @Override
+        public void beginTransaction(RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+            calls.add("begin");
+        }
+
+        @Override
+        public void commitTransaction(RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+            calls.add("commit");
+        }
+
+        @Override
+        public void rollbackTransaction(RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+            calls.add("rollback");
+        }
+
+        @Override
+        public AlterResponse alter(AlterRequest request, RequestMetaData metaData, UserRolePrincipal userPrincipal) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CancelResponse cancel(CancelRequest request, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ClearCacheResponse clearCache(ClearCacheRequest request, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public StatementResponse statement(StatementRequest request, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.execute.ExecuteService;
+import org.eclipse.daanse.xmla.api.execute.alter.AlterRequest;
+import org.eclipse.daanse.xmla.api.execute.alter.AlterResponse;
+import org.eclipse.daanse.xmla.api.execute.cancel.CancelRequest;
+import org.eclipse.daanse.xmla.api.execute.cancel.CancelResponse;
+import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheRequest;
+import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheResponse;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.CellData;
+import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+import org.eclipse.daanse.xmla.api.mddataset.Type;
+import org.eclipse.daanse.xmla.model.record.execute.statement.StatementResponseR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxesInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxesR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxisInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxisR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellInfoItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeErrorR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarCellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarRowSetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CubeInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.HierarchyInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MddatasetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MemberTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MembersTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.OlapInfoCubeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.OlapInfoR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetColumnR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowR;
+import org.eclipse.daanse.xmla.model.record.mddataset.TupleTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.TuplesTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ValueR;
+import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+import jakarta.xml.soap.MessageFactory;
+import jakarta.xml.soap.SOAPMessage;
+
+class StatementHandlerTest {
+
+    private static final String SOAP_ENV = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    private StatementResponse response;
+    private StatementHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new StatementHandler(new TestExecuteService());
+    }
+
+    @Nested
+    class StreamingTests {
+
+        @Test
+        void handle_mddataset_streamedEqualsSoapBody() throws Exception {
+            List<CellInfoItem> memberProperties = List.of(new CellInfoItemR("UName", "[Measures].[Count]",
+                    Optional.empty()), new CellInfoItemR("Caption", "Count", Optional.empty()));
+            List<Type> setTypes = List.of(
+                    new TuplesTypeR(List.of(new TupleTypeR(List.of(new MemberTypeR(memberProperties, "Measures"))))),
+                    new MembersTypeR(List.of(new MemberTypeR(memberProperties, "Measures")), "Measures"));
+            List<CellType> cells = List.of(
+                    new CellTypeR(new ValueR("42", ItemTypeEnum.INTEGER, null),
+                            List.of(new CellInfoItemR("FmtValue", "42", Optional.empty())), 0),
+                    new CellTypeR(new ValueR("1.5", ItemTypeEnum.DOUBLE, List.of(new CellTypeErrorR(1L, "error"))),
+                            null, 1));
+            response = new StatementResponseR(new MddatasetR(
+                    new OlapInfoR(
+                            new CubeInfoR(List.of(new OlapInfoCubeR("Sales", Instant.EPOCH, Instant.EPOCH))),
+                            new AxesInfoR(List.of(new AxisInfoR(List.of(new HierarchyInfoR(
+                                    List.of(new CellInfoItemR("UName", "[Measures].[MEMBER_UNIQUE_NAME]",
+                                            Optional.of("xsd:string"))),
+                                    "Measures")), "Axis0"))),
+                            new CellInfoR(List.of(new CellInfoItemR("Value", "VALUE", Optional.empty())))),
+                    new AxesR(List.of(new AxisR(setTypes, "Axis0"))), new CellDataR(cells, null), null, null), null);
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+
+        @Test
+        void handle_rowSet_streamedEqualsSoapBody() throws Exception {
+            List<RowSetRow> rows = List.of(row("A", "1"), row("B", "2"));
+            response = new StatementResponseR(null, new RowSetR(rows));
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+
+        @Test
+        void handle_emptyResponse_streamedEqualsSoapBody() throws Exception {
+            response = new StatementResponseR(null, null);
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+    }
+
+    @Nested
+    class ColumnarCellDataTests {
+
+        private final List<CellType> cells = List.of(
+                new CellTypeR(new ValueR("42", ItemTypeEnum.INTEGER, null),
+                        List.of(new CellInfoItemR("FmtValue", "42", Optional.empty())), 0),
+                new CellTypeR(new ValueR("1.5", ItemTypeEnum.DOUBLE, List.of()),
+                        List.of(new CellInfoItemR("FmtValue", "1,50", Optional.empty())), 1),
+                new CellTypeR(new ValueR("1.50", ItemTypeEnum.DOUBLE, List.of()), List.of(), 2),
+                new CellTypeR(new ValueR("A", ItemTypeEnum.STRING, List.of()), List.of(), 3),
+                new CellTypeR(new ValueR("1.5", ItemTypeEnum.DOUBLE, List.of(new CellTypeErrorR(1L, "error"))),
+                        List.of(new CellInfoItemR("FmtValue", "1,50", Optional.empty())), 5),
+                new CellTypeR(null, List.of(new CellInfoItemR("FmtValue", "", Optional.empty())), 7));
+
+        @Test
+        void handle_columnarCellData_soapBodyEqualsCellTypeList() throws Exception {
+            response = cellDataResponse(new CellDataR(cells, null));
+            String expected = soapBody();
+
+            response = cellDataResponse(columnar());
+
+            assertSimilar(expected, soapBody());
+        }
+
+        @Test
+        void handle_columnarCellData_streamedEqualsSoapBody() throws Exception {
+            response = cellDataResponse(columnar());
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+
+        @Test
+        void cell_columnarCellData_equalsPackedCells() {
+            ColumnarCellDataR cellData = columnar();
+
+            assertEquals(cells.size(), cellData.cellCount());
+            assertEquals(cells.size(), cellData.cell().size());
+            for (int i = 0; i < cells.size(); i++) {
+                CellType expected = cells.get(i);
+                CellType actual = cellData.cell().get(i);
+                assertEquals(expected.cellOrdinal(), actual.cellOrdinal());
+                assertEquals(expected.value() == null ? null : expected.value().value(),
+                        actual.value() == null ? null : actual.value().value());
+                assertEquals(expected.value() == null ? null : expected.value().type(),
+                        cellData.valueType(i));
+                assertEquals(expected.any().size(), actual.any().size());
+            }
+            assertTrue(cellData.isPlain(0));
+            assertTrue(cellData.isPlain(2));
+            assertFalse(cellData.isPlain(4));
+            assertEquals("1,50", cellData.formattedValue(1));
+            assertEquals("1.50", cellData.value(2));
+        }
+
+        private ColumnarCellDataR columnar() {
+            ColumnarCellDataR.Builder builder = ColumnarCellDataR.builder(2);
+            cells.forEach(builder::addCell);
+            return builder.build();
+        }
+
+        private StatementResponse cellDataResponse(CellData cellData) {
+            return new StatementResponseR(new MddatasetR(null, null, cellData, null, null), null);
+        }
+    }
+
+    @Nested
+    class ColumnarRowSetTests {
+
+        private final List<RowSetColumnR> columns = List.of(
+                new RowSetColumnR("Store", "[Store].[Name]", null, true),
+                new RowSetColumnR("Count", "[Measures].[Count]", ItemTypeEnum.INTEGER, true));
+
+        @Test
+        void handle_columnarRowSet_soapBodyEqualsRowSetRows() throws Exception {
+            response = new StatementResponseR(null, new RowSetR(List.of(row("A", "1"), row("B", "2"))));
+            String expected = soapBody();
+
+            response = new StatementResponseR(null, columnar());
+
+            assertSimilar(expected, soapBody());
+        }
+
+        @Test
+        void handle_columnarRowSet_streamedEqualsSoapBody() throws Exception {
+            response = new StatementResponseR(null, columnar());
+
+            assertSimilar(soapBody(), streamedBody());
+        }
+
+        @Test
+        void value_columnarRowSet_keepsValues() {
+            List<RowSetColumnR> typed = List.of(new RowSetColumnR("Count", ItemTypeEnum.INTEGER),
+                    new RowSetColumnR("Share", ItemTypeEnum.DOUBLE), new RowSetColumnR("Open", ItemTypeEnum.BOOLEAN));
+            ColumnarRowSetR rowSet = ColumnarRowSetR.builder(typed, 1)
+                    .addRow().setLong(0, 42).setDouble(1, 0.5).setBoolean(2, true)
+                    .addRow().set(0, "007").set(2, "1")
+                    .addRow().set(0, "x").set(1, "1.50")
+                    .build();
+
+            assertEquals(3, rowSet.rowCount());
+            assertEquals("42", rowSet.value(0, 0));
+            assertEquals(42L, rowSet.longValue(0, 0));
+            assertEquals(0.5, rowSet.doubleValue(0, 1));
+            assertTrue(rowSet.booleanValue(0, 2));
+            assertEquals("007", rowSet.value(1, 0));
+            assertEquals(7L, rowSet.longValue(1, 0));
+            assertTrue(rowSet.isNull(1, 1));
+            assertEquals("1", rowSet.value(1, 2));
+            assertTrue(rowSet.booleanValue(1, 2));
+            assertEquals("x", rowSet.value(2, 0));
+            assertThrows(NumberFormatException.class, () -> rowSet.longValue(2, 0));
+            assertEquals("1.50", rowSet.value(2, 1));
+            assertThrows(IllegalArgumentException.class, () -> rowSet.longValue(0, 1));
+            assertEquals(2, rowSet.rowSetRows().get(2).rowSetRowItem().size());
+        }
+
+        @Test
+        void addRow_unknownItem_fails() {
+            ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns);
+
+            assertThrows(IllegalArgumentException.class, () -> builder.addRow(new RowSetRowR(
+                    List.<RowSetRowItem>of(new RowSetRowItemR("Other", "1", Optional.empty())))));
+        }
+
+        private ColumnarRowSetR columnar() {
+            ColumnarRowSetR.Builder builder = ColumnarRowSetR.builder(columns);
+            builder.addRow(row("A", "1"));
+            builder.addRow().set(0, "B").setLong(1, 2);
+            return builder.build();
+        }
+    }
+
+    private static RowSetRow row(String store, String count) {
+        return new RowSetRowR(List.<RowSetRowItem>of(
+                new RowSetRowItemR("Store", "[Store].[Name]", store, Optional.empty()),
+                new RowSetRowItemR("Count", "[Measures].[Count]", count, Optional.of(ItemTypeEnum.INTEGER))));
+    }
+
+    private String soapBody() throws Exception {
+        SOAPMessage message = MessageFactory.newInstance().createMessage();
+        handler.handle(new StatementR("SELECT"), null, List.of(), null, null, message.getSOAPBody());
+        StringWriter result = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(message.getSOAPBody()),
+                new StreamResult(result));
+        return result.toString();
+    }
+
+    private String streamedBody() throws Exception {
+        StringWriter result = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+        handler.handle(new StatementR("SELECT"), null, List.of(), null, null, () -> {
+            writer.writeStartElement("SOAP-ENV", "Body", SOAP_ENV);
+            writer.writeNamespace("SOAP-ENV", SOAP_ENV);
+            return writer;
+        });
+        writer.writeEndElement();
+        writer.flush();
+        return result.toString();
+    }
+
+    private static void assertSimilar(String expected, String actual) {
+        Diff diff = DiffBuilder.compare(expected).withTest(actual).ignoreWhitespace().checkForSimilar().build();
+        assertFalse(diff.hasDifferences(), diff.toString());
+    }
+
+    private class TestExecuteService implements ExecuteService {
+
+        @Override
+        public AlterResponse alter(AlterRequest statementRequest, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return null;
+        }
+
+        @Override
+        public CancelResponse cancel(CancelRequest capture, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return null;
+        }
+
+        @Override
+        public ClearCacheResponse clearCache(ClearCacheRequest clearCacheRequest, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return null;
+        }
+
+        @Override
+        public StatementResponse statement(StatementRequest statementRequest, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return response;
+        }
+    }
+}
@@ -14,6 +14,7 @@
 package org.eclipse.daanse.xmla.server.adapter.soapmessage.execute.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -28,8 +29,11 @@ import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.eclipse.daanse.xmla.api.xmla.Command;
 import org.eclipse.daanse.xmla.api.xmla.ObjectReference;
+import org.eclipse.daanse.xmla.model.record.xmla.AlterR;
+import org.eclipse.daanse.xmla.model.record.xmla.BatchR;
 import org.eclipse.daanse.xmla.model.record.xmla.CancelR;
 import org.eclipse.daanse.xmla.model.record.xmla.ClearCacheR;
+import org.eclipse.daanse.xmla.model.record.xmla.ProcessR;
 import org.eclipse.daanse.xmla.model.record.xmla.StatementR;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaParseException;
 import org.junit.jupiter.api.BeforeEach;
@@ -284,6 +288,121 @@ class CommandParserTest {
         }
     }
 
+    @Nested
+    class ProcessCommand {
+
+        @Test
+        void getCommand_processFromNode() throws Exception {
+            String xml = """
+                    <root>
+                        <Process>
+                            <Type>ProcessFull</Type>
+                            <Object>
+                                <DatabaseID>TestDB</DatabaseID>
+                                <CubeID>Sales</CubeID>
+                            </Object>
+                        </Process>
+                    </root>
+                    """;
+            Document doc = parseXml(xml);
+            NodeList nl = doc.getDocumentElement().getChildNodes();
+
+            Command command = CommandParser.getCommand(nl, null);
+
+            ProcessR process = assertInstanceOf(ProcessR.class, command);
+            assertEquals("ProcessFull", process.type());
+            assertEquals("TestDB", process.object().databaseID());
+            assertEquals("Sales", process.object().cubeID());
+        }
+    }
+
+    @Nested
+    class BatchCommand {
+
+        @Test
+        void getCommand_batchWithParallel() throws Exception {
+            String xml = """
+                    <root>
+                        <Batch Transaction="false">
+                            <Parallel MaxParallel="2">
+                                <Process><Type>ProcessFull</Type><Object><PartitionID>P1</PartitionID></Object></Process>
+                                <Process><Type>ProcessFull</Type><Object><PartitionID>P2</PartitionID></Object></Process>
+                            </Parallel>
+                            <ClearCache><Object><DatabaseID>TestDB</DatabaseID></Object></ClearCache>
+                        </Batch>
+                    </root>
+                    """;
+            Document doc = parseXml(xml);
+            NodeList nl = doc.getDocumentElement().getChildNodes();
+
+            Command command = CommandParser.getCommand(nl, null);
+
+            BatchR batch = assertInstanceOf(BatchR.class, command);
+            assertFalse(batch.transaction());
+            assertEquals(1, batch.parallel().size());
+            assertEquals(Integer.valueOf(2), batch.parallel().get(0).maxParallel());
+            assertEquals("P2", batch.parallel().get(0).process().get(1).object().partitionID());
+            assertEquals(1, batch.clearCache().size());
+            assertTrue(batch.process().isEmpty());
+        }
+
+        @Test
+        void getCommand_batchWithoutAttributes() throws Exception {
+            String xml = """
+                    <root>
+                        <Batch>
+                            <Alter><Object><DatabaseID>TestDB</DatabaseID></Object></Alter>
+                            <Process><Type>ProcessDefault</Type></Process>
+                        </Batch>
+                    </root>
+                    """;
+            Document doc = parseXml(xml);
+            NodeList nl = doc.getDocumentElement().getChildNodes();
+
+            BatchR batch = assertInstanceOf(BatchR.class,
+                    CommandParser.getCommand(nl, nodes -> null));
+
+            assertNull(batch.transaction());
+            assertInstanceOf(AlterR.class, batch.alter().get(0));
+            assertEquals("ProcessDefault", batch.process().get(0).type());
+        }
+
+        @Test
+        void getCommand_batch_commandsInDocumentOrder() throws Exception {
+            String xml = """
+                    <root>
+                        <Batch>
+                            <ClearCache><Object><DatabaseID>TestDB</DatabaseID></Object></ClearCache>
+                            <Parallel>
+                                <Process><Type>ProcessFull</Type><Object><PartitionID>P1</PartitionID></Object></Process>
+                            </Parallel>
+                            <Process><Type>ProcessFull</Type><Object><PartitionID>P2</PartitionID></Object></Process>
+                            <Alter><Object><DatabaseID>TestDB</DatabaseID></Object></Alter>
+                        </Batch>
+                    </root>
+                    """;
+            Document doc = parseXml(xml);
+            NodeList nl = doc.getDocumentElement().getChildNodes();
+
+            BatchR batch = assertInstanceOf(BatchR.class, CommandParser.getCommand(nl, nodes -> null));
+
+            assertEquals(4, batch.commands().size());
+            assertInstanceOf(ClearCacheR.class, batch.commands().get(0).command());
+            assertEquals(batch.parallel().get(0), batch.commands().get(1).parallel());
+            assertNull(batch.commands().get(1).command());
+            assertEquals("P2", ((ProcessR) batch.commands().get(2).command()).object().partitionID());
+            assertInstanceOf(AlterR.class, batch.commands().get(3).command());
+        }
+
+        @Test
+        void getCommand_batchWithUnsupportedCommandThrowsException() throws Exception {
+            Document doc = parseXml("<root><Batch><Statement>SELECT</Statement></Batch></root>");
+            NodeList nl = doc.getDocumentElement().getChildNodes();
+
+            assertThrows(XmlaParseException.class, () -> CommandParser.getCommand(nl, null));
+        }
+    }
+
     @Nested
     class EdgeCases {
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaApiAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Discover requests for {@code MDSCHEMA_MEMBERS} with a growing number of
+ * member rows, from the request bytes to the written response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiscoverBenchmark {
+
+    @Param({ "100", "10000" })
+    public int rows;
+
+    @Param({ "SAAJ", "PULL" })
+    public RequestPath path;
+
+    private XmlaApiAdapter adapter;
+    private byte[] request;
+
+    @Setup
+    public void setUp() {
+        adapter = new XmlaApiAdapter(new SyntheticXmlaService(SyntheticXmlaService.members(rows), null));
+        request = RequestPath.discoverMembers();
+    }
+
+    @Benchmark
+    public boolean mdSchemaMembers(ResponseBytes response) throws IOException {
+        return path.handle(adapter, request, response.out());
+    }
+}
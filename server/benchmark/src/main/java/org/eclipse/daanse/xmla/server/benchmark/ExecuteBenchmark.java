@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaApiAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Execute requests with a Statement whose result is a grid of
+ * {@code rows}&times;{@code columns} cells or a tabular rowset with that many
+ * rows and columns, from the request bytes to the written response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteBenchmark {
+
+    /**
+     * The result of the Statement.
+     */
+    public enum Shape {
+        /** Cells as list of cell records. */
+        CELLS,
+        /** Cells in primitive columns. */
+        COLUMNAR_CELLS,
+        /** Tabular rowset. */
+        ROWSET
+    }
+
+    @Param({ "CELLS", "COLUMNAR_CELLS", "ROWSET" })
+    public Shape shape;
+
+    @Param({ "100", "1000" })
+    public int rows;
+
+    @Param({ "10", "50" })
+    public int columns;
+
+    @Param({ "SAAJ", "PULL" })
+    public RequestPath path;
+
+    private XmlaApiAdapter adapter;
+    private byte[] request;
+
+    @Setup
+    public void setUp() {
+        StatementResponse response = switch (shape) {
+        case CELLS -> SyntheticXmlaService.cellGrid(rows, columns, false);
+        case COLUMNAR_CELLS -> SyntheticXmlaService.cellGrid(rows, columns, true);
+        case ROWSET -> SyntheticXmlaService.tabular(rows, columns);
+        };
+        adapter = new XmlaApiAdapter(new SyntheticXmlaService(SyntheticXmlaService.members(0), response));
+        request = RequestPath.executeStatement(shape == Shape.ROWSET ? "Tabular" : "Multidimensional");
+    }
+
+    @Benchmark
+    public boolean statement(ResponseBytes response) throws IOException {
+        return path.handle(adapter, request, response.out());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapFactories;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaApiAdapter;
+
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+/**
+ * The ways a transport hands a request to the {@link XmlaApiAdapter}.
+ */
+public enum RequestPath {
+
+    /** Creates a SAAJ message from the request, like the servlet and the JDK HTTP server. */
+    SAAJ {
+        @Override
+        boolean handle(XmlaApiAdapter adapter, byte[] request, OutputStream out) throws IOException {
+            try {
+                MimeHeaders headers = new MimeHeaders();
+                headers.addHeader("Content-Type", CONTENT_TYPE);
+                SOAPMessage message = SoapFactories.messageFactory().createMessage(headers,
+                        new ByteArrayInputStream(request));
+                return adapter.handleRequest(message, Map.of(), null, null, URL, out);
+            } catch (SOAPException e) {
+                throw new IOException(e);
+            }
+        }
+    },
+    /** Reads the request with StAX, like the JDK HTTP server with {@code pullParsing}. */
+    PULL {
+        @Override
+        boolean handle(XmlaApiAdapter adapter, byte[] request, OutputStream out) throws IOException {
+            return adapter.handleRequest(new ByteArrayInputStream(request), Map.of(), null, null, URL, out);
+        }
+    };
+
+    private static final String CONTENT_TYPE = "text/xml; charset=utf-8";
+    private static final String URL = "http://localhost:8090/xmla";
+
+    private static final String ENVELOPE_START = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">
+            <SOAP-ENV:Body>
+            """;
+    private static final String ENVELOPE_END = """
+            </SOAP-ENV:Body>
+            </SOAP-ENV:Envelope>
+            """;
+
+    abstract boolean handle(XmlaApiAdapter adapter, byte[] request, OutputStream out) throws IOException;
+
+    /**
+     * A Discover request for the members of a level.
+     */
+    static byte[] discoverMembers() {
+        return envelope("""
+                <Discover xmlns="urn:schemas-microsoft-com:xml-analysis">
+                  <RequestType>MDSCHEMA_MEMBERS</RequestType>
+                  <Restrictions>
+                    <RestrictionList>
+                      <CATALOG_NAME>FoodMart</CATALOG_NAME>
+                      <CUBE_NAME>Sales</CUBE_NAME>
+                      <LEVEL_UNIQUE_NAME>[Product].[Product].[Name]</LEVEL_UNIQUE_NAME>
+                    </RestrictionList>
+                  </Restrictions>
+                  <Properties>
+                    <PropertyList>
+                      <Catalog>FoodMart</Catalog>
+                      <Format>Tabular</Format>
+                      <Content>SchemaData</Content>
+                      <LocaleIdentifier>1033</LocaleIdentifier>
+                    </PropertyList>
+                  </Properties>
+                </Discover>
+                """);
+    }
+
+    /**
+     * An Execute request with a Statement in the given format,
+     * {@code Multidimensional} or {@code Tabular}.
+     */
+    static byte[] executeStatement(String format) {
+        return envelope("""
+                <Execute xmlns="urn:schemas-microsoft-com:xml-analysis">
+                  <Command>
+                    <Statement>SELECT [Measures].Members ON 0, [Product].[Name].Members ON 1 FROM [Sales]</Statement>
+                  </Command>
+                  <Properties>
+                    <PropertyList>
+                      <Catalog>FoodMart</Catalog>
+                      <Format>%s</Format>
+                      <AxisFormat>TupleFormat</AxisFormat>
+                      <Content>SchemaData</Content>
+                    </PropertyList>
+                  </Properties>
+                </Execute>
+                """.formatted(format));
+    }
+
+    private static byte[] envelope(String body) {
+        return (ENVELOPE_START + body + ENVELOPE_END).getBytes(StandardCharsets.UTF_8);
+    }
+}
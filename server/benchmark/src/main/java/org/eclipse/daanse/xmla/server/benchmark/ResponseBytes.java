@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark;
+
+import java.io.OutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the bytes of the written responses. JMH reports the counter like the
+ * score, so the response bytes per operation are {@code responseBytes} divided
+ * by the score. The allocated bytes per operation are reported by the
+ * {@code gc} profiler as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ResponseBytes {
+
+    public long responseBytes;
+
+    private final OutputStream out = new OutputStream() {
+
+        @Override
+        public void write(int b) {
+            responseBytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            responseBytes += len;
+        }
+    };
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        responseBytes = 0;
+    }
+
+    /**
+     * Stream that discards the response and counts its bytes.
+     */
+    OutputStream out() {
+        return out;
+    }
+}
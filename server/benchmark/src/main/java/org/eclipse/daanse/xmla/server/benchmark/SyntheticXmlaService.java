@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.daanse.xmla.api.RequestMetaData;
+import org.eclipse.daanse.xmla.api.UserRolePrincipal;
+import org.eclipse.daanse.xmla.api.XmlaService;
+import org.eclipse.daanse.xmla.api.common.enums.ItemTypeEnum;
+import org.eclipse.daanse.xmla.api.common.enums.MemberTypeEnum;
+import org.eclipse.daanse.xmla.api.discover.DiscoverService;
+import org.eclipse.daanse.xmla.api.discover.mdschema.members.MdSchemaMembersResponseRow;
+import org.eclipse.daanse.xmla.api.execute.ExecuteService;
+import org.eclipse.daanse.xmla.api.execute.alter.AlterRequest;
+import org.eclipse.daanse.xmla.api.execute.alter.AlterResponse;
+import org.eclipse.daanse.xmla.api.execute.cancel.CancelRequest;
+import org.eclipse.daanse.xmla.api.execute.cancel.CancelResponse;
+import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheRequest;
+import org.eclipse.daanse.xmla.api.execute.clearcache.ClearCacheResponse;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementRequest;
+import org.eclipse.daanse.xmla.api.execute.statement.StatementResponse;
+import org.eclipse.daanse.xmla.api.mddataset.Axis;
+import org.eclipse.daanse.xmla.api.mddataset.CellData;
+import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
+import org.eclipse.daanse.xmla.api.mddataset.CellType;
+import org.eclipse.daanse.xmla.api.mddataset.MemberType;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRow;
+import org.eclipse.daanse.xmla.api.mddataset.RowSetRowItem;
+import org.eclipse.daanse.xmla.api.mddataset.TupleType;
+import org.eclipse.daanse.xmla.api.mddataset.Type;
+import org.eclipse.daanse.xmla.api.session.SessionService;
+import org.eclipse.daanse.xmla.api.xmla.BeginSession;
+import org.eclipse.daanse.xmla.api.xmla.EndSession;
+import org.eclipse.daanse.xmla.api.xmla.Session;
+import org.eclipse.daanse.xmla.model.record.discover.mdschema.members.MdSchemaMembersResponseRowR;
+import org.eclipse.daanse.xmla.model.record.execute.alter.AlterResponseR;
+import org.eclipse.daanse.xmla.model.record.execute.cancel.CancelResponseR;
+import org.eclipse.daanse.xmla.model.record.execute.clearcache.ClearCacheResponseR;
+import org.eclipse.daanse.xmla.model.record.execute.statement.StatementResponseR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxesR;
+import org.eclipse.daanse.xmla.model.record.mddataset.AxisR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellInfoItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.CellTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ColumnarCellDataR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MddatasetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.MemberTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowItemR;
+import org.eclipse.daanse.xmla.model.record.mddataset.RowSetRowR;
+import org.eclipse.daanse.xmla.model.record.mddataset.TupleTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.TuplesTypeR;
+import org.eclipse.daanse.xmla.model.record.mddataset.ValueR;
+import org.eclipse.daanse.xmla.model.record.xmla_empty.EmptyresultR;
+
+/**
+ * {@link XmlaService} that returns prepared results, so that benchmarks measure
+ * the adapter and not the creation of the results. Alter, Cancel and ClearCache
+ * succeed with an empty result. Sessions are accepted without being tracked.
+ */
+public class SyntheticXmlaService implements XmlaService {
+
+    private final DiscoverService discoverService;
+    private final ExecuteService executeService;
+    private final SessionService sessionService = new SyntheticSessionService();
+
+    /**
+     * @param members           the rows of {@code MDSCHEMA_MEMBERS}
+     * @param statementResponse the response of every Statement
+     */
+    public SyntheticXmlaService(List<MdSchemaMembersResponseRow> members, StatementResponse statementResponse) {
+        this.discoverService = new SyntheticDiscoverService(members);
+        this.executeService = new SyntheticExecuteService(statementResponse);
+    }
+
+    @Override
+    public DiscoverService discover() {
+        return discoverService;
+    }
+
+    @Override
+    public ExecuteService execute() {
+        return executeService;
+    }
+
+    @Override
+    public SessionService session() {
+        return sessionService;
+    }
+
+    /**
+     * Member rows of a level with the given number of members.
+     */
+    public static List<MdSchemaMembersResponseRow> members(int count) {
+        List<MdSchemaMembersResponseRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = "Member " + i;
+            String uniqueName = "[Product].[Product].[Name].&[" + i + "]";
+            rows.add(new MdSchemaMembersResponseRowR(Optional.of("FoodMart"), Optional.empty(),
+                    Optional.of("Sales"), Optional.of("[Product]"), Optional.of("[Product].[Product]"),
+                    Optional.of("[Product].[Product].[Name]"), Optional.of(1), Optional.of(i), Optional.of(name),
+                    Optional.of(uniqueName), Optional.of(MemberTypeEnum.REGULAR_MEMBER), Optional.empty(),
+                    Optional.of(name), Optional.of(0), Optional.of(0),
+                    Optional.of("[Product].[Product].[All Products]"), Optional.of(1), Optional.empty(),
+                    Optional.empty(), Optional.of(String.valueOf(i)), Optional.of(false), Optional.of(false),
+                    Optional.empty()));
+        }
+        return rows;
+    }
+
+    /**
+     * A multidimensional result with {@code columns} measures on Axis0,
+     * {@code rows} members on Axis1 and a cell for each combination. The cells
+     * are kept in a {@link ColumnarCellDataR} if {@code columnar} is set, as
+     * {@link CellTypeR} list otherwise.
+     */
+    public static StatementResponse cellGrid(int rows, int columns, boolean columnar) {
+        List<Axis> axes = List.of(axis("Axis0", "Measures", columns), axis("Axis1", "[Product].[Product]", rows));
+        int cellCount = rows * columns;
+        CellData cellData;
+        if (columnar) {
+            ColumnarCellDataR.Builder builder = ColumnarCellDataR.builder(cellCount);
+            for (int ordinal = 0; ordinal < cellCount; ordinal++) {
+                double value = ordinal * 1.5;
+                builder.addDouble(ordinal, value, String.format("%,.2f", value));
+            }
+            cellData = builder.build();
+        } else {
+            List<CellType> cells = new ArrayList<>(cellCount);
+            for (int ordinal = 0; ordinal < cellCount; ordinal++) {
+                double value = ordinal * 1.5;
+                cells.add(new CellTypeR(new ValueR(String.valueOf(value), ItemTypeEnum.DOUBLE, null),
+                        List.of(new CellInfoItemR("FmtValue", String.format("%,.2f", value), Optional.empty())),
+                        ordinal));
+            }
+            cellData = new CellDataR(cells, null);
+        }
+        return new StatementResponseR(new MddatasetR(null, new AxesR(axes), cellData, null, null), null);
+    }
+
+    /**
+     * A tabular result with the given number of rows and string and integer
+     * columns, like the result of a DRILLTHROUGH statement.
+     */
+    public static StatementResponse tabular(int rows, int columns) {
+        List<RowSetRow> rowSetRows = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            List<RowSetRowItem> items = new ArrayList<>(columns);
+            for (int column = 0; column < columns; column++) {
+                String tagName = "C" + column;
+                items.add(column % 2 == 0
+                        ? new RowSetRowItemR(tagName, "[Product].[Column " + column + "]", "Value " + row,
+                                Optional.empty())
+                        : new RowSetRowItemR(tagName, "[Measures].[Column " + column + "]",
+                                String.valueOf(row * column), Optional.of(ItemTypeEnum.INTEGER)));
+            }
+            rowSetRows.add(new RowSetRowR(items));
+        }
+        return new StatementResponseR(null, new RowSetR(rowSetRows));
+    }
+
+    private static Axis axis(String name, String hierarchy, int count) {
+        List<TupleType> tuples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<CellInfoItem> properties = List.of(
+                    new CellInfoItemR("UName", hierarchy + ".&[" + i + "]", Optional.empty()),
+                    new CellInfoItemR("Caption", "Member " + i, Optional.empty()),
+                    new CellInfoItemR("LName", hierarchy + ".[Name]", Optional.empty()),
+                    new CellInfoItemR("LNum", "1", Optional.empty()));
+            tuples.add(new TupleTypeR(List.<MemberType>of(new MemberTypeR(properties, hierarchy))));
+        }
+        return new AxisR(List.<Type>of(new TuplesTypeR(tuples)), name);
+    }
+
+    private static class SyntheticExecuteService implements ExecuteService {
+
+        private final StatementResponse statementResponse;
+
+        SyntheticExecuteService(StatementResponse statementResponse) {
+            this.statementResponse = statementResponse;
+        }
+
+        @Override
+        public AlterResponse alter(AlterRequest statementRequest, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return new AlterResponseR(new EmptyresultR(null, null));
+        }
+
+        @Override
+        public CancelResponse cancel(CancelRequest capture, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return new CancelResponseR(new EmptyresultR(null, null));
+        }
+
+        @Override
+        public ClearCacheResponse clearCache(ClearCacheRequest clearCacheRequest, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return new ClearCacheResponseR(new EmptyresultR(null, null));
+        }
+
+        @Override
+        public StatementResponse statement(StatementRequest statementRequest, RequestMetaData metaData,
+                UserRolePrincipal userPrincipal) {
+            return statementResponse;
+        }
+    }
+
+    private static class SyntheticSessionService implements SessionService {
+
+        @Override
+        public Optional<Session> beginSession(BeginSession beginSession, UserRolePrincipal userPrincipal) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean checkSession(Session session, UserRolePrincipal userPrincipal) {
+            return true;
+        }
+
+        @Override
+        public void endSession(EndSession endSession, UserRolePrincipal userPrincipal) {
+            // sessions are not tracked
+        }
+    }
+}
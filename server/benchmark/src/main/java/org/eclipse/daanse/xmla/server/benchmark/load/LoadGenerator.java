@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.daanse.xmla.server.benchmark.load.RequestCorpus.Request;
+
+/**
+ * Sends the requests of a corpus in turn to an endpoint and records their
+ * latencies in a {@link LoadReport}. Requests that start in the warmup are not
+ * recorded. A request fails if the response status is not {@code 200}.
+ */
+final class LoadGenerator {
+
+    private final HttpClient client;
+    private final URI uri;
+    private final List<Request> requests;
+    private final LoadReport report;
+    private final AtomicLong next = new AtomicLong();
+
+    LoadGenerator(HttpClient client, URI uri, List<Request> requests, LoadReport report) {
+        this.client = client;
+        this.uri = uri;
+        this.requests = requests;
+        this.report = report;
+    }
+
+    /**
+     * Closed model: each client sends its next request when the response to the
+     * previous one is complete, so the rate adapts to the server.
+     *
+     * @param clients  the number of clients
+     * @param warmup   the time before the measurement
+     * @param duration the time that is measured
+     */
+    void runClosed(int clients, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Thread[] threads = new Thread[clients];
+        for (int i = 0; i < clients; i++) {
+            threads[i] = Thread.ofVirtual().name("load-client-" + i).start(() -> {
+                long start;
+                while ((start = System.nanoTime()) < end) {
+                    Request request = nextRequest();
+                    boolean error = !send(request);
+                    if (start >= measureFrom) {
+                        report.record(request.name(), System.nanoTime() - start, error);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Open model: requests are started at a fixed rate whether or not earlier
+     * ones are complete, like independent users. The latency is measured from
+     * the time a request was due, so a stalled server is not hidden by requests
+     * that start late. Requests that are due while {@code maxInFlight} requests
+     * are running are dropped and counted as errors.
+     *
+     * @param rate        the requests per second
+     * @param maxInFlight the number of requests that run at the same time
+     * @param warmup      the time before the measurement
+     * @param duration    the time that is measured
+     */
+    void runOpen(double rate, int maxInFlight, Duration warmup, Duration duration) throws InterruptedException {
+        long interval = Math.max(1, (long) (1e9 / rate));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Request request = nextRequest();
+            boolean measured = due >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.dropped(request.name());
+                }
+                continue;
+            }
+            long dueTime = due;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    boolean error = !send(request);
+                    if (measured) {
+                        report.record(request.name(), System.nanoTime() - dueTime, error);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // wait for the requests in flight
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    private Request nextRequest() {
+        return requests.get((int) (next.getAndIncrement() % requests.size()));
+    }
+
+    private boolean send(Request request) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "text/xml; charset=utf-8")
+                .header("SOAPAction", request.soapAction())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(request.body()))
+                .build();
+        try {
+            return client.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark.load;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HistogramMetrics.Histogram;
+
+/**
+ * Latencies and errors of the measured requests by request name.
+ */
+final class LoadReport {
+
+    private static final String TOTAL = "TOTAL";
+    private static final double[] QUANTILES = { 0.5, 0.99, 0.999 };
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final Stats total = new Stats();
+
+    /**
+     * Records a completed request.
+     *
+     * @param latencyNanos the time from the intended start to the end of the
+     *                     response
+     * @param error        if the request failed
+     */
+    void record(String name, long latencyNanos, boolean error) {
+        Stats requestStats = stats.computeIfAbsent(name, key -> new Stats());
+        requestStats.record(latencyNanos, error);
+        total.record(latencyNanos, error);
+    }
+
+    /**
+     * Records a request of the open model that was not sent because too many
+     * requests were in flight. It is counted as error without latency.
+     */
+    void dropped(String name) {
+        stats.computeIfAbsent(name, key -> new Stats()).dropped();
+        total.dropped();
+    }
+
+    long count() {
+        return total.count();
+    }
+
+    long errors() {
+        return total.errors.sum();
+    }
+
+    /**
+     * Writes a table with the count, errors, throughput and latencies of each
+     * request and of all requests.
+     *
+     * @param duration the measured time the throughput is computed for
+     */
+    void print(Appendable out, Duration duration) throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        out.append(String.format(Locale.ROOT, "%-20s %10s %8s %7s %10s %9s %9s %9s %9s%n", "request", "count",
+                "errors", "error%", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            entry.getValue().print(out, entry.getKey(), seconds);
+        }
+        total.print(out, TOTAL, seconds);
+    }
+
+    private static final class Stats {
+
+        private final Histogram latency = new Histogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        void record(long latencyNanos, boolean error) {
+            latency.record(latencyNanos);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        void dropped() {
+            dropped.increment();
+            errors.increment();
+        }
+
+        long count() {
+            return latency.count() + dropped.sum();
+        }
+
+        void print(Appendable out, String name, double seconds) throws IOException {
+            long count = count();
+            long errorCount = errors.sum();
+            long[] quantiles = latency.valuesAtQuantiles(QUANTILES);
+            out.append(String.format(Locale.ROOT, "%-20s %10d %8d %7.2f %10.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+                    count, errorCount, count > 0 ? 100.0 * errorCount / count : 0.0, count / seconds,
+                    millis(quantiles[0]), millis(quantiles[1]), millis(quantiles[2]), millis(latency.max())));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
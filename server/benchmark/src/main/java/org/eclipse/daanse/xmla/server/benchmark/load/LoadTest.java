@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.daanse.xmla.server.benchmark.SyntheticXmlaService;
+import org.eclipse.daanse.xmla.server.jdk.httpserver.JdkHttpServer;
+
+/**
+ * Replays the TCK requests against an XMLA endpoint and prints the latency
+ * percentiles, throughput and error rate of each request. Without
+ * {@code --url} a {@link JdkHttpServer} with a {@link SyntheticXmlaService} is
+ * started in the same process, so transport and threading changes can be
+ * compared without an OLAP server. Any other endpoint, e.g. the
+ * {@code XmlaServlet} in an OSGi framework, is loaded with {@code --url}.
+ *
+ * <pre>
+ * java -cp benchmarks.jar org.eclipse.daanse.xmla.server.benchmark.load.LoadTest [--option=value]...
+ *
+ *   --url=URL             endpoint, an embedded JdkHttpServer if not set
+ *   --port=N              port of the embedded server (8090)
+ *   --server.NAME=VALUE   configuration property of the embedded server, e.g. --server.executor=virtual
+ *   --rows=N              rows of the synthetic results (100)
+ *   --model=closed|open   closed: clients wait for their responses, open: requests at a fixed rate (closed)
+ *   --concurrency=N       closed: number of clients, open: maximum requests in flight (16)
+ *   --rate=N              open: requests per second (100)
+ *   --warmup=SECONDS      time that is not measured (5)
+ *   --duration=SECONDS    time that is measured (30)
+ *   --requests=NAME,...   requests of the corpus that are sent in turn (all)
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final String SERVER_PREFIX = "server.";
+
+    private LoadTest() {
+        // main class
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        List<RequestCorpus.Request> requests = RequestCorpus.requests(list(options.get("requests")));
+        int concurrency = getInt(options, "concurrency", 16);
+        Duration warmup = Duration.ofSeconds(getInt(options, "warmup", 5));
+        Duration duration = Duration.ofSeconds(getInt(options, "duration", 30));
+
+        JdkHttpServer server = null;
+        String url = options.get("url");
+        if (url == null) {
+            int port = getInt(options, "port", 8090);
+            server = startServer(options, port);
+            url = "http://localhost:" + port + "/xmla";
+        }
+        LoadReport report = new LoadReport();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(executor).version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            LoadGenerator generator = new LoadGenerator(client, URI.create(url), requests, report);
+            if ("open".equalsIgnoreCase(options.getOrDefault("model", "closed"))) {
+                generator.runOpen(getInt(options, "rate", 100), concurrency, warmup, duration);
+            } else {
+                generator.runClosed(concurrency, warmup, duration);
+            }
+        } finally {
+            if (server != null) {
+                server.deativate();
+            }
+        }
+        System.out.printf(Locale.ROOT, "%s, model %s, concurrency %d, %ds measured%n", url,
+                options.getOrDefault("model", "closed"), concurrency, duration.toSeconds());
+        report.print(System.out, duration);
+    }
+
+    private static JdkHttpServer startServer(Map<String, String> options, int port) throws Exception {
+        int rows = getInt(options, "rows", 100);
+        SyntheticXmlaService service = new SyntheticXmlaService(SyntheticXmlaService.members(rows),
+                SyntheticXmlaService.tabular(rows, 10));
+        Map<String, Object> properties = new HashMap<>();
+        options.forEach((name, value) -> {
+            if (name.startsWith(SERVER_PREFIX)) {
+                properties.put(name.substring(SERVER_PREFIX.length()), value);
+            }
+        });
+        properties.put(JdkHttpServer.PROPERTY_PORT, port);
+        JdkHttpServer server = new JdkHttpServer(service);
+        server.activate(properties);
+        return server;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --option=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static List<String> list(String value) {
+        return value == null || value.isBlank() ? List.of() : Arrays.asList(value.split(","));
+    }
+
+    private static int getInt(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
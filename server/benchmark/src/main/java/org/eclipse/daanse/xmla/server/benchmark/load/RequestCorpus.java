@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.benchmark.load;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.daanse.xmla.server.tck.Constants;
+import org.eclipse.daanse.xmla.server.tck.TestRequests;
+
+/**
+ * The requests of the TCK as complete SOAP envelopes, by name.
+ */
+final class RequestCorpus {
+
+    /**
+     * A request that is sent as is.
+     *
+     * @param name       the name the request is reported with
+     * @param soapAction the SOAPAction header
+     * @param body       the SOAP envelope in UTF-8
+     */
+    record Request(String name, String soapAction, byte[] body) {
+    }
+
+    private static final Map<String, Request> REQUESTS = new LinkedHashMap<>();
+
+    static {
+        discover("DISCOVER_PROPERTIES", TestRequests.DISCOVER_PROPERTIES_REQUEST);
+        discover("MDSCHEMA_CUBES", TestRequests.MDSCHEMA_CUBES_REQUEST);
+        discover("MDSCHEMA_MEMBERS", TestRequests.MDSCHEMA_MEMBERS_REQUEST);
+        execute("STATEMENT", TestRequests.STATEMENT_REQUEST);
+        execute("CLEAR_CACHE", TestRequests.CLEAR_CACHE_REQUEST);
+        execute("ALTER", TestRequests.ALTER_REQUEST);
+        execute("CANCEL", TestRequests.CANCEL_REQUEST);
+    }
+
+    private RequestCorpus() {
+        // utility class
+    }
+
+    /**
+     * The requests with the given names, all requests if none are given.
+     *
+     * @throws IllegalArgumentException if a name is unknown
+     */
+    static List<Request> requests(List<String> names) {
+        if (names.isEmpty()) {
+            return List.copyOf(REQUESTS.values());
+        }
+        List<Request> requests = new ArrayList<>();
+        for (String name : names) {
+            Request request = REQUESTS.get(name);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown request " + name + ", known are " + REQUESTS.keySet());
+            }
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static void discover(String name, String body) {
+        REQUESTS.put(name, new Request(name, Constants.SOAP_ACTION_DISCOVER, envelope(body)));
+    }
+
+    private static void execute(String name, String body) {
+        REQUESTS.put(name, new Request(name, Constants.SOAP_ACTION_EXECUTE, envelope(body)));
+    }
+
+    private static byte[] envelope(String body) {
+        return ("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">
+                <SOAP-ENV:Body>
+                """ + body + """
+                </SOAP-ENV:Body>
+                </SOAP-ENV:Envelope>
+                """).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -101,9 +101,26 @@ import static org.eclipse.daanse.xmla.api.common.properties.OperationNames.*;
 public class ApiXmlaWsAdapter implements WsAdapter {
     private static final Logger LOGGER = LoggerFactory.getLogger(ApiXmlaWsAdapter.class);
     private final XmlaService xmlaService;
+    private final boolean streaming;
 
     public ApiXmlaWsAdapter(XmlaService xmlaService) {
+        this(xmlaService, false);
+    }
+
+    /**
+     * Creates an adapter for the given service. If {@code streaming} is set the
+     * rows of MDSCHEMA_MEMBERS and of Statement rowsets are converted while JAX-WS
+     * marshals the response instead of before, errors of the conversion are
+     * then reported by JAX-WS.
+     */
+    public ApiXmlaWsAdapter(XmlaService xmlaService, boolean streaming) {
         this.xmlaService = xmlaService;
+        this.streaming = streaming;
+        try {
+            Convert.generateRowsetSchemas();
+        } catch (JAXBException | IOException e) {
+            LOGGER.warn("ApiXmlaWsAdapter rowset schemas not generated", e);
+        }
     }
 
 
@@ -207,7 +224,7 @@ public class ApiXmlaWsAdapter implements WsAdapter {
     private ExecuteResponse handleStatement(Execute requestWs) throws JAXBException, IOException {
         StatementRequest requestApi = Convert.fromStatement(requestWs);
         StatementResponse responseApi = xmlaService.execute().statement(requestApi, null, null);
-        return Convert.toStatement(responseApi);
+        return Convert.toStatement(responseApi, streaming);
     }
 
     private DiscoverResponse handleDbSchemaCatalogs(Discover requestWs) throws JAXBException, IOException {
@@ -375,6 +392,9 @@ public class ApiXmlaWsAdapter implements WsAdapter {
     private DiscoverResponse handleDiscoverMdSchemaMembers(Discover requestWs) throws JAXBException, IOException {
 
         MdSchemaMembersRequest requestApi = Convert.fromDiscoverMdSchemaMembers(requestWs);
+        if (streaming) {
+            return Convert.toDiscoverMdSchemaMembers(xmlaService.discover().mdSchemaMembersStream(requestApi, null));
+        }
         List<MdSchemaMembersResponseRow> responseApi = xmlaService.discover().mdSchemaMembers(requestApi, null);
         return Convert.toDiscoverMdSchemaMembers(responseApi);
     }
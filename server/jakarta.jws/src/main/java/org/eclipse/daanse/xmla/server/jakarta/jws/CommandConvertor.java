@@ -333,7 +333,8 @@ public class CommandConvertor {
                     convertImageSaveList(batch.getImageSave()), convertCloneDatabaseList(batch.getCloneDatabase()),
                     convertSetAuthContextList(batch.getSetAuthContext()), convertDBCC(batch.getDBCC()),
                     convertDiscoverList(batch.getDiscover()), batch.getTransaction(),
-                    batch.getProcessAffectedObjects());
+                    // the bound Batch keeps the commands by type, the document order is not known
+                    batch.getProcessAffectedObjects(), List.of());
         }
         return null;
     }
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.eclipse.daanse.xmla.api.common.enums.AuthenticationModeEnum;
 import org.eclipse.daanse.xmla.api.common.enums.ColumnOlapTypeEnum;
@@ -251,13 +252,38 @@ import jakarta.xml.bind.JAXBException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
 public class Convert {
 
+    private static final String ROWSET_NS = "urn:schemas-microsoft-com:xml-analysis:rowset";
+
+    private static final List<Class<?>> ROWSET_ROW_CLASSES = List.of(DiscoverPropertiesResponseRowXml.class,
+            DbSchemaCatalogsResponseRowXml.class, DiscoverSchemaRowsetsResponseRowXml.class,
+            DiscoverEnumeratorsResponseRowXml.class, DiscoverKeywordsResponseRowXml.class,
+            DiscoverLiteralsResponseRowXml.class, DbSchemaTablesResponseRowXml.class,
+            MdSchemaActionsResponseRowXml.class, MdSchemaCubesResponseRowXml.class,
+            MdSchemaDimensionsResponseRowXml.class, MdSchemaFunctionsResponseRowXml.class,
+            MdSchemaHierarchiesResponseRowXml.class, DiscoverDataSourcesResponseRowXml.class,
+            DiscoverXmlMetaDataResponseRowXml.class, DbSchemaColumnsResponseRowXml.class,
+            DbSchemaProviderTypesResponseRowXml.class, DbSchemaSchemataResponseRowXml.class,
+            MdSchemaLevelsResponseRowXml.class, MdSchemaMeasureGroupDimensionsResponseRowXml.class,
+            MdSchemaMeasuresResponseRowXml.class, MdSchemaMembersResponseRowXml.class,
+            MdSchemaPropertiesResponseRowXml.class, MdSchemaSetsResponseRowXml.class,
+            MdSchemaKpisResponseRowXml.class, MdSchemaMeasureGroupsResponseRowXml.class,
+            DbSchemaSourceTablesResponseRowXml.class, DbSchemaTablesInfoResponseRowXml.class,
+            StatementRowXml.class);
+
     private Convert() {
     }
+
+    /**
+     * Generates the schemas of all rowset rows, so that the first response of each
+     * type does not have to wait for the JAXB context and schema generation.
+     */
+    public static void generateRowsetSchemas() throws JAXBException, IOException {
+        for (Class<?> rowClass : ROWSET_ROW_CLASSES) {
+            SchemaUtil.generateSchema(ROWSET_NS, rowClass);
+        }
+    }
     private static Optional<Integer> localeIdentifier(PropertyList propertyList) {
         return Optional.ofNullable(propertyList.getLocaleIdentifier());
     }
@@ -1804,6 +1830,25 @@ public class Convert {
             return responseWs;
     }
 
+    /**
+     * Converts the rows of the stream while the response is marshalled, see
+     * {@link RowList}.
+     */
+    public static DiscoverResponse toDiscoverMdSchemaMembers(Stream<MdSchemaMembersResponseRow> responseApi)
+            throws JAXBException, IOException {
+        RowList<MdSchemaMembersResponseRow> rows = new RowList<>(responseApi,
+                Convert::convertMdSchemaMembersResponseRow);
+        try {
+            DiscoverResponse responseWs = new DiscoverResponse();
+            responseWs.setReturn(getReturn(rows, MdSchemaMembersResponseRowXml.class));
+            return responseWs;
+        } catch (JAXBException | IOException | RuntimeException e) {
+            // the response is not marshalled, so the rows are never iterated
+            rows.close();
+            throw e;
+        }
+    }
+
     private static Row convertMdSchemaMembersResponseRow(MdSchemaMembersResponseRow apiRow) {
         MdSchemaMembersResponseRowXml row = new MdSchemaMembersResponseRowXml();
 
@@ -2308,7 +2353,17 @@ public class Convert {
     }
 
     public static ExecuteResponse toStatement(StatementResponse responseApi) throws JAXBException, IOException {
-        Return ret = convertStatementResponse(responseApi);
+        return toStatement(responseApi, false);
+    }
+
+    /**
+     * Converts the response of a statement. If {@code streaming} is set the rows
+     * of a rowset are converted while the response is marshalled, see
+     * {@link RowList}.
+     */
+    public static ExecuteResponse toStatement(StatementResponse responseApi, boolean streaming)
+            throws JAXBException, IOException {
+        Return ret = convertStatementResponse(responseApi, streaming);
         ExecuteResponse responseWs = new ExecuteResponse();
         responseWs.setReturnValue(ret);
 
@@ -2374,67 +2429,69 @@ public class Convert {
         return result;
     }
 
-    private static Return convertStatementResponse(StatementResponse responseApi) throws JAXBException, IOException {
+    private static Return convertStatementResponse(StatementResponse responseApi, boolean streaming)
+            throws JAXBException, IOException {
         Return ret = new Return();
         if (responseApi.mdDataSet() != null) {
             ret.setValue(MdDataSetConvertor.convertMdDataSet(responseApi.mdDataSet()));
         }
         if (responseApi.rowSet() != null) {
-            ret.setValue(convertStatementResponseRowSet(responseApi.rowSet()));
+            ret.setValue(convertStatementResponseRowSet(responseApi.rowSet(), streaming));
         }
         return ret;
     }
 
-    private static Rowset convertStatementResponseRowSet(RowSet rowSet) throws JAXBException, IOException {
+    private static Rowset convertStatementResponseRowSet(RowSet rowSet, boolean streaming)
+            throws JAXBException, IOException {
         Rowset rowset = new Rowset();
-        Schema schema = SchemaUtil.generateSchema("urn:schemas-microsoft-com:xml-analysis:rowset",
-            StatementRowXml.class);
-        rowset.setRow(convertRowSetRowList(rowSet.rowSetRows()));
+        Schema schema = SchemaUtil.generateSchema(ROWSET_NS, StatementRowXml.class);
+        rowset.setRow(streaming ? streamRowSetRowList(rowSet.rowSetRows()) : convertRowSetRowList(rowSet.rowSetRows()));
         rowset.setSchema(schema);
         return rowset;
     }
 
     private static List<Row> convertRowSetRowList(List<RowSetRow> list) {
         if (list != null) {
-            return list.stream().map(Convert::convertRowSetRow).toList();
+            Document document = ConvertorUtil.newDocument();
+            return list.stream().map(row -> convertRowSetRow(document, row)).toList();
+        }
+        return List.of();
+    }
+
+    private static List<Row> streamRowSetRowList(List<RowSetRow> list) {
+        if (list != null) {
+            Document document = ConvertorUtil.newDocument();
+            return new RowList<>(list, row -> convertRowSetRow(document, row));
         }
         return List.of();
     }
 
-    private static Row convertRowSetRow(RowSetRow rowSetRow) {
+    private static Row convertRowSetRow(Document document, RowSetRow rowSetRow) {
         StatementRowXml row = new StatementRowXml();
-        row.setAny(convertRowSetItemList(rowSetRow.rowSetRowItem()));
+        row.setAny(convertRowSetItemList(document, rowSetRow.rowSetRowItem()));
         return row;
     }
 
-    private static List<Element> convertRowSetItemList(List<RowSetRowItem> list) {
+    private static List<Element> convertRowSetItemList(Document document, List<RowSetRowItem> list) {
         if (list != null) {
-            return list.stream().map(Convert::convertElement).toList();
+            return list.stream().map(item -> convertElement(document, item)).toList();
         }
         return List.of();
     }
 
-    private static Element convertElement(RowSetRowItem rowSetItem) {
+    private static Element convertElement(Document document, RowSetRowItem rowSetItem) {
         if (rowSetItem != null) {
-            try {
-                Document document = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .newDocument();
-                Element element = document.createElement(rowSetItem.tagName());
-                element.setTextContent(rowSetItem.value());
-                rowSetItem.type().ifPresent(type -> element.setAttributeNS("xsi", "type", type.getValue()));
-                return element;
-            } catch (ParserConfigurationException e) {
-                throw new ConvertorException(e);
-            }
+            Element element = document.createElement(rowSetItem.tagName());
+            element.setTextContent(rowSetItem.value());
+            rowSetItem.type().ifPresent(type -> element.setAttributeNS("xsi", "type", type.getValue()));
+            return element;
         }
 
         return null;
     }
 
     private static Return getReturn(List<Row> rows, Class<?> cl) throws JAXBException, IOException {
-        Schema schema = SchemaUtil.generateSchema("urn:schemas-microsoft-com:xml-analysis:rowset",
-            cl);
+        Schema schema = SchemaUtil.generateSchema(ROWSET_NS, cl);
         Return r = new Return();
         Rowset rs = new Rowset();
         rs.setSchema(schema);
@@ -19,6 +19,9 @@ import java.time.Instant;
 import java.util.List;
 
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.daanse.xmla.api.exception.StartEnd;
 import org.eclipse.daanse.xmla.api.exception.Type;
@@ -30,12 +33,37 @@ import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_exception.Exception;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_exception.MessageLocation;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_exception.Messages;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_exception.WarningType;
+import org.w3c.dom.Document;
 
 public class ConvertorUtil {
 
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal
+            .withInitial(ConvertorUtil::newDocumentBuilder);
+
     private ConvertorUtil() {
     }
 
+    /**
+     * Creates an empty document with the document builder of the current thread.
+     * The elements of a response are created in one document instead of a new
+     * one per element.
+     */
+    static Document newDocument() {
+        return DOCUMENT_BUILDER.get().newDocument();
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        // the factory is not thread safe
+        synchronized (DOCUMENT_BUILDER_FACTORY) {
+            try {
+                return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new ConvertorException(e);
+            }
+        }
+    }
+
     public static Exception convertException(org.eclipse.daanse.xmla.api.exception.Exception exception) {
         if (exception != null) {
             return new Exception();
@@ -20,9 +20,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
 import org.eclipse.daanse.xmla.api.mddataset.CellInfoItem;
 import org.eclipse.daanse.xmla.api.mddataset.Value;
 import org.eclipse.daanse.xmla.api.msxmla.MemberRef;
@@ -139,53 +136,41 @@ public class MdDataSetConvertor {
 
     private static List<Element> convertElementList(List<CellInfoItem> anyList) {
         if (anyList != null) {
-            return anyList.stream().map(MdDataSetConvertor::convertElement).toList();
+            Document document = ConvertorUtil.newDocument();
+            return anyList.stream().map(item -> convertElement(document, item)).toList();
         }
         return List.of();
     }
 
     private static List<Element> convertElementList1(List<CellInfoItem> anyList) {
         if (anyList != null) {
-            return anyList.stream().map(MdDataSetConvertor::convertElement1).toList();
+            Document document = ConvertorUtil.newDocument();
+            return anyList.stream().map(item -> convertElement1(document, item)).toList();
         }
         return List.of();
     }
 
-    private static Element convertElement(CellInfoItem cellInfoItem) {
+    private static Element convertElement(Document document, CellInfoItem cellInfoItem) {
         if (cellInfoItem != null) {
-            try {
-                Document document = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .newDocument();
-                Element element = document.createElement(cellInfoItem.tagName());
-                element.setAttribute(NAME, cellInfoItem.name());
-
-                cellInfoItem.type().ifPresent(type -> element.setAttribute(TYPE, type));
-
-                return element;
-            } catch (ParserConfigurationException e) {
-                throw new ConvertorException(e);
-            }
+            Element element = document.createElement(cellInfoItem.tagName());
+            element.setAttribute(NAME, cellInfoItem.name());
+
+            cellInfoItem.type().ifPresent(type -> element.setAttribute(TYPE, type));
+
+            return element;
         }
 
         return null;
     }
 
-    private static Element convertElement1(CellInfoItem cellInfoItem) {
+    private static Element convertElement1(Document document, CellInfoItem cellInfoItem) {
         if (cellInfoItem != null) {
-            try {
-                Document document = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .newDocument();
-                Element element = document.createElement(cellInfoItem.tagName());
-                element.setTextContent(cellInfoItem.name());
-
-                cellInfoItem.type().ifPresent(type -> element.setAttribute(TYPE, type));
-
-                return element;
-            } catch (ParserConfigurationException e) {
-                throw new ConvertorException(e);
-            }
+            Element element = document.createElement(cellInfoItem.tagName());
+            element.setTextContent(cellInfoItem.name());
+
+            cellInfoItem.type().ifPresent(type -> element.setAttribute(TYPE, type));
+
+            return element;
         }
 
         return null;
@@ -74,6 +74,10 @@ public class MsXmlAnalysisSoap {
 
         @AttributeDefinition(required = true)
         String osgiSoapEndpointContextPath();
+
+        @AttributeDefinition(description = "Convert the rows of MDSCHEMA_MEMBERS and Statement rowsets while"
+                + " the response is marshalled")
+        boolean streaming() default false;
     }
 
     @jakarta.annotation.Resource
@@ -85,8 +89,8 @@ public class MsXmlAnalysisSoap {
     private XmlaService xmlaService;
 
     @Activate
-    public void activate() {
-        wsAdapter = new ApiXmlaWsAdapter(xmlaService);
+    public void activate(Config config) {
+        wsAdapter = new ApiXmlaWsAdapter(xmlaService, config.streaming());
     }
 
     @WebMethod(operationName = "Authenticate")
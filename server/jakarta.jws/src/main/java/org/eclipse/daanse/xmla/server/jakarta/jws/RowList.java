@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jakarta.jws;
+
+import java.lang.ref.Cleaner;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_rowset.Row;
+
+/**
+ * Rows of a rowset that are converted from the rows of the API while JAXB
+ * marshals them. Only the row that is written and its elements are held in
+ * memory, the complete list of converted rows is not built.
+ *
+ * A list of the API is converted again on each iteration. A stream is iterated
+ * once, its rows are only collected if the list is accessed by index. JAX-WS
+ * marshals the response after the adapter returned and has no hook after the
+ * response is written, so the stream is closed by the list itself: after its
+ * last row, when reading or converting a row fails, by {@link #close()} if the
+ * response is not handed to JAX-WS, and when the list becomes unreachable, e.g.
+ * because the client disconnected while the rows were written.
+ */
+final class RowList<T> extends AbstractList<Row> implements AutoCloseable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final List<T> list;
+    private final Stream<T> stream;
+    private final Function<T, Row> convertor;
+    private final Cleaner.Cleanable cleanable;
+    private List<Row> rows;
+    private boolean consumed;
+
+    RowList(List<T> list, Function<T, Row> convertor) {
+        this.list = list;
+        this.stream = null;
+        this.convertor = convertor;
+        this.cleanable = null;
+    }
+
+    RowList(Stream<T> stream, Function<T, Row> convertor) {
+        this.list = null;
+        this.stream = stream;
+        this.convertor = convertor;
+        // the action must not reference the list, otherwise it never becomes unreachable
+        this.cleanable = CLEANER.register(this, stream::close);
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        if (list != null) {
+            return new ConvertingIterator(list.iterator());
+        }
+        if (rows != null) {
+            return rows.iterator();
+        }
+        return new ConvertingIterator(consume().iterator());
+    }
+
+    @Override
+    public Row get(int index) {
+        return list != null ? convertor.apply(list.get(index)) : collect().get(index);
+    }
+
+    @Override
+    public int size() {
+        return list != null ? list.size() : collect().size();
+    }
+
+    /**
+     * Closes the stream, it is closed once also if this is called again.
+     */
+    @Override
+    public void close() {
+        if (cleanable != null) {
+            cleanable.clean();
+        }
+    }
+
+    private List<Row> collect() {
+        if (rows == null) {
+            try {
+                rows = consume().map(convertor).toList();
+            } finally {
+                close();
+            }
+        }
+        return rows;
+    }
+
+    private Stream<T> consume() {
+        if (consumed) {
+            throw new IllegalStateException("The rows of the stream have already been written");
+        }
+        consumed = true;
+        return stream;
+    }
+
+    private final class ConvertingIterator implements Iterator<Row> {
+
+        private final Iterator<T> source;
+
+        private ConvertingIterator(Iterator<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean hasNext;
+            try {
+                hasNext = source.hasNext();
+            } catch (RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Row next() {
+            try {
+                return convertor.apply(source.next());
+            } catch (RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ package org.eclipse.daanse.xmla.server.jakarta.jws;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -37,28 +38,45 @@ public class SchemaUtil {
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SchemaUtil.class);
-    static Map<Class<?>[], Schema> map = new ConcurrentHashMap<>();
+    private static final Map<Key, Schema> SCHEMAS = new ConcurrentHashMap<>();
+    private static volatile JAXBContext schemaContext;
 
-    //
+    /**
+     * Returns the schema of the given namespace for the given classes. The schema
+     * is generated once for each namespace and list of classes, later calls with
+     * the same arguments return the cached schema.
+     */
     public static final Schema generateSchema(String ns, Class<?>... classes) throws JAXBException, IOException {
-
-        Schema schema = map.get(classes);
+        Key key = new Key(ns, List.of(classes));
+        Schema schema = SCHEMAS.get(key);
         if (schema != null) {
             return schema;
         }
         JAXBContext applicationContext = JAXBContext.newInstance(classes);
-        JAXBContext schemaContext = JAXBContext.newInstance(Schema.class);
-        JaxBSchemaOutputResolver resolver = new JaxBSchemaOutputResolver(schemaContext);
+        JaxBSchemaOutputResolver resolver = new JaxBSchemaOutputResolver(schemaContext());
         applicationContext.generateSchema(resolver);
-        Marshaller marshaller = schemaContext.createMarshaller();
-        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
         schema = (Schema) resolver.schemas.get(ns).getResult();
-        StringWriter sw = new StringWriter();
-        marshaller.marshal(schema, sw);
-        String msg = sw.toString();
-        LOGGER.debug(msg);
-        map.put(classes, schema);
-        return schema;
+        if (LOGGER.isDebugEnabled()) {
+            Marshaller marshaller = schemaContext().createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            StringWriter sw = new StringWriter();
+            marshaller.marshal(schema, sw);
+            LOGGER.debug(sw.toString());
+        }
+        Schema previous = SCHEMAS.putIfAbsent(key, schema);
+        return previous != null ? previous : schema;
+    }
+
+    private static JAXBContext schemaContext() throws JAXBException {
+        JAXBContext context = schemaContext;
+        if (context == null) {
+            context = JAXBContext.newInstance(Schema.class);
+            schemaContext = context;
+        }
+        return context;
+    }
+
+    private record Key(String ns, List<Class<?>> classes) {
     }
 
     public static final class JaxBSchemaOutputResolver extends SchemaOutputResolver {
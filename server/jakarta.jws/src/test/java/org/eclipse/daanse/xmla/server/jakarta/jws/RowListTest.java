@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jakarta.jws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_rowset.Row;
+import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_rowset.discover.DiscoverPropertiesResponseRowXml;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RowListTest {
+
+    private final AtomicInteger conversions = new AtomicInteger();
+
+    @Nested
+    class FromList {
+
+        @Test
+        void iterator_convertsWhileIterating() {
+            RowList<String> rows = new RowList<>(List.of("a", "b"), RowListTest.this::convert);
+
+            assertEquals(0, conversions.get());
+            List<String> names = names(rows);
+
+            assertEquals(List.of("a", "b"), names);
+            assertEquals(2, conversions.get());
+        }
+
+        @Test
+        void getAndSize_convertIndexedRow() {
+            RowList<String> rows = new RowList<>(List.of("a", "b"), RowListTest.this::convert);
+
+            assertEquals(2, rows.size());
+            assertEquals("b", ((DiscoverPropertiesResponseRowXml) rows.get(1)).getPropertyName());
+            assertEquals(1, conversions.get());
+        }
+    }
+
+    @Nested
+    class FromStream {
+
+        @Test
+        void iterator_closesStreamAfterLastRow() {
+            AtomicBoolean closed = new AtomicBoolean();
+            RowList<String> rows = new RowList<>(Stream.of("a", "b").onClose(() -> closed.set(true)),
+                    RowListTest.this::convert);
+
+            assertEquals(List.of("a", "b"), names(rows));
+            assertTrue(closed.get());
+        }
+
+        @Test
+        void iterator_secondIteration_fails() {
+            RowList<String> rows = new RowList<>(Stream.of("a"), RowListTest.this::convert);
+            names(rows);
+
+            assertThrows(IllegalStateException.class, rows::iterator);
+        }
+
+        @Test
+        void size_collectsRows() {
+            RowList<String> rows = new RowList<>(Stream.of("a", "b"), RowListTest.this::convert);
+
+            assertEquals(2, rows.size());
+            assertEquals(List.of("a", "b"), names(rows));
+            assertEquals(2, conversions.get());
+        }
+
+        @Test
+        void iterator_conversionFails_closesStream() {
+            AtomicBoolean closed = new AtomicBoolean();
+            RowList<String> rows = new RowList<>(Stream.of("a", "b").onClose(() -> closed.set(true)), name -> {
+                if (name.equals("b")) {
+                    throw new IllegalArgumentException(name);
+                }
+                return convert(name);
+            });
+            Iterator<Row> iterator = rows.iterator();
+            iterator.next();
+
+            assertThrows(IllegalArgumentException.class, iterator::next);
+            assertTrue(closed.get());
+        }
+
+        @Test
+        void iterator_readingFails_closesStream() {
+            AtomicBoolean closed = new AtomicBoolean();
+            RowList<String> rows = new RowList<>(Stream.of("a").<String>map(name -> {
+                throw new IllegalStateException(name);
+            }).onClose(() -> closed.set(true)), RowListTest.this::convert);
+
+            assertThrows(IllegalStateException.class, () -> names(rows));
+            assertTrue(closed.get());
+        }
+
+        @Test
+        void close_notIterated_closesStreamOnce() {
+            AtomicInteger closed = new AtomicInteger();
+            RowList<String> rows = new RowList<>(Stream.of("a").onClose(closed::incrementAndGet),
+                    RowListTest.this::convert);
+
+            rows.close();
+            rows.close();
+
+            assertEquals(1, closed.get());
+            assertEquals(0, conversions.get());
+        }
+    }
+
+    private Row convert(String name) {
+        conversions.incrementAndGet();
+        DiscoverPropertiesResponseRowXml row = new DiscoverPropertiesResponseRowXml();
+        row.setPropertyName(name);
+        return row;
+    }
+
+    private static List<String> names(RowList<String> rows) {
+        List<String> names = new ArrayList<>();
+        for (Row row : rows) {
+            names.add(((DiscoverPropertiesResponseRowXml) row).getPropertyName());
+        }
+        return names;
+    }
+}
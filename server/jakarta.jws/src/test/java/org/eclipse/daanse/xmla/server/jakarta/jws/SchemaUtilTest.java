@@ -12,11 +12,15 @@
 */
 package org.eclipse.daanse.xmla.server.jakarta.jws;
 
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 import java.util.List;
 
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla.DiscoverResponse;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla.Return;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_rowset.Rowset;
+import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_rowset.discover.DiscoverLiteralsResponseRowXml;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xmla_rowset.discover.DiscoverPropertiesResponseRowXml;
 import org.eclipse.daanse.xmla.model.jakarta.xml.bind.xsd.Schema;
 import org.junit.jupiter.api.Test;
@@ -50,4 +54,16 @@ class SchemaUtilTest {
         marshaller.marshal(response, System.out);
     }
 
+    @Test
+    void generateSchema_sameNamespaceAndClasses_cachedSchema() throws Exception {
+        String ns = "urn:schemas-microsoft-com:xml-analysis:rowset";
+
+        Schema first = SchemaUtil.generateSchema(ns, DiscoverPropertiesResponseRowXml.class);
+        Schema second = SchemaUtil.generateSchema(ns, DiscoverPropertiesResponseRowXml.class);
+        Schema other = SchemaUtil.generateSchema(ns, DiscoverLiteralsResponseRowXml.class);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
 }
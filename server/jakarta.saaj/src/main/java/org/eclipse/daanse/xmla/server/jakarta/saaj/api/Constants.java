@@ -72,4 +72,22 @@ public class Constants {
      */
     public static final String DEFAULT_SERVLET_NAME = "XMLA Servlet";
 
+    /**
+     * Constant for the minimum size in bytes of a response that is compressed with gzip or deflate if
+     * the client accepts it. Responses are not compressed if it is negative.
+     */
+    public static final String COMPRESSION_THRESHOLD_PROPERTY = "compressionThreshold";
+
+    /**
+     * Constant for the compression level from 1 (fastest) to 9 (smallest) of compressed responses, -1
+     * for the default level of the deflater.
+     */
+    public static final String COMPRESSION_LEVEL_PROPERTY = "compressionLevel";
+
+    /**
+     * Constant for the seconds after the last request a session is evicted from the local session
+     * table. Sessions are checked at the service on every request if it is not positive.
+     */
+    public static final String SESSION_IDLE_TIMEOUT_PROPERTY = "sessionIdleTimeout";
+
 }
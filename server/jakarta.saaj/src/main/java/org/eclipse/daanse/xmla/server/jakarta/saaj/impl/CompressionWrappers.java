@@ -0,0 +1,221 @@
+/*
+* Copyright (c) 2023 Contributors to the Eclipse Foundation.
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*   SmartCity Jena - initial
+*/
+package org.eclipse.daanse.xmla.server.jakarta.saaj.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HttpCompression;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Request and response wrappers that apply the {@link HttpCompression} content
+ * coding around the SOAP handling of the servlet.
+ */
+class CompressionWrappers {
+
+    private CompressionWrappers() {
+        // utility class
+    }
+
+    /**
+     * Reads the request body decompressed according to its
+     * {@code Content-Encoding}.
+     */
+    static class DecompressingRequest extends HttpServletRequestWrapper {
+
+        private ServletInputStream inputStream;
+
+        DecompressingRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                ServletInputStream in = super.getInputStream();
+                InputStream decompressed = HttpCompression.decompress(in,
+                        getHeader(HttpCompression.CONTENT_ENCODING));
+                inputStream = new ServletInputStream() {
+
+                    @Override
+                    public int read() throws IOException {
+                        return decompressed.read();
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        return decompressed.read(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        decompressed.close();
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return in.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return in.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        in.setReadListener(readListener);
+                    }
+                };
+            }
+            return inputStream;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+
+    /**
+     * Compresses the response body written to the output stream. The content
+     * length set by the servlet is dropped, it is the length of the uncompressed
+     * body. {@link #finish()} writes what is still buffered below the threshold.
+     * Flushing does not commit the response while the body is buffered, the
+     * {@code Content-Encoding} header is not known yet.
+     */
+    static class CompressingResponse extends HttpServletResponseWrapper {
+
+        private static final String CONTENT_LENGTH = "Content-Length";
+
+        private final HttpCompression compression;
+        private final String coding;
+        private ServletOutputStream outputStream;
+        private OutputStream compressed;
+
+        CompressingResponse(HttpServletResponse response, HttpCompression compression, String coding) {
+            super(response);
+            this.compression = compression;
+            this.coding = coding;
+            response.addHeader("Vary", HttpCompression.ACCEPT_ENCODING);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream out = super.getOutputStream();
+                compressed = compression.compress(out, coding,
+                        () -> setHeader(HttpCompression.CONTENT_ENCODING, coding));
+                outputStream = new ServletOutputStream() {
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        compressed.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        compressed.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        compressed.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        finish();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return out.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        out.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            // length of the uncompressed body
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            // length of the uncompressed body
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (!CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        /**
+         * Completes the response body.
+         */
+        void finish() throws IOException {
+            if (compressed != null) {
+                OutputStream out = compressed;
+                compressed = OutputStream.nullOutputStream();
+                out.close();
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (compressed != null) {
+                compressed.flush();
+            } else {
+                super.flushBuffer();
+            }
+        }
+    }
+}
@@ -13,11 +13,17 @@
 package org.eclipse.daanse.xmla.server.jakarta.saaj.impl;
 
 import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.xml.soap.MimeHeader;
 import jakarta.xml.soap.SOAPMessage;
 import org.eclipse.daanse.jakarta.servlet.soap.AbstractSoapServlet;
 import org.eclipse.daanse.xmla.api.XmlaService;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HttpCompression;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaAdapterOptions;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaApiAdapter;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaContentType;
 import org.eclipse.daanse.xmla.server.jakarta.saaj.api.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -33,7 +39,9 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -47,13 +55,48 @@ public class XmlaServlet extends AbstractSoapServlet {
     private static final long serialVersionUID = 1L;
     private static Logger LOGGER = LoggerFactory.getLogger(XmlaServlet.class);
     private XmlaApiAdapter xmlaAdapter;
+    private HttpCompression compression;
 
     @Reference(name = Constants.REFERENCE_XMLA_SERVICE)
     private XmlaService xmlaService;
 
     @Activate
-    public void activate() {
-        xmlaAdapter = new XmlaApiAdapter(xmlaService);
+    public void activate(XmlaServletOCD config) {
+        xmlaAdapter = new XmlaApiAdapter(xmlaService, XmlaAdapterOptions.builder()
+                .sessionIdleTimeout(config.sessionIdleTimeout() > 0 ? Duration.ofSeconds(config.sessionIdleTimeout())
+                        : null)
+                .build());
+        compression = config.compressionThreshold() >= 0
+                ? new HttpCompression(config.compressionThreshold(), config.compressionLevel())
+                : null;
+    }
+
+    @Override
+    protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if ("POST".equalsIgnoreCase(req.getMethod()) && !XmlaContentType.isSupported(req.getContentType())) {
+            resp.setHeader("Accept", XmlaContentType.supportedMediaTypes());
+            resp.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+            return;
+        }
+        if (!HttpCompression.isSupported(req.getHeader(HttpCompression.CONTENT_ENCODING))) {
+            resp.setHeader(HttpCompression.ACCEPT_ENCODING, HttpCompression.GZIP + ", " + HttpCompression.DEFLATE);
+            resp.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE);
+            return;
+        }
+        HttpServletRequest request = req.getHeader(HttpCompression.CONTENT_ENCODING) != null
+                ? new CompressionWrappers.DecompressingRequest(req)
+                : req;
+        String coding = compression != null
+                ? compression.negotiate(req.getHeader(HttpCompression.ACCEPT_ENCODING))
+                : null;
+        if (coding == null) {
+            super.service(request, resp);
+            return;
+        }
+        CompressionWrappers.CompressingResponse response = new CompressionWrappers.CompressingResponse(resp,
+                compression, coding);
+        super.service(request, response);
+        response.finish();
     }
 
     @Override
@@ -33,6 +33,35 @@ public interface XmlaServletOCD extends ServletOCD {
     String L10N_XMLA_SERVICE_TARGET_DESCRIPTION = L10N_PREFIX + Constants.REFERENCE_XMLA_SERVICE + ".target"
             + L10N_POSTFIX_DESCRIPTION;
 
+    String L10N_COMPRESSION_THRESHOLD_NAME = L10N_PREFIX + Constants.COMPRESSION_THRESHOLD_PROPERTY
+            + L10N_POSTFIX_NAME;
+    String L10N_COMPRESSION_THRESHOLD_DESCRIPTION = L10N_PREFIX + Constants.COMPRESSION_THRESHOLD_PROPERTY
+            + L10N_POSTFIX_DESCRIPTION;
+
+    String L10N_COMPRESSION_LEVEL_NAME = L10N_PREFIX + Constants.COMPRESSION_LEVEL_PROPERTY + L10N_POSTFIX_NAME;
+    String L10N_COMPRESSION_LEVEL_DESCRIPTION = L10N_PREFIX + Constants.COMPRESSION_LEVEL_PROPERTY
+            + L10N_POSTFIX_DESCRIPTION;
+
+    String L10N_SESSION_IDLE_TIMEOUT_NAME = L10N_PREFIX + Constants.SESSION_IDLE_TIMEOUT_PROPERTY
+            + L10N_POSTFIX_NAME;
+    String L10N_SESSION_IDLE_TIMEOUT_DESCRIPTION = L10N_PREFIX + Constants.SESSION_IDLE_TIMEOUT_PROPERTY
+            + L10N_POSTFIX_DESCRIPTION;
+
     @AttributeDefinition(name = L10N_XMLA_SERVICE_TARGET_NAME, description = L10N_XMLA_SERVICE_TARGET_DESCRIPTION)
     String xmlaService_target();
+
+    @AttributeDefinition(name = L10N_COMPRESSION_THRESHOLD_NAME, description = L10N_COMPRESSION_THRESHOLD_DESCRIPTION, defaultValue = "-1")
+    default int compressionThreshold() {
+        return -1;
+    }
+
+    @AttributeDefinition(name = L10N_COMPRESSION_LEVEL_NAME, description = L10N_COMPRESSION_LEVEL_DESCRIPTION, defaultValue = "-1")
+    default int compressionLevel() {
+        return -1;
+    }
+
+    @AttributeDefinition(name = L10N_SESSION_IDLE_TIMEOUT_NAME, description = L10N_SESSION_IDLE_TIMEOUT_DESCRIPTION, defaultValue = "0")
+    default int sessionIdleTimeout() {
+        return 0;
+    }
 }
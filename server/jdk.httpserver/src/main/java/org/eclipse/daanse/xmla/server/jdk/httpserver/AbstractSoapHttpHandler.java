@@ -23,6 +23,9 @@ import jakarta.xml.soap.SOAPConnection;
 import jakarta.xml.soap.SOAPConnectionFactory;
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HttpCompression;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapFactories;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaContentType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,23 +37,120 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractSoapHttpHandler implements HttpHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractSoapHttpHandler.class);
     private static final String HEADER_DELIMITER = ",";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_TYPE_XML = "text/xml; charset=utf-8";
 
     protected final MessageFactory messageFactory;
     protected final SOAPConnection soapConnection;
 
     public AbstractSoapHttpHandler() throws SOAPException {
-        this.messageFactory = MessageFactory.newInstance();
+        this.messageFactory = SoapFactories.messageFactory();
         this.soapConnection = SOAPConnectionFactory.newInstance().createConnection();
         LOGGER.debug("MessageFactory: {} – SOAPConnection: {}", messageFactory, soapConnection);
     }
 
     protected abstract SOAPMessage onMessage(SOAPMessage soapRequestMessage);
 
+    /**
+     * Writes the response for the request directly to the response stream. Only
+     * called if {@link #isStreaming()} returns {@code true}. By default the
+     * response of {@link #onMessage(SOAPMessage)} is written, handlers that can
+     * stream their responses override it.
+     *
+     * @return {@code false} if no response could be created
+     */
+    protected boolean onMessage(SOAPMessage soapRequestMessage, OutputStream responseStream) throws IOException {
+        SOAPMessage responseMessage = onMessage(soapRequestMessage);
+        if (responseMessage == null) {
+            return false;
+        }
+        try {
+            if (responseMessage.saveRequired()) {
+                responseMessage.saveChanges();
+            }
+            responseMessage.writeTo(responseStream);
+        } catch (SOAPException e) {
+            throw new IOException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Whether responses are written with {@link #onMessage(SOAPMessage, OutputStream)}
+     * using chunked transfer encoding instead of being buffered.
+     */
+    protected boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * Reads the request directly from the request stream and writes the response
+     * to the response stream. Only called if {@link #isPullParsing()} returns
+     * {@code true}. By default a {@link SOAPMessage} is created from the stream
+     * and handled with {@link #onMessage(SOAPMessage, OutputStream)}, handlers
+     * that can read requests without it override it.
+     *
+     * @return {@code false} if no response could be created
+     */
+    protected boolean onRequest(InputStream requestStream, OutputStream responseStream) throws IOException {
+        MimeHeaders mimeHeaders = new MimeHeaders();
+        mimeHeaders.addHeader(CONTENT_TYPE, CONTENT_TYPE_XML);
+        SOAPMessage requestMessage;
+        try {
+            requestMessage = messageFactory.createMessage(mimeHeaders, requestStream);
+        } catch (SOAPException e) {
+            throw new IOException(e);
+        }
+        return onMessage(requestMessage, responseStream);
+    }
+
+    /**
+     * Whether requests are handled with {@link #onRequest(InputStream, OutputStream)}
+     * without creating a {@link SOAPMessage} of the request. Responses are then
+     * written like streamed responses.
+     */
+    protected boolean isPullParsing() {
+        return false;
+    }
+
+    /**
+     * Whether SOAP responses are written with chunked transfer encoding directly
+     * to the response body instead of being buffered to compute the content
+     * length first.
+     */
+    protected boolean isChunked() {
+        return false;
+    }
+
+    /**
+     * Settings to compress responses if the client accepts it, or {@code null} to
+     * send them uncompressed. Compressed requests are read in any case.
+     */
+    protected HttpCompression compression() {
+        return null;
+    }
+
+    /**
+     * Called after a response body was written.
+     *
+     * @param exchange             the exchange
+     * @param bytesWritten         number of bytes of the response body
+     * @param timeToFirstByteNanos nanoseconds from receiving the request until the
+     *                             first byte of the body was written
+     */
+    protected void onResponseWritten(HttpExchange exchange, long bytesWritten, long timeToFirstByteNanos) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Response to {} - {} bytes, first byte after {} ms", exchange.getRemoteAddress(),
+                    bytesWritten, TimeUnit.NANOSECONDS.toMillis(timeToFirstByteNanos));
+        }
+    }
+
     @Override
     public final void handle(HttpExchange exchange) throws IOException {
         if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
@@ -58,18 +158,44 @@ public abstract class AbstractSoapHttpHandler implements HttpHandler {
             exchange.close();
             return;
         }
+        if (!XmlaContentType.isSupported(exchange.getRequestHeaders().getFirst(CONTENT_TYPE))) {
+            exchange.getResponseHeaders().set("Accept", XmlaContentType.supportedMediaTypes());
+            exchange.sendResponseHeaders(415, -1);
+            exchange.close();
+            return;
+        }
+        if (!HttpCompression.isSupported(exchange.getRequestHeaders().getFirst(HttpCompression.CONTENT_ENCODING))) {
+            exchange.getResponseHeaders().set(HttpCompression.ACCEPT_ENCODING,
+                    HttpCompression.GZIP + ", " + HttpCompression.DEFLATE);
+            exchange.sendResponseHeaders(415, -1);
+            exchange.close();
+            return;
+        }
 
+        long startNanos = System.nanoTime();
         try {
+            if (isPullParsing()) {
+                try (InputStream requestStream = requestBody(exchange)) {
+                    writeStreamingResponse(exchange, startNanos, out -> onRequest(requestStream, out));
+                }
+                return;
+            }
+
             SOAPMessage requestMessage = createSoapRequest(exchange);
 
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("SOAPMessage in:\n{}", toString(requestMessage));
             }
 
+            if (isStreaming()) {
+                writeStreamingResponse(exchange, startNanos, out -> onMessage(requestMessage, out));
+                return;
+            }
+
             SOAPMessage responseMessage = onMessage(requestMessage);
 
             if (responseMessage != null) {
-                writeSoapResponse(exchange, responseMessage);
+                writeSoapResponse(exchange, responseMessage, startNanos);
             } else {
                 exchange.sendResponseHeaders(204, -1);
             }
@@ -83,12 +209,39 @@ public abstract class AbstractSoapHttpHandler implements HttpHandler {
 
     private SOAPMessage createSoapRequest(HttpExchange exchange) throws IOException, SOAPException {
         MimeHeaders mimeHeaders = getMimeHeadersFromExchange(exchange);
-        try (InputStream requestStream = exchange.getRequestBody()) {
+        try (InputStream requestStream = requestBody(exchange)) {
             return messageFactory.createMessage(mimeHeaders, requestStream);
         }
     }
 
-    private void writeSoapResponse(HttpExchange exchange, SOAPMessage responseMessage)
+    private static InputStream requestBody(HttpExchange exchange) throws IOException {
+        return HttpCompression.decompress(exchange.getRequestBody(),
+                exchange.getRequestHeaders().getFirst(HttpCompression.CONTENT_ENCODING));
+    }
+
+    /**
+     * @return the content coding of the response or {@code null} if it is not
+     *         compressed
+     */
+    private String responseCoding(HttpExchange exchange) {
+        HttpCompression compression = compression();
+        if (compression == null) {
+            return null;
+        }
+        exchange.getResponseHeaders().add("Vary", HttpCompression.ACCEPT_ENCODING);
+        return compression.negotiate(exchange.getRequestHeaders().getFirst(HttpCompression.ACCEPT_ENCODING));
+    }
+
+    private OutputStream compressing(HttpExchange exchange, ChunkedResponseStream responseStream) {
+        String coding = responseCoding(exchange);
+        if (coding == null) {
+            return responseStream;
+        }
+        return compression().compress(responseStream, coding,
+                () -> exchange.getResponseHeaders().set(HttpCompression.CONTENT_ENCODING, coding));
+    }
+
+    private void writeSoapResponse(HttpExchange exchange, SOAPMessage responseMessage, long startNanos)
             throws SOAPException, IOException {
 
         if (responseMessage.saveRequired()) {
@@ -97,13 +250,40 @@ public abstract class AbstractSoapHttpHandler implements HttpHandler {
 
         setMimeHeadersToExchange(exchange, responseMessage.getMimeHeaders());
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        responseMessage.writeTo(baos);
-        byte[] payload = baos.toByteArray();
+        if (isChunked()) {
+            ChunkedResponseStream responseStream = new ChunkedResponseStream(exchange, startNanos);
+            OutputStream body = compressing(exchange, responseStream);
+            try (responseStream) {
+                responseMessage.writeTo(body);
+                // a compressed body may still be buffered, it is only sent on success
+                body.close();
+            } catch (SOAPException | IOException | RuntimeException ex) {
+                if (!responseStream.isCommitted()) {
+                    throw ex;
+                }
+                // status already sent, the client sees a truncated response
+                LOGGER.error("Error writing chunked SOAP response", ex);
+            }
+            if (responseStream.isCommitted()) {
+                onResponseWritten(exchange, responseStream.bytesWritten(), responseStream.timeToFirstByteNanos());
+            }
+        } else {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            responseMessage.writeTo(baos);
+            byte[] payload = baos.toByteArray();
+            String coding = responseCoding(exchange);
+            byte[] compressed = coding != null ? compression().compress(payload, coding) : null;
+            if (compressed != null) {
+                exchange.getResponseHeaders().set(HttpCompression.CONTENT_ENCODING, coding);
+                payload = compressed;
+            }
 
-        exchange.sendResponseHeaders(200, payload.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(payload);
+            exchange.sendResponseHeaders(200, payload.length);
+            long timeToFirstByteNanos = System.nanoTime() - startNanos;
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(payload);
+            }
+            onResponseWritten(exchange, payload.length, timeToFirstByteNanos);
         }
 
         if (LOGGER.isDebugEnabled()) {
@@ -111,6 +291,35 @@ public abstract class AbstractSoapHttpHandler implements HttpHandler {
         }
     }
 
+    private void writeStreamingResponse(HttpExchange exchange, long startNanos, ResponseWriter responseWriter)
+            throws IOException {
+        exchange.getResponseHeaders().set(CONTENT_TYPE, CONTENT_TYPE_XML);
+        ChunkedResponseStream responseStream = new ChunkedResponseStream(exchange, startNanos);
+        OutputStream body = compressing(exchange, responseStream);
+        try (responseStream) {
+            // a compressed body may still be buffered, it is only sent on success
+            if (responseWriter.write(body) || responseStream.isCommitted()) {
+                body.close();
+            } else {
+                exchange.sendResponseHeaders(204, -1);
+            }
+        } catch (Exception ex) {
+            if (!responseStream.isCommitted()) {
+                throw ex;
+            }
+            // status already sent, the client sees a truncated response
+            LOGGER.error("Error writing streamed SOAP response", ex);
+        }
+        if (responseStream.isCommitted()) {
+            onResponseWritten(exchange, responseStream.bytesWritten(), responseStream.timeToFirstByteNanos());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseWriter {
+        boolean write(OutputStream responseStream) throws IOException;
+    }
+
     private static MimeHeaders getMimeHeadersFromExchange(HttpExchange exchange) {
         Headers reqHeaders = exchange.getRequestHeaders();
         MimeHeaders mimeHeaders = new MimeHeaders();
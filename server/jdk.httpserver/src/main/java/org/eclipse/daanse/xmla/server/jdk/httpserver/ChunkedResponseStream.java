@@ -0,0 +1,92 @@
+/*
+* Copyright (c) 2023 Contributors to the Eclipse Foundation.
+*
+* This program and the accompanying materials are made
+* available under the terms of the Eclipse Public License 2.0
+* which is available at https://www.eclipse.org/legal/epl-2.0/
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*   SmartCity Jena - initial
+*   Stefan Bischof (bipolis.org) - initial
+*/
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Response stream that sends the response headers with chunked transfer
+ * encoding on the first write. Until then the handler can still answer with a
+ * different status code. Counts the bytes written and records when the first
+ * byte went out.
+ */
+class ChunkedResponseStream extends OutputStream {
+
+    private final HttpExchange exchange;
+    private final long startNanos;
+    private OutputStream out;
+    private long bytesWritten;
+    private long firstByteNanos = -1;
+
+    ChunkedResponseStream(HttpExchange exchange, long startNanos) {
+        this.exchange = exchange;
+        this.startNanos = startNanos;
+    }
+
+    boolean isCommitted() {
+        return out != null;
+    }
+
+    long bytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return nanoseconds from the start of the request to the first byte of the
+     *         body, or {@code -1} if nothing was written
+     */
+    long timeToFirstByteNanos() {
+        return firstByteNanos < 0 ? -1 : firstByteNanos - startNanos;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        commit().write(b);
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len > 0) {
+            commit().write(b, off, len);
+            bytesWritten += len;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    private OutputStream commit() throws IOException {
+        if (out == null) {
+            exchange.sendResponseHeaders(200, 0);
+            out = exchange.getResponseBody();
+            firstByteNanos = System.nanoTime();
+        }
+        return out;
+    }
+}
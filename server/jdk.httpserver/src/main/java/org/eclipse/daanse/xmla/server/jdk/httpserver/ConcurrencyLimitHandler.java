@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * Limits the number of requests that are handled at the same time. Requests
+ * above the limit are answered right away instead of waiting for a thread, either
+ * with {@code 503 Service Unavailable} or with a SOAP fault that XMLA clients
+ * show to the user.
+ */
+class ConcurrencyLimitHandler implements HttpHandler {
+
+    enum RejectPolicy {
+        /** Answers with {@code 503 Service Unavailable} and a {@code Retry-After} header. */
+        UNAVAILABLE,
+        /** Answers with a SOAP {@code Server} fault. */
+        FAULT
+    }
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final byte[] FAULT = """
+            <?xml version="1.0" encoding="UTF-8"?>\
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">\
+            <SOAP-ENV:Body><SOAP-ENV:Fault>\
+            <faultcode>SOAP-ENV:Server</faultcode>\
+            <faultstring>The server is busy. Try again later.</faultstring>\
+            </SOAP-ENV:Fault></SOAP-ENV:Body></SOAP-ENV:Envelope>"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final HttpHandler delegate;
+    private final Semaphore permits;
+    private final RejectPolicy rejectPolicy;
+
+    ConcurrencyLimitHandler(HttpHandler delegate, int maxConcurrentRequests, RejectPolicy rejectPolicy) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.rejectPolicy = rejectPolicy;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!permits.tryAcquire()) {
+            reject(exchange);
+            return;
+        }
+        try {
+            delegate.handle(exchange);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (rejectPolicy == RejectPolicy.FAULT) {
+                exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=utf-8");
+                exchange.sendResponseHeaders(500, FAULT.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(FAULT);
+                }
+            } else {
+                exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+                exchange.sendResponseHeaders(503, -1);
+            }
+        }
+    }
+}
@@ -15,10 +15,22 @@ package org.eclipse.daanse.xmla.server.jdk.httpserver;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
 
 import org.eclipse.daanse.xmla.api.XmlaService;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.DiscoverResponseCache;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HistogramMetrics;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HttpCompression;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.StatementResponseCache;
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaAdapterOptions;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaApiAdapter;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -29,6 +41,7 @@ import org.osgi.service.component.annotations.ServiceScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
 import jakarta.xml.soap.SOAPException;
@@ -37,31 +50,237 @@ import jakarta.xml.soap.SOAPException;
 public class JdkHttpServer {
 
     private static Logger LOGGER = LoggerFactory.getLogger(JdkHttpServer.class);
+    /**
+     * Configuration property to stream Statement responses with chunked transfer
+     * encoding instead of building the complete SOAP message first.
+     */
+    public static final String PROPERTY_STREAMING = "streaming";
+    /**
+     * Configuration property to send SOAP responses with chunked transfer encoding
+     * instead of buffering them to set the content length.
+     */
+    public static final String PROPERTY_CHUNKED = "chunked";
+    /**
+     * Configuration property to read requests with StAX directly from the request
+     * stream instead of creating a SAAJ message. Responses are streamed.
+     */
+    public static final String PROPERTY_PULL_PARSING = "pullParsing";
+    /**
+     * Configuration property for the number of Discover responses that are
+     * cached. Responses are not cached if it is not set or not positive.
+     */
+    public static final String PROPERTY_DISCOVER_CACHE_SIZE = "discoverCacheSize";
+    /**
+     * Configuration property for the seconds a cached Discover response is used,
+     * 60 if it is not set.
+     */
+    public static final String PROPERTY_DISCOVER_CACHE_TTL = "discoverCacheTtl";
+    /**
+     * Configuration property for the maximum number of cells and row values of
+     * the cached responses of SELECT statements. Responses are not cached if it
+     * is not set or not positive.
+     */
+    public static final String PROPERTY_STATEMENT_CACHE_SIZE = "statementCacheSize";
+    /**
+     * Configuration property for the seconds a cached Statement response is
+     * used, 300 if it is not set.
+     */
+    public static final String PROPERTY_STATEMENT_CACHE_TTL = "statementCacheTtl";
+    /**
+     * Configuration property to handle identical Discover requests and SELECT
+     * statements that run at the same time only once, the other requests get a
+     * copy of the response. Off if it is not set.
+     */
+    public static final String PROPERTY_COALESCE = "coalesce";
+    /**
+     * Configuration property for the seconds after the last request a session is
+     * evicted from the local session table. Sessions are checked at the service
+     * on every request if it is not set or not positive.
+     */
+    public static final String PROPERTY_SESSION_IDLE_TIMEOUT = "sessionIdleTimeout";
+    /**
+     * Configuration property to record the time of each request phase, the
+     * request and response sizes, rows and errors by request type. The metrics
+     * are served in the Prometheus text format at {@code /metrics}. Off if it is
+     * not set.
+     */
+    public static final String PROPERTY_METRICS = "metrics";
+    /**
+     * Configuration property for the minimum size in bytes of a response that is
+     * compressed with gzip or deflate if the client accepts it. Responses are not
+     * compressed if it is not set or negative.
+     */
+    public static final String PROPERTY_COMPRESSION_THRESHOLD = "compressionThreshold";
+    /**
+     * Configuration property for the compression level from 1 (fastest) to 9
+     * (smallest), the default level of the deflater if it is not set.
+     */
+    public static final String PROPERTY_COMPRESSION_LEVEL = "compressionLevel";
+    /**
+     * Configuration property for the port the server listens on, 8090 if it is
+     * not set.
+     */
+    public static final String PROPERTY_PORT = "port";
+    /**
+     * Configuration property for the maximum number of queued incoming
+     * connections. The system default is used if it is not set or not positive.
+     */
+    public static final String PROPERTY_BACKLOG = "backlog";
+    /**
+     * Configuration property for the executor that handles the requests:
+     * {@code cached} (default) for an unbounded cached thread pool,
+     * {@code bounded} for a pool of {@link #PROPERTY_THREADS} threads with a
+     * queue of {@link #PROPERTY_QUEUE_SIZE} requests or {@code virtual} for a
+     * virtual thread per request.
+     */
+    public static final String PROPERTY_EXECUTOR = "executor";
+    /**
+     * Configuration property for the number of threads of the {@code bounded}
+     * executor, 200 if it is not set.
+     */
+    public static final String PROPERTY_THREADS = "threads";
+    /**
+     * Configuration property for the number of requests the {@code bounded}
+     * executor queues while all threads are busy, 1000 if it is not set. If the
+     * queue is full the request is answered with
+     * {@code 503 Service Unavailable}.
+     */
+    public static final String PROPERTY_QUEUE_SIZE = "queueSize";
+    /**
+     * Configuration property for the number of requests that are handled at the
+     * same time. Further requests are rejected according to
+     * {@link #PROPERTY_REJECT_POLICY}. Not limited if it is not set or not
+     * positive.
+     */
+    public static final String PROPERTY_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+    /**
+     * Configuration property for how requests above
+     * {@link #PROPERTY_MAX_CONCURRENT_REQUESTS} are answered: {@code unavailable}
+     * (default) with {@code 503 Service Unavailable} or {@code fault} with a SOAP
+     * fault.
+     */
+    public static final String PROPERTY_REJECT_POLICY = "rejectPolicy";
+
+    private static final int DEFAULT_PORT = 8090;
+    private static final String CONTEXT_PATH = "/xmla";
+    private static final String METRICS_CONTEXT_PATH = "/metrics";
+
     private XmlaApiAdapter wsAdapter;
     private HttpServer server = null;
+    private ExecutorService executor = null;
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private XmlaService xmlaService;
 
+    /**
+     * Creates a server whose service is injected by Declarative Services.
+     */
+    public JdkHttpServer() {
+    }
+
+    /**
+     * Creates a server for the given service outside of an OSGi framework, e.g.
+     * in tests or load tests. It is started with {@link #activate(Map)} and
+     * stopped with {@link #deativate()}.
+     */
+    public JdkHttpServer(XmlaService xmlaService) {
+        this.xmlaService = xmlaService;
+    }
+
     @Activate
     public void activate(Map<String, Object> map) throws SOAPException, IOException {
         LOGGER.debug("Starting JDK HTTP server");
-        wsAdapter = new XmlaApiAdapter(xmlaService);
-        XmlaSoapHttpHandler xmlaHandler = new XmlaSoapHttpHandler(wsAdapter);
+        int discoverCacheSize = getInt(map, PROPERTY_DISCOVER_CACHE_SIZE, 0);
+        DiscoverResponseCache discoverResponseCache = discoverCacheSize > 0
+                ? new DiscoverResponseCache(discoverCacheSize,
+                        Duration.ofSeconds(getInt(map, PROPERTY_DISCOVER_CACHE_TTL, 60)))
+                : null;
+        int statementCacheSize = getInt(map, PROPERTY_STATEMENT_CACHE_SIZE, 0);
+        StatementResponseCache statementResponseCache = statementCacheSize > 0
+                ? new StatementResponseCache(statementCacheSize,
+                        Duration.ofSeconds(getInt(map, PROPERTY_STATEMENT_CACHE_TTL, 300)))
+                : null;
+        int sessionIdleTimeout = getInt(map, PROPERTY_SESSION_IDLE_TIMEOUT, 0);
+        HistogramMetrics metrics = map != null && Boolean.parseBoolean(String.valueOf(map.get(PROPERTY_METRICS)))
+                ? new HistogramMetrics()
+                : null;
+        boolean coalesce = map != null && Boolean.parseBoolean(String.valueOf(map.get(PROPERTY_COALESCE)));
+        wsAdapter = new XmlaApiAdapter(xmlaService, XmlaAdapterOptions.builder()
+                .discoverResponseCache(discoverResponseCache)
+                .statementResponseCache(statementResponseCache)
+                .sessionIdleTimeout(sessionIdleTimeout > 0 ? Duration.ofSeconds(sessionIdleTimeout) : null)
+                .metrics(metrics)
+                .coalesce(coalesce)
+                .build());
+        boolean streaming = map != null && Boolean.parseBoolean(String.valueOf(map.get(PROPERTY_STREAMING)));
+        boolean chunked = map != null && Boolean.parseBoolean(String.valueOf(map.get(PROPERTY_CHUNKED)));
+        boolean pullParsing = map != null && Boolean.parseBoolean(String.valueOf(map.get(PROPERTY_PULL_PARSING)));
+        int compressionThreshold = getInt(map, PROPERTY_COMPRESSION_THRESHOLD, -1);
+        HttpCompression compression = compressionThreshold >= 0
+                ? new HttpCompression(compressionThreshold,
+                        getInt(map, PROPERTY_COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION))
+                : null;
+        HttpHandler xmlaHandler = new XmlaSoapHttpHandler(wsAdapter, streaming, chunked, pullParsing, compression);
+        int maxConcurrentRequests = getInt(map, PROPERTY_MAX_CONCURRENT_REQUESTS, 0);
+        if (maxConcurrentRequests > 0) {
+            xmlaHandler = new ConcurrencyLimitHandler(xmlaHandler, maxConcurrentRequests,
+                    getEnum(map, PROPERTY_REJECT_POLICY, ConcurrencyLimitHandler.RejectPolicy.UNAVAILABLE));
+        }
         // Register the handler with the HTTP server
 
-        server = HttpServer.create(new InetSocketAddress(8090), 0);
-        server.createContext("/xmla", xmlaHandler);
-        server.setExecutor(Executors.newCachedThreadPool());
+        int port = getInt(map, PROPERTY_PORT, DEFAULT_PORT);
+        server = HttpServer.create(new InetSocketAddress(port), getInt(map, PROPERTY_BACKLOG, 0));
+        ServiceUnavailablePolicy rejectPolicy = new ServiceUnavailablePolicy();
+        server.createContext(CONTEXT_PATH, xmlaHandler).getFilters().add(rejectPolicy);
+        if (metrics != null) {
+            server.createContext(METRICS_CONTEXT_PATH, new MetricsHttpHandler(metrics)).getFilters()
+                    .add(rejectPolicy);
+        }
+        executor = createExecutor(map, rejectPolicy);
+        server.setExecutor(executor);
         server.start();
-        LOGGER.debug("JDK HTTP server started on port 8090");
+        LOGGER.debug("JDK HTTP server started on port {}", port);
+    }
+
+    /**
+     * @param rejectPolicy handles the requests the {@code bounded} executor has
+     *                     no room for, it must be a filter of all contexts
+     */
+    static ExecutorService createExecutor(Map<String, Object> map, ServiceUnavailablePolicy rejectPolicy) {
+        return switch (getEnum(map, PROPERTY_EXECUTOR, ExecutorType.CACHED)) {
+        case CACHED -> Executors.newCachedThreadPool();
+        case BOUNDED -> {
+            int threads = getInt(map, PROPERTY_THREADS, 200);
+            yield new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(getInt(map, PROPERTY_QUEUE_SIZE, 1000)),
+                    rejectPolicy);
+        }
+        case VIRTUAL -> Executors.newVirtualThreadPerTaskExecutor();
+        };
+    }
+
+    private static <E extends Enum<E>> E getEnum(Map<String, Object> map, String key, E defaultValue) {
+        Object value = map != null ? map.get(key) : null;
+        return value != null
+                ? Enum.valueOf(defaultValue.getDeclaringClass(), String.valueOf(value).toUpperCase(Locale.ROOT))
+                : defaultValue;
+    }
+
+    private static int getInt(Map<String, Object> map, String key, int defaultValue) {
+        Object value = map != null ? map.get(key) : null;
+        return value != null ? Integer.parseInt(String.valueOf(value)) : defaultValue;
     }
 
     @Deactivate
     public void deativate() {
         LOGGER.debug("Stopping JDK HTTP server");
         server.stop(0);
+        executor.shutdown();
         LOGGER.debug("JDK HTTP server stopped");
     }
 
+    private enum ExecutorType {
+        CACHED, BOUNDED, VIRTUAL
+    }
+
 };
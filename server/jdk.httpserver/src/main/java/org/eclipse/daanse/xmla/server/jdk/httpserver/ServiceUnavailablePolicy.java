@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Answers the requests the {@code bounded} executor has no room for with
+ * {@code 503 Service Unavailable}.
+ * <p>
+ * The executor only gets the task that reads the request, the exchange does
+ * not exist yet. So a rejected task runs on its own virtual thread, marked as
+ * rejected, and the filter answers its exchange instead of the handlers. The
+ * thread that accepts the connections never handles a request itself.
+ */
+class ServiceUnavailablePolicy extends Filter implements RejectedExecutionHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private static final ThreadLocal<Boolean> REJECTED = new ThreadLocal<>();
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The executor is shut down");
+        }
+        Thread.ofVirtual().name("xmla-rejected").start(() -> {
+            REJECTED.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                REJECTED.remove();
+            }
+        });
+    }
+
+    @Override
+    public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+        if (REJECTED.get() == null) {
+            chain.doFilter(exchange);
+            return;
+        }
+        try (exchange) {
+            exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+            exchange.sendResponseHeaders(503, -1);
+        }
+    }
+
+    @Override
+    public String description() {
+        return "Answers requests the executor rejected with 503 Service Unavailable";
+    }
+}
@@ -13,8 +13,12 @@
 */
 package org.eclipse.daanse.xmla.server.jdk.httpserver;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Collections;
 
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.HttpCompression;
 import org.eclipse.daanse.xmla.server.adapter.soapmessage.XmlaApiAdapter;
 
 import jakarta.xml.soap.SOAPException;
@@ -22,13 +26,56 @@ import jakarta.xml.soap.SOAPMessage;
 
 public class XmlaSoapHttpHandler extends AbstractSoapHttpHandler {
     private final XmlaApiAdapter adapter;
+    private final boolean streaming;
+    private final boolean chunked;
+    private final boolean pullParsing;
+    private final HttpCompression compression;
 
     XmlaSoapHttpHandler(XmlaApiAdapter xmlaApiAdapter) throws SOAPException {
+        this(xmlaApiAdapter, false, false, false, null);
+    }
+
+    XmlaSoapHttpHandler(XmlaApiAdapter xmlaApiAdapter, boolean streaming, boolean chunked, boolean pullParsing,
+            HttpCompression compression) throws SOAPException {
         adapter = xmlaApiAdapter;
+        this.streaming = streaming;
+        this.chunked = chunked;
+        this.pullParsing = pullParsing;
+        this.compression = compression;
     }
 
     @Override
     protected SOAPMessage onMessage(SOAPMessage req) {
         return adapter.handleRequest(req, Collections.emptyMap(),null,null,null);
     }
+
+    @Override
+    protected boolean onMessage(SOAPMessage req, OutputStream responseStream) throws IOException {
+        return adapter.handleRequest(req, Collections.emptyMap(), null, null, null, responseStream);
+    }
+
+    @Override
+    protected boolean onRequest(InputStream requestStream, OutputStream responseStream) throws IOException {
+        return adapter.handleRequest(requestStream, Collections.emptyMap(), null, null, null, responseStream);
+    }
+
+    @Override
+    protected boolean isStreaming() {
+        return streaming;
+    }
+
+    @Override
+    protected boolean isChunked() {
+        return chunked;
+    }
+
+    @Override
+    protected boolean isPullParsing() {
+        return pullParsing;
+    }
+
+    @Override
+    protected HttpCompression compression() {
+        return compression;
+    }
 };
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.daanse.xmla.server.adapter.soapmessage.SoapFactories;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+
+class AbstractSoapHttpHandlerTest {
+
+    private static final String REQUEST = """
+            <SOAP-ENV:Envelope xmlns:SOAP-ENV="http://schemas.xmlsoap.org/soap/envelope/">
+              <SOAP-ENV:Body/>
+            </SOAP-ENV:Envelope>""";
+
+    @Nested
+    class Chunked {
+
+        @Test
+        void handle_chunked_writesWithoutContentLength() throws Exception {
+            TestHandler handler = new TestHandler(true);
+            TestExchange exchange = new TestExchange("POST", "text/xml", REQUEST);
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(200), exchange.statusCodes());
+            assertEquals(List.of(0L), exchange.responseLengths());
+            assertTrue(exchange.written().contains("Envelope"));
+            assertTrue(exchange.isClosed());
+        }
+
+        @Test
+        void handle_chunked_reportsBytesAndTimeToFirstByte() throws Exception {
+            TestHandler handler = new TestHandler(true);
+            TestExchange exchange = new TestExchange("POST", "text/xml", REQUEST);
+
+            handler.handle(exchange);
+
+            assertEquals(List.of((long) exchange.writtenBytes()), handler.bytesWritten);
+            assertEquals(1, handler.timesToFirstByte.size());
+            assertTrue(handler.timesToFirstByte.get(0) >= 0);
+        }
+
+        @Test
+        void handle_chunkedFailsAfterFirstByte_noSecondStatus() throws Exception {
+            TestHandler handler = new TestHandler(true);
+            TestExchange exchange = new TestExchange("POST", "text/xml", REQUEST).failAfter(10);
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(200), exchange.statusCodes());
+            assertEquals(10, exchange.writtenBytes());
+            assertTrue(exchange.isClosed());
+        }
+
+        @Test
+        void handle_failsBeforeFirstByte_internalServerError() throws Exception {
+            TestHandler handler = new TestHandler(true);
+            handler.fail = true;
+            TestExchange exchange = new TestExchange("POST", "text/xml", REQUEST);
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(500), exchange.statusCodes());
+            assertTrue(handler.bytesWritten.isEmpty());
+        }
+    }
+
+    @Nested
+    class Buffered {
+
+        @Test
+        void handle_buffered_sendsContentLength() throws Exception {
+            TestHandler handler = new TestHandler(false);
+            TestExchange exchange = new TestExchange("POST", "text/xml", REQUEST);
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(200), exchange.statusCodes());
+            assertEquals(List.of((long) exchange.writtenBytes()), exchange.responseLengths());
+            assertEquals(List.of((long) exchange.writtenBytes()), handler.bytesWritten);
+        }
+
+        @Test
+        void handle_get_methodNotAllowed() throws Exception {
+            TestExchange exchange = new TestExchange("GET", null, "");
+
+            new TestHandler(false).handle(exchange);
+
+            assertEquals(List.of(405), exchange.statusCodes());
+        }
+    }
+
+    /**
+     * Answers every request with an empty SOAP message.
+     */
+    private static class TestHandler extends AbstractSoapHttpHandler {
+
+        private final boolean chunked;
+        private final List<Long> bytesWritten = new ArrayList<>();
+        private final List<Long> timesToFirstByte = new ArrayList<>();
+        private boolean fail;
+
+        TestHandler(boolean chunked) throws SOAPException {
+            this.chunked = chunked;
+        }
+
+        @Override
+        protected SOAPMessage onMessage(SOAPMessage soapRequestMessage) {
+            if (fail) {
+                throw new IllegalStateException("backend down");
+            }
+            try {
+                return SoapFactories.messageFactory().createMessage();
+            } catch (SOAPException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected boolean isChunked() {
+            return chunked;
+        }
+
+        @Override
+        protected void onResponseWritten(HttpExchange exchange, long bytes, long timeToFirstByteNanos) {
+            bytesWritten.add(bytes);
+            timesToFirstByte.add(timeToFirstByteNanos);
+        }
+    }
+}
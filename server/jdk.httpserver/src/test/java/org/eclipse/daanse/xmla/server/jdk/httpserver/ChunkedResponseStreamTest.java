@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkedResponseStreamTest {
+
+    private final TestExchange exchange = new TestExchange("POST", "text/xml", "");
+
+    @Test
+    void write_sendsChunkedHeadersOnce() throws Exception {
+        ChunkedResponseStream stream = new ChunkedResponseStream(exchange, System.nanoTime());
+
+        stream.write("<a>".getBytes(StandardCharsets.UTF_8));
+        stream.write('b');
+        stream.write("</a>".getBytes(StandardCharsets.UTF_8));
+        stream.close();
+
+        assertEquals(List.of(200), exchange.statusCodes());
+        assertEquals(List.of(0L), exchange.responseLengths());
+        assertEquals("<a>b</a>", exchange.written());
+    }
+
+    @Test
+    void write_countsBytesAndTimeToFirstByte() throws Exception {
+        long start = System.nanoTime();
+        ChunkedResponseStream stream = new ChunkedResponseStream(exchange, start);
+
+        stream.write(new byte[10], 2, 5);
+        stream.write(new byte[0]);
+        stream.write(1);
+
+        assertTrue(stream.isCommitted());
+        assertEquals(6, stream.bytesWritten());
+        assertTrue(stream.timeToFirstByteNanos() >= 0);
+        assertTrue(stream.timeToFirstByteNanos() <= System.nanoTime() - start);
+    }
+
+    @Test
+    void close_nothingWritten_notCommitted() throws Exception {
+        ChunkedResponseStream stream = new ChunkedResponseStream(exchange, System.nanoTime());
+
+        stream.write(new byte[0]);
+        stream.flush();
+        stream.close();
+
+        assertFalse(stream.isCommitted());
+        assertEquals(-1, stream.timeToFirstByteNanos());
+        assertTrue(exchange.statusCodes().isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+
+class ConcurrencyLimitHandlerTest {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Nested
+    class Unavailable {
+
+        private final ConcurrencyLimitHandler handler = new ConcurrencyLimitHandler(
+                ConcurrencyLimitHandlerTest.this::handle, 1, ConcurrencyLimitHandler.RejectPolicy.UNAVAILABLE);
+
+        @Test
+        void handle_belowLimit_delegates() throws Exception {
+            release.countDown();
+            TestExchange exchange = new TestExchange("POST", "text/xml", "");
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(200), exchange.statusCodes());
+            assertEquals(1, handled.get());
+        }
+
+        @Test
+        void handle_aboveLimit_answers503WithRetryAfter() throws Exception {
+            CompletableFuture<Void> first = occupy(handler);
+            TestExchange exchange = new TestExchange("POST", "text/xml", "");
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(503), exchange.statusCodes());
+            assertEquals("1", exchange.getResponseHeaders().getFirst("Retry-After"));
+            assertTrue(exchange.isClosed());
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertEquals(1, handled.get());
+        }
+
+        @Test
+        void handle_afterRequestFinished_permitReleased() throws Exception {
+            CompletableFuture<Void> first = occupy(handler);
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            TestExchange exchange = new TestExchange("POST", "text/xml", "");
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(200), exchange.statusCodes());
+            assertEquals(2, handled.get());
+        }
+    }
+
+    @Nested
+    class Fault {
+
+        private final ConcurrencyLimitHandler handler = new ConcurrencyLimitHandler(
+                ConcurrencyLimitHandlerTest.this::handle, 1, ConcurrencyLimitHandler.RejectPolicy.FAULT);
+
+        @Test
+        void handle_aboveLimit_answersSoapFault() throws Exception {
+            occupy(handler);
+            TestExchange exchange = new TestExchange("POST", "text/xml", "");
+
+            handler.handle(exchange);
+
+            assertEquals(List.of(500), exchange.statusCodes());
+            assertEquals(List.of((long) exchange.writtenBytes()), exchange.responseLengths());
+            assertTrue(exchange.written().contains("<faultcode>SOAP-ENV:Server</faultcode>"));
+            release.countDown();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        entered.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.sendResponseHeaders(200, -1);
+        handled.incrementAndGet();
+    }
+
+    /**
+     * Starts a request that holds the only permit until {@link #release} is
+     * counted down.
+     */
+    private CompletableFuture<Void> occupy(ConcurrencyLimitHandler handler) throws InterruptedException {
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                handler.handle(new TestExchange("POST", "text/xml", ""));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        return future;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.Filter;
+
+class JdkHttpServerTest {
+
+    private final ServiceUnavailablePolicy rejectPolicy = new ServiceUnavailablePolicy();
+
+    @Nested
+    class ExecutorSelection {
+
+        @Test
+        void createExecutor_notSet_cached() {
+            ExecutorService executor = JdkHttpServer.createExecutor(Map.of(), rejectPolicy);
+            try {
+                ThreadPoolExecutor pool = threadPool(executor);
+                assertEquals(0, pool.getCorePoolSize());
+                assertTrue(pool.getQueue() instanceof SynchronousQueue);
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void createExecutor_bounded_threadsQueueAndRejectPolicy() {
+            ExecutorService executor = JdkHttpServer.createExecutor(
+                    Map.of(JdkHttpServer.PROPERTY_EXECUTOR, "bounded", JdkHttpServer.PROPERTY_THREADS, "4",
+                            JdkHttpServer.PROPERTY_QUEUE_SIZE, "8"),
+                    rejectPolicy);
+            try {
+                ThreadPoolExecutor pool = threadPool(executor);
+                assertEquals(4, pool.getCorePoolSize());
+                assertEquals(4, pool.getMaximumPoolSize());
+                assertEquals(8, pool.getQueue().remainingCapacity());
+                assertSame(rejectPolicy, pool.getRejectedExecutionHandler());
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void createExecutor_virtual_threadPerTask() throws Exception {
+            ExecutorService executor = JdkHttpServer.createExecutor(
+                    Map.of(JdkHttpServer.PROPERTY_EXECUTOR, "VIRTUAL"), rejectPolicy);
+            try {
+                assertFalse(executor instanceof ThreadPoolExecutor);
+                assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void createExecutor_unknown_fails() {
+            assertThrows(IllegalArgumentException.class, () -> JdkHttpServer
+                    .createExecutor(Map.of(JdkHttpServer.PROPERTY_EXECUTOR, "forkjoin"), rejectPolicy));
+        }
+    }
+
+    @Nested
+    class Rejection {
+
+        @Test
+        void bounded_full_answers503OffTheCallingThread() throws Exception {
+            ExecutorService executor = JdkHttpServer.createExecutor(
+                    Map.of(JdkHttpServer.PROPERTY_EXECUTOR, "bounded", JdkHttpServer.PROPERTY_THREADS, "1",
+                            JdkHttpServer.PROPERTY_QUEUE_SIZE, "1"),
+                    rejectPolicy);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicBoolean handled = new AtomicBoolean();
+            TestExchange exchange = new TestExchange("POST", "text/xml", "");
+            CompletableFuture<Thread> rejectedThread = new CompletableFuture<>();
+            try {
+                executor.execute(() -> awaitQuietly(release));
+                executor.execute(() -> awaitQuietly(release));
+
+                executor.execute(() -> {
+                    try {
+                        new Filter.Chain(List.of(rejectPolicy), e -> handled.set(true)).doFilter(exchange);
+                        rejectedThread.complete(Thread.currentThread());
+                    } catch (Exception e) {
+                        rejectedThread.completeExceptionally(e);
+                    }
+                });
+
+                assertNotSame(Thread.currentThread(), rejectedThread.get(5, TimeUnit.SECONDS));
+                assertEquals(List.of(503), exchange.statusCodes());
+                assertEquals("1", exchange.getResponseHeaders().getFirst("Retry-After"));
+                assertFalse(handled.get());
+            } finally {
+                release.countDown();
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void notRejected_passesToHandler() throws Exception {
+            AtomicBoolean handled = new AtomicBoolean();
+
+            new Filter.Chain(List.of(rejectPolicy), e -> handled.set(true))
+                    .doFilter(new TestExchange("POST", "text/xml", ""));
+
+            assertTrue(handled.get());
+        }
+    }
+
+    private static ThreadPoolExecutor threadPool(ExecutorService executor) {
+        assertTrue(executor instanceof ThreadPoolExecutor);
+        return (ThreadPoolExecutor) executor;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   SmartCity Jena - initial
+ *   Stefan Bischof (bipolis.org) - initial
+ */
+package org.eclipse.daanse.xmla.server.jdk.httpserver;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+
+/**
+ * Exchange without a connection. Records the status codes and response
+ * lengths that are sent and the bytes written to the response body.
+ */
+class TestExchange extends HttpExchange {
+
+    private final String method;
+    private final Headers requestHeaders = new Headers();
+    private final Headers responseHeaders = new Headers();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final InputStream requestBody;
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private final List<Integer> statusCodes = new ArrayList<>();
+    private final List<Long> responseLengths = new ArrayList<>();
+    private OutputStream responseBody = written;
+    private boolean closed;
+
+    TestExchange(String method, String contentType, String requestBody) {
+        this.method = method;
+        if (contentType != null) {
+            requestHeaders.set("Content-Type", contentType);
+        }
+        this.requestBody = new ByteArrayInputStream(requestBody.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Makes writes to the response body fail after the given number of bytes.
+     */
+    TestExchange failAfter(int bytes) {
+        responseBody = new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (written.size() >= bytes) {
+                    throw new IOException("connection reset");
+                }
+                written.write(b);
+            }
+        };
+        return this;
+    }
+
+    List<Integer> statusCodes() {
+        return statusCodes;
+    }
+
+    List<Long> responseLengths() {
+        return responseLengths;
+    }
+
+    String written() {
+        return written.toString(StandardCharsets.UTF_8);
+    }
+
+    int writtenBytes() {
+        return written.size();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Headers getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    @Override
+    public Headers getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    @Override
+    public URI getRequestURI() {
+        return URI.create("/xmla");
+    }
+
+    @Override
+    public String getRequestMethod() {
+        return method;
+    }
+
+    @Override
+    public HttpContext getHttpContext() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public InputStream getRequestBody() {
+        return requestBody;
+    }
+
+    @Override
+    public OutputStream getResponseBody() {
+        return responseBody;
+    }
+
+    @Override
+    public void sendResponseHeaders(int rCode, long responseLength) throws IOException {
+        if (!statusCodes.isEmpty()) {
+            throw new IOException("headers already sent");
+        }
+        statusCodes.add(rCode);
+        responseLengths.add(responseLength);
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return new InetSocketAddress("localhost", 50000);
+    }
+
+    @Override
+    public int getResponseCode() {
+        return statusCodes.isEmpty() ? -1 : statusCodes.get(0);
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return new InetSocketAddress("localhost", 8090);
+    }
+
+    @Override
+    public String getProtocol() {
+        return "HTTP/1.1";
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+        // not used
+    }
+
+    @Override
+    public HttpPrincipal getPrincipal() {
+        return null;
+    }
+}
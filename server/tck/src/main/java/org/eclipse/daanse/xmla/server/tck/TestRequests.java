@@ -15,6 +15,68 @@ package org.eclipse.daanse.xmla.server.tck;
 
 public class TestRequests {
 
+    public static final String DISCOVER_PROPERTIES_REQUEST = """
+            <Discover xmlns="urn:schemas-microsoft-com:xml-analysis">
+                <RequestType>DISCOVER_PROPERTIES</RequestType>
+                <Restrictions>
+                    <RestrictionList>
+                        <PropertyName>ProviderVersion</PropertyName>
+                    </RestrictionList>
+                </Restrictions>
+                <Properties>
+                    <PropertyList>
+                        <LocaleIdentifier>1033</LocaleIdentifier>
+                        <DataSourceInfo>FoodMart</DataSourceInfo>
+                        <Content>SchemaData</Content>
+                        <Format>Tabular</Format>
+                    </PropertyList>
+                </Properties>
+            </Discover>
+            """;
+
+    public static final String MDSCHEMA_CUBES_REQUEST = """
+            <Discover xmlns="urn:schemas-microsoft-com:xml-analysis">
+                <RequestType>MDSCHEMA_CUBES</RequestType>
+                <Restrictions>
+                    <RestrictionList>
+                        <CATALOG_NAME>FoodMart</CATALOG_NAME>
+                    </RestrictionList>
+                </Restrictions>
+                <Properties>
+                    <PropertyList>
+                        <DataSourceInfo>FoodMart</DataSourceInfo>
+                        <Catalog>FoodMart</Catalog>
+                        <Content>SchemaData</Content>
+                        <Format>Tabular</Format>
+                        <LocaleIdentifier>1033</LocaleIdentifier>
+                    </PropertyList>
+                </Properties>
+            </Discover>
+            """;
+
+    public static final String MDSCHEMA_MEMBERS_REQUEST = """
+            <Discover xmlns="urn:schemas-microsoft-com:xml-analysis">
+                <RequestType>MDSCHEMA_MEMBERS</RequestType>
+                <Restrictions>
+                    <RestrictionList>
+                        <CATALOG_NAME>FoodMart</CATALOG_NAME>
+                        <CUBE_NAME>Sales</CUBE_NAME>
+                        <HIERARCHY_UNIQUE_NAME>[Store].[Store]</HIERARCHY_UNIQUE_NAME>
+                        <LEVEL_UNIQUE_NAME>[Store].[Store].[Store State]</LEVEL_UNIQUE_NAME>
+                    </RestrictionList>
+                </Restrictions>
+                <Properties>
+                    <PropertyList>
+                        <DataSourceInfo>FoodMart</DataSourceInfo>
+                        <Catalog>FoodMart</Catalog>
+                        <Content>SchemaData</Content>
+                        <Format>Tabular</Format>
+                        <LocaleIdentifier>1033</LocaleIdentifier>
+                    </PropertyList>
+                </Properties>
+            </Discover>
+            """;
+
     public static final String STATEMENT_REQUEST = """
                     <Execute xmlns="urn:schemas-microsoft-com:xml-analysis">
                     <Command>